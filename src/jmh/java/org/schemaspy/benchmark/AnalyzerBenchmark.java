@@ -0,0 +1,81 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.schemaspy.InsertionOrdered;
+import org.schemaspy.model.Database;
+import org.schemaspy.model.Table;
+import org.schemaspy.model.ViewReferences;
+import org.schemaspy.view.SqlAnalyzer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Analysis of the model that doesn't change it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AnalyzerBenchmark {
+
+    private SqlAnalyzer sqlAnalyzer;
+    private List<String> viewSql;
+
+    @Setup
+    public void setUp(SyntheticSchema schema) {
+        Database database = schema.database;
+        sqlAnalyzer = new SqlAnalyzer(
+            database.getDbmsMeta().getIdentifierQuoteString(),
+            database.getDbmsMeta().reservedWords(),
+            database.getTables(),
+            database.getViews()
+        );
+        viewSql = SyntheticSchema.viewSql(database.getViews());
+    }
+
+    @Benchmark
+    public List<Table> insertionOrder(SyntheticSchema schema) {
+        return new InsertionOrdered(schema.database).getTablesOrderedByRI();
+    }
+
+    @Benchmark
+    public void referencedTables(Blackhole blackhole) {
+        for (String sql : viewSql) {
+            blackhole.consume(sqlAnalyzer.getReferencedTables(sql));
+        }
+    }
+
+    @Benchmark
+    public ViewReferences viewReferences(SyntheticSchema schema) {
+        return sqlAnalyzer.analyze(schema.database.getViews());
+    }
+}
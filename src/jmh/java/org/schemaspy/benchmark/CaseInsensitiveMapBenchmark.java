@@ -0,0 +1,101 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.schemaspy.util.CaseInsensitiveMap;
+import org.schemaspy.util.ConcurrentCaseInsensitiveMap;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups of column names the way the model does them, keys in a different case than they were put with,
+ * with a plain {@link HashMap} looked up with exactly matching keys as baseline.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CaseInsensitiveMapBenchmark {
+
+    @Param({"10", "1000"})
+    public int entries;
+
+    private final Map<String, Integer> caseInsensitive = new CaseInsensitiveMap<>();
+    private final Map<String, Integer> concurrentCaseInsensitive = new ConcurrentCaseInsensitiveMap<>();
+    private final Map<String, Integer> caseSensitive = new HashMap<>();
+    private String[] mixedCaseKeys;
+    private String[] exactKeys;
+
+    @Setup
+    public void setUp() {
+        mixedCaseKeys = new String[entries];
+        exactKeys = new String[entries];
+        for (int i = 0; i < entries; i++) {
+            String key = "Column_Name_" + i;
+            caseInsensitive.put(key, i);
+            concurrentCaseInsensitive.put(key, i);
+            caseSensitive.put(key.toUpperCase(Locale.ROOT), i);
+            mixedCaseKeys[i] = i % 2 == 0 ? key : key.toLowerCase(Locale.ROOT);
+            exactKeys[i] = key.toUpperCase(Locale.ROOT);
+        }
+    }
+
+    @Benchmark
+    public void caseInsensitiveGet(Blackhole blackhole) {
+        for (String key : mixedCaseKeys) {
+            blackhole.consume(caseInsensitive.get(key));
+        }
+    }
+
+    @Benchmark
+    public void caseInsensitiveContainsKey(Blackhole blackhole) {
+        for (String key : mixedCaseKeys) {
+            blackhole.consume(caseInsensitive.containsKey(key));
+        }
+    }
+
+    @Benchmark
+    public void concurrentCaseInsensitiveGet(Blackhole blackhole) {
+        for (String key : mixedCaseKeys) {
+            blackhole.consume(concurrentCaseInsensitive.get(key));
+        }
+    }
+
+    @Benchmark
+    public void hashMapGet(Blackhole blackhole) {
+        for (String key : exactKeys) {
+            blackhole.consume(caseSensitive.get(key));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.schemaspy.analyzer.ImpliedConstraintsFinder;
+import org.schemaspy.model.ForeignKeyConstraint;
+import org.schemaspy.model.ImpliedForeignKeyConstraint;
+import org.schemaspy.model.Table;
+import org.schemaspy.model.TableColumn;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finding implied relationships links the columns it finds,
+ * the links are removed after every invocation so every invocation sees the same model.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ImpliedConstraintsBenchmark {
+
+    @Param({"1000", "10000"})
+    public int tables;
+
+    private final ImpliedConstraintsFinder impliedConstraintsFinder = new ImpliedConstraintsFinder();
+    private List<Table> model;
+    private List<ImpliedForeignKeyConstraint> found = Collections.emptyList();
+
+    @Setup
+    public void setUp() {
+        model = new ArrayList<>(SyntheticSchema.create(tables).getTables());
+    }
+
+    @Benchmark
+    public List<ImpliedForeignKeyConstraint> find() {
+        found = impliedConstraintsFinder.find(model);
+        return found;
+    }
+
+    @TearDown(Level.Invocation)
+    public void unlink() {
+        for (ForeignKeyConstraint constraint : found) {
+            TableColumn parentColumn = constraint.getParentColumns().get(0);
+            TableColumn childColumn = constraint.getChildColumns().get(0);
+            parentColumn.removeChild(childColumn);
+            childColumn.removeParent(parentColumn);
+        }
+        found = Collections.emptyList();
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.benchmark;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.schemaspy.SimpleRuntimeDotConfig;
+import org.schemaspy.cli.CommandLineArgumentParser;
+import org.schemaspy.cli.CommandLineArguments;
+import org.schemaspy.model.Database;
+import org.schemaspy.model.Table;
+import org.schemaspy.output.dot.schemaspy.DefaultFontConfig;
+import org.schemaspy.output.dot.schemaspy.DotFormatter;
+import org.schemaspy.output.xml.dom.XmlProducerUsingDOM;
+import org.schemaspy.output.xml.stream.XmlProducerUsingStream;
+import org.schemaspy.util.DataTableConfig;
+import org.schemaspy.view.HtmlTablePage;
+import org.schemaspy.view.MustacheCompiler;
+import org.schemaspy.view.SqlAnalyzer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Producing dot, html and xml of the whole model.
+ * Dot and html are written to a writer that discards them, xml to a temporary directory.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class OutputBenchmark {
+
+    private DotFormatter dotFormatter;
+    private HtmlTablePage htmlTablePage;
+    private File outputDir;
+
+    @Setup
+    public void setUp(SyntheticSchema schema) throws IOException {
+        outputDir = Files.createTempDirectory("schemaspy-benchmark").toFile();
+        CommandLineArguments arguments = new CommandLineArgumentParser(
+            "-o", outputDir.getAbsolutePath(), "-sso"
+        ).commandLineArguments();
+        dotFormatter = new DotFormatter(
+            new SimpleRuntimeDotConfig(
+                new DefaultFontConfig(arguments.getDotConfig()),
+                arguments.getDotConfig(),
+                false,
+                false
+            ),
+            arguments.withOrphans()
+        );
+        Database database = schema.database;
+        MustacheCompiler mustacheCompiler = new MustacheCompiler(
+            database.getName(),
+            database.getSchema().getName(),
+            arguments.getHtmlConfig(),
+            false,
+            new DataTableConfig(arguments)
+        );
+        SqlAnalyzer sqlAnalyzer = new SqlAnalyzer(
+            database.getDbmsMeta().getIdentifierQuoteString(),
+            database.getDbmsMeta().reservedWords(),
+            database.getTables(),
+            database.getViews()
+        );
+        htmlTablePage = new HtmlTablePage(mustacheCompiler, sqlAnalyzer.analyze(database.getViews()));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(outputDir);
+    }
+
+    @Benchmark
+    public void dotSummary(SyntheticSchema schema) {
+        PrintWriter dot = new PrintWriter(Writer.nullWriter());
+        dotFormatter.writeSummaryAllRelationships(schema.database, schema.tablesAndViews, false, dot);
+        dot.flush();
+    }
+
+    @Benchmark
+    public long dotTables(SyntheticSchema schema) {
+        PrintWriter dot = new PrintWriter(Writer.nullWriter());
+        LongAdder stats = new LongAdder();
+        for (Table table : schema.tablesAndViews) {
+            dotFormatter.writeTableAllRelationships(table, false, stats, dot);
+        }
+        dot.flush();
+        return stats.sum();
+    }
+
+    @Benchmark
+    public void tablePages(SyntheticSchema schema) {
+        Writer writer = Writer.nullWriter();
+        for (Table table : schema.tablesAndViews) {
+            htmlTablePage.write(table, Collections.emptyList(), writer);
+        }
+    }
+
+    @Benchmark
+    public void xmlUsingDom(SyntheticSchema schema) {
+        new XmlProducerUsingDOM().generate(schema.database, outputDir);
+    }
+
+    @Benchmark
+    public void xmlUsingStream(SyntheticSchema schema) {
+        new XmlProducerUsingStream().generate(schema.database, outputDir);
+    }
+}
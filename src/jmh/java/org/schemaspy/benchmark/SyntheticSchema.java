@@ -0,0 +1,172 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.benchmark;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.schemaspy.input.dbms.service.keywords.Sql92Keywords;
+import org.schemaspy.model.Database;
+import org.schemaspy.model.DbmsMeta;
+import org.schemaspy.model.ForeignKeyConstraint;
+import org.schemaspy.model.Table;
+import org.schemaspy.model.TableColumn;
+import org.schemaspy.model.TableIndex;
+import org.schemaspy.model.View;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * In-memory model of a schema with <code>tables</code> tables, generated from a fixed seed
+ * so every run benchmarks the same model.
+ * <p>
+ * Every table has a primary key named after the table, four plain columns, up to three
+ * foreign keys to tables created before it and two columns named like the primary key of
+ * another table without a foreign key, those are found as implied relationships.
+ * Every tenth table gets a view joining it with two other tables.
+ */
+@State(Scope.Benchmark)
+public class SyntheticSchema {
+
+    private static final long SEED = 1_000_003L;
+    private static final String CATALOG = "catalog";
+    private static final String SCHEMA = "schema";
+
+    @Param({"1000", "10000"})
+    public int tables;
+
+    /**
+     * Like an analysis the model is frozen once it's complete, <code>-p frozen=false</code> measures it unfrozen
+     */
+    @Param({"true"})
+    public boolean frozen;
+
+    public Database database;
+    public List<Table> tablesAndViews;
+
+    @Setup
+    public void setUp() {
+        database = create(tables);
+        if (frozen) {
+            database.freeze();
+        }
+        tablesAndViews = new ArrayList<>(database.getTables());
+        tablesAndViews.addAll(database.getViews());
+    }
+
+    public static Database create(int tableCount) {
+        Random random = new Random(SEED);
+        DbmsMeta dbmsMeta = new DbmsMeta.Builder()
+            .productName("Synthetic")
+            .productVersion("1.0")
+            .identifierQuoteString("\"")
+            .sqlKeywords(new Sql92Keywords())
+            .systemFunctions(Set.of("USER", "DATABASE"))
+            .numericFunctions(Set.of("ABS", "MOD", "ROUND"))
+            .stringFunctions(Set.of("LOWER", "UPPER", "TRIM"))
+            .timeDateFunctions(Set.of("NOW", "CURRENT_TIMESTAMP"))
+            .getDbmsMeta();
+        Database database = new Database(dbmsMeta, "synthetic", CATALOG, SCHEMA);
+        List<Table> created = new ArrayList<>(tableCount);
+        for (int i = 0; i < tableCount; i++) {
+            Table table = table(database, i, random, created);
+            database.getTablesMap().put(table.getName(), table);
+            created.add(table);
+        }
+        for (int i = 0; i < tableCount; i += 10) {
+            View view = view(database, i, random, created);
+            database.getViewsMap().put(view.getName(), view);
+        }
+        return database;
+    }
+
+    /**
+     * Definitions of all views
+     */
+    public static List<String> viewSql(Collection<View> views) {
+        return views.stream().map(View::getViewDefinition).toList();
+    }
+
+    private static Table table(Database database, int number, Random random, List<Table> created) {
+        Table table = new Table(database, CATALOG, SCHEMA, tableName(number), "Table number " + number);
+        table.setNumRows(random.nextInt(1_000_000));
+        TableColumn id = column(table, tableName(number) + "_ID", "INTEGER", Types.INTEGER);
+        table.setPrimaryColumn(id);
+        TableIndex primaryKey = new TableIndex(tableName(number) + "_PK", true);
+        primaryKey.setIsPrimaryKey(true);
+        primaryKey.addColumn(id, "A");
+        table.getIndexesMap().put(primaryKey.getName(), primaryKey);
+        column(table, "NAME", "VARCHAR", Types.VARCHAR);
+        column(table, "DESCRIPTION", "VARCHAR", Types.VARCHAR);
+        column(table, "CREATED_AT", "TIMESTAMP", Types.TIMESTAMP);
+        column(table, "UPDATED_AT", "TIMESTAMP", Types.TIMESTAMP);
+        if (number == 0) {
+            return table;
+        }
+        int foreignKeys = random.nextInt(4);
+        for (int i = 0; i < foreignKeys; i++) {
+            Table parent = created.get(random.nextInt(number));
+            TableColumn child = column(table, "FK" + i + "_" + parent.getName() + "_REF", "INTEGER", Types.INTEGER);
+            table.getForeignKeysMap().put(
+                "FK_" + table.getName() + "_" + i,
+                new ForeignKeyConstraint(parent.getPrimaryColumns().get(0), child)
+            );
+        }
+        for (int i = 0; i < 2; i++) {
+            column(table, tableName(random.nextInt(number)) + "_ID", "INTEGER", Types.INTEGER);
+        }
+        return table;
+    }
+
+    private static View view(Database database, int number, Random random, List<Table> created) {
+        Table first = created.get(number);
+        Table second = created.get(random.nextInt(created.size()));
+        Table third = created.get(random.nextInt(created.size()));
+        String sql = "SELECT a.NAME, b.DESCRIPTION, c.CREATED_AT\n"
+            + "  FROM " + SCHEMA + "." + first.getName() + " a\n"
+            + "  JOIN \"" + second.getName() + "\" b ON b." + second.getName() + "_ID = a." + first.getName() + "_ID\n"
+            + "  LEFT JOIN " + third.getName() + " c ON (c." + third.getName() + "_ID = b." + second.getName() + "_ID)\n"
+            + " WHERE a.NAME <> 'x' AND COALESCE(c.UPDATED_AT, b.CREATED_AT) IS NOT NULL";
+        View view = new View(database, CATALOG, SCHEMA, "V_" + first.getName(), "View number " + number, sql);
+        column(view, "NAME", "VARCHAR", Types.VARCHAR);
+        column(view, "DESCRIPTION", "VARCHAR", Types.VARCHAR);
+        column(view, "CREATED_AT", "TIMESTAMP", Types.TIMESTAMP);
+        return view;
+    }
+
+    private static TableColumn column(Table table, String name, String typeName, int type) {
+        TableColumn column = new TableColumn(table);
+        column.setId(table.getColumnsMap().size());
+        column.setName(name);
+        column.setTypeName(typeName);
+        column.setType(type);
+        column.setLength(type == Types.VARCHAR ? 255 : 10);
+        column.setNullable(type != Types.INTEGER);
+        table.getColumnsMap().put(name, column);
+        return column;
+    }
+
+    private static String tableName(int number) {
+        return String.format("TABLE_%05d", number);
+    }
+}
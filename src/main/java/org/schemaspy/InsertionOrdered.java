@@ -24,14 +24,24 @@ package org.schemaspy;
 import org.schemaspy.model.Database;
 import org.schemaspy.model.ForeignKeyConstraint;
 import org.schemaspy.model.Table;
+import org.schemaspy.model.TableColumn;
 
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * Sorts {@link Table}s by their referential integrity constraints.
  * The intent is to have a list of tables in an order that can be used
  * to insert or delete them from a database.
+ * <p>
+ * The relationships are copied into arrays once and only those are trimmed,
+ * the {@link Table}s and their {@link TableColumn}s keep all of their parents and children.
  *
  * @author John Currier
  * @author Daniel Watt
@@ -39,6 +49,20 @@ import java.util.stream.Collectors;
  */
 public class InsertionOrdered {
 
+    /**
+     * order by
+     * <ul>
+     *  <li>number of kids (descending)
+     *  <li>number of parents (ascending)
+     *  <li>alpha name (ascending)
+     * </ul>
+     * this doesn't change the logical output of the program because all of these (leaves or roots) are at the same logical level
+     */
+    private static final Comparator<Table> TRIM_ORDER = Comparator
+        .comparingInt(Table::getMaxChildren).reversed()
+        .thenComparingInt(Table::getMaxParents)
+        .thenComparing(Comparator.naturalOrder());
+
     private final Collection<Table> tables;
 
     public InsertionOrdered(Database db) {
@@ -59,187 +83,513 @@ public class InsertionOrdered {
      * @return Returns a list of <code>Table</code>s ordered such that parents are listed first and child tables are listed last.
      */
     public List<Table> getTablesOrderedByRI() {
-        List<Table> heads = new ArrayList<>();
-        List<Table> tails = new ArrayList<>();
-        List<Table> remainingTables = new ArrayList<>(tables);
+        // ignore remote tables since there's no way to deal with them
+        Graph graph = new Graph(tables.stream().filter(table -> !table.isRemote()).toArray(Table[]::new));
 
         // first pass to gather the 'low hanging fruit'
-        removeRemotes(remainingTables);
-        List<Table> floaters = floaters(remainingTables);
-        remainingTables.removeAll(floaters);
+        List<Table> unattached = graph.trimFloaters();
 
-        List<Table> unattached = sortTrimmedLevel(floaters);
+        graph.trim();
+        if (!graph.isEmpty()) {
+            // get rid of everything that isn't explicitly specified by the database
+            graph.removeNonRealForeignKeys();
+            graph.trim();
+        }
+        if (!graph.isEmpty()) {
+            graph.removeSelfReferencingConstraints();
+            graph.trim();
+        }
+        if (!graph.isEmpty()) {
+            // resolve the recursion by removing constraints 'till the tables can all be trimmed
+            graph.breakCycles();
+            graph.trim();
+        }
 
-        while (!remainingTables.isEmpty() && !hasRecursion(remainingTables)) {
-            tails.addAll(0, trimLeaves(remainingTables));
-            heads.addAll(trimRoots(remainingTables));
+        // we've gathered all the heads and tails, so combine them here moving 'unattached' tables to the end
+        List<Table> ordered = new ArrayList<>(tables.size());
+        ordered.addAll(graph.heads);
+        for (int level = graph.tails.size() - 1; level >= 0; level--) {
+            ordered.addAll(graph.tails.get(level));
         }
+        ordered.addAll(unattached);
+        return ordered;
+    }
+
+    /**
+     * Foreign keys between the tables to order, every pair of child and parent column is an edge
+     * and the edges of a {@link ForeignKeyConstraint} are removed together.
+     * Edges are only ever marked as removed, references to tables that aren't ordered are left out.
+     */
+    private static final class Graph {
+        private final Table[] nodes;
+        private final int[] edgeChild;
+        private final int[] edgeParent;
+        private final boolean[] edgeReal;
+        private final int[] edgeConstraint;
+        private final boolean[] edgeRemoved;
+        private final int[][] constraintEdges;
+        private final int[][] parentEdges;
+        private final int[][] childEdges;
+        private final int[] numParents;
+        private final int[] numChildren;
+        private final boolean[] trimmed;
+        private int remaining;
+
+        private int[] leaves;
+        private int leafCount;
+        private int[] roots;
+        private int rootCount;
+
+        private final List<Table> heads = new ArrayList<>();
+        private final List<List<Table>> tails = new ArrayList<>();
+
+        private Graph(Table[] nodes) {
+            this.nodes = nodes;
+            Map<Table, Integer> indexes = new IdentityHashMap<>(nodes.length * 2);
+            for (int node = 0; node < nodes.length; node++) {
+                indexes.put(nodes[node], node);
+            }
 
-        if (hasRecursion(remainingTables)) {
-            // get ride of everything that isn't explicitly specified by the database
-            for (Table table : remainingTables) {
-                table.removeNonRealForeignKeys();
+            EdgeList edges = new EdgeList();
+            Map<ForeignKeyConstraint, Integer> constraints = new IdentityHashMap<>();
+            int constraintCount = 0;
+            numParents = new int[nodes.length];
+            numChildren = new int[nodes.length];
+            for (int node = 0; node < nodes.length; node++) {
+                for (TableColumn column : nodes[node].getColumns()) {
+                    for (TableColumn parentColumn : column.getParents()) {
+                        Integer parent = indexes.get(parentColumn.getTable());
+                        if (Objects.nonNull(parent)) {
+                            ForeignKeyConstraint constraint = column.getParentConstraint(parentColumn);
+                            int constraintIndex;
+                            if (Objects.isNull(constraint)) {
+                                constraintIndex = constraintCount++;
+                            } else {
+                                Integer known = constraints.putIfAbsent(constraint, constraintCount);
+                                constraintIndex = Objects.isNull(known) ? constraintCount++ : known;
+                            }
+                            edges.add(node, parent, Objects.isNull(constraint) || constraint.isReal(), constraintIndex);
+                            numParents[node]++;
+                            numChildren[parent]++;
+                        }
+                    }
+                }
+            }
+            edgeChild = Arrays.copyOf(edges.child, edges.size);
+            edgeParent = Arrays.copyOf(edges.parent, edges.size);
+            edgeReal = Arrays.copyOf(edges.real, edges.size);
+            edgeConstraint = Arrays.copyOf(edges.constraint, edges.size);
+            edgeRemoved = new boolean[edges.size];
+
+            int[] constraintSizes = new int[constraintCount];
+            for (int edge = 0; edge < edges.size; edge++) {
+                constraintSizes[edgeConstraint[edge]]++;
+            }
+            constraintEdges = new int[constraintCount][];
+            for (int constraint = 0; constraint < constraintCount; constraint++) {
+                constraintEdges[constraint] = new int[constraintSizes[constraint]];
+                constraintSizes[constraint] = 0;
+            }
+            for (int edge = 0; edge < edges.size; edge++) {
+                int constraint = edgeConstraint[edge];
+                constraintEdges[constraint][constraintSizes[constraint]++] = edge;
             }
-        }
 
-        while (!remainingTables.isEmpty()) {
-            boolean hasRecursion = hasRecursion(remainingTables);
-            tails.addAll(0, trimLeaves(remainingTables));
-            heads.addAll(trimRoots(remainingTables));
+            parentEdges = new int[nodes.length][];
+            childEdges = new int[nodes.length][];
+            for (int node = 0; node < nodes.length; node++) {
+                parentEdges[node] = new int[numParents[node]];
+                childEdges[node] = new int[numChildren[node]];
+            }
+            int[] parentFill = new int[nodes.length];
+            int[] childFill = new int[nodes.length];
+            for (int edge = 0; edge < edges.size; edge++) {
+                parentEdges[edgeChild[edge]][parentFill[edgeChild[edge]]++] = edge;
+                childEdges[edgeParent[edge]][childFill[edgeParent[edge]]++] = edge;
+            }
 
-            // resolve the recursion by removing a constraint, one by one, 'till the tables are all trimmed
-            if (hasRecursion) {
-                boolean foundSimpleRecursion = removeSelfReferencingConstraints(remainingTables);
-                if (!foundSimpleRecursion) {
-                    removeAForeignKeyConstraint(remainingTables);
+            trimmed = new boolean[nodes.length];
+            remaining = nodes.length;
+            leaves = new int[nodes.length];
+            roots = new int[nodes.length];
+            for (int node = 0; node < nodes.length; node++) {
+                if (numChildren[node] == 0) {
+                    leaves[leafCount++] = node;
+                }
+                if (numParents[node] == 0) {
+                    roots[rootCount++] = node;
                 }
             }
         }
 
-        // we've gathered all the heads and tails, so combine them here moving 'unattached' tables to the end
-        List<Table> ordered = new ArrayList<>(heads.size() + tails.size());
+        private boolean isEmpty() {
+            return remaining == 0;
+        }
 
-        ordered.addAll(heads);
-        ordered.addAll(tails);
-        ordered.addAll(unattached);
+        /**
+         * Remove the tables without parents and children
+         *
+         * @return tables removed
+         */
+        private List<Table> trimFloaters() {
+            List<Table> floaters = new ArrayList<>();
+            for (int node = 0; node < nodes.length; node++) {
+                if (numParents[node] == 0 && numChildren[node] == 0) {
+                    trimmed[node] = true;
+                    remaining--;
+                    floaters.add(nodes[node]);
+                }
+            }
+            floaters.sort(TRIM_ORDER);
+            return floaters;
+        }
 
-        return ordered;
-    }
+        /**
+         * Alternately remove the leaf nodes (tables w/o children) and the root nodes
+         * (tables w/o parents) until there are none left
+         */
+        private void trim() {
+            boolean trimmedAny = true;
+            while (remaining > 0 && trimmedAny) {
+                List<Table> trimmedLeaves = trimLeaves();
+                if (!trimmedLeaves.isEmpty()) {
+                    tails.add(trimmedLeaves);
+                }
+                List<Table> trimmedRoots = trimRoots();
+                heads.addAll(trimmedRoots);
+                trimmedAny = !trimmedLeaves.isEmpty() || !trimmedRoots.isEmpty();
+            }
+        }
 
-    private boolean hasRecursion(List<Table> remainingTables) {
-        final List<Table> copy = new LinkedList<>(remainingTables);
-        copy.removeIf(Table::isLeaf);
-        copy.removeIf(Table::isRoot);
-        return copy.size() == remainingTables.size();
-    }
+        private List<Table> trimLeaves() {
+            int[] level = takeUntrimmed(leaves, leafCount);
+            leafCount = 0;
+            // do this after marking the whole level to prevent getting leaves before they're ready
+            for (int leaf : level) {
+                for (int edge : parentEdges[leaf]) {
+                    remove(edge);
+                }
+            }
+            return sorted(level);
+        }
 
-    private void removeRemotes(List<Table> remainingTables) {
-        remainingTables.stream()
-            .filter(Table::isRemote)
-            .forEach(table -> {
-                // ignore remote tables since there's no way to deal with them
-                table.unlinkParents();
-                table.unlinkChildren();
-            });
-        remainingTables.removeIf(Table::isRemote);
-    }
+        private List<Table> trimRoots() {
+            int[] level = takeUntrimmed(roots, rootCount);
+            rootCount = 0;
+            // do this after marking the whole level to prevent getting roots before they're ready
+            for (int root : level) {
+                for (int edge : childEdges[root]) {
+                    remove(edge);
+                }
+            }
+            return sorted(level);
+        }
 
-    private List<Table> floaters(List<Table> remainingTables) {
-        return remainingTables.stream()
-                .filter(Table::isFloater)
-                .collect(Collectors.toList());
-    }
+        private int[] takeUntrimmed(int[] candidates, int count) {
+            int[] level = new int[count];
+            int size = 0;
+            for (int i = 0; i < count; i++) {
+                int node = candidates[i];
+                if (!trimmed[node]) {
+                    trimmed[node] = true;
+                    remaining--;
+                    level[size++] = node;
+                }
+            }
+            return Arrays.copyOf(level, size);
+        }
 
-    /**
-     * Remove the leaf nodes (tables w/o children)
-     *
-     * @param tables tables to remove leafs from
-     * @return tables removed
-     */
-    private List<Table> trimLeaves(List<Table> tables) {
-        List<Table> leaves = new ArrayList<>();
+        private List<Table> sorted(int[] level) {
+            List<Table> sorted = new ArrayList<>(level.length);
+            for (int node : level) {
+                sorted.add(nodes[node]);
+            }
+            sorted.sort(TRIM_ORDER);
+            return sorted;
+        }
 
-        for (Table leaf : tables) {
-            if (leaf.isLeaf()) {
-                leaves.add(leaf);
+        private void remove(int edge) {
+            if (edgeRemoved[edge]) {
+                return;
+            }
+            edgeRemoved[edge] = true;
+            int child = edgeChild[edge];
+            int parent = edgeParent[edge];
+            if (--numParents[child] == 0) {
+                roots[rootCount++] = child;
+            }
+            if (--numChildren[parent] == 0) {
+                leaves[leafCount++] = parent;
             }
         }
 
-        tables.removeAll(leaves);
+        private void removeNonRealForeignKeys() {
+            for (int edge = 0; edge < edgeReal.length; edge++) {
+                if (!edgeReal[edge] && !trimmed[edgeChild[edge]]) {
+                    remove(edge);
+                }
+            }
+        }
 
-        // now sort them so the ones with large numbers of children show up first (not required, but cool)
-        List<Table> trimmedLeaves = sortTrimmedLevel(leaves);
+        private void removeSelfReferencingConstraints() {
+            for (int edge = 0; edge < edgeChild.length; edge++) {
+                if (!edgeRemoved[edge] && edgeChild[edge] == edgeParent[edge]) {
+                    remove(edge);
+                }
+            }
+        }
 
-        for (Table trimmedLeaf : trimmedLeaves) {
-            // do this after the previous loop to prevent getting leaves before they're ready
-            // and so we can sort them correctly
-            trimmedLeaf.unlinkParents();
+        /**
+         * Every remaining table is part of or between cycles, the strongly connected components are computed once
+         * and each of them is broken in a single pass. The cycles left in a component are repeatedly broken at the
+         * table with the biggest delta between number of parents and kids, it has the most impact on reducing the
+         * smaller of the two, until peeling the tables without parents or kids within the component leaves nothing.
+         */
+        private void breakCycles() {
+            new Cycles(components()).breakAll();
         }
 
-        return trimmedLeaves;
-    }
+        private int compareDelta(int node1, int node2) {
+            int rc = Math.abs(numChildren[node2] - numParents[node2]) - Math.abs(numChildren[node1] - numParents[node1]);
+            if (rc == 0) {
+                rc = nodes[node1].compareTo(nodes[node2]);
+            }
+            return rc;
+        }
 
-    /**
-     * Remove the root nodes (tables w/o parents)
-     *
-     * @param tables to trim roots from
-     * @return tables removed
-     */
-    private List<Table> trimRoots(List<Table> tables) {
-        List<Table> roots = new ArrayList<>();
+        /**
+         * The remaining edges within the strongly connected components, tables are peeled off their component
+         * once they have no parents or no kids left in it as they can't be part of a cycle anymore
+         */
+        private final class Cycles {
+            private final int[] components;
+            private final int[] parentsInCycle = new int[nodes.length];
+            private final int[] childrenInCycle = new int[nodes.length];
+            private final boolean[] peeled = new boolean[nodes.length];
+            private final int[] pending = new int[nodes.length];
+            private int pendingCount;
+
+            private Cycles(int[] components) {
+                this.components = components;
+                for (int edge = 0; edge < edgeChild.length; edge++) {
+                    if (counted(edge)) {
+                        parentsInCycle[edgeChild[edge]]++;
+                        childrenInCycle[edgeParent[edge]]++;
+                    }
+                }
+                for (int node = 0; node < nodes.length; node++) {
+                    if (trimmed[node] || parentsInCycle[node] == 0 || childrenInCycle[node] == 0) {
+                        peel(node);
+                    }
+                }
+                peelPending();
+            }
 
-        for (Table root : tables) {
-            if (root.isRoot()) {
-                roots.add(root);
+            private void breakAll() {
+                for (int[] members : members()) {
+                    int selected = select(members);
+                    while (selected >= 0) {
+                        removeAForeignKeyConstraint(selected);
+                        peelPending();
+                        selected = select(members);
+                    }
+                }
+            }
+
+            /**
+             * @return remaining tables grouped by component
+             */
+            private List<int[]> members() {
+                int componentCount = 0;
+                for (int node = 0; node < nodes.length; node++) {
+                    if (!peeled[node]) {
+                        componentCount = Math.max(componentCount, components[node] + 1);
+                    }
+                }
+                int[] sizes = new int[componentCount];
+                for (int node = 0; node < nodes.length; node++) {
+                    if (!peeled[node]) {
+                        sizes[components[node]]++;
+                    }
+                }
+                List<int[]> members = new ArrayList<>();
+                int[][] byComponent = new int[componentCount][];
+                for (int component = 0; component < componentCount; component++) {
+                    byComponent[component] = new int[sizes[component]];
+                    sizes[component] = 0;
+                    if (byComponent[component].length > 0) {
+                        members.add(byComponent[component]);
+                    }
+                }
+                for (int node = 0; node < nodes.length; node++) {
+                    if (!peeled[node]) {
+                        int component = components[node];
+                        byComponent[component][sizes[component]++] = node;
+                    }
+                }
+                return members;
             }
-        }
 
-        tables.removeAll(roots);
+            private int select(int[] members) {
+                int selected = -1;
+                for (int node : members) {
+                    if (!peeled[node] && (selected < 0 || compareDelta(node, selected) < 0)) {
+                        selected = node;
+                    }
+                }
+                return selected;
+            }
 
-        // now sort them so the ones with large numbers of children show up first (not required, but cool)
-        List<Table> trimmedRoots = sortTrimmedLevel(roots);
-        for (Table trimmedRoot : trimmedRoots) {
-            // do this after the previous loop to prevent getting roots before they're ready
-            // and so we can sort them correctly
-            trimmedRoot.unlinkChildren();
-        }
+            /**
+             * remove either a child or parent within the same cycle, choosing which based on which has the
+             * least number of foreign key associations (when either gets to zero then the table can be pruned)
+             */
+            private void removeAForeignKeyConstraint(int node) {
+                boolean removeParent = numParents[node] <= numChildren[node];
+                int[] candidates = removeParent ? parentEdges[node] : childEdges[node];
+                for (int edge : candidates) {
+                    if (counted(edge) && !peeled[edgeChild[edge]] && !peeled[edgeParent[edge]]) {
+                        // all edges of a constraint connect the same two tables
+                        for (int constraintEdge : constraintEdges[edgeConstraint[edge]]) {
+                            if (!edgeRemoved[constraintEdge]) {
+                                leaveCycle(constraintEdge);
+                                remove(constraintEdge);
+                            }
+                        }
+                        return;
+                    }
+                }
+            }
 
-        return trimmedRoots;
-    }
+            /**
+             * @return whether the edge is counted by the tables on both ends
+             */
+            private boolean counted(int edge) {
+                int child = edgeChild[edge];
+                int parent = edgeParent[edge];
+                return !edgeRemoved[edge] && child != parent
+                    && !trimmed[child] && !trimmed[parent] && components[child] == components[parent];
+            }
 
-    /**
-     * this doesn't change the logical output of the program because all of these (leaves or roots) are at the same logical level
-     */
-    private List<Table> sortTrimmedLevel(List<Table> tables) {
-        /*
-          order by
-          <ul>
-           <li>number of kids (descending)
-           <li>number of parents (ascending)
-           <li>alpha name (ascending)
-          </ul>
-         */
-        final class TrimComparator implements Comparator<Table> {
-            public int compare(Table table1, Table table2) {
-                // have to keep track of and use the 'max' versions because
-                // by the time we get here we'll (probably?) have no parents or children
-                int rc = table2.getMaxChildren() - table1.getMaxChildren();
-                if (rc == 0) {
-                    rc = table1.getMaxParents() - table2.getMaxParents();
+            private void leaveCycle(int edge) {
+                if (--parentsInCycle[edgeChild[edge]] == 0) {
+                    peel(edgeChild[edge]);
                 }
-                if (rc == 0) {
-                    rc = table1.compareTo(table2);
+                if (--childrenInCycle[edgeParent[edge]] == 0) {
+                    peel(edgeParent[edge]);
                 }
-                return rc;
             }
-        }
 
-        Set<Table> sorter = new TreeSet<>(new TrimComparator());
-        sorter.addAll(tables);
-        return new ArrayList<>(sorter);
-    }
+            private void peel(int node) {
+                if (!peeled[node]) {
+                    peeled[node] = true;
+                    pending[pendingCount++] = node;
+                }
+            }
 
-    private boolean removeSelfReferencingConstraints(List<Table> remainingTables) {
-        for (Table potentialRecursiveTable : remainingTables) {
-            ForeignKeyConstraint recursiveConstraint = potentialRecursiveTable.removeSelfReferencingConstraint();
-            if (recursiveConstraint != null) {
-                return true;
+            private void peelPending() {
+                while (pendingCount > 0) {
+                    int node = pending[--pendingCount];
+                    for (int edge : parentEdges[node]) {
+                        if (counted(edge) && --childrenInCycle[edgeParent[edge]] == 0) {
+                            peel(edgeParent[edge]);
+                        }
+                    }
+                    for (int edge : childEdges[node]) {
+                        if (counted(edge) && --parentsInCycle[edgeChild[edge]] == 0) {
+                            peel(edgeChild[edge]);
+                        }
+                    }
+                }
             }
         }
-        return false;
+
+        /**
+         * Tarjan's strongly connected components of the remaining tables, iterative so
+         * long chains of foreign keys don't overflow the stack
+         *
+         * @return component of every remaining table
+         */
+        private int[] components() {
+            int[] index = new int[nodes.length];
+            int[] lowLink = new int[nodes.length];
+            int[] components = new int[nodes.length];
+            boolean[] onStack = new boolean[nodes.length];
+            int[] stack = new int[nodes.length];
+            int[] callStack = new int[nodes.length];
+            int[] nextEdge = new int[nodes.length];
+            Arrays.fill(index, -1);
+            int stackSize = 0;
+            int nextIndex = 0;
+            int componentCount = 0;
+
+            for (int start = 0; start < nodes.length; start++) {
+                if (trimmed[start] || index[start] >= 0) {
+                    continue;
+                }
+                int depth = 0;
+                callStack[depth++] = start;
+                index[start] = lowLink[start] = nextIndex++;
+                stack[stackSize++] = start;
+                onStack[start] = true;
+                while (depth > 0) {
+                    int node = callStack[depth - 1];
+                    int[] edges = childEdges[node];
+                    if (nextEdge[node] < edges.length) {
+                        int edge = edges[nextEdge[node]++];
+                        int child = edgeChild[edge];
+                        if (edgeRemoved[edge] || trimmed[child]) {
+                            continue;
+                        }
+                        if (index[child] < 0) {
+                            index[child] = lowLink[child] = nextIndex++;
+                            stack[stackSize++] = child;
+                            onStack[child] = true;
+                            callStack[depth++] = child;
+                        } else if (onStack[child]) {
+                            lowLink[node] = Math.min(lowLink[node], index[child]);
+                        }
+                        continue;
+                    }
+                    depth--;
+                    if (depth > 0) {
+                        int caller = callStack[depth - 1];
+                        lowLink[caller] = Math.min(lowLink[caller], lowLink[node]);
+                    }
+                    if (lowLink[node] == index[node]) {
+                        int member;
+                        do {
+                            member = stack[--stackSize];
+                            onStack[member] = false;
+                            components[member] = componentCount;
+                        } while (member != node);
+                        componentCount++;
+                    }
+                }
+            }
+            return components;
+        }
     }
 
-    private void removeAForeignKeyConstraint(List<Table> remainingTables) {
-        remainingTables.stream()
-            .min((t1, t2) -> {
-                // sort on the delta between number of parents and kids so we can
-                // target the tables with the biggest delta and therefore the most impact
-                // on reducing the smaller of the two
-                int rc = Math.abs(t2.getNumChildren() - t2.getNumParents()) - Math.abs(t1.getNumChildren() - t1.getNumParents());
-                if (rc == 0) {
-                    rc = t1.compareTo(t2);
-                }
-                return rc;
-            }).ifPresent(Table::removeAForeignKeyConstraint); // this one has the largest delta
+    private static final class EdgeList {
+        private int[] child = new int[16];
+        private int[] parent = new int[16];
+        private boolean[] real = new boolean[16];
+        private int[] constraint = new int[16];
+        private int size;
+
+        private void add(int childNode, int parentNode, boolean isReal, int constraintIndex) {
+            if (size == child.length) {
+                child = Arrays.copyOf(child, size * 2);
+                parent = Arrays.copyOf(parent, size * 2);
+                real = Arrays.copyOf(real, size * 2);
+                constraint = Arrays.copyOf(constraint, size * 2);
+            }
+            child[size] = childNode;
+            parent[size] = parentNode;
+            real[size] = isReal;
+            constraint[size] = constraintIndex;
+            size++;
+        }
     }
 }
@@ -47,7 +47,7 @@ import org.schemaspy.input.dbms.ConnectionURLBuilder;
 import org.schemaspy.input.dbms.DriverFromConfig;
 import org.schemaspy.input.dbms.service.DatabaseServiceFactory;
 import org.schemaspy.input.dbms.service.SqlService;
-import org.schemaspy.output.xml.dom.XmlProducerUsingDOM;
+import org.schemaspy.output.xml.stream.XmlProducerUsingStream;
 import org.schemaspy.util.ManifestUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -124,7 +124,7 @@ public class Main {
                 sqlService,
                 new DatabaseServiceFactory(sqlService),
                 arguments,
-                new XmlProducerUsingDOM(),
+                new XmlProducerUsingStream(),
                 new LayoutFolder(SchemaAnalyzer.class.getClassLoader()),
                 new ScExceptionChecked(
                     urlBuilder,
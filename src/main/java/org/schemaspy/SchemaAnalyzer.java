@@ -26,7 +26,9 @@
 package org.schemaspy;
 
 import java.io.File;
+import java.io.FileFilter;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.Writer;
 import java.lang.invoke.MethodHandles;
 import java.sql.DatabaseMetaData;
@@ -38,6 +40,12 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 
 import org.apache.commons.io.FileUtils;
@@ -45,12 +53,21 @@ import org.schemaspy.analyzer.ImpliedConstraintsFinder;
 import org.schemaspy.cli.CommandLineArguments;
 import org.schemaspy.connection.SqlConnection;
 import org.schemaspy.input.dbms.CatalogResolver;
+import org.schemaspy.input.dbms.ProcessingConfig;
 import org.schemaspy.input.dbms.SchemaResolver;
 import org.schemaspy.input.dbms.service.DatabaseService;
 import org.schemaspy.input.dbms.service.DatabaseServiceFactory;
+import org.schemaspy.input.dbms.service.MetadataCache;
+import org.schemaspy.input.dbms.service.Quarantine;
+import org.schemaspy.input.dbms.service.QuarantineReport;
 import org.schemaspy.input.dbms.service.SqlService;
+import org.schemaspy.input.dbms.service.Watchdog;
 import org.schemaspy.input.dbms.xml.SchemaMeta;
 import org.schemaspy.logging.Sanitize;
+import org.schemaspy.metrics.MeteredJdbc;
+import org.schemaspy.metrics.Metrics;
+import org.schemaspy.metrics.MetricsBean;
+import org.schemaspy.metrics.MetricsReport;
 import org.schemaspy.model.Catalog;
 import org.schemaspy.model.Console;
 import org.schemaspy.model.Database;
@@ -58,6 +75,7 @@ import org.schemaspy.model.DbmsMeta;
 import org.schemaspy.model.EmptySchemaException;
 import org.schemaspy.model.ForeignKeyConstraint;
 import org.schemaspy.model.ImpliedForeignKeyConstraint;
+import org.schemaspy.model.Metered;
 import org.schemaspy.model.ProgressListener;
 import org.schemaspy.model.Routine;
 import org.schemaspy.model.Schema;
@@ -66,9 +84,14 @@ import org.schemaspy.model.Tracked;
 import org.schemaspy.output.InfoHtml;
 import org.schemaspy.output.OutputException;
 import org.schemaspy.output.OutputProducer;
+import org.schemaspy.output.diagram.IncrementalRenderer;
+import org.schemaspy.output.diagram.MeteredRenderer;
+import org.schemaspy.output.diagram.RenderManifest;
 import org.schemaspy.output.diagram.Renderer;
 import org.schemaspy.output.diagram.SummaryDiagram;
 import org.schemaspy.output.diagram.TableDiagram;
+import org.schemaspy.output.diagram.graphviz.BatchGraphvizDot;
+import org.schemaspy.output.diagram.graphviz.GraphvizConfig;
 import org.schemaspy.output.diagram.graphviz.GraphvizDot;
 import org.schemaspy.output.diagram.vizjs.VizJSDot;
 import org.schemaspy.output.dot.RuntimeDotConfig;
@@ -85,8 +108,11 @@ import org.schemaspy.util.DataTableConfig;
 import org.schemaspy.util.DefaultPrintWriter;
 import org.schemaspy.util.copy.CopyFromUrl;
 import org.schemaspy.util.filefilter.NotHtml;
+import org.schemaspy.util.filefilter.NotInDirectories;
+import org.schemaspy.util.markup.PageRegistry;
 import org.schemaspy.util.naming.NameFromString;
 import org.schemaspy.util.naming.SanitizedFileName;
+import org.schemaspy.view.DataFiles;
 import org.schemaspy.view.HtmlAnomaliesPage;
 import org.schemaspy.view.HtmlColumnsPage;
 import org.schemaspy.view.HtmlConstraintsPage;
@@ -98,8 +124,8 @@ import org.schemaspy.view.HtmlRoutinePage;
 import org.schemaspy.view.HtmlRoutinesPage;
 import org.schemaspy.view.HtmlTablePage;
 import org.schemaspy.view.MustacheCompiler;
-import org.schemaspy.view.MustacheTableDiagram;
 import org.schemaspy.view.SqlAnalyzer;
+import org.schemaspy.view.TablePages;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -201,19 +227,15 @@ public class SchemaAnalyzer {
 
         File outputDir = commandLineArguments.getOutputDirectory();
 
+        int schemaThreads = Math.min(commandLineArguments.getSchemaThreads(), schemas.size());
+        List<Database> databases = schemaThreads > 1
+            ? analyzeConcurrently(schemas, schemaThreads, outputDir, con)
+            : analyzeOneByOne(schemas, outputDir, databaseService, con);
+
         List<Schema> collectedSchemas = new ArrayList<>();
         Catalog collectedCatalog = null;
-        for (String schema : schemas) {
-            String dbName = Objects
-                .nonNull(
-                    commandLineArguments.getConnectionConfig().getDatabaseName()
-                )
-                ? commandLineArguments.getConnectionConfig().getDatabaseName()
-                : schema;
-
-            LOGGER.info("Analyzing '{}'", new Sanitize(schema));
-            File outputDirForSchema = new File(outputDir, new SanitizedFileName(new NameFromString(schema)).value());
-            db = this.analyze(dbName, schema, true, outputDirForSchema, databaseService, con);
+        for (Database analyzed : databases) {
+            db = analyzed;
             if (db == null) { //if any of analysed schema returns null
                 return null;
             }
@@ -243,6 +265,98 @@ public class SchemaAnalyzer {
         return db;
     }
 
+    private List<Database> analyzeOneByOne(
+        List<String> schemas,
+        File outputDir,
+        DatabaseService databaseService,
+        SqlConnection con
+    ) throws SQLException, IOException {
+        List<Database> databases = new ArrayList<>();
+        for (String schema : schemas) {
+            LOGGER.info("Analyzing '{}'", new Sanitize(schema));
+            Database db = this.analyze(databaseName(schema), schema, true, schemaOutputDir(outputDir, schema), databaseService, con);
+            databases.add(db);
+            if (db == null) {
+                break;
+            }
+        }
+        return databases;
+    }
+
+    /**
+     * Analyze up to <code>schemaThreads</code> schemas at the same time, each with its own
+     * connection and services. The first failure is rethrown and stops schemas that
+     * haven't been started yet.
+     */
+    private List<Database> analyzeConcurrently(
+        List<String> schemas,
+        int schemaThreads,
+        File outputDir,
+        SqlConnection con
+    ) throws SQLException, IOException {
+        LOGGER.info("Analyzing {} schemas at the same time", schemaThreads);
+        ExecutorService executor = Executors.newFixedThreadPool(schemaThreads, new SchemaThreadFactory());
+        try {
+            List<Future<Database>> pending = new ArrayList<>(schemas.size());
+            for (String schema : schemas) {
+                pending.add(executor.submit(() -> analyzeWithOwnConnection(schema, outputDir, con)));
+            }
+            List<Database> databases = new ArrayList<>(schemas.size());
+            for (Future<Database> future : pending) {
+                databases.add(future.get());
+            }
+            return databases;
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while analyzing schemas");
+        } catch (ExecutionException exc) {
+            Throwable cause = exc.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            } else if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Database analyzeWithOwnConnection(String schema, File outputDir, SqlConnection con) throws SQLException, IOException {
+        LOGGER.info("Analyzing '{}'", new Sanitize(schema));
+        SqlService schemaSqlService = new SqlService();
+        try {
+            return analyze(
+                databaseName(schema),
+                schema,
+                true,
+                schemaOutputDir(outputDir, schema),
+                new DatabaseServiceFactory(schemaSqlService).forMultipleSchemas(commandLineArguments.getProcessingConfig()),
+                schemaSqlService,
+                con
+            );
+        } finally {
+            schemaSqlService.disconnect();
+        }
+    }
+
+    private String databaseName(String schema) {
+        return Objects
+            .nonNull(
+                commandLineArguments.getConnectionConfig().getDatabaseName()
+            )
+            ? commandLineArguments.getConnectionConfig().getDatabaseName()
+            : schema;
+    }
+
+    private static File schemaOutputDir(File outputDir, String schema) {
+        return new File(outputDir, new SanitizedFileName(new NameFromString(schema)).value());
+    }
+
     /**
      * Copy / paste from Database, but we can't use Database here...
      *
@@ -264,15 +378,80 @@ public class SchemaAnalyzer {
         File outputDir,
         DatabaseService databaseService,
         SqlConnection connection
+    ) throws SQLException, IOException {
+        return analyze(dbName, schema, isOneOfMultipleSchemas, outputDir, databaseService, sqlService, connection);
+    }
+
+    private static void writeQuarantine(Quarantine quarantine, File outputDir) {
+        try {
+            new QuarantineReport(quarantine, outputDir).write();
+        } catch (IOException exc) {
+            LOGGER.warn("Failed to write quarantined tables and views to '{}'", outputDir, exc);
+        }
+    }
+
+    private Database analyze(
+        String dbName,
+        String schema,
+        boolean isOneOfMultipleSchemas,
+        File outputDir,
+        DatabaseService databaseService,
+        SqlService sqlService,
+        SqlConnection connection
+    ) throws SQLException, IOException {
+        if (!commandLineArguments.isMetricsEnabled()) {
+            return analyze(dbName, schema, isOneOfMultipleSchemas, outputDir, databaseService, sqlService, connection, Metrics.disabled());
+        }
+        Metrics metrics = new Metrics();
+        try (MetricsBean metricsBean = commandLineArguments.isMetricsJmxEnabled()
+            ? MetricsBean.register(metrics, Objects.toString(schema, String.valueOf(dbName)))
+            : null
+        ) {
+            return analyze(dbName, schema, isOneOfMultipleSchemas, outputDir, databaseService, sqlService, connection, metrics);
+        } finally {
+            writeMetrics(metrics, outputDir);
+        }
+    }
+
+    private static void writeMetrics(Metrics metrics, File outputDir) {
+        if (!outputDir.isDirectory()) {
+            return;
+        }
+        try {
+            new MetricsReport(metrics, outputDir).write();
+        } catch (IOException exc) {
+            LOGGER.warn("Failed to write metrics to '{}'", outputDir, exc);
+        }
+    }
+
+    private Database analyze(
+        String dbName,
+        String schema,
+        boolean isOneOfMultipleSchemas,
+        File outputDir,
+        DatabaseService databaseService,
+        SqlService sqlService,
+        SqlConnection connection,
+        Metrics metrics
     ) throws SQLException, IOException {
         LOGGER.info("Starting schema analysis");
-        ProgressListener progressListener = new Console(outputDir, new Tracked());
+        ProgressListener progressListener = new Console(outputDir, new Metered(new Tracked(), metrics));
 
         FileUtils.forceMkdir(outputDir);
 
         String catalog = commandLineArguments.getCatalog();
 
-        DatabaseMetaData databaseMetaData = sqlService.connect(connection);
+        ProcessingConfig processingConfig = commandLineArguments.getProcessingConfig();
+        DatabaseMetaData databaseMetaData = sqlService.connect(
+            connection,
+            new MeteredJdbc(metrics, processingConfig.getDatabaseTypeProperties()),
+            new Watchdog(
+                processingConfig.getQueryTimeout(),
+                processingConfig.getObjectTimeout(),
+                processingConfig.getPhaseTimeout(),
+                processingConfig.getObjectRetries()
+            )
+        );
         DbmsMeta dbmsMeta = sqlService.getDbmsMeta();
         LOGGER.info("Connected to {} - {}", databaseMetaData.getDatabaseProductName(), databaseMetaData.getDatabaseProductVersion());
 
@@ -299,7 +478,22 @@ public class SchemaAnalyzer {
         // create our representation of the database
         //
         Database db = new Database(dbmsMeta, dbName, catalog, schema);
-        databaseService.gatherSchemaDetails(db, schemaMeta, progressListener);
+        databaseService.gatherSchemaDetails(
+            db,
+            schemaMeta,
+            progressListener,
+            commandLineArguments.getProcessingConfig().isMetadataSnapshotEnabled()
+                ? outputDir.toPath().resolve(MetadataCache.FILE_NAME)
+                : null
+        );
+        writeQuarantine(sqlService.getWatchdog().getQuarantine(), outputDir);
+        if (!db.getViews().isEmpty()) {
+            db.setViewReferences(
+                new SqlAnalyzer(dbmsMeta.getIdentifierQuoteString(), dbmsMeta.reservedWords(), db.getTables(), db.getViews())
+                    .analyze(db.getViews())
+            );
+        }
+        db.freeze();
 
 
         Collection<Table> tables = new ArrayList<>(db.getTables());
@@ -325,7 +519,8 @@ public class SchemaAnalyzer {
                     progressListener,
                     outputDir,
                     db,
-                    tables
+                    tables,
+                    metrics
             );
         }
 
@@ -339,8 +534,8 @@ public class SchemaAnalyzer {
             }
         }
 
-        // create an orderer to be able to determine insertion and deletion ordering of tables
-        // side effect is that the RI relationships get trashed
+        // create an orderer to be able to determine insertion and deletion ordering of tables,
+        // done last so rails and implied constraints added by the html output are part of the ordering
         List<Table> orderedTables = new InsertionOrdered(db).getTablesOrderedByRI();
 
         new OrderingReport(outputDir, orderedTables).write();
@@ -357,17 +552,32 @@ public class SchemaAnalyzer {
             ProgressListener progressListener,
             File outputDir,
             Database db,
-            Collection<Table> tables
+            Collection<Table> tables,
+            Metrics metrics
     ) throws IOException {
 
         FileUtils.forceMkdir(new File(outputDir, "tables"));
         FileUtils.forceMkdir(new File(outputDir, "diagrams/summary"));
 
-        commandLineArguments.getHtmlConfig().registryPage(tables);
+        // every schema links markup references to its own tables, schemas can be written concurrently
+        PageRegistry pageRegistry = new PageRegistry().register(tables);
 
-        new CopyFromUrl(layoutFolder.url(), outputDir, new NotHtml()).copy();
+        // with shared assets the bower libraries and fonts are copied once, to the parent with the index of all schemas
+        boolean sharedAssets = isOneOfMultipleSchemas && commandLineArguments.getHtmlConfig().isSharedAssetsEnabled();
+        FileFilter layoutFilter = sharedAssets
+            ? new NotInDirectories(new NotHtml(), new File(outputDir, "bower"), new File(outputDir, "fonts"))
+            : new NotHtml();
+        new CopyFromUrl(layoutFolder.url(), outputDir, layoutFilter).copy();
 
-        Renderer renderer = useVizJS ? new VizJSDot() : new GraphvizDot(commandLineArguments.getGraphVizConfig());
+        Renderer renderer = useVizJS ? new VizJSDot(commandLineArguments.getRenderThreads()) : graphvizRenderer();
+        if (metrics.isEnabled()) {
+            renderer = new MeteredRenderer(renderer, metrics);
+        }
+        RenderManifest renderManifest = null;
+        if (commandLineArguments.isIncremental()) {
+            renderManifest = RenderManifest.load(outputDir);
+            renderer = new IncrementalRenderer(renderer, renderManifest);
+        }
         new InfoHtml(outputDir, renderer).write();
         progressListener.startCreatingSummaries();
 
@@ -388,6 +598,8 @@ public class SchemaAnalyzer {
          commandLineArguments.withImpliedRelationships()
          ? impliedConstraintsFinder.find(tables)
          : Collections.emptyList();
+        // rails and implied constraints thaw the tables they connect
+        db.freeze();
 
         RuntimeDotConfig runtimeDotConfig = new SimpleRuntimeDotConfig(
             new DefaultFontConfig(
@@ -426,7 +638,9 @@ public class SchemaAnalyzer {
             schema,
             commandLineArguments.getHtmlConfig(),
             isOneOfMultipleSchemas,
-            dataTableConfig
+            dataTableConfig,
+            sharedAssets,
+            pageRegistry
         );
 
         HtmlRelationshipsPage htmlRelationshipsPage = new HtmlRelationshipsPage(mustacheCompiler, hasRealConstraints, !impliedConstraints.isEmpty());
@@ -448,9 +662,14 @@ public class SchemaAnalyzer {
             progressListener.createdSummary();
         }
 
+        DataFiles dataFiles = commandLineArguments.getHtmlConfig().isDataFilesEnabled()
+            ? new DataFiles(mustacheCompiler, outputDir)
+            : DataFiles.disabled();
+
         HtmlMainIndexPage htmlMainIndexPage = new HtmlMainIndexPage(
             mustacheCompiler,
-            commandLineArguments.getHtmlConfig().getDescription()
+            commandLineArguments.getHtmlConfig().getDescription(),
+            dataFiles
         );
         try (Writer writer = new DefaultPrintWriter(outputDir.toPath().resolve(INDEX_DOT_HTML).toFile())) {
             htmlMainIndexPage.write(db, tables, impliedConstraints, writer);
@@ -458,7 +677,7 @@ public class SchemaAnalyzer {
 
         List<ForeignKeyConstraint> constraints = DbAnalyzer.getForeignKeyConstraints(tables);
 
-        HtmlConstraintsPage htmlConstraintsPage = new HtmlConstraintsPage(mustacheCompiler);
+        HtmlConstraintsPage htmlConstraintsPage = new HtmlConstraintsPage(mustacheCompiler, dataFiles);
         try (Writer writer = new DefaultPrintWriter(outputDir.toPath().resolve("constraints.html").toFile())) {
             htmlConstraintsPage.write(constraints, tables, writer);
         }
@@ -468,7 +687,7 @@ public class SchemaAnalyzer {
             htmlAnomaliesPage.write(tables, impliedConstraints, writer);
         }
 
-        HtmlColumnsPage htmlColumnsPage = new HtmlColumnsPage(mustacheCompiler);
+        HtmlColumnsPage htmlColumnsPage = new HtmlColumnsPage(mustacheCompiler, dataFiles);
         try (Writer writer = new DefaultPrintWriter(outputDir.toPath().resolve("columns.html").toFile())) {
             htmlColumnsPage.write(tables, writer);
         }
@@ -522,25 +741,39 @@ public class SchemaAnalyzer {
         // create detailed diagrams
 
         progressListener.startCreatingTablePages();
-        SqlAnalyzer sqlAnalyzer = new SqlAnalyzer(db.getDbmsMeta().getIdentifierQuoteString(), db.getDbmsMeta().reservedWords(), db.getTables(), db.getViews());
 
         File tablesDir = new File(diagramDir, "tables");
         tablesDir.mkdirs();
         TableDiagram tableDiagram = new TableDiagram(renderer, tablesDir);
         MustacheTableDiagramFactory mustacheTableDiagramFactory = new MustacheTableDiagramFactory(dotProducer, tableDiagram, outputDir, commandLineArguments.getDegreeOfSeparation());
-        HtmlTablePage htmlTablePage = new HtmlTablePage(mustacheCompiler, sqlAnalyzer);
-        for (Table table : tables) {
-            List<MustacheTableDiagram> mustacheTableDiagrams = mustacheTableDiagramFactory.generateTableDiagrams(table);
-            LOGGER.debug("Writing details of {}", table.getName());
-            try (Writer writer = new DefaultPrintWriter(outputDir.toPath().resolve("tables").resolve(new SanitizedFileName(new NameFromString(table.getName())).value() + DOT_HTML).toFile())) {
-                htmlTablePage.write(table, mustacheTableDiagrams, writer);
-                progressListener.createdTablePage(table);
-            }
+        HtmlTablePage htmlTablePage = new HtmlTablePage(mustacheCompiler, db.getViewReferences());
+        new TablePages(
+            mustacheTableDiagramFactory,
+            htmlTablePage,
+            outputDir,
+            commandLineArguments.isIncremental(),
+            progressListener,
+            commandLineArguments.getRenderThreads()
+        ).write(tables);
+        if (Objects.nonNull(renderManifest)) {
+            renderManifest.save();
         }
         progressListener.finishedCreatingTablePages();
         LOGGER.info("View the results by opening {}", new File(outputDir, INDEX_DOT_HTML));
     }
 
+    /**
+     * With a batch size above one, diagrams requested while every render thread is running dot are rendered together
+     */
+    private Renderer graphvizRenderer() {
+        GraphvizConfig graphvizConfig = commandLineArguments.getGraphVizConfig();
+        GraphvizDot graphvizDot = new GraphvizDot(graphvizConfig);
+        if (graphvizConfig.getBatchSize() <= 1) {
+            return graphvizDot;
+        }
+        return new BatchGraphvizDot(graphvizDot, commandLineArguments.getRenderThreads(), graphvizConfig.getBatchSize());
+    }
+
     /**
      * dumpNoDataMessage
      *
@@ -639,4 +872,15 @@ public class SchemaAnalyzer {
             }
         }
     }
+
+    private static class SchemaThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "schemaspy-schema-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
 }
@@ -31,8 +31,20 @@ import java.util.*;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+/**
+ * Finds columns that by name and type look like they reference the single column primary key of another table.
+ * <p>
+ * A column matches a primary key when its name is the key's name, ends with <code>_</code> and the key's name,
+ * or starts with the key's table name and ends with the key's name. All of these end with the key's name,
+ * so primary keys are indexed by their case folded name and only keys named like a suffix of the column are checked.
+ */
 public class ImpliedConstraintsFinder {
 
+    /**
+     * Below this many columns looking up parents in parallel costs more than it saves
+     */
+    private static final int PARALLEL_THRESHOLD = 1000;
+
     public List<ImpliedForeignKeyConstraint> find(Collection<Table> tables) {
         List<TableColumn> columnsWithoutParents =
             tables
@@ -43,15 +55,19 @@ public class ImpliedConstraintsFinder {
                 .sorted(byTable)
                 .collect(Collectors.toList());
 
-        Map<DatabaseObject, Table> keyedTablesByPrimary = primaryKeys(tables);
+        Map<String, List<PrimaryKey>> primaryKeysByName = primaryKeys(tables);
 
-        List<ImpliedForeignKeyConstraint> impliedConstraints = new ArrayList<>();
+        List<Table> primaryTables = (columnsWithoutParents.size() < PARALLEL_THRESHOLD
+                ? columnsWithoutParents.stream()
+                : columnsWithoutParents.parallelStream())
+            .map(childColumn -> findPrimaryTable(new DatabaseObject(childColumn), primaryKeysByName))
+            .collect(Collectors.toList());
 
-        for (TableColumn childColumn : columnsWithoutParents) {
-            DatabaseObject columnWithoutParent = new DatabaseObject(childColumn);
+        List<ImpliedForeignKeyConstraint> impliedConstraints = new ArrayList<>();
 
-            // search for Parent(PK) table
-            Table primaryTable = findPrimaryTable(columnWithoutParent, keyedTablesByPrimary);
+        for (int i = 0; i < columnsWithoutParents.size(); i++) {
+            TableColumn childColumn = columnsWithoutParents.get(i);
+            Table primaryTable = primaryTables.get(i);
 
             if (primaryTable != null && primaryTable != childColumn.getTable()) {
                 // can't match up multiples...yet...==> so checks only first  PK column.
@@ -84,7 +100,7 @@ public class ImpliedConstraintsFinder {
         return rc;
     };
 
-    private Map<DatabaseObject, Table> primaryKeys(Collection<Table> tables) {
+    private Map<String, List<PrimaryKey>> primaryKeys(Collection<Table> tables) {
         Map<DatabaseObject, Table> keyedTablesByPrimary = new TreeMap<>();
 
         for (Table table : tables) {
@@ -98,32 +114,48 @@ public class ImpliedConstraintsFinder {
                 }
             }
         }
-        return keyedTablesByPrimary;
+
+        Map<String, List<PrimaryKey>> primaryKeysByName = new HashMap<>();
+        for (Map.Entry<DatabaseObject, Table> entry : keyedTablesByPrimary.entrySet()) {
+            primaryKeysByName
+                .computeIfAbsent(fold(entry.getKey().getName()), name -> new ArrayList<>())
+                .add(new PrimaryKey(entry.getKey(), entry.getValue()));
+        }
+        return primaryKeysByName;
     }
 
-    private Table findPrimaryTable(DatabaseObject columnWithoutParent, Map<DatabaseObject, Table> keyedTablesByPrimary) {
+    private Table findPrimaryTable(DatabaseObject columnWithoutParent, Map<String, List<PrimaryKey>> primaryKeysByName) {
         Table primaryTable = null;
-        for (Map.Entry<DatabaseObject, Table> entry : keyedTablesByPrimary.entrySet()) {
-            DatabaseObject key = entry.getKey();
-            if (
-                nameMatches(columnWithoutParent.getName(), key.getName(), entry.getValue().getName())
-                && typeMatches(columnWithoutParent, key)
-            ) {
-                // if child column refrencing multiple PK(Parent) tables then don't create implied relationship and exit the loop.
-                // one column can reference only one parent table.!
-                if (Objects.nonNull(primaryTable)) {
-                    return null;
+        String columnName = fold(columnWithoutParent.getName());
+        for (int start = 0; start <= columnName.length(); start++) {
+            List<PrimaryKey> candidates = primaryKeysByName.get(columnName.substring(start));
+            if (Objects.isNull(candidates)) {
+                continue;
+            }
+            for (PrimaryKey primaryKey : candidates) {
+                if (primaryKey.nameMatches(columnWithoutParent.getName()) && typeMatches(columnWithoutParent, primaryKey.key)) {
+                    // if child column refrencing multiple PK(Parent) tables then don't create implied relationship and exit the loop.
+                    // one column can reference only one parent table.!
+                    if (Objects.nonNull(primaryTable)) {
+                        return null;
+                    }
+                    primaryTable = primaryKey.table;
                 }
-                primaryTable = entry.getValue();
             }
         }
         return primaryTable;
     }
 
-    private boolean nameMatches(String columnWithoutParent, String primaryKey, String primaryKeyTable) {
-        return columnWithoutParent.compareToIgnoreCase(primaryKey) == 0
-               || columnWithoutParent.matches("(?i).*_" + Pattern.quote(primaryKey))
-               || columnWithoutParent.matches("(?i)" + Pattern.quote(primaryKeyTable) + ".*" + Pattern.quote(primaryKey));
+    /**
+     * Case folding that keeps the length of the name, so a name matching the end of
+     * another name ignoring case is a suffix of its folded form
+     */
+    private static String fold(String name) {
+        char[] folded = name.toCharArray();
+        for (int i = 0; i < folded.length; i++) {
+            folded[i] = Character.toLowerCase(Character.toUpperCase(folded[i]));
+        }
+        return new String(folded);
     }
 
     private boolean typeMatches(DatabaseObject orphan, DatabaseObject primaryKey) {
@@ -132,4 +164,27 @@ public class ImpliedConstraintsFinder {
                 || orphan.getTypeName()
                          .compareToIgnoreCase(primaryKey.getTypeName()) == 0) && orphan.getLength() - primaryKey.getLength() == 0;
     }
+
+    /**
+     * Single column primary key with the name patterns of columns referencing it compiled once
+     */
+    private static final class PrimaryKey {
+        private final DatabaseObject key;
+        private final Table table;
+        private final Pattern underscoreKey;
+        private final Pattern tableAndKey;
+
+        private PrimaryKey(DatabaseObject key, Table table) {
+            this.key = key;
+            this.table = table;
+            this.underscoreKey = Pattern.compile("(?i).*_" + Pattern.quote(key.getName()));
+            this.tableAndKey = Pattern.compile("(?i)" + Pattern.quote(table.getName()) + ".*" + Pattern.quote(key.getName()));
+        }
+
+        private boolean nameMatches(String columnWithoutParent) {
+            return columnWithoutParent.compareToIgnoreCase(key.getName()) == 0
+                   || underscoreKey.matcher(columnWithoutParent).matches()
+                   || tableAndKey.matcher(columnWithoutParent).matches();
+        }
+    }
 }
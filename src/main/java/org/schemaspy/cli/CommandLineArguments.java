@@ -186,6 +186,17 @@ public class CommandLineArguments {
     //Use Set instead of List to workaround https://github.com/cbeust/jcommander/issues/457
     private Set<String> schemas = new HashSet<>();
 
+    @Parameter(
+        names = {
+            "--schema-threads",
+            "schemaspy.schemaThreads",
+            "schemaspy.schema-threads"
+        },
+        descriptionKey = "schemathreads",
+        required = false
+    )
+    private int schemaThreads = 1;
+
     @Parameter(
         names = {
             "-o", "--outputDirectory",
@@ -229,6 +240,48 @@ public class CommandLineArguments {
     )
     private boolean useVizJS = false;
 
+    @Parameter(
+        names = {
+            "--incremental",
+            "schemaspy.incremental"
+        },
+        descriptionKey = "incremental",
+        required = false
+    )
+    private boolean incremental = false;
+
+    @Parameter(
+        names = {
+            "--metrics",
+            "schemaspy.metrics"
+        },
+        descriptionKey = "metrics",
+        required = false
+    )
+    private boolean metrics = false;
+
+    @Parameter(
+        names = {
+            "--metrics-jmx",
+            "schemaspy.metricsJmx",
+            "schemaspy.metrics-jmx"
+        },
+        descriptionKey = "metricsjmx",
+        required = false
+    )
+    private boolean metricsJmx = false;
+
+    @Parameter(
+        names = {
+            "--render-threads",
+            "schemaspy.renderThreads",
+            "schemaspy.render-threads"
+        },
+        descriptionKey = "renderthreads",
+        required = false
+    )
+    private int renderThreads = 0;
+
     @Parameter(
         names = {
             "-degree",
@@ -569,6 +622,40 @@ public class CommandLineArguments {
         return useVizJS;
     }
 
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    /**
+     * @return whether metrics are collected and written to <code>schemaspy-metrics.json</code>
+     */
+    public boolean isMetricsEnabled() {
+        return metrics || metricsJmx;
+    }
+
+    public boolean isMetricsJmxEnabled() {
+        return metricsJmx;
+    }
+
+    /**
+     * @return number of schemas analyzed concurrently with <code>-all</code> or <code>-schemas</code>,
+     * each of them uses its own connections
+     */
+    public int getSchemaThreads() {
+        return Math.max(1, schemaThreads);
+    }
+
+    /**
+     * @return number of tables whose diagrams and pages are produced concurrently,
+     * defaults to the number of available processors
+     */
+    public int getRenderThreads() {
+        if (renderThreads > 0) {
+            return renderThreads;
+        }
+        return Runtime.getRuntime().availableProcessors();
+    }
+
     public int getDegreeOfSeparation() {
         return degreeOfSeparation;
     }
@@ -15,5 +15,14 @@ public interface ProcessingConfig {
     Pattern getTableInclusions();
     Pattern getTableExclusions();
     int getMaxDbThreads();
+    int getRowCountThreads();
+    int getRowCountTimeout();
+    int getRowCountBudget();
+    int getQueryTimeout();
+    int getObjectTimeout();
+    int getPhaseTimeout();
+    int getObjectRetries();
+    boolean isBulkMetadataEnabled();
+    boolean isMetadataSnapshotEnabled();
     boolean includeRoutineDefinition();
 }
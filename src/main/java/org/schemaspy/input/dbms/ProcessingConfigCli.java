@@ -78,6 +78,87 @@ public class ProcessingConfigCli implements ProcessingConfig {
     )
     private int maxDbThreads = 0;
 
+    @Parameter(
+        names = {
+            "--row-count-threads",
+            "schemaspy.rowCountThreads", "schemaspy.row-count-threads"
+        },
+        descriptionKey = "rowcountthreads"
+    )
+    private int rowCountThreads = 2;
+
+    @Parameter(
+        names = {
+            "--row-count-timeout",
+            "schemaspy.rowCountTimeout", "schemaspy.row-count-timeout"
+        },
+        descriptionKey = "rowcounttimeout"
+    )
+    private int rowCountTimeout = 0;
+
+    @Parameter(
+        names = {
+            "--row-count-budget",
+            "schemaspy.rowCountBudget", "schemaspy.row-count-budget"
+        },
+        descriptionKey = "rowcountbudget"
+    )
+    private int rowCountBudget = 0;
+
+    @Parameter(
+        names = {
+            "--query-timeout",
+            "schemaspy.queryTimeout", "schemaspy.query-timeout"
+        },
+        descriptionKey = "querytimeout"
+    )
+    private int queryTimeout = 0;
+
+    @Parameter(
+        names = {
+            "--object-timeout",
+            "schemaspy.objectTimeout", "schemaspy.object-timeout"
+        },
+        descriptionKey = "objecttimeout"
+    )
+    private int objectTimeout = 0;
+
+    @Parameter(
+        names = {
+            "--phase-timeout",
+            "schemaspy.phaseTimeout", "schemaspy.phase-timeout"
+        },
+        descriptionKey = "phasetimeout"
+    )
+    private int phaseTimeout = 0;
+
+    @Parameter(
+        names = {
+            "--object-retries",
+            "schemaspy.objectRetries", "schemaspy.object-retries"
+        },
+        descriptionKey = "objectretries"
+    )
+    private int objectRetries = 0;
+
+    @Parameter(
+        names = {
+            "--bulk-metadata",
+            "schemaspy.bulkMetadata", "schemaspy.bulk-metadata"
+        },
+        descriptionKey = "bulkmetadata"
+    )
+    private boolean bulkMetadata = false;
+
+    @Parameter(
+        names = {
+            "--metadata-snapshot",
+            "schemaspy.metadataSnapshot", "schemaspy.metadata-snapshot"
+        },
+        descriptionKey = "metadatasnapshot"
+    )
+    private boolean metadataSnapshot = false;
+
     @Parameter(
         names = {
             "--include-routine-definition",
@@ -153,6 +234,51 @@ public class ProcessingConfigCli implements ProcessingConfig {
         }
     }
 
+    @Override
+    public int getRowCountThreads() {
+        return rowCountThreads;
+    }
+
+    @Override
+    public int getRowCountTimeout() {
+        return rowCountTimeout;
+    }
+
+    @Override
+    public int getRowCountBudget() {
+        return rowCountBudget;
+    }
+
+    @Override
+    public int getQueryTimeout() {
+        return queryTimeout;
+    }
+
+    @Override
+    public int getObjectTimeout() {
+        return objectTimeout;
+    }
+
+    @Override
+    public int getPhaseTimeout() {
+        return phaseTimeout;
+    }
+
+    @Override
+    public int getObjectRetries() {
+        return objectRetries;
+    }
+
+    @Override
+    public boolean isBulkMetadataEnabled() {
+        return bulkMetadata;
+    }
+
+    @Override
+    public boolean isMetadataSnapshotEnabled() {
+        return metadataSnapshot;
+    }
+
     @Override
     public boolean includeRoutineDefinition() {
         return includeRoutineDefinition;
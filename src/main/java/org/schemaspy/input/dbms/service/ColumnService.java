@@ -18,14 +18,16 @@
  */
 package org.schemaspy.input.dbms.service;
 
+import org.schemaspy.input.dbms.service.helper.TableSnapshot;
 import org.schemaspy.model.Table;
 import org.schemaspy.model.TableColumn;
+import org.schemaspy.util.CaseInsensitiveMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.invoke.MethodHandles;
 import java.sql.*;
-import java.util.Objects;
+import java.util.*;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -51,19 +53,99 @@ public class ColumnService {
     }
 
     /**
-     * @throws SQLException
+     * Gathers the columns of all supplied tables with one
+     * {@link DatabaseMetaData#getColumns(String, String, String, String)} call per catalog/schema
+     * instead of one call per table. Tables that the schema-wide call didn't return anything for,
+     * or all tables if the driver refuses the call, are gathered table by table.
+     * <p>
+     * The per table <code>select * ... where 0 = 1</code> used to find auto updated columns is skipped
+     * for tables where the driver reports <code>IS_AUTOINCREMENT</code> for every column.
      */
-    private void initColumns(Table table) throws SQLException {
-        synchronized (Table.class) {
-            try (ResultSet rs = sqlService.getDatabaseMetaData().getColumns(table.getCatalog(), table.getSchema(), table.getName(), "%")) {
-                while (rs.next()) {
+    public void gatherColumns(Collection<? extends Table> tables) throws SQLException {
+        Map<List<String>, Map<String, Table>> containers = new LinkedHashMap<>();
+        for (Table table : tables) {
+            containers
+                .computeIfAbsent(Arrays.asList(table.getCatalog(), table.getSchema()), key -> new CaseInsensitiveMap<>())
+                .put(table.getName(), table);
+        }
+
+        Set<Table> autoUpdateResolved = new HashSet<>();
+        for (Map.Entry<List<String>, Map<String, Table>> container : containers.entrySet()) {
+            String catalog = container.getKey().get(0);
+            String schema = container.getKey().get(1);
+            if (!initColumns(catalog, schema, container.getValue(), autoUpdateResolved)) {
+                LOGGER.info("Falling back to fetching columns table by table for '{}'", Objects.toString(schema, catalog));
+            }
+        }
+
+        for (Table table : tables) {
+            if (table.getColumnsMap().isEmpty()) {
+                initColumns(table);
+                autoUpdateResolved.remove(table);
+            }
+            if (!(table.isView() || table.isRemote() || autoUpdateResolved.contains(table))) {
+                initColumnAutoUpdate(table, true);
+            }
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the schema-wide query worked, otherwise <code>false</code>
+     */
+    private boolean initColumns(String catalog, String schema, Map<String, Table> tables, Set<Table> autoUpdateResolved) {
+        Set<Table> autoUpdateUnknown = new HashSet<>();
+        try (ResultSet rs = sqlService.getDatabaseMetaData().getColumns(catalog, schema, "%", "%")) {
+            TableRows rows = new TableRows(tables, rs);
+            while (rs.next()) {
+                Table table = rows.table();
+                if (table != null) {
                     addColumn(table, rs);
-                }
-            } catch (SQLException exc) {
-                if (!table.isLogical()) {
-                    throw new ColumnInitializationFailure(table, exc);
+                    if (!initColumnAutoUpdate(table, rs)) {
+                        autoUpdateUnknown.add(table);
+                    }
                 }
             }
+        } catch (SQLException exc) {
+            LOGGER.warn("Failed to fetch columns for '{}' with a single query", Objects.toString(schema, catalog), exc);
+            tables.values().forEach(table -> table.getColumnsMap().clear());
+            return false;
+        }
+        tables.values().stream()
+            .filter(table -> !autoUpdateUnknown.contains(table))
+            .forEach(autoUpdateResolved::add);
+        return true;
+    }
+
+    /**
+     * @param rs - from {@link DatabaseMetaData#getColumns(String, String, String, String)}
+     * @return <code>false</code> if the driver doesn't report <code>IS_AUTOINCREMENT</code>
+     */
+    private static boolean initColumnAutoUpdate(Table table, ResultSet rs) {
+        try {
+            String autoIncrement = rs.getString("IS_AUTOINCREMENT");
+            TableColumn column = table.getColumn(rs.getString("COLUMN_NAME"));
+            if (column == null || !("YES".equals(autoIncrement) || "NO".equals(autoIncrement))) {
+                return false;
+            }
+            column.setIsAutoUpdated("YES".equals(autoIncrement));
+            return true;
+        } catch (SQLException notReported) { //NOSONAR
+            return false;
+        }
+    }
+
+    /**
+     * @throws SQLException
+     */
+    private void initColumns(Table table) throws SQLException {
+        try (ResultSet rs = sqlService.getDatabaseMetaData().getColumns(table.getCatalog(), table.getSchema(), table.getName(), "%")) {
+            while (rs.next()) {
+                addColumn(table, rs);
+            }
+        } catch (SQLException exc) {
+            if (!table.isLogical()) {
+                throw new ColumnInitializationFailure(table, exc);
+            }
         }
     }
 
@@ -116,11 +198,27 @@ public class ColumnService {
         column.setComments(rs.getString("REMARKS"));
         column.setId(rs.getInt("ORDINAL_POSITION") - 1);
 
+        initExclusions(column);
+
+        return column;
+    }
+
+    private void initExclusions(TableColumn column) {
         column.setAllExcluded(column.matches(excludeColumns));
         column.setExcluded(column.isAllExcluded() || column.matches(excludeIndirectColumns));
         LOGGER.trace("Excluding column {}.{}: matches {}:{} {}:{}", column.getTable(), column.getName(), excludeColumns, column.isAllExcluded(), excludeIndirectColumns, column.matches(excludeIndirectColumns));
+    }
 
-        return column;
+    /**
+     * Populate the columns of <code>table</code> from a previous run instead of querying them,
+     * column exclusions are applied as if they had been queried.
+     */
+    public void restoreColumns(Table table, TableSnapshot snapshot) {
+        for (TableSnapshot.Column snapshotColumn : snapshot.getColumns()) {
+            TableColumn column = snapshotColumn.toTableColumn(table);
+            initExclusions(column);
+            table.getColumnsMap().put(column.getName(), column);
+        }
     }
 
     /**
@@ -140,7 +238,7 @@ public class ColumnService {
         sql.append(tableName);
 
         sql.append(" where 0 = 1");
-        try (PreparedStatement stmt = sqlService.getDatabaseMetaData().getConnection().prepareStatement(sql.toString());
+        try (PreparedStatement stmt = sqlService.prepareStatement(sql.toString());
              ResultSet rs = stmt.executeQuery()) {
 
             ResultSetMetaData rsMeta = rs.getMetaData();
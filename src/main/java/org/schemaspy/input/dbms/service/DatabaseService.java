@@ -25,14 +25,19 @@ package org.schemaspy.input.dbms.service;
 
 import org.schemaspy.input.dbms.service.helper.BasicTableMeta;
 import org.schemaspy.input.dbms.service.helper.RemoteTableIdentifier;
+import org.schemaspy.input.dbms.service.helper.TableForeignKeys;
+import org.schemaspy.input.dbms.service.helper.TableSnapshot;
 import org.schemaspy.input.dbms.xml.SchemaMeta;
 import org.schemaspy.input.dbms.xml.TableMeta;
+import org.schemaspy.metrics.Timer;
 import org.schemaspy.model.*;
+import org.schemaspy.util.CaseInsensitiveMap;
 import org.schemaspy.validator.NameValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.invoke.MethodHandles;
+import java.nio.file.Path;
 import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -41,7 +46,9 @@ import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import static org.schemaspy.input.dbms.service.ColumnLabel.COLUMN_NAME;
 import static org.schemaspy.input.dbms.service.ColumnLabel.TABLE_NAME;
@@ -58,6 +65,10 @@ public class DatabaseService {
 
     private static final long THIRTY_MINUTES = 1000L*60L*30L;
 
+    private static final String COLLECTING_TABLES = "collecting tables";
+    private static final String COLLECTING_VIEWS = "collecting views";
+    private static final String CONNECTING = "connecting tables and views";
+
     private final Clock clock;
 
     private final SqlService sqlService;
@@ -68,11 +79,13 @@ public class DatabaseService {
     private final int maxThreads;
     private final boolean exportedKeys;
     private final boolean numberOfRows;
+    private final boolean bulkMetadata;
     private final Properties dbProperties;
     private final TableService tableService;
     private final ViewService viewService;
     private final RoutineService routineService;
     private final SequenceService sequenceService;
+    private final RowCounter rowCounter;
 
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
@@ -86,11 +99,13 @@ public class DatabaseService {
             int maxThreads,
             boolean exportedKeys,
             boolean numberOfRows,
+            boolean bulkMetadata,
             Properties dbProperties,
             TableService tableService,
             ViewService viewService,
             RoutineService routineService,
-            SequenceService sequenceService
+            SequenceService sequenceService,
+            RowCounter rowCounter
     ) {
         this.clock = Objects.requireNonNull(clock);
         this.sqlService = Objects.requireNonNull(sqlService);
@@ -100,47 +115,91 @@ public class DatabaseService {
         this.maxThreads = maxThreads;
         this.exportedKeys = exportedKeys;
         this.numberOfRows = numberOfRows;
+        this.bulkMetadata = bulkMetadata;
         this.dbProperties = dbProperties;
         this.tableService = Objects.requireNonNull(tableService);
         this.viewService = Objects.requireNonNull(viewService);
         this.routineService = Objects.requireNonNull(routineService);
         this.sequenceService = Objects.requireNonNull(sequenceService);
+        this.rowCounter = Objects.requireNonNull(rowCounter);
     }
 
     public void gatherSchemaDetails(Database db, SchemaMeta schemaMeta, ProgressListener listener) throws SQLException {
+        gatherSchemaDetails(db, schemaMeta, listener, null);
+    }
+
+    /**
+     * @param snapshotFile metadata snapshot to restore unchanged tables from and to update afterwards,
+     *                     <code>null</code> to query all tables
+     */
+    public void gatherSchemaDetails(Database db, SchemaMeta schemaMeta, ProgressListener listener, Path snapshotFile) throws SQLException {
 
         listener.startCollectingTablesViews();
 
         DatabaseMetaData meta = sqlService.getDatabaseMetaData();
+        MetadataCache cache = openMetadataCache(db, snapshotFile);
+
+        Watchdog watchdog = sqlService.getWatchdog();
+        watchdog.startPhase(COLLECTING_TABLES);
+        initTables(db, listener, meta, cache);
+        // rows are counted in the background while the rest of the schema is gathered
+        try (RowCounter.Counting counting = rowCounter.start(db)) {
+            if (viewsEnabled) {
+                watchdog.startPhase(COLLECTING_VIEWS);
+                initViews(db, listener, meta, cache);
+            }
 
-        initTables(db, listener, meta);
-        if (viewsEnabled) {
-            initViews(db, listener, meta);
+            initCatalogs(db);
+            initSchemas(db);
+
+            initCheckConstraints(db);
+            tableService.gatherTableIds(db);
+            initIndexIds(db);
+            tableService.gatherTableComments(db);
+            tableService.gatherTableColumnComments(db);
+            viewService.gatherViewComments(db);
+            viewService.gatherViewColumnComments(db);
+            initColumnTypes(db);
+            routineService.gatherRoutines(db);
+            sequenceService.gatherSequences(db);
         }
 
-        initCatalogs(db);
-        initSchemas(db);
-
-        initCheckConstraints(db);
-        tableService.gatherTableIds(db);
-        initIndexIds(db);
-        tableService.gatherTableComments(db);
-        tableService.gatherTableColumnComments(db);
-        viewService.gatherViewComments(db);
-        viewService.gatherViewColumnComments(db);
-        initColumnTypes(db);
-        routineService.gatherRoutines(db);
-        sequenceService.gatherSequences(db);
-
         listener.finishedCollectingTablesViews();
         listener.startConnectingTablesViews();
 
-        connectTables(db, listener);
+        watchdog.startPhase(CONNECTING);
+        connectTables(db, listener, cache);
+        cache.write();
         updateFromXmlMetadata(db, schemaMeta);
 
         listener.finishedConnectingTablesViews();
     }
 
+    /**
+     * Fetch the current change marker of every table to decide which tables can be restored from the snapshot
+     */
+    private MetadataCache openMetadataCache(Database db, Path snapshotFile) {
+        if (Objects.isNull(snapshotFile)) {
+            return MetadataCache.disabled();
+        }
+        String sql = dbProperties.getProperty("selectTableChangeMarkersSql");
+        if (Objects.isNull(sql)) {
+            LOGGER.warn("Metadata snapshot requires selectTableChangeMarkersSql in the database type, gathering all tables");
+            return MetadataCache.disabled();
+        }
+        Map<String, String> changeMarkers = new CaseInsensitiveMap<>();
+        try (PreparedStatement stmt = sqlService.prepareStatement(sql, db, null);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                changeMarkers.put(rs.getString(TABLE_NAME), rs.getString("change_marker"));
+            }
+        } catch (SQLException sqlException) {
+            LOGGER.warn("Failed to retrieve change markers using SQL '{}', gathering all tables", sql, sqlException);
+            return MetadataCache.disabled();
+        }
+        return MetadataCache.open(snapshotFile, db, changeMarkers);
+    }
+
     private void initCatalogs(Database db) throws SQLException {
 
             String sql = dbProperties.getProperty("selectCatalogsSql");
@@ -179,20 +238,25 @@ public class DatabaseService {
      * @param metadata
      * @throws SQLException
      */
-    private void initTables(Database db, ProgressListener listener, final DatabaseMetaData metadata) throws SQLException {
+    private void initTables(Database db, ProgressListener listener, final DatabaseMetaData metadata, MetadataCache cache) throws SQLException {
         String[] types = getTypes("tableTypes", "TABLE");
         NameValidator validator = new NameValidator("table", include, exclude, types);
         List<BasicTableMeta> entries = getBasicTableMeta(db, metadata, true, types);
 
+        if (bulkMetadata) {
+            initTablesInBulk(db, listener, entries, validator, cache);
+            return;
+        }
+
         TableCreator creator;
         if (maxThreads == 1) {
-            creator = new TableCreator();
+            creator = new TableCreator(cache);
         } else {
             // creating tables takes a LONG time (based on JProbe analysis),
             // so attempt to speed it up by doing several in parallel.
             // note that it's actually DatabaseMetaData.getIndexInfo() that's expensive
 
-            creator = new ThreadedTableCreator(maxThreads);
+            creator = new ThreadedTableCreator(maxThreads, cache);
 
             // "prime the pump" so if there's a database problem we'll probably see it now
             // and not in a secondary thread
@@ -200,7 +264,7 @@ public class DatabaseService {
                 BasicTableMeta entry = entries.remove(0);
 
                 if (validator.isValid(entry.getName(), entry.getType())) {
-                    new TableCreator().create(db, entry, listener);
+                    new TableCreator(cache).create(db, entry, listener);
                     break;
                 }
             }
@@ -217,13 +281,65 @@ public class DatabaseService {
         creator.join();
     }
 
+    /**
+     * Create/initialize the tables using schema-wide metadata queries,
+     * rows are demultiplexed into the tables instead of querying table by table.
+     */
+    private void initTablesInBulk(Database db, ProgressListener listener, List<BasicTableMeta> entries, NameValidator validator, MetadataCache cache) throws SQLException {
+        Map<Table, BasicTableMeta> tables = new LinkedHashMap<>();
+        List<Table> changed = new ArrayList<>();
+        for (BasicTableMeta entry : entries) {
+            if (validator.isValid(entry.getName(), entry.getType())) {
+                Table table = new Table(db, entry.getCatalog(), entry.getSchema(), entry.getName(), entry.getRemarks());
+                tables.put(table, entry);
+                TableSnapshot snapshot = cache.restore(table);
+                if (Objects.isNull(snapshot)) {
+                    changed.add(table);
+                } else {
+                    tableService.restoreTableDetails(table, snapshot);
+                }
+            }
+        }
+
+        if (!changed.isEmpty()) {
+            tableService.gatheringTableDetails(db, changed);
+            changed.forEach(cache::gathered);
+        }
+
+        // adding a table doesn't talk to the database, rows are counted by the RowCounter later on
+        for (Map.Entry<Table, BasicTableMeta> entry : tables.entrySet()) {
+            addTable(db, entry.getKey(), entry.getValue(), listener);
+        }
+    }
+
+    /**
+     * Put the table into <code>tables</code>, tables without number of rows are counted by {@link RowCounter}
+     */
+    private void addTable(Database db, Table table, BasicTableMeta tableMeta, ProgressListener listener) {
+        if (tableMeta.getNumRows() != -1) {
+            table.setNumRows(tableMeta.getNumRows());
+        }
+
+        if (table.getNumRows() == 0 && !numberOfRows) {
+            table.setNumRows(-1);
+        }
+
+        synchronized (db.getTablesMap()) {
+            db.getTablesMap().put(table.getName(), table);
+        }
+
+        listener.tableViewCollected(table);
+
+        LOGGER.debug("Retrieved details of {}", table.getFullName());
+    }
+
     /**
      * Create/initialize any views in the schema.
      *
      * @param metadata
      * @throws SQLException
      */
-    private void initViews(Database db, ProgressListener listener, DatabaseMetaData metadata) throws SQLException {
+    private void initViews(Database db, ProgressListener listener, DatabaseMetaData metadata, MetadataCache cache) throws SQLException {
         String[] types = getTypes("viewTypes", "VIEW");
         NameValidator validator = new NameValidator("view", include, exclude, types);
 
@@ -231,7 +347,16 @@ public class DatabaseService {
             if (validator.isValid(entry.getName(), entry.getType())) {
                 View view = new View(db, entry.getCatalog(), entry.getSchema(), entry.getName(),
                         entry.getRemarks(), entry.getViewDefinition());
-                viewService.gatherViewsDetails(db, view);
+                try (Timer.Timing timing = sqlService.getMetrics().timer("view.collect").start()) {
+                    TableSnapshot snapshot = cache.restore(view);
+                    if (Objects.isNull(snapshot)) {
+                        if (watched(view, COLLECTING_VIEWS, () -> viewService.gatherViewsDetails(db, view))) {
+                            cache.gathered(view);
+                        }
+                    } else {
+                        viewService.restoreViewsDetails(db, view, snapshot);
+                    }
+                }
                 listener.tableViewCollected(view);
                 LOGGER.debug("Found details of view {}", view.getName());
             }
@@ -312,43 +437,98 @@ public class DatabaseService {
         }
     }
 
-    private void connectTables(Database db, ProgressListener listener) {
-        Instant startTables = clock.instant();
-        Duration durationOneTable = null;
-        for (Table table : db.getTables()) {
-            listener.connectedTableView(table);
-
-            tableService.connectForeignKeys(db, table, db.getLocals());
-            if (Objects.isNull(durationOneTable)) {
-                durationOneTable = Duration.between(startTables, clock.instant());
-                long timeLeft = durationOneTable.toMillis()*(db.getTables().size()-1);
-                if (timeLeft > THIRTY_MINUTES && exportedKeys) {
-                    String remaining = DurationFormatter.formatMS(timeLeft);
-                    LOGGER.info("Estimated time remaining for connecting tables is {}, most time might be spent in getExportedKeys, you can disable getExportedKeys with `-noexportedkeys`. The implication of this is that you won't get cross schema relationships where table in analysis is FK, and the remote schema isn't analyzed", remaining);
+    /**
+     * Fetches the foreign keys not already fetched for all tables at once or restored from the snapshot,
+     * in parallel unless limited to one thread, but connects them to the model in the same order as the
+     * sequential implementation so the result doesn't depend on which worker finished first.
+     */
+    private void connectTables(Database db, ProgressListener listener, MetadataCache cache) throws SQLException {
+        List<Table> tables = new ArrayList<>(db.getTables());
+        tables.addAll(db.getViews());
+        List<Table> changed = tables.stream()
+            .filter(table -> Objects.isNull(cache.foreignKeys(table)))
+            .collect(Collectors.toList());
+        Map<Table, TableForeignKeys> importedKeys = changed.isEmpty()
+            ? Collections.emptyMap()
+            : tableService.fetchImportedKeys(db, changed, bulkMetadata);
+        TableForeignKeys[] foreignKeys = new TableForeignKeys[tables.size()];
+        // the time remaining is only worth mentioning if it can be reduced by -noexportedkeys
+        AtomicBoolean estimated = new AtomicBoolean(!exportedKeys);
+        if (maxThreads == 1) {
+            for (int i = 0; i < tables.size(); i++) {
+                foreignKeys[i] = fetchForeignKeys(tables.get(i), importedKeys, cache, estimated, tables.size());
+            }
+        } else {
+            try (WorkerPool workers = sqlService.workerPool(maxThreads)) {
+                for (int i = 0; i < tables.size(); i++) {
+                    int index = i;
+                    workers.submit(() -> foreignKeys[index] = fetchForeignKeys(tables.get(index), importedKeys, cache, estimated, tables.size()));
                 }
             }
         }
-        Instant startViews = clock.instant();
-        Duration durationOneView = null;
-        for (Table view : db.getViews()) {
-            listener.connectedTableView(view);
-
-            tableService.connectForeignKeys(db, view, db.getLocals());
-            if (Objects.isNull(durationOneView)) {
-                durationOneView = Duration.between(startViews, clock.instant());
-                long timeLeft = durationOneView.toMillis()*(db.getViews().size()-1);
-                if (timeLeft > THIRTY_MINUTES && exportedKeys) {
-                    String remaining = DurationFormatter.formatMS(timeLeft);
-                    LOGGER.info("Estimated time remaining for connecting views is {}, most time might be spent in getExportedKeys, you can disable getExportedKeys with `-noexportedkeys`. The implication of this is that you won't get cross schema relationships where table in analysis is FK, and the remote schema isn't analyzed", remaining);
-                }
+
+        Map<String, Table> locals = db.getLocals();
+        for (int i = 0; i < tables.size(); i++) {
+            Table table = tables.get(i);
+            listener.connectedTableView(table);
+            tableService.connectForeignKeys(db, table, foreignKeys[i], locals);
+        }
+    }
+
+    /**
+     * Foreign keys of quarantined tables and views aren't fetched, nor kept in the snapshot when they time out.
+     * The first table that is fetched from the database is used to estimate the time remaining
+     */
+    private TableForeignKeys fetchForeignKeys(Table table, Map<Table, TableForeignKeys> importedKeys, MetadataCache cache, AtomicBoolean estimated, int tableCount) throws SQLException {
+        TableForeignKeys foreignKeys = cache.foreignKeys(table);
+        if (Objects.nonNull(foreignKeys)) {
+            return foreignKeys;
+        }
+        if (isQuarantined(table)) {
+            return new TableForeignKeys();
+        }
+        TableForeignKeys imported = importedKeys.get(table);
+        TableForeignKeys[] fetched = {new TableForeignKeys()};
+        Instant start = clock.instant();
+        boolean complete = watched(table, CONNECTING, () -> fetched[0] = Objects.isNull(imported)
+            ? tableService.fetchForeignKeys(table)
+            : tableService.fetchExportedKeys(table, imported));
+        if (estimated.compareAndSet(false, true)) {
+            long timeLeft = Duration.between(start, clock.instant()).toMillis() * (tableCount - 1) / Math.max(1, maxThreads);
+            if (timeLeft > THIRTY_MINUTES) {
+                String remaining = DurationFormatter.formatMS(timeLeft);
+                LOGGER.info("Estimated time remaining for connecting tables and views is {}, most time might be spent in getExportedKeys, you can disable getExportedKeys with `-noexportedkeys`. The implication of this is that you won't get cross schema relationships where table in analysis is FK, and the remote schema isn't analyzed", remaining);
             }
         }
+        if (complete) {
+            cache.foreignKeysFetched(table, fetched[0]);
+        }
+        return fetched[0];
+    }
+
+    private boolean isQuarantined(Table table) {
+        return sqlService.getWatchdog().getQuarantine().contains(table.getFullName());
+    }
+
+    /**
+     * Run work on the metadata of <code>table</code> within the limits of the {@link Watchdog}
+     *
+     * @return <code>false</code> if the table was quarantined
+     */
+    private boolean watched(Table table, String phase, WorkerPool.SqlTask work) throws SQLException {
+        return sqlService.getWatchdog().run(table.getFullName(), phase, sqlService.getWorkerConnection(), work);
     }
 
     /**
      * Single-threaded implementation of a class that creates tables
      */
     private class TableCreator {
+        private final MetadataCache cache;
+
+        TableCreator(MetadataCache cache) {
+            this.cache = cache;
+        }
+
         /**
          * Create a table and put it into <code>tables</code>
          */
@@ -357,25 +537,18 @@ public class DatabaseService {
         }
 
         protected void createImpl(Database db, BasicTableMeta tableMeta, ProgressListener listener) throws SQLException {
-            Table table = new Table(db, tableMeta.getCatalog(), tableMeta.getSchema(), tableMeta.getName(), tableMeta.getRemarks());
-            tableService.gatheringTableDetails(db, table);
-
-            if (tableMeta.getNumRows() != -1) {
-                table.setNumRows(tableMeta.getNumRows());
-            }
-
-            if (table.getNumRows() == 0) {
-                long numRows = numberOfRows ? tableService.fetchNumRows(db, table) : -1;
-                table.setNumRows(numRows);
-            }
-
-            synchronized (db.getTablesMap()) {
-                db.getTablesMap().put(table.getName(), table);
+            try (Timer.Timing timing = sqlService.getMetrics().timer("table.collect").start()) {
+                Table table = new Table(db, tableMeta.getCatalog(), tableMeta.getSchema(), tableMeta.getName(), tableMeta.getRemarks());
+                TableSnapshot snapshot = cache.restore(table);
+                if (Objects.isNull(snapshot)) {
+                    if (watched(table, COLLECTING_TABLES, () -> tableService.gatheringTableDetails(db, table))) {
+                        cache.gathered(table);
+                    }
+                } else {
+                    tableService.restoreTableDetails(table, snapshot);
+                }
+                addTable(db, table, tableMeta, listener);
             }
-
-            listener.tableViewCollected(table);
-
-            LOGGER.debug("Retrieved details of {}", table.getFullName());
         }
 
         void join() {
@@ -387,73 +560,28 @@ public class DatabaseService {
     }
 
     /**
-     * Multi-threaded implementation of a class that creates tables
+     * Multi-threaded implementation of a class that creates tables,
+     * every worker collects table details through its own connection
      */
     private class ThreadedTableCreator extends TableCreator {
-        private final Set<Thread> threads = new HashSet<>();
-        private final int maxThreads;
+        private final WorkerPool workers;
 
-        ThreadedTableCreator(int maxThreads) {
-            this.maxThreads = maxThreads;
+        ThreadedTableCreator(int maxThreads, MetadataCache cache) {
+            super(cache);
+            this.workers = sqlService.workerPool(maxThreads);
         }
 
         @Override
         void create(Database db, BasicTableMeta tableMeta, ProgressListener listener) {
-            Thread runner = new Thread() {
-                @Override
-                public void run() {
-                    try {
-                        createImpl(db, tableMeta, listener);
-                    } catch (SQLException exc) {
-                        LOGGER.error("SQL exception",exc);
-                    } finally {
-                        synchronized (threads) {
-                            threads.remove(this);
-                            threads.notifyAll();
-                        }
-                    }
-                }
-            };
-
-            synchronized (threads) {
-                // wait for enough 'room'
-                while (threads.size() >= maxThreads) {
-                    try {
-                        threads.wait();
-                    } catch (InterruptedException interrupted) {
-                        Thread.currentThread().interrupt();
-                    }
-                }
-
-                threads.add(runner);
-            }
-
-            runner.start();
+            workers.submit(() -> createImpl(db, tableMeta, listener));
         }
 
         /**
-         * Wait for all of the started threads to complete
+         * Wait for all of the submitted tables to be created
          */
         @Override
         public void join() {
-            while (true) {
-                Thread thread;
-
-                synchronized (threads) {
-                    Iterator<Thread> iter = threads.iterator();
-                    if (!iter.hasNext()) {
-                        break;
-                    }
-
-                    thread = iter.next();
-                }
-
-                try {
-                    thread.join();
-                } catch (InterruptedException exc) {
-                    Thread.currentThread().interrupt();
-                }
-            }
+            workers.close();
         }
     }
 
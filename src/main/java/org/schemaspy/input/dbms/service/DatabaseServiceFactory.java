@@ -22,6 +22,20 @@ public class DatabaseServiceFactory {
     }
 
     private DatabaseService create(ProcessingConfig processingConfig, boolean multipleSchemas) {
+        TableService tableService = new TableService(
+                sqlService,
+                processingConfig.isExportedKeysEnabled(),
+                multipleSchemas,
+                processingConfig.getTableInclusions(),
+                processingConfig.getTableExclusions(),
+                processingConfig.getDatabaseTypeProperties(),
+                new ColumnService(
+                        sqlService,
+                        processingConfig.getIndirectColumnExclusions(),
+                        processingConfig.getColumnExclusions()
+                ),
+                new IndexService(sqlService, processingConfig.getDatabaseTypeProperties())
+        );
         return new DatabaseService(
                 clock,
                 sqlService,
@@ -31,21 +45,9 @@ public class DatabaseServiceFactory {
                 processingConfig.getMaxDbThreads(),
                 processingConfig.isExportedKeysEnabled(),
                 processingConfig.isNumRowsEnabled(),
+                processingConfig.isBulkMetadataEnabled(),
                 processingConfig.getDatabaseTypeProperties(),
-                new TableService(
-                        sqlService,
-                        processingConfig.isExportedKeysEnabled(),
-                        multipleSchemas,
-                        processingConfig.getTableInclusions(),
-                        processingConfig.getTableExclusions(),
-                        processingConfig.getDatabaseTypeProperties(),
-                        new ColumnService(
-                                sqlService,
-                                processingConfig.getIndirectColumnExclusions(),
-                                processingConfig.getColumnExclusions()
-                        ),
-                        new IndexService(sqlService, processingConfig.getDatabaseTypeProperties())
-                ),
+                tableService,
                 new ViewService(
                         sqlService,
                         processingConfig.getDatabaseTypeProperties(),
@@ -59,7 +61,17 @@ public class DatabaseServiceFactory {
                     sqlService,
                     processingConfig.getDatabaseTypeProperties(),
                     processingConfig.includeRoutineDefinition()),
-                new SequenceService(sqlService, processingConfig.getDatabaseTypeProperties())
+                new SequenceService(sqlService, processingConfig.getDatabaseTypeProperties()),
+                new RowCounter(
+                        clock,
+                        sqlService,
+                        tableService,
+                        processingConfig.getDatabaseTypeProperties(),
+                        // drivers limited to one thread count on the main connection afterwards
+                        processingConfig.getMaxDbThreads() == 1 ? 0 : processingConfig.getRowCountThreads(),
+                        processingConfig.getRowCountTimeout(),
+                        processingConfig.getRowCountBudget()
+                )
         );
     }
 }
@@ -18,10 +18,12 @@
  */
 package org.schemaspy.input.dbms.service;
 
+import org.schemaspy.input.dbms.service.helper.TableSnapshot;
 import org.schemaspy.model.Database;
 import org.schemaspy.model.Table;
 import org.schemaspy.model.TableColumn;
 import org.schemaspy.model.TableIndex;
+import org.schemaspy.util.CaseInsensitiveMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,11 +48,77 @@ public class IndexService {
         this.dbProperties = dbProperties;
     }
 
+    /**
+     * Populate indexes and primary key of <code>table</code> from a previous run instead of querying them,
+     * expects the columns to be restored already
+     */
+    public void restoreIndexes(Table table, TableSnapshot snapshot) {
+        for (TableSnapshot.Index snapshotIndex : snapshot.getIndexes()) {
+            TableIndex index = snapshotIndex.toTableIndex(table);
+            table.getIndexesMap().put(index.getName(), index);
+        }
+        for (String primaryColumn : snapshot.getPrimaryColumns()) {
+            TableColumn tableColumn = table.getColumn(primaryColumn);
+            if (Objects.nonNull(tableColumn)) {
+                table.setPrimaryColumn(tableColumn);
+            }
+        }
+    }
+
     public void gatherIndexes(Database database, Table table) throws SQLException {
         initIndexes(database, table);
         initPrimaryKeys(database, table);
     }
 
+    /**
+     * Gathers indexes and primary keys of all supplied tables using the schema-wide
+     * <code>selectAllIndexesSql</code> and <code>selectAllPrimaryKeysSql</code> if they're
+     * configured and work, otherwise table by table as {@link #gatherIndexes(Database, Table)}.
+     */
+    public void gatherIndexes(Database database, Collection<? extends Table> tables) throws SQLException {
+        Map<String, Table> byName = new CaseInsensitiveMap<>();
+        for (Table table : tables) {
+            byName.put(table.getName(), table);
+        }
+
+        if (!initIndexes(database, byName, dbProperties.getProperty("selectAllIndexesSql"))) {
+            for (Table table : tables) {
+                initIndexes(database, table);
+            }
+        }
+        if (!initPrimaryKeys(database, byName, dbProperties.getProperty("selectAllPrimaryKeysSql"))) {
+            for (Table table : tables) {
+                initPrimaryKeys(database, table);
+            }
+        }
+    }
+
+    /**
+     * Try to initialize index information of all tables based on the specified schema-wide SQL
+     *
+     * @return boolean <code>true</code> if it worked, otherwise <code>false</code>
+     */
+    private boolean initIndexes(Database db, Map<String, Table> tables, String selectAllIndexesSql) {
+        if (selectAllIndexesSql == null) {
+            return false;
+        }
+        try (PreparedStatement preparedStatement = sqlService.prepareStatement(selectAllIndexesSql, db, null);
+             ResultSet rs = preparedStatement.executeQuery()) {
+            TableRows rows = new TableRows(tables, rs);
+            while (rs.next()) {
+                Table table = rows.table();
+                if (table != null && !(table.isView() || table.isRemote()) && rs.getShort("TYPE") != DatabaseMetaData.tableIndexStatistic) {
+                    addIndex(table, rs);
+                }
+            }
+        } catch (SQLException sqlException) {
+            LOGGER.warn("Failed to query index information with SQL: {}", selectAllIndexesSql, sqlException);
+            tables.values().forEach(table -> table.getIndexesMap().clear());
+            return false;
+        }
+        return true;
+    }
+
     /**
      * Initialize index information
      *
@@ -160,11 +228,44 @@ public class IndexService {
         }
     }
 
+    /**
+     * Try to initialize primary keys of all tables based on the specified schema-wide SQL
+     *
+     * @return boolean <code>true</code> if it worked, otherwise <code>false</code>
+     */
+    private boolean initPrimaryKeys(Database database, Map<String, Table> tables, String selectAllPrimaryKeysSql) {
+        if (Objects.isNull(selectAllPrimaryKeysSql)) {
+            return false;
+        }
+        Map<Table, List<PrimaryKeyColumn>> primaryKeys = new LinkedHashMap<>();
+        try (PreparedStatement preparedStatement = sqlService.prepareStatement(selectAllPrimaryKeysSql, database, null);
+             ResultSet resultSet = preparedStatement.executeQuery()) {
+            TableRows rows = new TableRows(tables, resultSet);
+            while (resultSet.next()) {
+                Table table = rows.table();
+                if (Objects.nonNull(table)) {
+                    primaryKeys.computeIfAbsent(table, t -> new ArrayList<>()).add(new PrimaryKeyColumn(resultSet));
+                }
+            }
+        } catch (SQLException sqlException) {
+            LOGGER.warn("Failed to query primary keys with SQL: {}", selectAllPrimaryKeysSql, sqlException);
+            return false;
+        }
+        primaryKeys.forEach(this::processPrimaryKeyColumns);
+        return true;
+    }
+
     private void processPrimaryKeyResultSet(final Table table, final ResultSet resultSet) throws SQLException {
-        Set<PrimaryKeyColumn> primaryKeyColumns = new TreeSet<>(Comparator.comparingInt(p -> p.seqno));
+        List<PrimaryKeyColumn> primaryKeyColumns = new ArrayList<>();
         while (resultSet.next()) {
             primaryKeyColumns.add(new PrimaryKeyColumn(resultSet));
         }
+        processPrimaryKeyColumns(table, primaryKeyColumns);
+    }
+
+    private void processPrimaryKeyColumns(final Table table, final List<PrimaryKeyColumn> unsorted) {
+        Set<PrimaryKeyColumn> primaryKeyColumns = new TreeSet<>(Comparator.comparingInt(p -> p.seqno));
+        primaryKeyColumns.addAll(unsorted);
         primaryKeyColumns.forEach(primaryKeyColumn -> {
             TableColumn tableColumn = table.getColumn(primaryKeyColumn.column);
             if (Objects.nonNull(tableColumn)) {
@@ -0,0 +1,209 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.input.dbms.service;
+
+import org.schemaspy.input.dbms.service.helper.TableForeignKeys;
+import org.schemaspy.input.dbms.service.helper.TableSnapshot;
+import org.schemaspy.model.Database;
+import org.schemaspy.model.Table;
+import org.schemaspy.util.CaseInsensitiveMap;
+import org.schemaspy.util.ConcurrentCaseInsensitiveMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Details of tables and views gathered by a previous run, kept in a snapshot file in the output directory.
+ * <p>
+ * A table is restored from the snapshot instead of being queried when the change marker
+ * returned by <code>selectTableChangeMarkersSql</code> is the same as when it was last queried.
+ * Tables without a change marker are always queried and never stored.
+ */
+public class MetadataCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    public static final String FILE_NAME = "schemaspy-metadata.snapshot";
+
+    private static final int MAGIC = 0x53535053;
+    private static final int VERSION = 1;
+
+    private final Path file;
+    private final String catalog;
+    private final String schema;
+    private final Map<String, String> changeMarkers;
+    private final Map<String, TableSnapshot> previous;
+    private final Map<String, TableSnapshot> current = new ConcurrentCaseInsensitiveMap<>();
+    private final AtomicInteger restored = new AtomicInteger();
+
+    private MetadataCache(Path file, String catalog, String schema, Map<String, String> changeMarkers, Map<String, TableSnapshot> previous) {
+        this.file = file;
+        this.catalog = catalog;
+        this.schema = schema;
+        this.changeMarkers = changeMarkers;
+        this.previous = previous;
+    }
+
+    /**
+     * Cache that never restores anything and isn't written
+     */
+    public static MetadataCache disabled() {
+        return new MetadataCache(null, null, null, Collections.emptyMap(), Collections.emptyMap());
+    }
+
+    /**
+     * Read the snapshot of the previous run, a missing or unreadable snapshot is treated as empty
+     *
+     * @param changeMarkers current change marker per table name
+     */
+    public static MetadataCache open(Path file, Database db, Map<String, String> changeMarkers) {
+        String catalog = db.getCatalog() == null ? null : db.getCatalog().getName();
+        String schema = db.getSchema() == null ? null : db.getSchema().getName();
+        Map<String, TableSnapshot> previous = new CaseInsensitiveMap<>();
+        if (Files.isRegularFile(file)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(file))))) {
+                if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                    LOGGER.info("Ignoring metadata snapshot {} written by another version", file);
+                    return new MetadataCache(file, catalog, schema, changeMarkers, previous);
+                }
+                String snapshotCatalog = readNullable(in);
+                String snapshotSchema = readNullable(in);
+                if (!Objects.equals(catalog, snapshotCatalog) || !Objects.equals(schema, snapshotSchema)) {
+                    LOGGER.info("Ignoring metadata snapshot {} of another catalog or schema", file);
+                } else {
+                    for (int i = in.readInt(); i > 0; i--) {
+                        TableSnapshot snapshot = TableSnapshot.read(in);
+                        previous.put(snapshot.getName(), snapshot);
+                    }
+                }
+            } catch (IOException | RuntimeException exc) {
+                LOGGER.warn("Failed to read metadata snapshot {}, gathering all tables", file, exc);
+                previous.clear();
+            }
+        }
+        return new MetadataCache(file, catalog, schema, changeMarkers, previous);
+    }
+
+    public boolean isEnabled() {
+        return Objects.nonNull(file);
+    }
+
+    /**
+     * @return details of the table from the previous run if it hasn't changed since, otherwise <code>null</code>
+     */
+    public TableSnapshot restore(Table table) {
+        String changeMarker = changeMarkers.get(table.getName());
+        TableSnapshot snapshot = previous.get(table.getName());
+        if (Objects.isNull(changeMarker)
+                || Objects.isNull(snapshot)
+                || Objects.isNull(snapshot.getForeignKeys())
+                || snapshot.isView() != table.isView()
+                || !changeMarker.equals(snapshot.getChangeMarker())) {
+            return null;
+        }
+        current.put(table.getName(), snapshot);
+        restored.incrementAndGet();
+        LOGGER.debug("Restored {} from metadata snapshot", table.getFullName());
+        return snapshot;
+    }
+
+    /**
+     * Remember the details of a table that has just been queried
+     */
+    public void gathered(Table table) {
+        String changeMarker = changeMarkers.get(table.getName());
+        if (Objects.nonNull(changeMarker)) {
+            current.put(table.getName(), TableSnapshot.of(table, changeMarker));
+        }
+    }
+
+    /**
+     * @return foreign keys of a restored table, <code>null</code> if they have to be fetched
+     */
+    public TableForeignKeys foreignKeys(Table table) {
+        TableSnapshot snapshot = current.get(table.getName());
+        return Objects.isNull(snapshot) ? null : snapshot.getForeignKeys();
+    }
+
+    /**
+     * Remember the foreign keys of a table that have just been fetched
+     */
+    public void foreignKeysFetched(Table table, TableForeignKeys foreignKeys) {
+        TableSnapshot snapshot = current.get(table.getName());
+        if (Objects.nonNull(snapshot) && Objects.isNull(snapshot.getForeignKeys())) {
+            snapshot.setForeignKeys(foreignKeys);
+        }
+    }
+
+    /**
+     * Replace the snapshot of the previous run with what was gathered or restored by this run
+     */
+    public void write() {
+        if (!isEnabled()) {
+            return;
+        }
+        List<TableSnapshot> snapshots = new ArrayList<>(current.values());
+        snapshots.removeIf(snapshot -> Objects.isNull(snapshot.getForeignKeys()));
+        LOGGER.info("Restored {} tables and views from metadata snapshot, {} stored for the next run", restored.get(), snapshots.size());
+
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(tmp))))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                writeNullable(out, catalog);
+                writeNullable(out, schema);
+                out.writeInt(snapshots.size());
+                for (TableSnapshot snapshot : snapshots) {
+                    snapshot.write(out);
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException exc) {
+            LOGGER.warn("Failed to write metadata snapshot {}", file, exc);
+        }
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.input.dbms.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tables and views whose metadata couldn't be gathered within the limits of the {@link Watchdog},
+ * the analysis continues with what was gathered for them.
+ */
+public class Quarantine {
+
+    private final List<Entry> entries = new ArrayList<>();
+    private final Set<String> objects = ConcurrentHashMap.newKeySet();
+
+    void add(Entry entry) {
+        synchronized (entries) {
+            entries.add(entry);
+        }
+        objects.add(entry.getObject());
+    }
+
+    public boolean contains(String object) {
+        return Objects.nonNull(object) && objects.contains(object);
+    }
+
+    public boolean isEmpty() {
+        return objects.isEmpty();
+    }
+
+    /**
+     * @return entries in the order the objects were quarantined
+     */
+    public List<Entry> entries() {
+        synchronized (entries) {
+            return new ArrayList<>(entries);
+        }
+    }
+
+    public static final class Entry {
+        private final String object;
+        private final String phase;
+        private final String reason;
+        private final long elapsedMillis;
+
+        Entry(String object, String phase, String reason, long elapsedMillis) {
+            this.object = object;
+            this.phase = phase;
+            this.reason = reason;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public String getObject() {
+            return object;
+        }
+
+        public String getPhase() {
+            return phase;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.input.dbms.service;
+
+import org.json.JSONWriter;
+import org.schemaspy.util.DefaultPrintWriter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+
+/**
+ * Writes the quarantined tables and views as json to <code>schemaspy-quarantine.json</code> in the output directory,
+ * the report of a previous run is removed when nothing was quarantined.
+ */
+public class QuarantineReport {
+
+    public static final String FILE_NAME = "schemaspy-quarantine.json";
+
+    private final Quarantine quarantine;
+    private final File outputDir;
+
+    public QuarantineReport(Quarantine quarantine, File outputDir) {
+        this.quarantine = quarantine;
+        this.outputDir = outputDir;
+    }
+
+    public void write() throws IOException {
+        File report = new File(outputDir, FILE_NAME);
+        if (quarantine.isEmpty()) {
+            Files.deleteIfExists(report.toPath());
+            return;
+        }
+        try (PrintWriter out = new DefaultPrintWriter(report)) {
+            JSONWriter json = new JSONWriter(out).object();
+            json.key("quarantined").array();
+            for (Quarantine.Entry entry : quarantine.entries()) {
+                json.object()
+                    .key("object").value(entry.getObject())
+                    .key("phase").value(entry.getPhase())
+                    .key("reason").value(entry.getReason())
+                    .key("elapsedMillis").value(entry.getElapsedMillis())
+                    .endObject();
+            }
+            json.endArray();
+            json.endObject();
+            out.println();
+        }
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.input.dbms.service;
+
+import org.schemaspy.metrics.Timer;
+import org.schemaspy.model.Database;
+import org.schemaspy.model.Table;
+import org.schemaspy.util.CaseInsensitiveMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandles;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.schemaspy.input.dbms.service.ColumnLabel.TABLE_NAME;
+
+/**
+ * Fills in the number of rows of the tables that the query for tables didn't provide it for.
+ * <p>
+ * Estimates are taken from the statistics of the database with one <code>selectRowEstimatesSql</code>
+ * for the whole schema, only tables without an estimate are counted. Counting runs on a pool of
+ * its own while the rest of the schema is gathered, every query is cancelled after the query timeout
+ * and once the budget is spent the remaining tables are left with an unknown number of rows.
+ */
+public class RowCounter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private final Clock clock;
+    private final SqlService sqlService;
+    private final TableService tableService;
+    private final Properties dbProperties;
+    private final int threads;
+    private final int queryTimeout;
+    private final Duration budget;
+
+    /**
+     * @param threads      connections counting concurrently, 0 to count on the calling thread in {@link Counting#join()}
+     * @param queryTimeout seconds a single count may take, 0 for no limit
+     * @param budget       seconds all counts of a schema may take, 0 for no limit
+     */
+    public RowCounter(
+        Clock clock,
+        SqlService sqlService,
+        TableService tableService,
+        Properties dbProperties,
+        int threads,
+        int queryTimeout,
+        int budget
+    ) {
+        this.clock = Objects.requireNonNull(clock);
+        this.sqlService = Objects.requireNonNull(sqlService);
+        this.tableService = Objects.requireNonNull(tableService);
+        this.dbProperties = dbProperties;
+        this.threads = Math.max(0, threads);
+        this.queryTimeout = Math.max(0, queryTimeout);
+        this.budget = Duration.ofSeconds(Math.max(0, budget));
+    }
+
+    /**
+     * Apply estimates to the tables of <code>db</code> without a number of rows and start counting the rest,
+     * all tables have their number of rows once {@link Counting#join()} returns
+     */
+    public Counting start(Database db) {
+        List<Table> uncounted = new ArrayList<>();
+        for (Table table : db.getTables()) {
+            if (table.getNumRows() == 0 && !table.isView() && !table.isRemote()) {
+                uncounted.add(table);
+            }
+        }
+        if (!uncounted.isEmpty()) {
+            applyEstimates(db, uncounted);
+        }
+        Counting counting = new Counting(db, uncounted);
+        counting.start();
+        return counting;
+    }
+
+    /**
+     * Tables with an estimate are removed from <code>uncounted</code>
+     */
+    private void applyEstimates(Database db, List<Table> uncounted) {
+        String sql = dbProperties.getProperty("selectRowEstimatesSql");
+        if (Objects.isNull(sql)) {
+            return;
+        }
+        Map<String, Long> estimates = new CaseInsensitiveMap<>();
+        try (PreparedStatement stmt = sqlService.prepareStatement(sql, db, null);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                long estimate = rs.getLong("row_count");
+                if (!rs.wasNull() && estimate >= 0) {
+                    estimates.put(rs.getString(TABLE_NAME), estimate);
+                }
+            }
+        } catch (SQLException sqlException) {
+            LOGGER.warn("Failed to retrieve row estimates using SQL '{}', counting rows of all tables", sql, sqlException);
+            return;
+        }
+        uncounted.removeIf(table -> {
+            Long estimate = estimates.get(table.getName());
+            if (Objects.isNull(estimate)) {
+                return false;
+            }
+            table.setEstimatedNumRows(estimate);
+            return true;
+        });
+        LOGGER.debug("Estimated number of rows of {} tables, counting {}", estimates.size(), uncounted.size());
+    }
+
+    /**
+     * Counting of the tables without estimate of one schema
+     */
+    public final class Counting implements AutoCloseable {
+
+        private final Database db;
+        private final List<Table> tables;
+        private final Instant deadline;
+        private final List<Table> onCallingThread = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicInteger skipped = new AtomicInteger();
+        private WorkerPool workers;
+        private boolean joined;
+
+        private Counting(Database db, List<Table> tables) {
+            this.db = db;
+            this.tables = tables;
+            this.deadline = budget.isZero() ? null : clock.instant().plus(budget);
+        }
+
+        private void start() {
+            if (threads == 0 || tables.isEmpty()) {
+                onCallingThread.addAll(tables);
+                return;
+            }
+            workers = sqlService.workerPool(Math.min(threads, tables.size()));
+            for (Table table : tables) {
+                workers.submit(() -> {
+                    // the main connection is busy gathering the rest of the schema
+                    if (workers.ownsConnection()) {
+                        count(table);
+                    } else {
+                        onCallingThread.add(table);
+                    }
+                });
+            }
+        }
+
+        /**
+         * Wait for the counts started in the background and count the tables that couldn't be counted there
+         */
+        public void join() {
+            if (joined) {
+                return;
+            }
+            joined = true;
+            if (Objects.nonNull(workers)) {
+                workers.close();
+            }
+            List<Table> remaining;
+            synchronized (onCallingThread) {
+                remaining = new ArrayList<>(onCallingThread);
+            }
+            for (Table table : remaining) {
+                count(table);
+            }
+            if (skipped.get() > 0) {
+                LOGGER.info("Spent the row count budget of {} seconds, number of rows of {} tables is unknown", budget.toSeconds(), skipped.get());
+            }
+        }
+
+        @Override
+        public void close() {
+            join();
+        }
+
+        private void count(Table table) {
+            int timeout = queryTimeout;
+            if (Objects.nonNull(deadline)) {
+                long remainingMillis = Duration.between(clock.instant(), deadline).toMillis();
+                if (remainingMillis <= 0) {
+                    skipped.incrementAndGet();
+                    table.setNumRows(-1);
+                    return;
+                }
+                int remaining = (int) Math.min(Integer.MAX_VALUE, (remainingMillis + 999) / 1000);
+                timeout = timeout == 0 ? remaining : Math.min(timeout, remaining);
+            }
+            try (Timer.Timing timing = sqlService.getMetrics().timer("table.rowCount").start()) {
+                table.setNumRows(tableService.fetchNumRows(db, table, timeout));
+            }
+        }
+    }
+}
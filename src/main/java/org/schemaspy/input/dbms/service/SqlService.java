@@ -40,6 +40,8 @@ import java.util.regex.Pattern;
 import org.schemaspy.connection.SqlConnection;
 import org.schemaspy.input.dbms.service.name.DatabaseQuoted;
 import org.schemaspy.input.dbms.service.name.Sanitized;
+import org.schemaspy.metrics.MeteredJdbc;
+import org.schemaspy.metrics.Metrics;
 import org.schemaspy.model.Database;
 import org.schemaspy.model.DbmsMeta;
 import org.schemaspy.model.InvalidConfigurationException;
@@ -68,31 +70,107 @@ public class SqlService {
 
     private final DbmsService dbmsService = new DbmsService();
 
+    private final ThreadLocal<Connection> workerConnection = new ThreadLocal<>();
+    private final ThreadLocal<DatabaseMetaData> workerMetaData = new ThreadLocal<>();
+
+    private SqlConnection sqlConnection;
     private Connection connection;
     private DatabaseMetaData databaseMetaData;
     private DbmsMeta dbmsMeta;
     private Pattern invalidIdentifierPattern;
+    private MeteredJdbc meteredJdbc = MeteredJdbc.disabled();
+    private Watchdog watchdog = Watchdog.disabled();
 
     public DatabaseMetaData connect(SqlConnection sqlConnection) throws SQLException, IOException {
+        return connect(sqlConnection, MeteredJdbc.disabled());
+    }
+
+    /**
+     * Connects with metadata calls and queries of this and worker connections timed by <code>meteredJdbc</code>
+     */
+    public DatabaseMetaData connect(SqlConnection sqlConnection, MeteredJdbc meteredJdbc) throws SQLException, IOException {
+        return connect(sqlConnection, meteredJdbc, Watchdog.disabled());
+    }
+
+    /**
+     * Connects with statements of this and worker connections limited by <code>watchdog</code>,
+     * it's closed by {@link #disconnect()}
+     */
+    public DatabaseMetaData connect(SqlConnection sqlConnection, MeteredJdbc meteredJdbc, Watchdog watchdog) throws SQLException, IOException {
+        this.sqlConnection = sqlConnection;
+        this.meteredJdbc = meteredJdbc;
+        this.watchdog.close();
+        this.watchdog = watchdog;
         this.connection = sqlConnection.connection();
-        databaseMetaData = this.connection.getMetaData();
+        databaseMetaData = meteredJdbc.metaData(this.connection.getMetaData());
         dbmsMeta = dbmsService.fetchDbmsMeta(databaseMetaData);
         invalidIdentifierPattern = new InvalidIdentifierPattern(databaseMetaData).pattern();
         return databaseMetaData;
     }
 
+    /**
+     * Closes the connection opened by {@link #connect(SqlConnection)}
+     */
+    public void disconnect() {
+        watchdog.close();
+        if (Objects.isNull(connection)) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException exc) {
+            LOGGER.debug("Failed to close connection", exc);
+        }
+    }
+
+    /**
+     * Creates a pool of workers that each open their own connection,
+     * the connection is used by this service when called from the worker.
+     *
+     * @param size max number of workers/connections
+     * @return WorkerPool that should be closed when done
+     */
+    public WorkerPool workerPool(int size) {
+        return new WorkerPool(this, sqlConnection, size);
+    }
+
+    void bindWorkerConnection(Connection workerConnection) throws SQLException {
+        this.workerMetaData.set(meteredJdbc.metaData(workerConnection.getMetaData()));
+        this.workerConnection.set(workerConnection);
+    }
+
+    void unbindWorkerConnection() {
+        this.workerMetaData.remove();
+        this.workerConnection.remove();
+    }
+
+    /**
+     * @return connection of the current worker, <code>null</code> when not called from a worker with a connection of its own
+     */
+    Connection getWorkerConnection() {
+        return workerConnection.get();
+    }
+
     public Connection getConnection() {
-        return connection;
+        return Objects.requireNonNullElse(workerConnection.get(), connection);
     }
 
     public DatabaseMetaData getDatabaseMetaData() {
-        return databaseMetaData;
+        return Objects.requireNonNullElse(workerMetaData.get(), databaseMetaData);
     }
 
     public DbmsMeta getDbmsMeta() {
         return dbmsMeta;
     }
 
+    public Metrics getMetrics() {
+        return meteredJdbc.metrics();
+    }
+
+    public Watchdog getWatchdog() {
+        return watchdog;
+    }
+
     /**
      * Create a <code>PreparedStatement</code> from the specified SQL.
      * The SQL can contain these named parameters (but <b>not</b> question marks).
@@ -112,7 +190,7 @@ public class SqlService {
         List<String> sqlParams = getSqlParams(sqlBuf, db.getName(), db.getCatalog().getName(), db.getSchema().getName(), tableName); // modifies sqlBuf
         LOGGER.debug("{} {}", sqlBuf, sqlParams);
 
-        PreparedStatement stmt = connection.prepareStatement(sqlBuf.toString());
+        PreparedStatement stmt = getConnection().prepareStatement(sqlBuf.toString());
         try {
             for (int i = 0; i < sqlParams.size(); ++i) {
                 stmt.setString(i + 1, sqlParams.get(i));
@@ -121,8 +199,9 @@ public class SqlService {
             stmt.close();
             throw exc;
         }
+        watchdog.guard(stmt);
 
-        return stmt;
+        return meteredJdbc.statement(stmt, sql);
     }
 
     /**
@@ -169,7 +248,9 @@ public class SqlService {
     }
 
     public PreparedStatement prepareStatement(String sqlQuery) throws SQLException {
-        return connection.prepareStatement(sqlQuery);
+        PreparedStatement stmt = getConnection().prepareStatement(sqlQuery);
+        watchdog.guard(stmt);
+        return meteredJdbc.statement(stmt, sqlQuery);
     }
 
     public String getQualifiedTableName(String catalog, String schema, String tableName, boolean forceQuotes) {
@@ -0,0 +1,86 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.input.dbms.service;
+
+import org.schemaspy.model.Table;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Finds the table the current row of a schema-wide metadata query belongs to.
+ * <p>
+ * Rows are looked up by <code>TABLE_NAME</code>. When the result set has <code>TABLE_CAT</code>
+ * or <code>TABLE_SCHEM</code> they have to match the table as well, a schema pattern containing
+ * <code>_</code> or <code>%</code> also returns the rows of same named tables in other schemas.
+ */
+class TableRows {
+
+    private static final String TABLE_NAME = "TABLE_NAME";
+    private static final String TABLE_CAT = "TABLE_CAT";
+    private static final String TABLE_SCHEM = "TABLE_SCHEM";
+
+    private final Map<String, Table> tables;
+    private final ResultSet resultSet;
+    private final boolean hasCatalog;
+    private final boolean hasSchema;
+
+    /**
+     * @param tables tables by name, all in the catalog/schema the rows were queried for
+     */
+    TableRows(Map<String, Table> tables, ResultSet resultSet) throws SQLException {
+        this.tables = tables;
+        this.resultSet = resultSet;
+        boolean catalog = false;
+        boolean schema = false;
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            String label = metaData.getColumnLabel(i);
+            catalog |= TABLE_CAT.equalsIgnoreCase(label);
+            schema |= TABLE_SCHEM.equalsIgnoreCase(label);
+        }
+        this.hasCatalog = catalog;
+        this.hasSchema = schema;
+    }
+
+    /**
+     * @return table of the current row, <code>null</code> if it isn't one of the tables
+     */
+    Table table() throws SQLException {
+        Table table = tables.get(resultSet.getString(TABLE_NAME));
+        if (Objects.isNull(table)) {
+            return null;
+        }
+        if (hasCatalog && !sameName(table.getCatalog(), resultSet.getString(TABLE_CAT))) {
+            return null;
+        }
+        if (hasSchema && !sameName(table.getSchema(), resultSet.getString(TABLE_SCHEM))) {
+            return null;
+        }
+        return table;
+    }
+
+    /**
+     * Names that aren't reported, like the catalog of databases without catalogs, match anything
+     */
+    private static boolean sameName(String expected, String actual) {
+        return Objects.isNull(expected) || Objects.isNull(actual) || expected.equals(actual);
+    }
+}
@@ -26,10 +26,13 @@ package org.schemaspy.input.dbms.service;
 import org.schemaspy.input.dbms.service.helper.ExportForeignKey;
 import org.schemaspy.input.dbms.service.helper.ImportForeignKey;
 import org.schemaspy.input.dbms.service.helper.RemoteTableIdentifier;
+import org.schemaspy.input.dbms.service.helper.TableForeignKeys;
+import org.schemaspy.input.dbms.service.helper.TableSnapshot;
 import org.schemaspy.input.dbms.xml.ForeignKeyMeta;
 import org.schemaspy.input.dbms.xml.TableColumnMeta;
 import org.schemaspy.input.dbms.xml.TableMeta;
 import org.schemaspy.model.*;
+import org.schemaspy.util.CaseInsensitiveMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -37,7 +40,12 @@ import java.lang.invoke.MethodHandles;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.ArrayList;
+import java.sql.SQLTimeoutException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
@@ -96,31 +104,124 @@ public class TableService {
         indexService.gatherIndexes(database, table);
     }
 
+    /**
+     * Same as {@link #gatheringTableDetails(Database, Table)},
+     * but issues schema-wide queries where possible instead of one query per table
+     */
+    public void gatheringTableDetails(Database database, Collection<Table> tables) throws SQLException {
+        columnService.gatherColumns(tables);
+        indexService.gatherIndexes(database, tables);
+    }
+
+    /**
+     * Same as {@link #gatheringTableDetails(Database, Table)} but with the details
+     * from a previous run instead of querying them
+     */
+    public void restoreTableDetails(Table table, TableSnapshot snapshot) {
+        columnService.restoreColumns(table, snapshot);
+        indexService.restoreIndexes(table, snapshot);
+    }
+
     /**
      * "Connect" all of this table's foreign keys to their referenced primary keys
      * (and, in some cases, do the reverse as well).
      */
     public void connectForeignKeys(Database db, Table table, Map<String, Table> tables) {
-        LOGGER.trace("Connecting foreign keys to {}", table.getFullName());
+        connectForeignKeys(db, table, fetchForeignKeys(table), tables);
+    }
 
+    /**
+     * Fetch the keys needed by {@link #connectForeignKeys(Database, Table, TableForeignKeys, Map)}
+     * without touching the model, so it can be done for several tables in parallel.
+     */
+    public TableForeignKeys fetchForeignKeys(Table table) {
+        LOGGER.trace("Fetching foreign keys of {}", table.getFullName());
+        TableForeignKeys foreignKeys = new TableForeignKeys();
 
         try (ResultSet rs = sqlService.getDatabaseMetaData().getImportedKeys(table.getCatalog(), table.getSchema(), table.getName())) {
             // get our foreign keys that reference other tables' primary keys
-            ArrayList<ImportForeignKey> importedKeys = new ArrayList<>();
-
             while (rs.next()) {
-                importedKeys.add(new ImportForeignKey.Builder()
+                foreignKeys.getImportedKeys().add(new ImportForeignKey.Builder()
                         .fromImportKeysResultSet(rs)
                         .build());
             }
-
-            for(ImportForeignKey importedKey : importedKeys) {
-                addForeignKey(db, table, importedKey, tables);
-            }
         } catch (SQLException sqlex) {
             LOGGER.warn("Failed to getImportedKeys", sqlex);
+            foreignKeys.getImportedKeys().clear();
+        }
+
+        return fetchExportedKeys(table, foreignKeys);
+    }
+
+    private boolean allowsNullTable(boolean bulkMetadata) {
+        return bulkMetadata && Boolean.parseBoolean(dbProperties.getProperty("supportsBulkImportedKeys", "false"));
+    }
+
+    /**
+     * Fetch imported keys of all supplied tables with one query instead of one query per table.
+     * Uses <code>selectForeignKeysSql</code> if configured, otherwise if <code>bulkMetadata</code> and the
+     * databaseType declares <code>supportsBulkImportedKeys</code>
+     * {@link java.sql.DatabaseMetaData#getImportedKeys(String, String, String)} with a <code>null</code>
+     * table once per catalog/schema.
+     *
+     * @return imported keys per table, tables missing from the map have to be fetched by {@link #fetchForeignKeys(Table)}
+     */
+    public Map<Table, TableForeignKeys> fetchImportedKeys(Database db, Collection<Table> tables, boolean bulkMetadata) {
+        Map<Table, TableForeignKeys> foreignKeys = new HashMap<>();
+        String sql = dbProperties.getProperty("selectForeignKeysSql");
+        if (sql != null) {
+            Map<String, Table> byName = new CaseInsensitiveMap<>();
+            tables.forEach(table -> byName.put(table.getName(), table));
+            try (PreparedStatement stmt = sqlService.prepareStatement(sql, db, null);
+                 ResultSet rs = stmt.executeQuery()) {
+                tables.forEach(table -> foreignKeys.put(table, new TableForeignKeys()));
+                addImportedKeys(rs, byName, foreignKeys);
+                return foreignKeys;
+            } catch (SQLException sqlException) {
+                LOGGER.warn("Failed to retrieve foreign keys using SQL '{}'", sql, sqlException);
+                foreignKeys.clear();
+            }
+        }
+        if (!allowsNullTable(bulkMetadata)) {
+            return foreignKeys;
         }
 
+        Map<List<String>, Map<String, Table>> containers = new LinkedHashMap<>();
+        for (Table table : tables) {
+            containers
+                .computeIfAbsent(Arrays.asList(table.getCatalog(), table.getSchema()), key -> new CaseInsensitiveMap<>())
+                .put(table.getName(), table);
+        }
+        for (Map.Entry<List<String>, Map<String, Table>> container : containers.entrySet()) {
+            String catalog = container.getKey().get(0);
+            String schema = container.getKey().get(1);
+            Map<Table, TableForeignKeys> containerKeys = new HashMap<>();
+            container.getValue().values().forEach(table -> containerKeys.put(table, new TableForeignKeys()));
+            try (ResultSet rs = sqlService.getDatabaseMetaData().getImportedKeys(catalog, schema, null)) {
+                addImportedKeys(rs, container.getValue(), containerKeys);
+                foreignKeys.putAll(containerKeys);
+            } catch (SQLException | RuntimeException exc) {
+                LOGGER.warn("Unable to getImportedKeys for all tables in '{}' at once, fetching table by table", Objects.toString(schema, catalog), exc);
+            }
+        }
+        return foreignKeys;
+    }
+
+    private static void addImportedKeys(ResultSet rs, Map<String, Table> tables, Map<Table, TableForeignKeys> foreignKeys) throws SQLException {
+        while (rs.next()) {
+            Table table = tables.get(rs.getString("FKTABLE_NAME"));
+            if (table != null) {
+                foreignKeys.get(table).getImportedKeys().add(new ImportForeignKey.Builder()
+                        .fromImportKeysResultSet(rs)
+                        .build());
+            }
+        }
+    }
+
+    /**
+     * Add the exported keys of this table to previously fetched imported keys
+     */
+    public TableForeignKeys fetchExportedKeys(Table table, TableForeignKeys foreignKeys) {
         // also try to find all of the 'remote' tables in other schemas that
         // point to our primary keys (not necessary in the normal case
         // as we infer this from the opposite direction)
@@ -128,24 +229,42 @@ public class TableService {
             try (ResultSet rs = sqlService.getDatabaseMetaData().getExportedKeys(table.getCatalog(), table.getSchema(), table.getName())) {
                 // get the foreign keys that reference our primary keys
                 // note that this can take an insane amount of time on Oracle (i.e. 30 secs per call)
-
-                ArrayList<ExportForeignKey> exportedKeys = new ArrayList<>();
-
                 while (rs.next()) {
-                    exportedKeys.add(new ExportForeignKey.Builder()
+                    foreignKeys.getExportedKeys().add(new ExportForeignKey.Builder()
                             .fromExportedKeysResultSet(rs)
                             .build());
                 }
-
-                for(ExportForeignKey exportedKey : exportedKeys) {
-                    if (isRemote(table, exportedKey)) {
-                        addRemoteTable(db, RemoteTableIdentifier.from(exportedKey), table.getSchema());
-                    }
-                }
             } catch (SQLException sqlex) {
                 LOGGER.warn("Failed to getExportedKeys", sqlex);
+                foreignKeys.getExportedKeys().clear();
             }
         }
+        return foreignKeys;
+    }
+
+    /**
+     * Connect previously fetched foreign keys of this table to the model
+     */
+    public void connectForeignKeys(Database db, Table table, TableForeignKeys foreignKeys, Map<String, Table> tables) {
+        LOGGER.trace("Connecting foreign keys to {}", table.getFullName());
+
+        try {
+            for (ImportForeignKey importedKey : foreignKeys.getImportedKeys()) {
+                addForeignKey(db, table, importedKey, tables);
+            }
+        } catch (SQLException sqlex) {
+            LOGGER.warn("Failed to getImportedKeys", sqlex);
+        }
+
+        try {
+            for (ExportForeignKey exportedKey : foreignKeys.getExportedKeys()) {
+                if (isRemote(table, exportedKey)) {
+                    addRemoteTable(db, RemoteTableIdentifier.from(exportedKey), table.getSchema());
+                }
+            }
+        } catch (SQLException sqlex) {
+            LOGGER.warn("Failed to getExportedKeys", sqlex);
+        }
     }
 
     private static boolean isRemote(Table table, ExportForeignKey foreignKey) {
@@ -263,6 +382,16 @@ public class TableService {
      * @return int
      */
     protected long fetchNumRows(Database db, Table table) {
+        return fetchNumRows(db, table, 0);
+    }
+
+    /**
+     * Same as {@link #fetchNumRows(Database, Table)}, but every query is cancelled after
+     * <code>queryTimeout</code> seconds, a cancelled query isn't retried with the other ways of counting.
+     *
+     * @param queryTimeout seconds, 0 for no limit
+     */
+    protected long fetchNumRows(Database db, Table table, int queryTimeout) {
         if (table.isView() || table.isRemote()) {
             return -1;
         }
@@ -272,8 +401,11 @@ public class TableService {
         String sql = dbProperties.getProperty("selectRowCountSql");
         if (sql != null) {
             try {
-                return fetchNumRows(db, table, sql);
+                return fetchNumRows(db, table, sql, queryTimeout);
             } catch (SQLException sqlException) {
+                if (isTimeout(sqlException)) {
+                    return timedOut(table, queryTimeout);
+                }
                 // don't die just because this failed
                 originalFailure = sqlException;
                 LOGGER.debug("Failed to fetch number of rows for '{}' using custom query: '{}'", table.getFullName(), sql, sqlException);
@@ -283,13 +415,19 @@ public class TableService {
         // if we get here then we either didn't have custom SQL or it didn't work
         try {
             // '*' should work best for the majority of cases
-            return fetchNumRows(db, table, "count(*)", false);
+            return fetchNumRows(db, table, "count(*)", false, queryTimeout);
         } catch (SQLException try2Exception) {
+            if (isTimeout(try2Exception)) {
+                return timedOut(table, queryTimeout);
+            }
             LOGGER.debug("Failed to fetch number of rows for '{}' using built-in query with 'count(*)'", table.getFullName(), try2Exception);
             try {
                 // except nested tables...try using '1' instead
-                return fetchNumRows(db, table, "count(1)", false);
+                return fetchNumRows(db, table, "count(1)", false, queryTimeout);
             } catch (SQLException try3Exception) {
+                if (isTimeout(try3Exception)) {
+                    return timedOut(table, queryTimeout);
+                }
                 if (!table.isLogical()) {
                     if (originalFailure != null) {
                         LOGGER.warn("Failed to fetch number of rows for '{}' using custom query: '{}'", table.getFullName(), sql, originalFailure);
@@ -302,18 +440,26 @@ public class TableService {
         }
     }
 
-    private long fetchNumRows(Database database, Table table, String sql) throws SQLException {
-        try (PreparedStatement stmt = sqlService.prepareStatement(sql, database, table.getName());
-             ResultSet rs = stmt.executeQuery()) {
-            if (rs.next()) {
-                return rs.getLong("row_count");
-            } else {
-                throw new SQLException("Empty ResultSet");
+    private long fetchNumRows(Database database, Table table, String sql, int queryTimeout) throws SQLException {
+        try (PreparedStatement stmt = sqlService.prepareStatement(sql, database, table.getName())) {
+            if (queryTimeout > 0) {
+                stmt.setQueryTimeout(queryTimeout);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getLong("row_count");
+                } else {
+                    throw new SQLException("Empty ResultSet");
+                }
             }
         }
     }
 
     protected long fetchNumRows(Database db, Table table, String clause, boolean forceQuotes) throws SQLException {
+        return fetchNumRows(db, table, clause, forceQuotes, 0);
+    }
+
+    private long fetchNumRows(Database db, Table table, String clause, boolean forceQuotes, int queryTimeout) throws SQLException {
         StringBuilder sql = new StringBuilder("select ");
         sql.append(clause);
         sql.append(" from ");
@@ -325,22 +471,37 @@ public class TableService {
         );
 
         LOGGER.trace("Fetch number of rows using sql: '{}'",sql);
-        try (PreparedStatement stmt = sqlService.prepareStatement(sql.toString());
-             ResultSet rs = stmt.executeQuery()) {
-
-            if (rs.next()) {
-                return rs.getLong(1);
+        try (PreparedStatement stmt = sqlService.prepareStatement(sql.toString())) {
+            if (queryTimeout > 0) {
+                stmt.setQueryTimeout(queryTimeout);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getLong(1);
+                }
+                return -1;
             }
-            return -1;
         } catch (SQLException exc) {
-            if (forceQuotes) {// we tried with and w/o quotes...fail this attempt
+            if (forceQuotes || isTimeout(exc)) {// we tried with and w/o quotes...fail this attempt
                 throw exc;
             }
 
-            return fetchNumRows(db, table, clause, true);
+            return fetchNumRows(db, table, clause, true, queryTimeout);
         }
     }
 
+    /**
+     * Drivers either throw {@link SQLTimeoutException} or report the standard state for a cancelled statement
+     */
+    private static boolean isTimeout(SQLException exc) {
+        return exc instanceof SQLTimeoutException || "57014".equals(exc.getSQLState());
+    }
+
+    private static long timedOut(Table table, int queryTimeout) {
+        LOGGER.info("Counting rows of '{}' was cancelled after {} seconds", table.getFullName(), queryTimeout);
+        return -1;
+    }
+
     public Table addRemoteTable(Database db, RemoteTableIdentifier remoteTableIdentifier, String schema) throws SQLException {
         return addRemoteTable(db, remoteTableIdentifier, schema, false);
     }
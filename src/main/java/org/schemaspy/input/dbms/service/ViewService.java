@@ -23,6 +23,7 @@
 package org.schemaspy.input.dbms.service;
 
 import java.util.Map;
+import org.schemaspy.input.dbms.service.helper.TableSnapshot;
 import org.schemaspy.model.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -70,6 +71,18 @@ public class ViewService {
         database.getViewsMap().put(view.getName(), view);
     }
 
+    /**
+     * Same as {@link #gatherViewsDetails(Database, View)} but with columns and view definition
+     * from a previous run instead of querying them
+     */
+    public void restoreViewsDetails(Database database, View view, TableSnapshot snapshot) {
+        columnService.restoreColumns(view, snapshot);
+        if (Objects.isNull(view.getViewDefinition())) {
+            view.setViewDefinition(snapshot.getViewDefinition());
+        }
+        database.getViewsMap().put(view.getName(), view);
+    }
+
     /**
      * Extract the SQL that describes this view from the database
      *
@@ -0,0 +1,272 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.input.dbms.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandles;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounds the time spent on the metadata of a single table or view and on a phase of gathering.
+ * <p>
+ * Every statement prepared through {@link SqlService} gets the query timeout. While a table or view is
+ * {@link #run(String, String, Connection, WorkerPool.SqlTask) run} the statements prepared by the thread
+ * belong to it, when it takes longer than the object timeout or the phase runs out of time the watchdog
+ * cancels them and aborts the worker connection, metadata calls like <code>getColumns</code> have no
+ * statement to cancel. Objects that time out or keep failing with transient errors after the retries
+ * are quarantined and the analysis continues without the rest of their metadata.
+ * Metadata calls on the main connection can't be interrupted, the connection is still needed afterwards.
+ */
+public class Watchdog implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private static final long BACKOFF_MILLIS = 1000;
+
+    private final int queryTimeout;
+    private final long objectTimeoutNanos;
+    private final long phaseTimeoutNanos;
+    private final int retries;
+    private final Quarantine quarantine = new Quarantine();
+    private final ThreadLocal<Watch> current = new ThreadLocal<>();
+    private final ScheduledExecutorService scheduler;
+
+    private volatile String phase = "gathering";
+    private volatile long phaseDeadline;
+
+    /**
+     * @param queryTimeout  seconds a single statement may take, 0 for no limit
+     * @param objectTimeout seconds the metadata of a single table or view may take, 0 for no limit
+     * @param phaseTimeout  seconds a phase of gathering may take, 0 for no limit
+     * @param retries       attempts after an object timed out or failed with a transient error
+     */
+    public Watchdog(int queryTimeout, int objectTimeout, int phaseTimeout, int retries) {
+        this.queryTimeout = Math.max(0, queryTimeout);
+        this.objectTimeoutNanos = TimeUnit.SECONDS.toNanos(Math.max(0, objectTimeout));
+        this.phaseTimeoutNanos = TimeUnit.SECONDS.toNanos(Math.max(0, phaseTimeout));
+        this.retries = Math.max(0, retries);
+        this.phaseDeadline = System.nanoTime() + phaseTimeoutNanos;
+        this.scheduler = objectTimeoutNanos > 0 || phaseTimeoutNanos > 0
+            ? Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "schemaspy-watchdog");
+                thread.setDaemon(true);
+                return thread;
+            })
+            : null;
+    }
+
+    /**
+     * Watchdog without limits or retries
+     */
+    public static Watchdog disabled() {
+        return new Watchdog(0, 0, 0, 0);
+    }
+
+    public Quarantine getQuarantine() {
+        return quarantine;
+    }
+
+    /**
+     * Start a phase of gathering, objects run after its time is spent are quarantined without running them
+     */
+    public void startPhase(String name) {
+        phase = name;
+        phaseDeadline = System.nanoTime() + phaseTimeoutNanos;
+    }
+
+    /**
+     * Applies the query timeout and lets the object being run by the current thread cancel the statement
+     */
+    void guard(Statement statement) {
+        if (queryTimeout > 0) {
+            try {
+                statement.setQueryTimeout(queryTimeout);
+            } catch (SQLException exc) {
+                LOGGER.debug("Failed to set query timeout", exc);
+            }
+        }
+        Watch watch = current.get();
+        if (Objects.nonNull(watch)) {
+            watch.add(statement);
+        }
+    }
+
+    /**
+     * Run <code>work</code> on the metadata of <code>object</code> within the limits of this watchdog
+     *
+     * @param abortable worker connection used by <code>work</code> that may be aborted when it times out,
+     *                  <code>null</code> for the main connection
+     * @return <code>false</code> if <code>object</code> was quarantined
+     * @throws SQLException failure of <code>work</code> that isn't transient
+     */
+    public boolean run(String object, String phaseOfObject, Connection abortable, WorkerPool.SqlTask work) throws SQLException {
+        if (Objects.isNull(scheduler) && retries == 0) {
+            work.run();
+            return true;
+        }
+        for (int attempt = 0; ; attempt++) {
+            SQLException failure = null;
+            Watch watch = new Watch(abortable);
+            current.set(watch);
+            try {
+                if (!watch.isExpired()) {
+                    work.run();
+                }
+            } catch (SQLException exc) {
+                if (!watch.isExpired() && !isTransient(exc)) {
+                    throw exc;
+                }
+                failure = exc;
+            } finally {
+                watch.close();
+                current.remove();
+            }
+            if (!watch.isExpired() && Objects.isNull(failure)) {
+                return true;
+            }
+            boolean phaseSpent = isPhaseSpent();
+            // an aborted worker connection is only replaced before the next task
+            boolean aborted = watch.isExpired() && Objects.nonNull(abortable);
+            if (attempt < retries && !phaseSpent && !aborted && backoff(attempt)) {
+                LOGGER.info("Retrying {} after {}", object, reason(watch, failure, phaseSpent));
+                continue;
+            }
+            String reason = reason(watch, failure, phaseSpent);
+            LOGGER.warn("Quarantined {} while {}, {}", object, phaseOfObject, reason);
+            quarantine.add(new Quarantine.Entry(object, phaseOfObject, reason, watch.elapsedMillis()));
+            return false;
+        }
+    }
+
+    private static boolean isTransient(SQLException exc) {
+        return exc instanceof SQLTransientException || exc instanceof SQLRecoverableException;
+    }
+
+    private boolean isPhaseSpent() {
+        return phaseTimeoutNanos > 0 && System.nanoTime() - phaseDeadline >= 0;
+    }
+
+    private String reason(Watch watch, SQLException failure, boolean phaseSpent) {
+        if (phaseSpent) {
+            return "time limit of " + TimeUnit.NANOSECONDS.toSeconds(phaseTimeoutNanos) + " seconds for " + phase + " spent";
+        }
+        if (watch.isExpired()) {
+            return "exceeded " + TimeUnit.NANOSECONDS.toSeconds(objectTimeoutNanos) + " seconds";
+        }
+        return String.valueOf(failure);
+    }
+
+    private static boolean backoff(int attempt) {
+        try {
+            Thread.sleep(BACKOFF_MILLIS << Math.min(attempt, 10));
+            return true;
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (Objects.nonNull(scheduler)) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Statements of one attempt at an object, cancelled when the attempt expires
+     */
+    private final class Watch {
+        private final Connection abortable;
+        private final long started = System.nanoTime();
+        private final List<Statement> statements = new ArrayList<>();
+        private final ScheduledFuture<?> expiry;
+        private volatile boolean expired;
+
+        private Watch(Connection abortable) {
+            this.abortable = abortable;
+            long timeout = Long.MAX_VALUE;
+            if (objectTimeoutNanos > 0) {
+                timeout = objectTimeoutNanos;
+            }
+            if (phaseTimeoutNanos > 0) {
+                timeout = Math.min(timeout, phaseDeadline - started);
+            }
+            if (timeout <= 0) {
+                expired = true;
+                expiry = null;
+            } else if (timeout == Long.MAX_VALUE) {
+                expiry = null;
+            } else {
+                expiry = scheduler.schedule(this::expire, timeout, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private void add(Statement statement) {
+            synchronized (statements) {
+                statements.add(statement);
+            }
+        }
+
+        private boolean isExpired() {
+            return expired;
+        }
+
+        private long elapsedMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        }
+
+        private void expire() {
+            expired = true;
+            synchronized (statements) {
+                for (Statement statement : statements) {
+                    try {
+                        statement.cancel();
+                    } catch (SQLException exc) {
+                        LOGGER.debug("Failed to cancel statement", exc);
+                    }
+                }
+            }
+            if (Objects.nonNull(abortable)) {
+                try {
+                    abortable.abort(Runnable::run);
+                } catch (SQLException | RuntimeException exc) {
+                    LOGGER.debug("Failed to abort worker connection", exc);
+                }
+            }
+        }
+
+        private void close() {
+            if (Objects.nonNull(expiry)) {
+                expiry.cancel(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package org.schemaspy.input.dbms.service;
+
+import org.schemaspy.connection.SqlConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded pool of workers where every worker owns a JDBC connection of its own.
+ * <p>
+ * Connections are opened through the same {@link SqlConnection} as the main connection
+ * the first time a worker runs a task and are bound to the worker thread in {@link SqlService},
+ * so services calling {@link SqlService#getDatabaseMetaData()} or
+ * {@link SqlService#prepareStatement(String)} from a task talk to the database through it.
+ * If a worker can't open a connection it falls back to the main connection,
+ * tasks using the main connection are run one at a time.
+ */
+public class WorkerPool implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private static final AtomicInteger POOL_NUMBER = new AtomicInteger();
+
+    private final SqlService sqlService;
+    private final SqlConnection sqlConnection;
+    private final ExecutorService executor;
+    private final ThreadLocal<Boolean> ownConnection = new ThreadLocal<>();
+    private final List<Connection> connections = Collections.synchronizedList(new ArrayList<>());
+    private final List<Future<Void>> pending = new ArrayList<>();
+    private final Object mainConnectionLock = new Object();
+
+    public WorkerPool(SqlService sqlService, SqlConnection sqlConnection, int size) {
+        this.sqlService = sqlService;
+        this.sqlConnection = sqlConnection;
+        this.executor = Executors.newFixedThreadPool(size, new WorkerThreadFactory());
+    }
+
+    /**
+     * Work that talks to the database
+     */
+    @FunctionalInterface
+    public interface SqlTask {
+        void run() throws SQLException;
+    }
+
+    /**
+     * Queue a task, failures are reported by {@link #join()}
+     */
+    public void submit(SqlTask task) {
+        Future<Void> future = executor.submit(() -> {
+            if (hasOwnConnection()) {
+                task.run();
+            } else {
+                synchronized (mainConnectionLock) {
+                    task.run();
+                }
+            }
+            return null;
+        });
+        synchronized (pending) {
+            pending.add(future);
+        }
+    }
+
+    /**
+     * Wait for all submitted tasks to complete.
+     * A {@link SQLException} only fails its own task and is logged,
+     * the first {@link RuntimeException} is rethrown once all tasks are done.
+     */
+    public void join() {
+        RuntimeException failure = null;
+        while (true) {
+            Future<Void> future;
+            synchronized (pending) {
+                if (pending.isEmpty()) {
+                    break;
+                }
+                future = pending.remove(0);
+            }
+            try {
+                future.get();
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException exc) {
+                Throwable cause = exc.getCause();
+                if (cause instanceof SQLException) {
+                    LOGGER.error("SQL exception", cause);
+                } else if (failure == null && cause instanceof RuntimeException) {
+                    failure = (RuntimeException) cause;
+                } else if (failure == null) {
+                    failure = new IllegalStateException(cause);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * <code>true</code> when called from a task running on a worker with a connection of its own
+     */
+    boolean ownsConnection() {
+        return Boolean.TRUE.equals(ownConnection.get());
+    }
+
+    private boolean hasOwnConnection() {
+        Boolean own = ownConnection.get();
+        if (own == null || (own && isAborted())) {
+            own = openConnection();
+            ownConnection.set(own);
+        }
+        return own;
+    }
+
+    /**
+     * The {@link Watchdog} aborts the connection of a worker stuck on a table or view
+     */
+    private boolean isAborted() {
+        try {
+            return sqlService.getConnection().isClosed();
+        } catch (SQLException exc) {
+            return true;
+        }
+    }
+
+    private boolean openConnection() {
+        if (sqlConnection == null) {
+            return false;
+        }
+        try {
+            Connection connection = sqlConnection.connection();
+            connections.add(connection);
+            sqlService.bindWorkerConnection(connection);
+            return true;
+        } catch (IOException | SQLException | RuntimeException exc) {
+            LOGGER.warn("Failed to open connection for worker {}, sharing main connection", Thread.currentThread().getName(), exc);
+            sqlService.unbindWorkerConnection();
+            return false;
+        }
+    }
+
+    /**
+     * Waits for the tasks, stops the workers and closes their connections.
+     * The workers are stopped and their connections closed even when a task failed
+     * or the calling thread was interrupted, connections are only closed once no task uses them.
+     */
+    @Override
+    public void close() {
+        try {
+            join();
+        } finally {
+            if (Thread.currentThread().isInterrupted()) {
+                executor.shutdownNow();
+            } else {
+                executor.shutdown();
+            }
+            awaitTermination();
+            closeConnections();
+        }
+    }
+
+    private void awaitTermination() {
+        boolean interrupted = false;
+        while (!executor.isTerminated()) {
+            try {
+                executor.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException exc) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void closeConnections() {
+        synchronized (connections) {
+            for (Connection connection : connections) {
+                try {
+                    connection.close();
+                } catch (SQLException exc) {
+                    LOGGER.debug("Failed to close worker connection", exc);
+                }
+            }
+            connections.clear();
+        }
+    }
+
+    private static class WorkerThreadFactory implements ThreadFactory {
+        private final int poolNumber = POOL_NUMBER.incrementAndGet();
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "schemaspy-db-" + poolNumber + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
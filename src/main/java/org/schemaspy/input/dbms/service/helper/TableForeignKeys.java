@@ -0,0 +1,21 @@
+package org.schemaspy.input.dbms.service.helper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Imported and exported keys of a table as fetched from the database,
+ * before they're connected to the model
+ */
+public class TableForeignKeys {
+    private final List<ImportForeignKey> importedKeys = new ArrayList<>();
+    private final List<ExportForeignKey> exportedKeys = new ArrayList<>();
+
+    public List<ImportForeignKey> getImportedKeys() {
+        return importedKeys;
+    }
+
+    public List<ExportForeignKey> getExportedKeys() {
+        return exportedKeys;
+    }
+}
@@ -0,0 +1,380 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.input.dbms.service.helper;
+
+import org.schemaspy.model.Table;
+import org.schemaspy.model.TableColumn;
+import org.schemaspy.model.TableIndex;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * What was gathered from the database for a single table or view,
+ * as it was when the table had the given change marker.
+ * Only holds the details that are queried table by table; schema-wide
+ * details like comments, check constraints and row counts aren't part of it.
+ */
+public class TableSnapshot {
+
+    private final String name;
+    private final boolean view;
+    private final String changeMarker;
+    private final String viewDefinition;
+    private final List<Column> columns = new ArrayList<>();
+    private final List<Index> indexes = new ArrayList<>();
+    private final List<String> primaryColumns = new ArrayList<>();
+    private TableForeignKeys foreignKeys;
+
+    private TableSnapshot(String name, boolean view, String changeMarker, String viewDefinition) {
+        this.name = name;
+        this.view = view;
+        this.changeMarker = changeMarker;
+        this.viewDefinition = viewDefinition;
+    }
+
+    /**
+     * Capture columns, indexes and primary key of a table that has just been gathered
+     */
+    public static TableSnapshot of(Table table, String changeMarker) {
+        TableSnapshot snapshot = new TableSnapshot(table.getName(), table.isView(), changeMarker, table.getViewDefinition());
+        for (TableColumn column : table.getColumns()) {
+            snapshot.columns.add(new Column(column));
+        }
+        for (TableIndex index : table.getIndexes()) {
+            snapshot.indexes.add(new Index(index));
+        }
+        for (TableColumn column : table.getPrimaryColumns()) {
+            snapshot.primaryColumns.add(column.getName());
+        }
+        return snapshot;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isView() {
+        return view;
+    }
+
+    public String getChangeMarker() {
+        return changeMarker;
+    }
+
+    public String getViewDefinition() {
+        return viewDefinition;
+    }
+
+    public List<Column> getColumns() {
+        return columns;
+    }
+
+    public List<Index> getIndexes() {
+        return indexes;
+    }
+
+    public List<String> getPrimaryColumns() {
+        return primaryColumns;
+    }
+
+    /**
+     * @return <code>null</code> if the keys of the table haven't been fetched
+     */
+    public TableForeignKeys getForeignKeys() {
+        return foreignKeys;
+    }
+
+    public void setForeignKeys(TableForeignKeys foreignKeys) {
+        this.foreignKeys = foreignKeys;
+    }
+
+    public void write(DataOutput out) throws IOException {
+        writeString(out, name);
+        out.writeBoolean(view);
+        writeString(out, changeMarker);
+        writeString(out, viewDefinition);
+        out.writeInt(columns.size());
+        for (Column column : columns) {
+            column.write(out);
+        }
+        out.writeInt(indexes.size());
+        for (Index index : indexes) {
+            index.write(out);
+        }
+        writeStrings(out, primaryColumns);
+        out.writeBoolean(foreignKeys != null);
+        if (foreignKeys != null) {
+            out.writeInt(foreignKeys.getImportedKeys().size());
+            for (ImportForeignKey key : foreignKeys.getImportedKeys()) {
+                writeString(out, key.getFkName());
+                writeString(out, key.getFkColumnName());
+                writeString(out, key.getPkTableCat());
+                writeString(out, key.getPkTableSchema());
+                writeString(out, key.getPkTableName());
+                writeString(out, key.getPkColumnName());
+                writeInteger(out, key.getUpdateRule());
+                writeInteger(out, key.getDeleteRule());
+            }
+            out.writeInt(foreignKeys.getExportedKeys().size());
+            for (ExportForeignKey key : foreignKeys.getExportedKeys()) {
+                writeString(out, key.getFkTableCat());
+                writeString(out, key.getFkTableSchema());
+                writeString(out, key.getFkTableName());
+            }
+        }
+    }
+
+    public static TableSnapshot read(DataInput in) throws IOException {
+        TableSnapshot snapshot = new TableSnapshot(readString(in), in.readBoolean(), readString(in), readString(in));
+        for (int i = in.readInt(); i > 0; i--) {
+            snapshot.columns.add(Column.read(in));
+        }
+        for (int i = in.readInt(); i > 0; i--) {
+            snapshot.indexes.add(Index.read(in));
+        }
+        snapshot.primaryColumns.addAll(readStrings(in));
+        if (in.readBoolean()) {
+            snapshot.foreignKeys = new TableForeignKeys();
+            for (int i = in.readInt(); i > 0; i--) {
+                snapshot.foreignKeys.getImportedKeys().add(new ImportForeignKey.Builder()
+                    .withFkName(readString(in))
+                    .withFkColumnName(readString(in))
+                    .withPkTableCat(readString(in))
+                    .withPkTableSchema(readString(in))
+                    .withPkTableName(readString(in))
+                    .withPkColumnName(readString(in))
+                    .withUpdateRule(readInteger(in))
+                    .withDeleteRule(readInteger(in))
+                    .build());
+            }
+            for (int i = in.readInt(); i > 0; i--) {
+                snapshot.foreignKeys.getExportedKeys().add(new ExportForeignKey.Builder()
+                    .withFkTableCat(readString(in))
+                    .withFkTableSchema(readString(in))
+                    .withFkTableName(readString(in))
+                    .build());
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Column as returned by {@link java.sql.DatabaseMetaData#getColumns(String, String, String, String)}
+     */
+    public static class Column {
+        private final String name;
+        private final String typeName;
+        private final Integer type;
+        private final int length;
+        private final int decimalDigits;
+        private final String detailedSize;
+        private final boolean nullable;
+        private final boolean autoUpdated;
+        private final String defaultValue;
+        private final String comments;
+        private final Integer id;
+
+        private Column(TableColumn column) {
+            this(
+                column.getName(),
+                column.getTypeName(),
+                column.getType(),
+                column.getLength(),
+                column.getDecimalDigits(),
+                column.getDetailedSize(),
+                column.isNullable(),
+                column.isAutoUpdated(),
+                Objects.toString(column.getDefaultValue(), null),
+                column.getComments(),
+                column.getId() instanceof Integer ? (Integer) column.getId() : null
+            );
+        }
+
+        private Column(String name, String typeName, Integer type, int length, int decimalDigits, String detailedSize, //NOSONAR mirrors TableColumn
+                       boolean nullable, boolean autoUpdated, String defaultValue, String comments, Integer id) {
+            this.name = name;
+            this.typeName = typeName;
+            this.type = type;
+            this.length = length;
+            this.decimalDigits = decimalDigits;
+            this.detailedSize = detailedSize;
+            this.nullable = nullable;
+            this.autoUpdated = autoUpdated;
+            this.defaultValue = defaultValue;
+            this.comments = comments;
+            this.id = id;
+        }
+
+        /**
+         * Populate a new column of <code>table</code>, exclusions are left to the caller
+         */
+        public TableColumn toTableColumn(Table table) {
+            TableColumn column = new TableColumn(table);
+            column.setName(name == null ? null : name.intern());
+            column.setTypeName(typeName == null ? null : typeName.intern());
+            column.setType(type);
+            column.setLength(length);
+            column.setDecimalDigits(decimalDigits);
+            column.setDetailedSize(detailedSize);
+            column.setNullable(nullable);
+            column.setIsAutoUpdated(autoUpdated);
+            column.setDefaultValue(defaultValue);
+            column.setComments(comments);
+            column.setId(id);
+            return column;
+        }
+
+        private void write(DataOutput out) throws IOException {
+            writeString(out, name);
+            writeString(out, typeName);
+            writeInteger(out, type);
+            out.writeInt(length);
+            out.writeInt(decimalDigits);
+            writeString(out, detailedSize);
+            out.writeBoolean(nullable);
+            out.writeBoolean(autoUpdated);
+            writeString(out, defaultValue);
+            writeString(out, comments);
+            writeInteger(out, id);
+        }
+
+        private static Column read(DataInput in) throws IOException {
+            return new Column(
+                readString(in),
+                readString(in),
+                readInteger(in),
+                in.readInt(),
+                in.readInt(),
+                readString(in),
+                in.readBoolean(),
+                in.readBoolean(),
+                readString(in),
+                readString(in),
+                readInteger(in)
+            );
+        }
+    }
+
+    /**
+     * Index with its columns in index order
+     */
+    public static class Index {
+        private final String name;
+        private final boolean unique;
+        private final boolean primaryKey;
+        private final List<String> columns = new ArrayList<>();
+        private final List<Boolean> ascending = new ArrayList<>();
+
+        private Index(String name, boolean unique, boolean primaryKey) {
+            this.name = name;
+            this.unique = unique;
+            this.primaryKey = primaryKey;
+        }
+
+        private Index(TableIndex index) {
+            this(index.getName(), index.isUnique(), index.isPrimaryKey());
+            for (TableColumn column : index.getColumns()) {
+                columns.add(column.getName());
+                ascending.add(index.isAscending(column));
+            }
+        }
+
+        /**
+         * Create the index on the already populated columns of <code>table</code>
+         */
+        public TableIndex toTableIndex(Table table) {
+            TableIndex index = new TableIndex(name, unique);
+            for (int i = 0; i < columns.size(); i++) {
+                index.addColumn(table.getColumn(columns.get(i)), Boolean.TRUE.equals(ascending.get(i)) ? "A" : "D");
+            }
+            index.setIsPrimaryKey(primaryKey);
+            return index;
+        }
+
+        private void write(DataOutput out) throws IOException {
+            writeString(out, name);
+            out.writeBoolean(unique);
+            out.writeBoolean(primaryKey);
+            writeStrings(out, columns);
+            out.writeInt(ascending.size());
+            for (Boolean asc : ascending) {
+                out.writeBoolean(asc);
+            }
+        }
+
+        private static Index read(DataInput in) throws IOException {
+            Index index = new Index(readString(in), in.readBoolean(), in.readBoolean());
+            index.columns.addAll(readStrings(in));
+            for (int i = in.readInt(); i > 0; i--) {
+                index.ascending.add(in.readBoolean());
+            }
+            return index;
+        }
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeStrings(DataOutput out, List<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    private static List<String> readStrings(DataInput in) throws IOException {
+        List<String> values = new ArrayList<>();
+        for (int i = in.readInt(); i > 0; i--) {
+            values.add(readString(in));
+        }
+        return values;
+    }
+
+    private static void writeInteger(DataOutput out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private static Integer readInteger(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sum that can be added to from many threads.
+ */
+public class Counter {
+
+    static final Counter NONE = new Counter(false);
+
+    private final boolean enabled;
+    private final LongAdder value = new LongAdder();
+
+    Counter() {
+        this(true);
+    }
+
+    private Counter(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public void increment() {
+        add(1);
+    }
+
+    public void add(long amount) {
+        if (enabled) {
+            value.add(amount);
+        }
+    }
+
+    public long value() {
+        return value.sum();
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.metrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Times calls to the database through proxies of the JDBC objects SchemaSpy uses.
+ * <p>
+ * Calls to {@link DatabaseMetaData} are timed per method as <code>jdbc.&lt;method&gt;</code>,
+ * queries per name of the configured query they were prepared from as <code>query.&lt;name&gt;</code>,
+ * queries built by SchemaSpy itself as <code>query.unnamed</code>.
+ * Result sets are timed until they're closed, so reading them is part of the duration,
+ * and count their rows as <code>&lt;timer&gt;.rows</code>.
+ */
+public class MeteredJdbc {
+
+    private static final String UNNAMED = "unnamed";
+
+    private final Metrics metrics;
+    private final Map<String, String> queryNames = new HashMap<>();
+
+    /**
+     * @param dbProperties database type properties, the <code>*Sql</code> properties name the queries
+     */
+    public MeteredJdbc(Metrics metrics, Properties dbProperties) {
+        this.metrics = metrics;
+        for (String name : dbProperties.stringPropertyNames()) {
+            if (name.endsWith("Sql")) {
+                queryNames.putIfAbsent(dbProperties.getProperty(name), name);
+            }
+        }
+    }
+
+    public static MeteredJdbc disabled() {
+        return new MeteredJdbc(Metrics.disabled(), new Properties());
+    }
+
+    public Metrics metrics() {
+        return metrics;
+    }
+
+    public DatabaseMetaData metaData(DatabaseMetaData metaData) {
+        if (!metrics.isEnabled()) {
+            return metaData;
+        }
+        return proxy(DatabaseMetaData.class, metaData, (proxy, method, args) ->
+            timed(metaData, method, args, "jdbc." + method.getName())
+        );
+    }
+
+    /**
+     * @param sql the query as configured, before named parameters are replaced
+     */
+    public PreparedStatement statement(PreparedStatement statement, String sql) {
+        if (!metrics.isEnabled()) {
+            return statement;
+        }
+        String name = "query." + queryNames.getOrDefault(sql, UNNAMED);
+        return proxy(PreparedStatement.class, statement, (proxy, method, args) ->
+            "executeQuery".equals(method.getName()) && method.getParameterCount() == 0
+                ? timed(statement, method, args, name)
+                : invoke(statement, method, args)
+        );
+    }
+
+    private Object timed(Object target, Method method, Object[] args, String name) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return invoke(target, method, args);
+        }
+        Timer.Timing timing = metrics.timer(name).start();
+        Object result;
+        try {
+            result = invoke(target, method, args);
+        } catch (Throwable failure) {
+            timing.close();
+            metrics.counter(name + ".failures").increment();
+            throw failure;
+        }
+        if (result instanceof ResultSet resultSet) {
+            return resultSet(resultSet, timing, metrics.counter(name + ".rows"));
+        }
+        timing.close();
+        return result;
+    }
+
+    private static ResultSet resultSet(ResultSet resultSet, Timer.Timing timing, Counter rows) {
+        return proxy(ResultSet.class, resultSet, (proxy, method, args) -> {
+            Object result = invoke(resultSet, method, args);
+            if (method.getParameterCount() == 0) {
+                if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                    rows.increment();
+                } else if ("close".equals(method.getName())) {
+                    timing.close();
+                }
+            }
+            return result;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) ->
+            method.getDeclaringClass() == Object.class && !"toString".equals(method.getName())
+                ? invokeOnProxy(proxy, target, method, args)
+                : handler.invoke(proxy, method, args)
+        );
+    }
+
+    /**
+     * equals and hashCode of a proxy are about the proxy, not the object behind it
+     */
+    private static Object invokeOnProxy(Object proxy, Object target, Method method, Object[] args) throws Throwable {
+        if ("equals".equals(method.getName())) {
+            return proxy == args[0];
+        }
+        if ("hashCode".equals(method.getName())) {
+            return System.identityHashCode(proxy);
+        }
+        return invoke(target, method, args);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException exc) {
+            throw exc.getCause();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Timers and counters of a single analysis, created on first use by name.
+ * <p>
+ * Names are dot separated, starting with what's measured, like <code>jdbc.getColumns</code>
+ * for calls to {@link java.sql.DatabaseMetaData#getColumns} or <code>query.selectRowCountSql</code>
+ * for the custom query of that name.
+ */
+public class Metrics {
+
+    private final Map<String, Timer> timers;
+    private final Map<String, Counter> counters;
+
+    public Metrics() {
+        this(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+    }
+
+    private Metrics(Map<String, Timer> timers, Map<String, Counter> counters) {
+        this.timers = timers;
+        this.counters = counters;
+    }
+
+    /**
+     * Metrics that hand out timers and counters that don't record anything
+     */
+    public static Metrics disabled() {
+        return new Metrics(null, null);
+    }
+
+    public boolean isEnabled() {
+        return Objects.nonNull(timers);
+    }
+
+    public Timer timer(String name) {
+        if (!isEnabled()) {
+            return Timer.NONE;
+        }
+        Timer timer = timers.get(name);
+        return Objects.nonNull(timer) ? timer : timers.computeIfAbsent(name, key -> new Timer());
+    }
+
+    public Counter counter(String name) {
+        if (!isEnabled()) {
+            return Counter.NONE;
+        }
+        Counter counter = counters.get(name);
+        return Objects.nonNull(counter) ? counter : counters.computeIfAbsent(name, key -> new Counter());
+    }
+
+    /**
+     * Timers used so far ordered by name
+     */
+    public SortedMap<String, Timer> timers() {
+        return isEnabled() ? new TreeMap<>(timers) : Collections.emptySortedMap();
+    }
+
+    /**
+     * Counters used so far ordered by name
+     */
+    public SortedMap<String, Counter> counters() {
+        return isEnabled() ? new TreeMap<>(counters) : Collections.emptySortedMap();
+    }
+}
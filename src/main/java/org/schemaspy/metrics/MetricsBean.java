@@ -0,0 +1,104 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.invoke.MethodHandles;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Metrics registered with the platform MBean server as
+ * <code>org.schemaspy:type=Metrics,name=&lt;name&gt;</code> until closed.
+ */
+public class MetricsBean implements MetricsMXBean, AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private final Metrics metrics;
+    private final ObjectName objectName;
+
+    private MetricsBean(Metrics metrics, ObjectName objectName) {
+        this.metrics = metrics;
+        this.objectName = objectName;
+    }
+
+    /**
+     * Registers <code>metrics</code>, failing to do so is logged and leaves them unregistered
+     */
+    public static MetricsBean register(Metrics metrics, String name) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName objectName = new ObjectName("org.schemaspy:type=Metrics,name=" + ObjectName.quote(name));
+            MetricsBean bean = new MetricsBean(metrics, objectName);
+            server.registerMBean(bean, objectName);
+            return bean;
+        } catch (JMException exc) {
+            LOGGER.warn("Failed to register metrics of '{}' with JMX", name, exc);
+            return new MetricsBean(metrics, null);
+        }
+    }
+
+    @Override
+    public Map<String, Long> getCounters() {
+        Map<String, Long> counters = new TreeMap<>();
+        metrics.counters().forEach((name, counter) -> counters.put(name, counter.value()));
+        return counters;
+    }
+
+    @Override
+    public Map<String, Long> getTimerCounts() {
+        return timers(Timer::count);
+    }
+
+    @Override
+    public Map<String, Double> getTimerTotalMillis() {
+        return timers(timer -> TimeUnit.NANOSECONDS.toMicros(timer.totalNanos()) / 1000.0);
+    }
+
+    @Override
+    public Map<String, Double> getTimerMaxMillis() {
+        return timers(timer -> TimeUnit.NANOSECONDS.toMicros(timer.maxNanos()) / 1000.0);
+    }
+
+    private <T> Map<String, T> timers(Function<Timer, T> value) {
+        Map<String, T> values = new TreeMap<>();
+        metrics.timers().forEach((name, timer) -> values.put(name, value.apply(timer)));
+        return values;
+    }
+
+    @Override
+    public void close() {
+        if (Objects.isNull(objectName)) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (JMException exc) {
+            LOGGER.debug("Failed to unregister {}", objectName, exc);
+        }
+    }
+}
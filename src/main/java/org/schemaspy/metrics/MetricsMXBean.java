@@ -0,0 +1,33 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.metrics;
+
+import java.util.Map;
+
+/**
+ * Metrics of a running analysis for JMX clients like jconsole.
+ */
+public interface MetricsMXBean {
+
+    Map<String, Long> getCounters();
+
+    Map<String, Long> getTimerCounts();
+
+    Map<String, Double> getTimerTotalMillis();
+
+    Map<String, Double> getTimerMaxMillis();
+}
@@ -0,0 +1,118 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.metrics;
+
+import org.json.JSONWriter;
+import org.schemaspy.util.DefaultPrintWriter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Writes the metrics of an analysis as json to <code>schemaspy-metrics.json</code> in the output directory,
+ * together with the number and size of the files in the output directory by extension.
+ */
+public class MetricsReport {
+
+    public static final String FILE_NAME = "schemaspy-metrics.json";
+
+    private final Metrics metrics;
+    private final File outputDir;
+
+    public MetricsReport(Metrics metrics, File outputDir) {
+        this.metrics = metrics;
+        this.outputDir = outputDir;
+    }
+
+    public void write() throws IOException {
+        SortedMap<String, long[]> output = output();
+        try (PrintWriter out = new DefaultPrintWriter(new File(outputDir, FILE_NAME))) {
+            JSONWriter json = new JSONWriter(out).object();
+            json.key("timers").object();
+            for (Map.Entry<String, Timer> entry : metrics.timers().entrySet()) {
+                timer(json.key(entry.getKey()), entry.getValue());
+            }
+            json.endObject();
+            json.key("counters").object();
+            for (Map.Entry<String, Counter> entry : metrics.counters().entrySet()) {
+                json.key(entry.getKey()).value(entry.getValue().value());
+            }
+            json.endObject();
+            json.key("output").object();
+            for (Map.Entry<String, long[]> entry : output.entrySet()) {
+                json.key(entry.getKey()).object()
+                    .key("files").value(entry.getValue()[0])
+                    .key("bytes").value(entry.getValue()[1])
+                    .endObject();
+            }
+            json.endObject();
+            json.endObject();
+            out.println();
+        }
+    }
+
+    private static void timer(JSONWriter json, Timer timer) {
+        long count = timer.count();
+        json.object()
+            .key("count").value(count)
+            .key("totalMillis").value(millis(timer.totalNanos()))
+            .key("meanMillis").value(count == 0 ? 0 : millis(timer.totalNanos() / count))
+            .key("maxMillis").value(millis(timer.maxNanos()));
+        json.key("histogramMillis").object();
+        long[] histogram = timer.histogram();
+        for (int i = 0; i < Timer.BUCKETS_MILLIS.length; i++) {
+            json.key("le" + Timer.BUCKETS_MILLIS[i]).value(histogram[i]);
+        }
+        json.key("gt" + Timer.BUCKETS_MILLIS[Timer.BUCKETS_MILLIS.length - 1]).value(histogram[histogram.length - 1]);
+        json.endObject();
+        json.endObject();
+    }
+
+    private static double millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos) / 1000.0;
+    }
+
+    /**
+     * Number and size of files by extension
+     */
+    private SortedMap<String, long[]> output() throws IOException {
+        SortedMap<String, long[]> output = new TreeMap<>();
+        try (Stream<Path> files = Files.walk(outputDir.toPath())) {
+            for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                String name = file.getFileName().toString();
+                if (FILE_NAME.equals(name)) {
+                    continue;
+                }
+                int dot = name.lastIndexOf('.');
+                String extension = dot < 0 ? "" : name.substring(dot + 1).toLowerCase(Locale.ROOT);
+                long[] filesAndBytes = output.computeIfAbsent(extension, key -> new long[2]);
+                filesAndBytes[0]++;
+                filesAndBytes[1] += Files.size(file);
+            }
+        }
+        return output;
+    }
+}
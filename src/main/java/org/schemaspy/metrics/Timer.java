@@ -0,0 +1,124 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Number, total and max duration of something that's done many times,
+ * with a histogram of the durations.
+ * <p>
+ * The histogram counts durations up to each of {@link #BUCKETS_MILLIS},
+ * the last bucket counts durations longer than all of them.
+ */
+public class Timer {
+
+    static final long[] BUCKETS_MILLIS = {1, 5, 10, 50, 100, 500, 1_000, 5_000, 10_000};
+    private static final long[] BUCKETS_NANOS = new long[BUCKETS_MILLIS.length];
+
+    static {
+        for (int i = 0; i < BUCKETS_MILLIS.length; i++) {
+            BUCKETS_NANOS[i] = TimeUnit.MILLISECONDS.toNanos(BUCKETS_MILLIS[i]);
+        }
+    }
+
+    static final Timer NONE = new Timer(false);
+
+    private final boolean enabled;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS_MILLIS.length + 1);
+
+    Timer() {
+        this(true);
+    }
+
+    private Timer(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Starts timing, the duration is recorded when the returned timing is closed
+     */
+    public Timing start() {
+        return new Timing(this, System.nanoTime());
+    }
+
+    public void record(long nanos) {
+        if (!enabled) {
+            return;
+        }
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+        int bucket = 0;
+        while (bucket < BUCKETS_NANOS.length && nanos > BUCKETS_NANOS[bucket]) {
+            bucket++;
+        }
+        histogram.incrementAndGet(bucket);
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public long totalNanos() {
+        return totalNanos.sum();
+    }
+
+    public long maxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Number of durations per bucket, one more than there are {@link #BUCKETS_MILLIS}
+     */
+    public long[] histogram() {
+        long[] counts = new long[histogram.length()];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = histogram.get(i);
+        }
+        return counts;
+    }
+
+    /**
+     * Duration being timed, recorded once when closed.
+     */
+    public static final class Timing implements AutoCloseable {
+
+        private final Timer timer;
+        private final long startedAt;
+        private boolean closed;
+
+        private Timing(Timer timer, long startedAt) {
+            this.timer = timer;
+            this.startedAt = startedAt;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                timer.record(System.nanoTime() - startedAt);
+            }
+        }
+    }
+}
@@ -27,9 +27,12 @@ import org.schemaspy.util.CaseInsensitiveMap;
 
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * @author John Currier
@@ -45,12 +48,15 @@ public class Database {
     private final String databaseName;
     private final Catalog catalog ;
     private final Schema schema;
-    private final Map<String, Table> tables = new CaseInsensitiveMap<>();
-    private final Map<String, View> views = new CaseInsensitiveMap<>();
+    private final AtomicLong localsVersion = new AtomicLong();
+    private final Map<String, Table> tables = new LocalsMap<>(localsVersion);
+    private final Map<String, View> views = new LocalsMap<>(localsVersion);
+    private volatile Locals locals;
     private final Map<String, Table> remoteTables = new CaseInsensitiveMap<>(); // key: schema.tableName
     private final Map<String, Routine> routines = new CaseInsensitiveMap<>();
     private final ZonedDateTime connectTime = ZonedDateTime.now();
     private final Map<String, Sequence> sequences = new CaseInsensitiveMap<>();
+    private volatile ViewReferences viewReferences = ViewReferences.empty();
 
     public Database(
             DbmsMeta dbmsMeta,
@@ -86,8 +92,12 @@ public class Database {
      * @return null if a description wasn't specified.
      */
 
+    /**
+     * Tables ordered by name, so every run walks them in the same order
+     * no matter in which order the workers collected them
+     */
     public Collection<Table> getTables() {
-        return tables.values();
+        return locals().tables;
     }
 
     public Map<String, Table> getTablesMap() {
@@ -96,24 +106,49 @@ public class Database {
 
     /**
      * A read-only map that combines Tables and Views.
+     * The map is built once and shared until a table or view is added or removed.
      */
     public Map<String, Table> getLocals() {
-        Map<String, Table> result = new CaseInsensitiveMap<>();
-        result.putAll(tables);
-        result.putAll(views);
-        return Collections.unmodifiableMap(result);
+        return locals().map;
+    }
+
+    private Locals locals() {
+        long version = localsVersion.get();
+        Locals current = locals;
+        if (current == null || current.version != version) {
+            List<Table> sortedTables = sortedByName(tables.values());
+            List<View> sortedViews = sortedByName(views.values());
+            Map<String, Table> result = new CaseInsensitiveMap<>(sortedTables.size() + sortedViews.size());
+            sortedTables.forEach(table -> result.put(table.getName(), table));
+            sortedViews.forEach(view -> result.put(view.getName(), view));
+            current = new Locals(version, Collections.unmodifiableMap(result), sortedTables, sortedViews);
+            locals = current;
+        }
+        return current;
     }
 
+    private static <T extends Table> List<T> sortedByName(Collection<T> tables) {
+        List<T> sorted = new ArrayList<>(tables);
+        Collections.sort(sorted);
+        return Collections.unmodifiableList(sorted);
+    }
+
+    /**
+     * Views ordered by name, see {@link #getTables()}
+     */
     public Collection<View> getViews() {
-        return views.values();
+        return locals().views;
     }
 
     public Map<String, View> getViewsMap() {
         return views;
     }
 
+    /**
+     * Remote tables ordered by name, see {@link #getTables()}
+     */
     public Collection<Table> getRemoteTables() {
-        return remoteTables.values();
+        return sortedByName(remoteTables.values());
     }
 
     public Map<String, Table> getRemoteTablesMap() {
@@ -134,6 +169,35 @@ public class Database {
         return sequences;
     }
 
+    /**
+     * Freezes the tables, views and remote tables that aren't frozen, see {@link Table#freeze()}.
+     * Call it once the model is complete and again after relationships have been added.
+     */
+    public void freeze() {
+        freeze(tables.values());
+        freeze(views.values());
+        freeze(remoteTables.values());
+    }
+
+    private static void freeze(Collection<? extends Table> tables) {
+        for (Table table : tables) {
+            if (!table.isFrozen()) {
+                table.freeze();
+            }
+        }
+    }
+
+    /**
+     * Tables and views referenced by the SQL of every view, empty until the view definitions have been analyzed
+     */
+    public ViewReferences getViewReferences() {
+        return viewReferences;
+    }
+
+    public void setViewReferences(ViewReferences viewReferences) {
+        this.viewReferences = viewReferences;
+    }
+
     /**
      * Used in Mustache template
      * @return creation time of model
@@ -159,4 +223,33 @@ public class Database {
         return Table.getFullName(getName(), cat, sch, table);
     }
 
+    private static final class Locals {
+        private final long version;
+        private final Map<String, Table> map;
+        private final List<Table> tables;
+        private final List<View> views;
+
+        private Locals(long version, Map<String, Table> map, List<Table> tables, List<View> views) {
+            this.version = version;
+            this.map = map;
+            this.tables = tables;
+            this.views = views;
+        }
+    }
+
+    /**
+     * Tables or views, every change makes {@link #getLocals()} rebuild its map
+     */
+    private static final class LocalsMap<V> extends CaseInsensitiveMap<V> {
+        private final AtomicLong version;
+
+        private LocalsMap(AtomicLong version) {
+            this.version = version;
+        }
+
+        @Override
+        protected void modified() {
+            version.incrementAndGet();
+        }
+    }
 }
@@ -0,0 +1,93 @@
+package org.schemaspy.model;
+
+import org.schemaspy.metrics.Metrics;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decorator recording the duration of every phase and the progress within them as metrics.
+ */
+public class Metered implements ProgressListener {
+    private final ProgressListener origin;
+    private final Metrics metrics;
+
+    public Metered(final ProgressListener origin, final Metrics metrics) {
+        this.origin = origin;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void startCollectingTablesViews() {
+        origin.startCollectingTablesViews();
+    }
+
+    @Override
+    public void tableViewCollected(Table table) {
+        origin.tableViewCollected(table);
+        metrics.counter("progress.tablesViewsCollected").increment();
+    }
+
+    @Override
+    public long finishedCollectingTablesViews() {
+        return phase("collectingTablesViews", origin.finishedCollectingTablesViews());
+    }
+
+    @Override
+    public void startConnectingTablesViews() {
+        origin.startConnectingTablesViews();
+    }
+
+    @Override
+    public void connectedTableView(Table table) {
+        origin.connectedTableView(table);
+        metrics.counter("progress.tablesViewsConnected").increment();
+    }
+
+    @Override
+    public long finishedConnectingTablesViews() {
+        return phase("connectingTablesViews", origin.finishedConnectingTablesViews());
+    }
+
+    @Override
+    public void startCreatingSummaries() {
+        origin.startCreatingSummaries();
+    }
+
+    @Override
+    public void createdSummary() {
+        origin.createdSummary();
+        metrics.counter("progress.summariesCreated").increment();
+    }
+
+    @Override
+    public long finishedCreatingSummaries() {
+        return phase("creatingSummaries", origin.finishedCreatingSummaries());
+    }
+
+    @Override
+    public void startCreatingTablePages() {
+        origin.startCreatingTablePages();
+    }
+
+    @Override
+    public void createdTablePage(Table table) {
+        origin.createdTablePage(table);
+        metrics.counter("progress.tablePagesCreated").increment();
+    }
+
+    @Override
+    public long finishedCreatingTablePages() {
+        return phase("creatingTablePages", origin.finishedCreatingTablePages());
+    }
+
+    @Override
+    public long finished(Collection<Table> tables) {
+        return phase("total", origin.finished(tables));
+    }
+
+    private long phase(String name, long millis) {
+        metrics.timer("phase." + name).record(TimeUnit.MILLISECONDS.toNanos(millis));
+        return millis;
+    }
+}
@@ -24,6 +24,11 @@ import java.util.Collection;
 /**
  * Listener of schema analysis and ERD generation progress.
  * Overall intent is to allow various views to render progress details appropriately.
+ * <p>
+ * Tables and views are collected, connected and written by several threads, so
+ * {@link #tableViewCollected(Table)}, {@link #connectedTableView(Table)} and {@link #createdTablePage(Table)}
+ * may be called concurrently and implementations must be thread-safe.
+ * The start and finish callbacks are always called from the thread running the analysis.
  *
  * @author John Currier
  */
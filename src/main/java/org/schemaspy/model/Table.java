@@ -56,10 +56,12 @@ public class Table implements Comparable<Table> {
     private Object id;
     private final Map<String, String> checkConstraints = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
     private long numRows;
+    private boolean numRowsEstimated;
     protected final Database db;
     private String comments;
     private int maxChildren;
     private int maxParents;
+    private volatile Frozen frozen;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
@@ -118,6 +120,7 @@ public class Table implements Comparable<Table> {
      */
     public void setPrimaryColumn(TableColumn primaryColumn) {
         primaryKeys.add(primaryColumn);
+        thaw();
     }
 
     /**
@@ -131,6 +134,7 @@ public class Table implements Comparable<Table> {
         TableColumn column = new TableColumn(this, colMeta);
 
         columns.put(column.getName(), column);
+        thaw();
 
         return column;
     }
@@ -239,6 +243,10 @@ public class Table implements Comparable<Table> {
      * @return
      */
     public Set<TableIndex> getIndexes() {
+        Frozen current = frozen;
+        if (current != null) {
+            return current.indexes;
+        }
         return new HashSet<>(indexes.values());
     }
 
@@ -301,6 +309,14 @@ public class Table implements Comparable<Table> {
      * @return
      */
     public List<TableColumn> getColumns() {
+        Frozen current = frozen;
+        if (current != null) {
+            return current.columns;
+        }
+        return sortedColumns();
+    }
+
+    private List<TableColumn> sortedColumns() {
         Set<TableColumn> sorted = new TreeSet<>(new ByColumnIdComparator());
         sorted.addAll(columns.values());
         return new ArrayList<>(sorted);
@@ -308,6 +324,7 @@ public class Table implements Comparable<Table> {
 
     public void setColumns(CaseInsensitiveMap<TableColumn> columns) {
         this.columns = columns;
+        thaw();
     }
 
     /**
@@ -336,6 +353,10 @@ public class Table implements Comparable<Table> {
      * @return
      */
     public boolean isRoot() {
+        Frozen current = frozen;
+        if (current != null) {
+            return current.numParents == 0;
+        }
         for (TableColumn column : columns.values()) {
             if (column.isForeignKey()) {
                 return false;
@@ -352,6 +373,10 @@ public class Table implements Comparable<Table> {
      * @return
      */
     public boolean isLeaf() {
+        Frozen current = frozen;
+        if (current != null) {
+            return current.numChildren == 0;
+        }
         for (TableColumn column : columns.values()) {
             if (!column.getChildren().isEmpty()) {
                 return false;
@@ -491,6 +516,14 @@ public class Table implements Comparable<Table> {
      * @return
      */
     public int getNumChildren() {
+        Frozen current = frozen;
+        if (current != null) {
+            return current.numChildren;
+        }
+        return countChildren();
+    }
+
+    private int countChildren() {
         int numChildren = 0;
 
         for (TableColumn column : columns.values()) {
@@ -506,6 +539,14 @@ public class Table implements Comparable<Table> {
      * @return
      */
     public int getNumNonImpliedChildren() {
+        Frozen current = frozen;
+        if (current != null) {
+            return current.numNonImpliedChildren;
+        }
+        return countNonImpliedChildren();
+    }
+
+    private int countNonImpliedChildren() {
         int numChildren = 0;
 
         for (TableColumn column : columns.values()) {
@@ -525,6 +566,14 @@ public class Table implements Comparable<Table> {
      * @return
      */
     public int getNumParents() {
+        Frozen current = frozen;
+        if (current != null) {
+            return current.numParents;
+        }
+        return countParents();
+    }
+
+    private int countParents() {
         int numParents = 0;
 
         for (TableColumn column : columns.values()) {
@@ -540,6 +589,14 @@ public class Table implements Comparable<Table> {
      * @return
      */
     public int getNumNonImpliedParents() {
+        Frozen current = frozen;
+        if (current != null) {
+            return current.numNonImpliedParents;
+        }
+        return countNonImpliedParents();
+    }
+
+    private int countNonImpliedParents() {
         int numParents = 0;
 
         for (TableColumn column : columns.values()) {
@@ -653,6 +710,26 @@ public class Table implements Comparable<Table> {
      */
     public void setNumRows(long numRows) {
         this.numRows = numRows;
+        this.numRowsEstimated = false;
+    }
+
+    /**
+     * Set the number of rows in this table as estimated by the database's statistics
+     *
+     * @param numRows
+     */
+    public void setEstimatedNumRows(long numRows) {
+        this.numRows = numRows;
+        this.numRowsEstimated = true;
+    }
+
+    /**
+     * Returns <code>true</code> if {@link #getNumRows()} is an estimate instead of an exact count
+     *
+     * @return
+     */
+    public boolean isNumRowsEstimated() {
+        return numRowsEstimated;
     }
 
     /**
@@ -731,10 +808,8 @@ public class Table implements Comparable<Table> {
             return false;
         }
 
-        for (TableColumn tableColumn : columns.values()) {
-            if(tableColumn.hasImpliedConstraint()) {
-                return true;
-            }
+        if (hasImpliedConstraint()) {
+            return true;
         }
         if (degreesOfSeparation > 1) {
             return columns.values().stream()
@@ -748,6 +823,71 @@ public class Table implements Comparable<Table> {
         return false;
     }
 
+    private boolean hasImpliedConstraint() {
+        Frozen current = frozen;
+        if (current != null) {
+            return current.impliedConstraint;
+        }
+        return findImpliedConstraint();
+    }
+
+    private boolean findImpliedConstraint() {
+        for (TableColumn tableColumn : columns.values()) {
+            if(tableColumn.hasImpliedConstraint()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Computes the sorted columns, indexes and relationship counts of this table once so they
+     * can be read without allocating, by any number of threads.
+     * <p>
+     * Call it once the table is complete, adding or removing relationships or columns through
+     * the table or its columns thaws it again. Changes made through {@link #getColumnsMap()}
+     * or {@link #getIndexesMap()} while frozen aren't noticed.
+     */
+    public void freeze() {
+        frozen = new Frozen(this);
+    }
+
+    public boolean isFrozen() {
+        return frozen != null;
+    }
+
+    /**
+     * Drops the values computed by {@link #freeze()}, they're computed on every call again
+     */
+    void thaw() {
+        frozen = null;
+    }
+
+    /**
+     * Read-only values of a frozen table
+     */
+    private static final class Frozen {
+        private final List<TableColumn> columns;
+        private final Set<TableIndex> indexes;
+        private final int numChildren;
+        private final int numNonImpliedChildren;
+        private final int numParents;
+        private final int numNonImpliedParents;
+        private final boolean impliedConstraint;
+
+        private Frozen(Table table) {
+            columns = Collections.unmodifiableList(table.sortedColumns());
+            indexes = Collections.unmodifiableSet(new LinkedHashSet<>(table.indexes.values()));
+            numChildren = table.countChildren();
+            numNonImpliedChildren = table.countNonImpliedChildren();
+            numParents = table.countParents();
+            numNonImpliedParents = table.countNonImpliedParents();
+            impliedConstraint = table.findImpliedConstraint();
+            // settles the cached uniqueness before the columns are read concurrently
+            columns.forEach(TableColumn::isUnique);
+        }
+    }
+
     /**
      * Implementation of {@link Comparator} that sorts {@link TableColumn}s
      * by {@link TableColumn#getId() ID} (ignored if <code>null</code>)
@@ -371,6 +371,7 @@ public class TableColumn {
     public void addParent(TableColumn parent, ForeignKeyConstraint constraint) {
         parents.put(parent, constraint);
         table.addedParent();
+        table.thaw();
     }
 
     /**
@@ -380,6 +381,7 @@ public class TableColumn {
      */
     public void removeParent(TableColumn parent) {
         parents.remove(parent);
+        table.thaw();
     }
 
     /**
@@ -390,6 +392,7 @@ public class TableColumn {
             parent.removeChild(this);
         }
         parents.clear();
+        table.thaw();
     }
 
     /**
@@ -416,6 +419,7 @@ public class TableColumn {
     public ForeignKeyConstraint removeAParentFKConstraint() {
         return parents.entrySet().stream().findFirst().map(entry ->  {
             parents.remove(entry.getKey());
+            table.thaw();
             entry.getKey().removeChild(this);
             return entry.getValue();
         }).orElse(null);
@@ -429,6 +433,7 @@ public class TableColumn {
     public ForeignKeyConstraint removeAChildFKConstraint() {
         return children.entrySet().stream().findFirst().map(entry ->  {
             children.remove(entry.getKey());
+            table.thaw();
             entry.getKey().removeParent(this);
             return entry.getValue();
         }).orElse(null);
@@ -443,6 +448,7 @@ public class TableColumn {
     public void addChild(TableColumn child, ForeignKeyConstraint constraint) {
         children.put(child, constraint);
         table.addedChild();
+        table.thaw();
     }
 
     /**
@@ -452,6 +458,7 @@ public class TableColumn {
      */
     public void removeChild(TableColumn child) {
         children.remove(child);
+        table.thaw();
     }
 
     /**
@@ -462,6 +469,7 @@ public class TableColumn {
             child.removeParent(this);
         }
         children.clear();
+        table.thaw();
     }
 
     /**
@@ -21,6 +21,7 @@
 package org.schemaspy.model;
 
 import java.util.Collection;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Implementation of {@link ProgressListener}.
@@ -31,18 +32,18 @@ import java.util.Collection;
 public class Tracked implements ProgressListener {
 
     private final long startedAt;
-    private long startedCollectingTablesViewsAt;
-    private long startedConnectingTablesViewsAt;
-    private long startedCreatingSummariesAt;
-    private long startedCreatingTablePagesAt;
+    private volatile long startedCollectingTablesViewsAt;
+    private volatile long startedConnectingTablesViewsAt;
+    private volatile long startedCreatingSummariesAt;
+    private volatile long startedCreatingTablePagesAt;
 
     public Tracked() {
-        startedAt = System.currentTimeMillis();
+        startedAt = System.nanoTime();
     }
 
     @Override
     public void startCollectingTablesViews() {
-        startedCollectingTablesViewsAt = System.currentTimeMillis();
+        startedCollectingTablesViewsAt = System.nanoTime();
     }
 
     @Override
@@ -55,12 +56,12 @@ public class Tracked implements ProgressListener {
      */
     @Override
     public long finishedCollectingTablesViews() {
-        return System.currentTimeMillis() - startedCollectingTablesViewsAt;
+        return elapsedMillis(startedCollectingTablesViewsAt);
     }
 
     @Override
     public void startConnectingTablesViews() {
-        startedConnectingTablesViewsAt = System.currentTimeMillis();
+        startedConnectingTablesViewsAt = System.nanoTime();
     }
 
     @Override
@@ -73,12 +74,12 @@ public class Tracked implements ProgressListener {
      */
     @Override
     public long finishedConnectingTablesViews() {
-        return System.currentTimeMillis() - startedConnectingTablesViewsAt;
+        return elapsedMillis(startedConnectingTablesViewsAt);
     }
 
     @Override
     public void startCreatingSummaries() {
-        startedCreatingSummariesAt = System.currentTimeMillis();
+        startedCreatingSummariesAt = System.nanoTime();
     }
 
     @Override
@@ -91,12 +92,12 @@ public class Tracked implements ProgressListener {
      */
     @Override
     public long finishedCreatingSummaries() {
-        return System.currentTimeMillis() - startedCreatingSummariesAt;
+        return elapsedMillis(startedCreatingSummariesAt);
     }
 
     @Override
     public void startCreatingTablePages() {
-        startedCreatingTablePagesAt = System.currentTimeMillis();
+        startedCreatingTablePagesAt = System.nanoTime();
     }
 
     @Override
@@ -109,11 +110,15 @@ public class Tracked implements ProgressListener {
      */
     @Override
     public long finishedCreatingTablePages() {
-        return System.currentTimeMillis() - startedCreatingTablePagesAt;
+        return elapsedMillis(startedCreatingTablePagesAt);
     }
 
     @Override
     public long finished(Collection<Table> tablesg) {
-        return System.currentTimeMillis() - startedAt;
+        return elapsedMillis(startedAt);
+    }
+
+    private static long elapsedMillis(long since) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - since);
     }
 }
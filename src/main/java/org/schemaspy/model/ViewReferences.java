@@ -0,0 +1,79 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.model;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Dependencies of views on the tables and views named in the SQL that defines them.
+ * <p>
+ * The references are found by scanning the view definitions, a table that's only mentioned
+ * is a reference as well. The graph is built once per database and shared by everything
+ * that shows or orders views.
+ */
+public class ViewReferences {
+
+    private static final ViewReferences EMPTY = new ViewReferences(Collections.emptyMap());
+
+    private final Map<Table, Set<Table>> referenced;
+    private final Map<Table, Set<Table>> referencing = new IdentityHashMap<>();
+
+    /**
+     * @param referenced tables and views referenced by each view, in the order the views are listed
+     */
+    public ViewReferences(Map<? extends Table, ? extends Set<Table>> referenced) {
+        Map<Table, Set<Table>> copy = new LinkedHashMap<>(referenced.size() * 2);
+        referenced.forEach((view, tables) -> {
+            copy.put(view, Collections.unmodifiableSet(new LinkedHashSet<>(tables)));
+            for (Table table : tables) {
+                referencing.computeIfAbsent(table, t -> new LinkedHashSet<>()).add(view);
+            }
+        });
+        this.referenced = Collections.unmodifiableMap(copy);
+        referencing.replaceAll((table, views) -> Collections.unmodifiableSet(views));
+    }
+
+    public static ViewReferences empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @return views whose definitions have been analyzed
+     */
+    public Set<Table> views() {
+        return referenced.keySet();
+    }
+
+    /**
+     * @return tables and views referenced by <code>view</code>, empty for tables
+     */
+    public Set<Table> referencedBy(Table view) {
+        return referenced.getOrDefault(view, Collections.emptySet());
+    }
+
+    /**
+     * @return views that reference <code>table</code>
+     */
+    public Set<Table> referencing(Table table) {
+        return referencing.getOrDefault(table, Collections.emptySet());
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.output.diagram;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Objects;
+
+/**
+ * Renderer that skips rendering when the diagram from a previous run was rendered
+ * from the same dot by the same renderer.
+ * <p>
+ * The dot already holds everything that ends up in the diagram, the table and
+ * its neighbours as well as styling, so its hash together with the
+ * {@link Renderer#identifier()} is what decides if a diagram has to be rendered again.
+ */
+public class IncrementalRenderer implements Renderer {
+
+    private final Renderer renderer;
+    private final RenderManifest manifest;
+
+    public IncrementalRenderer(Renderer renderer, RenderManifest manifest) {
+        this.renderer = renderer;
+        this.manifest = manifest;
+    }
+
+    @Override
+    public String identifier() {
+        return renderer.identifier();
+    }
+
+    @Override
+    public String render(File dotFile, File diagramFile) {
+        String hash = hash(dotFile);
+        String map = manifest.unchanged(diagramFile, hash);
+        if (Objects.nonNull(map)) {
+            return map;
+        }
+        map = renderer.render(dotFile, diagramFile);
+        manifest.rendered(diagramFile, hash, map);
+        return map;
+    }
+
+    @Override
+    public String format() {
+        return renderer.format();
+    }
+
+    private String hash(File dotFile) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(renderer.identifier().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(renderer.format().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(Files.readAllBytes(dotFile.toPath()));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException exc) {
+            throw new UncheckedIOException("Failed to read " + dotFile, exc);
+        } catch (NoSuchAlgorithmException exc) {
+            throw new IllegalStateException(exc);
+        }
+    }
+}
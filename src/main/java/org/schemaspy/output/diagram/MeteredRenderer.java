@@ -0,0 +1,59 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.output.diagram;
+
+import org.schemaspy.metrics.Metrics;
+import org.schemaspy.metrics.Timer;
+
+import java.io.File;
+
+/**
+ * Renderer recording every rendering in metrics, the time it took as <code>render</code>,
+ * size of the diagram as <code>render.bytes</code> and renderings that failed as <code>render.failures</code>.
+ */
+public class MeteredRenderer implements Renderer {
+
+    private final Renderer renderer;
+    private final Metrics metrics;
+
+    public MeteredRenderer(Renderer renderer, Metrics metrics) {
+        this.renderer = renderer;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public String identifier() {
+        return renderer.identifier();
+    }
+
+    @Override
+    public String render(File dotFile, File diagramFile) {
+        try (Timer.Timing timing = metrics.timer("render").start()) {
+            String map = renderer.render(dotFile, diagramFile);
+            metrics.counter("render.bytes").add(diagramFile.length());
+            return map;
+        } catch (RuntimeException exception) {
+            metrics.counter("render.failures").increment();
+            throw exception;
+        }
+    }
+
+    @Override
+    public String format() {
+        return renderer.format();
+    }
+}
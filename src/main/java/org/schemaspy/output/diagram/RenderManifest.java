@@ -0,0 +1,147 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.output.diagram;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Content hash and html map of every diagram rendered into an output directory,
+ * so a later run can tell which diagrams would be rendered exactly the same again.
+ * Only diagrams rendered or reused by the current run are kept when saved.
+ */
+public class RenderManifest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    public static final String FILE_NAME = "schemaspy-render.manifest";
+
+    private static final int VERSION = 1;
+
+    private final Path outputDir;
+    private final Map<String, Entry> previous;
+    private final Map<String, Entry> current = new ConcurrentHashMap<>();
+
+    private RenderManifest(Path outputDir, Map<String, Entry> previous) {
+        this.outputDir = outputDir;
+        this.previous = previous;
+    }
+
+    /**
+     * Read the manifest of the previous run, a missing or unreadable manifest is treated as empty
+     */
+    public static RenderManifest load(File outputDir) {
+        Path file = outputDir.toPath().resolve(FILE_NAME);
+        Map<String, Entry> previous = new ConcurrentHashMap<>();
+        if (Files.isRegularFile(file)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(file))))) {
+                if (in.readInt() == VERSION) {
+                    for (int i = in.readInt(); i > 0; i--) {
+                        previous.put(readString(in), new Entry(readString(in), readString(in)));
+                    }
+                }
+            } catch (IOException | RuntimeException exc) {
+                LOGGER.warn("Failed to read {}, rendering all diagrams", file, exc);
+                previous.clear();
+            }
+        }
+        return new RenderManifest(outputDir.toPath(), previous);
+    }
+
+    /**
+     * @return html map of the previous rendering if <code>diagramFile</code> was rendered from the same
+     * content and still exists, otherwise <code>null</code>
+     */
+    public String unchanged(File diagramFile, String hash) {
+        String key = key(diagramFile);
+        Entry entry = previous.get(key);
+        if (Objects.isNull(entry) || !entry.hash.equals(hash) || !diagramFile.isFile()) {
+            return null;
+        }
+        current.put(key, entry);
+        return entry.map;
+    }
+
+    public void rendered(File diagramFile, String hash, String map) {
+        current.put(key(diagramFile), new Entry(hash, map));
+    }
+
+    public void save() {
+        Path file = outputDir.resolve(FILE_NAME);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(file))))) {
+            out.writeInt(VERSION);
+            out.writeInt(current.size());
+            for (Map.Entry<String, Entry> entry : current.entrySet()) {
+                writeString(out, entry.getKey());
+                writeString(out, entry.getValue().hash);
+                writeString(out, entry.getValue().map);
+            }
+        } catch (IOException exc) {
+            LOGGER.warn("Failed to write {}", file, exc);
+        }
+    }
+
+    private String key(File diagramFile) {
+        return outputDir.toAbsolutePath().relativize(diagramFile.toPath().toAbsolutePath()).toString().replace('\\', '/');
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static class Entry {
+        private final String hash;
+        private final String map;
+
+        private Entry(String hash, String map) {
+            this.hash = hash;
+            this.map = map;
+        }
+    }
+}
@@ -0,0 +1,290 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.output.diagram.graphviz;
+
+import org.schemaspy.output.diagram.RenderException;
+import org.schemaspy.output.diagram.Renderer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders diagrams requested at the same time with a single dot process.
+ * <p>
+ * At most <code>processes</code> dot processes run at once. While another dot process is running
+ * a request waits a short while for others to join before its batch of up to <code>batchSize</code>
+ * diagrams is started, so batches form even when every render thread has a dot process of its own.
+ * Dot writes the output of every input file next to it when given <code>-O</code>.
+ * If a batch fails its diagrams are rendered one by one so only the broken diagram fails.
+ */
+public class BatchGraphvizDot implements Renderer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private static final long COLLECT_MILLIS = 50;
+
+    private final GraphvizDot graphvizDot;
+    private final int processes;
+    private final int batchSize;
+    private final String lineSeparator = System.getProperty("line.separator");
+
+    private final Object lock = new Object();
+    private final List<Request> pending = new ArrayList<>();
+    private int running;
+    private boolean collecting;
+
+    public BatchGraphvizDot(GraphvizDot graphvizDot, int processes, int batchSize) {
+        this.graphvizDot = graphvizDot;
+        this.processes = Math.max(1, processes);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Override
+    public String identifier() {
+        return graphvizDot.identifier();
+    }
+
+    @Override
+    public String format() {
+        return graphvizDot.format();
+    }
+
+    @Override
+    public String render(File dotFile, File diagramFile) {
+        if (!graphvizDot.isValid()) {
+            throw new RenderException("Dot missing or invalid version");
+        }
+        Request request = new Request(dotFile, diagramFile);
+        List<Request> batch;
+        synchronized (lock) {
+            pending.add(request);
+            // a request collecting a batch might be waiting for this one
+            lock.notifyAll();
+            try {
+                collect(request);
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+                pending.remove(request);
+                if (request.collecting) {
+                    collecting = false;
+                    lock.notifyAll();
+                }
+                throw new RenderException("Interrupted while waiting for dot", interrupted);
+            }
+            if (request.done) {
+                return request.result();
+            }
+            batch = take(request);
+            running++;
+            collecting = false;
+            lock.notifyAll();
+        }
+        try {
+            render(batch);
+        } finally {
+            synchronized (lock) {
+                running--;
+                for (Request rendered : batch) {
+                    rendered.done = true;
+                }
+                lock.notifyAll();
+            }
+        }
+        return request.result();
+    }
+
+    /**
+     * Waits until <code>request</code> has been rendered by another thread or it's its turn to start the
+     * next batch. One request at a time collects a batch, if a dot process is running already it waits
+     * up to {@value #COLLECT_MILLIS} ms for the batch to fill up, then until a dot process is available.
+     */
+    private void collect(Request request) throws InterruptedException {
+        while (!request.done && (request.taken || collecting)) {
+            lock.wait();
+        }
+        if (request.done) {
+            return;
+        }
+        collecting = true;
+        request.collecting = true;
+        if (running > 0) {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(COLLECT_MILLIS);
+            long remaining = COLLECT_MILLIS;
+            while (remaining > 0 && batchable(request) < batchSize) {
+                lock.wait(remaining);
+                remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            }
+        }
+        while (running >= processes) {
+            lock.wait();
+        }
+    }
+
+    /**
+     * @return number of pending requests that can be rendered together with <code>request</code>
+     */
+    private int batchable(Request request) {
+        File directory = request.dotFile.getAbsoluteFile().getParentFile();
+        int count = 0;
+        for (Request next : pending) {
+            if (directory.equals(next.dotFile.getAbsoluteFile().getParentFile())) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * <code>request</code> and the oldest pending requests with dot files in the same directory,
+     * dot is run in that directory so relative image paths resolve like for a single diagram
+     */
+    private List<Request> take(Request request) {
+        List<Request> batch = new ArrayList<>();
+        batch.add(request);
+        pending.remove(request);
+        request.taken = true;
+        File directory = request.dotFile.getAbsoluteFile().getParentFile();
+        Iterator<Request> iterator = pending.iterator();
+        while (batch.size() < batchSize && iterator.hasNext()) {
+            Request next = iterator.next();
+            if (directory.equals(next.dotFile.getAbsoluteFile().getParentFile())) {
+                batch.add(next);
+                iterator.remove();
+                next.taken = true;
+            }
+        }
+        return batch;
+    }
+
+    private void render(List<Request> batch) {
+        if (batch.size() > 1) {
+            try {
+                renderTogether(batch);
+                return;
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+                for (Request request : batch) {
+                    request.failure = new RenderException("Interrupted during execution", interrupted);
+                }
+                return;
+            } catch (RenderException | IOException exception) {
+                LOGGER.debug("Rendering {} diagrams with one dot process failed, rendering them one by one", batch.size(), exception);
+            }
+        }
+        for (Request request : batch) {
+            try {
+                request.map = graphvizDot.render(request.dotFile, request.diagramFile);
+            } catch (RenderException exception) {
+                request.failure = exception;
+            }
+        }
+    }
+
+    private void renderTogether(List<Request> batch) throws IOException, InterruptedException {
+        File directory = batch.get(0).dotFile.getAbsoluteFile().getParentFile();
+        List<String> dotCommands = new ArrayList<>();
+        dotCommands.add(graphvizDot.getExe());
+        dotCommands.add("-T" + graphvizDot.outputFormat());
+        if (graphvizDot.hasImageMap()) {
+            dotCommands.add("-Tcmapx");
+        }
+        dotCommands.add("-O");
+        for (Request request : batch) {
+            dotCommands.add(request.dotFile.getName());
+        }
+        String[] dotCommand = dotCommands.toArray(new String[0]);
+        String commandLine = GraphvizDot.getDisplayableCommand(dotCommand);
+        LOGGER.debug(commandLine);
+
+        Process process = new ProcessBuilder(dotCommand)
+            .directory(directory)
+            .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+            .start();
+        new GraphvizDot.ProcessOutputReader(commandLine, process.getErrorStream()).start();
+        int rc = process.waitFor();
+        if (rc != 0) {
+            throw new RenderException("'" + commandLine + "' failed with return code " + rc);
+        }
+
+        String diagramSuffix = outputSuffix(graphvizDot.outputFormat());
+        for (Request request : batch) {
+            File diagram = new File(directory, request.dotFile.getName() + diagramSuffix);
+            if (!diagram.isFile()) {
+                throw new RenderException("'" + commandLine + "' failed to create " + diagram.getName());
+            }
+            Files.move(diagram.toPath(), request.diagramFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            request.map = graphvizDot.hasImageMap() ? readImageMap(new File(directory, request.dotFile.getName() + ".cmapx")) : "";
+        }
+    }
+
+    private String readImageMap(File mapFile) throws IOException {
+        StringBuilder mapBuffer = new StringBuilder(1024);
+        for (String line : Files.readAllLines(mapFile.toPath(), StandardCharsets.UTF_8)) {
+            mapBuffer.append(line);
+            mapBuffer.append(lineSeparator);
+        }
+        Files.delete(mapFile.toPath());
+        // dot generates post-HTML 4.0.1 output...convert trailing />'s to >'s
+        return mapBuffer.toString().replace("/>", ">");
+    }
+
+    /**
+     * dot names the output of <code>-O</code> after the input file followed by the parts
+     * of the format in reverse, <code>-Tpng:cairo</code> writes <code>input.dot.cairo.png</code>
+     */
+    static String outputSuffix(String outputFormat) {
+        String[] parts = outputFormat.split(":");
+        StringBuilder suffix = new StringBuilder();
+        for (int i = parts.length - 1; i >= 0; i--) {
+            suffix.append('.').append(parts[i]);
+        }
+        return suffix.toString();
+    }
+
+    private static class Request {
+        private final File dotFile;
+        private final File diagramFile;
+        private String map;
+        private RenderException failure;
+        private boolean taken;
+        private boolean collecting;
+        private boolean done;
+
+        private Request(File dotFile, File diagramFile) {
+            this.dotFile = dotFile;
+            this.diagramFile = diagramFile;
+        }
+
+        private String result() {
+            if (Objects.nonNull(failure)) {
+                throw new RenderException(failure.getMessage(), failure);
+            }
+            return map;
+        }
+    }
+}
@@ -23,4 +23,5 @@ public interface GraphvizConfig {
     String getRenderer();
     boolean isLowQuality();
     String getImageFormat();
+    int getBatchSize();
 }
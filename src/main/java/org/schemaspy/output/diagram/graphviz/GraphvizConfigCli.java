@@ -42,6 +42,15 @@ public class GraphvizConfigCli implements GraphvizConfig {
     )
     private String imageFormat = "png";
 
+    @Parameter(
+            names = {
+                    "--dot-batch-size",
+                    "schemaspy.dotBatchSize", "schemaspy.dot-batch-size"
+            },
+            descriptionKey = "dotbatchsize"
+    )
+    private int batchSize = 1;
+
     @Override
     public String getGraphvizDir() {
         return graphvizDir;
@@ -61,4 +70,9 @@ public class GraphvizConfigCli implements GraphvizConfig {
     public String getImageFormat() {
         return imageFormat;
     }
+
+    @Override
+    public int getBatchSize() {
+        return batchSize;
+    }
 }
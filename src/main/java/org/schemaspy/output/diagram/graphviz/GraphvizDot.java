@@ -175,7 +175,7 @@ public class GraphvizDot implements Renderer {
      *
      * @return
      */
-    private String getExe() {
+    String getExe() {
         if (dotExe == null) {
 
             if (Objects.isNull(graphvizConfig.getGraphvizDir())) {
@@ -191,6 +191,20 @@ public class GraphvizDot implements Renderer {
         return dotExe;
     }
 
+    /**
+     * Value of the <code>-T</code> option producing the diagram, including the renderer
+     */
+    String outputFormat() {
+        return hasImageMap() ? format() + effectiveRenderer : "svg";
+    }
+
+    /**
+     * svg diagrams carry their own links, other formats need a client side image map
+     */
+    boolean hasImageMap() {
+        return !"svg".equalsIgnoreCase(format());
+    }
+
     /**
      * Using the specified .dot file generates an image returning the image's image map.
      */
@@ -202,14 +216,10 @@ public class GraphvizDot implements Renderer {
 
         ArrayList<String> dotCommands = new ArrayList<>();
         dotCommands.add(getExe());
-        if ("svg".equalsIgnoreCase(format())) {
-            dotCommands.add("-Tsvg");
-        } else {
-            dotCommands.add("-T" + format() + effectiveRenderer);
-        }
+        dotCommands.add("-T" + outputFormat());
         dotCommands.add(dotFile.getName());
         dotCommands.add("-o" + diagramFile.getName());
-        if (!"svg".equalsIgnoreCase(format())) {
+        if (hasImageMap()) {
             dotCommands.add("-Tcmapx");
         }
         // this one is for executing.  it can (hopefully) deal with funky things in filenames.
@@ -251,7 +261,7 @@ public class GraphvizDot implements Renderer {
         }
     }
 
-    private static String getDisplayableCommand(String[] command) {
+    static String getDisplayableCommand(String[] command) {
         StringBuilder displayable = new StringBuilder();
         for (int i = 0; i < command.length; ++i) {
             displayable.append(command[i]);
@@ -262,7 +272,7 @@ public class GraphvizDot implements Renderer {
         return displayable.toString();
     }
 
-    private static class ProcessOutputReader extends Thread {
+    static class ProcessOutputReader extends Thread {
 		private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
         private final InputStream processStream;
         private final String command;
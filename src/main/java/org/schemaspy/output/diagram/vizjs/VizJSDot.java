@@ -23,33 +23,48 @@ import org.schemaspy.output.diagram.RenderException;
 import org.schemaspy.output.diagram.Renderer;
 import org.schemaspy.util.DefaultBufferedWriter;
 
+import javax.script.Compilable;
+import javax.script.CompiledScript;
 import javax.script.ScriptContext;
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineManager;
 import javax.script.ScriptException;
+import javax.script.SimpleScriptContext;
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Renders svg with viz.js in Nashorn.
+ * <p>
+ * viz.js is parsed and compiled once per JVM. Every rendering runs in a script context with
+ * its own global where viz.js has already been evaluated, contexts are pooled so up to
+ * <code>engines</code> diagrams are rendered concurrently. Every rendering allocates a heap of
+ * 64 MB for emscripten so the pool is limited to a quarter of the max heap.
+ */
 public class VizJSDot implements Renderer {
 
     private static final String ICON_SIZE = " , width: \"261px\" , height: \"261px\"";
     private static final int MB_64 = 1024 * 1024 * 64;
-    protected ScriptEngine scriptEngine;
+
+    private final Library library;
+    private final int engines;
+    private final AtomicInteger created = new AtomicInteger();
+    private final BlockingQueue<ScriptContext> idle = new LinkedBlockingQueue<>();
 
     public VizJSDot() {
-        try {
-            InputStream vizJs = VizJSDot.class.getResourceAsStream("/viz.js");
-            if (vizJs == null) {
-                throw new IllegalArgumentException("viz.js not found");
-            }
-            ScriptEngineManager scriptEngineManager = new ScriptEngineManager();
-            scriptEngine = scriptEngineManager.getEngineByName("nashorn");
-            scriptEngine.eval(IOUtils.toString(vizJs, StandardCharsets.UTF_8));
-        } catch (Exception e) {
-            throw new IllegalArgumentException("viz.js", e);
-        }
+        this(1);
+    }
+
+    public VizJSDot(int engines) {
+        this.library = Library.load();
+        long heapLimited = Runtime.getRuntime().maxMemory() / (4L * MB_64);
+        this.engines = (int) Math.max(1, Math.min(engines, heapLimited));
     }
 
     @Override
@@ -76,14 +91,88 @@ public class VizJSDot implements Renderer {
     }
 
     protected String toSvg(final String dotSource, int jsEngineMemorySize) {
+        ScriptContext context = borrow();
         try {
-            scriptEngine.getBindings(ScriptContext.ENGINE_SCOPE).put("dotSource", dotSource);
-            return (String) scriptEngine.eval("Viz(dotSource,options = { totalMemory: "+jsEngineMemorySize
-                    +" , images: [" +
-                    "{ path: \"../../images/foreignKeys.png\"" + ICON_SIZE + " }," +
-                    "{ path: \"../../images/primaryKeys.png\"" + ICON_SIZE + " }]})");
+            context.getBindings(ScriptContext.ENGINE_SCOPE).put("dotSource", dotSource);
+            context.getBindings(ScriptContext.ENGINE_SCOPE).put("totalMemory", jsEngineMemorySize);
+            return (String) library.render.eval(context);
         } catch (ScriptException e) {
             throw new IllegalArgumentException(e);
+        } finally {
+            idle.add(context);
+        }
+    }
+
+    private ScriptContext borrow() {
+        ScriptContext context = idle.poll();
+        if (context != null) {
+            return context;
+        }
+        if (created.incrementAndGet() <= engines) {
+            try {
+                return library.newContext();
+            } catch (RuntimeException e) {
+                created.decrementAndGet();
+                throw e;
+            }
+        }
+        created.decrementAndGet();
+        try {
+            return idle.take();
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for viz.js", interrupted);
+        }
+    }
+
+    /**
+     * viz.js compiled by the Nashorn engine shared by all renderers
+     */
+    private static final class Library {
+        private static Library loaded;
+
+        private final ScriptEngine scriptEngine;
+        private final CompiledScript vizJs;
+        private final CompiledScript render;
+
+        private Library() throws IOException, ScriptException {
+            try (InputStream vizJsStream = VizJSDot.class.getResourceAsStream("/viz.js")) {
+                if (vizJsStream == null) {
+                    throw new IllegalArgumentException("viz.js not found");
+                }
+                scriptEngine = new ScriptEngineManager().getEngineByName("nashorn");
+                Compilable compiler = (Compilable) scriptEngine;
+                vizJs = compiler.compile(IOUtils.toString(vizJsStream, StandardCharsets.UTF_8));
+                render = compiler.compile("Viz(dotSource,options = { totalMemory: totalMemory" +
+                    " , images: [" +
+                    "{ path: \"../../images/foreignKeys.png\"" + ICON_SIZE + " }," +
+                    "{ path: \"../../images/primaryKeys.png\"" + ICON_SIZE + " }]})");
+            }
+        }
+
+        private static synchronized Library load() {
+            if (loaded == null) {
+                try {
+                    loaded = new Library();
+                } catch (Exception e) {
+                    throw new IllegalArgumentException("viz.js", e);
+                }
+            }
+            return loaded;
+        }
+
+        /**
+         * New global with viz.js evaluated in it
+         */
+        private ScriptContext newContext() {
+            ScriptContext context = new SimpleScriptContext();
+            context.setBindings(scriptEngine.createBindings(), ScriptContext.ENGINE_SCOPE);
+            try {
+                vizJs.eval(context);
+            } catch (ScriptException e) {
+                throw new IllegalArgumentException("viz.js", e);
+            }
+            return context;
         }
     }
 }
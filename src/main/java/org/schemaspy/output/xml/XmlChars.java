@@ -0,0 +1,65 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.output.xml;
+
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+
+/**
+ * Detects and converts values containing chars that are invalid for XML.
+ *
+ * @author John Currier
+ * @author Nils Petzaell
+ */
+public class XmlChars {
+
+    // valid chars came from http://www.w3.org/TR/REC-xml/#charsets
+    // and attempting to match 0x10000-0x10FFFF with the \p Unicode escapes
+    // (from http://www.regular-expressions.info/unicode.html)
+    private static final Pattern validXmlChars =
+            Pattern.compile("^[ -\uD7FF\uE000-\uFFFD\\p{L}\\p{M}\\p{Z}\\p{S}\\p{N}\\p{P}]*$");
+
+    private XmlChars() {
+    }
+
+    /**
+     * Returns <code>true</code> if the string contains binary data
+     * (chars that are invalid for XML) per http://www.w3.org/TR/REC-xml/#charsets
+     *
+     * @param str
+     * @return
+     */
+    public static boolean isBinary(String str) {
+        return !validXmlChars.matcher(str).matches();
+    }
+
+    /**
+     * Turns a string into its hex equivalent.
+     * Intended to be used when {@link #isBinary(String)} returns <code>true</code>.
+     *
+     * @param str
+     * @return
+     */
+    public static String asBinary(String str) {
+        byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+        StringBuilder buf = new StringBuilder(bytes.length * 2);
+        for (byte aByte : bytes) {
+            buf.append(String.format("%02X", aByte));
+        }
+        return buf.toString();
+    }
+}
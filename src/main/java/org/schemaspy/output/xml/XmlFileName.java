@@ -0,0 +1,50 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.output.xml;
+
+import org.schemaspy.model.Database;
+
+import java.io.File;
+import java.util.Objects;
+
+/**
+ * Name of the xml file of a {@link Database}.
+ */
+public class XmlFileName {
+
+    private final Database database;
+
+    public XmlFileName(Database database) {
+        this.database = database;
+    }
+
+    public String value() {
+        String xmlName = database.getName();
+
+        // some dbNames have path info in the name...strip it
+        xmlName = new File(xmlName).getName();
+
+        // some dbNames include jdbc driver details including :'s and @'s
+        String[] unusables = xmlName.split("[:@]");
+        xmlName = unusables[unusables.length - 1];
+
+        if (Objects.nonNull(database.getSchema())) {
+            xmlName += '.' + database.getSchema().getName();
+        }
+        return xmlName + ".xml";
+    }
+}
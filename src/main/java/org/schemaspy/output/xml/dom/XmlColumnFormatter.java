@@ -24,13 +24,12 @@ package org.schemaspy.output.xml.dom;
 import org.schemaspy.model.ForeignKeyConstraint;
 import org.schemaspy.model.Table;
 import org.schemaspy.model.TableColumn;
+import org.schemaspy.output.xml.XmlChars;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 
-import java.nio.charset.StandardCharsets;
 import java.sql.Types;
-import java.util.regex.Pattern;
 
 import static org.schemaspy.output.xml.dom.XmlConstants.*;
 
@@ -43,12 +42,6 @@ import static org.schemaspy.output.xml.dom.XmlConstants.*;
 public class XmlColumnFormatter {
     private static final int DEFAULT_JDBC_TYPE_CODE = Types.VARCHAR;
 
-    // valid chars came from http://www.w3.org/TR/REC-xml/#charsets
-    // and attempting to match 0x10000-0x10FFFF with the \p Unicode escapes
-    // (from http://www.regular-expressions.info/unicode.html)
-    private static final Pattern validXmlChars =
-            Pattern.compile("^[ -\uD7FF\uE000-\uFFFD\\p{L}\\p{M}\\p{Z}\\p{S}\\p{N}\\p{P}]*$");
-
     /**
      * Append all columns in the table to the XML node
      *
@@ -85,9 +78,9 @@ public class XmlColumnFormatter {
         DOMUtil.appendAttribute(columnNode, "autoUpdated", String.valueOf(column.isAutoUpdated()));
         if (column.getDefaultValue() != null) {
             String defaultValue = column.getDefaultValue().toString();
-            if (isBinary(defaultValue)) {
+            if (XmlChars.isBinary(defaultValue)) {
                 // we're run into a binary default value, convert it to its hex equivalent
-                defaultValue = asBinary(defaultValue);
+                defaultValue = XmlChars.asBinary(defaultValue);
                 // and indicate that it's been converted
                 DOMUtil.appendAttribute(columnNode, "defaultValueIsBinary", "true");
             }
@@ -120,31 +113,4 @@ public class XmlColumnFormatter {
         DOMUtil.appendAttribute(node, "implied", String.valueOf(foreignKeyConstraint.isImplied()));
         DOMUtil.appendAttribute(node, "onDeleteCascade", String.valueOf(foreignKeyConstraint.isCascadeOnDelete()));
     }
-
-    /**
-     * Returns <code>true</code> if the string contains binary data
-     * (chars that are invalid for XML) per http://www.w3.org/TR/REC-xml/#charsets
-     *
-     * @param str
-     * @return
-     */
-    private static boolean isBinary(String str) {
-        return !validXmlChars.matcher(str).matches();
-    }
-
-    /**
-     * Turns a string into its hex equivalent.
-     * Intended to be used when {@link #isBinary(String)} returns <code>true</code>.
-     *
-     * @param str
-     * @return
-     */
-    private static String asBinary(String str) {
-        byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
-        StringBuilder buf = new StringBuilder(bytes.length * 2);
-        for (byte aByte : bytes) {
-            buf.append(String.format("%02X", aByte));
-        }
-        return buf.toString();
-    }
 }
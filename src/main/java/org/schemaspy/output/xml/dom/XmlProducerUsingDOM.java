@@ -23,6 +23,7 @@ package org.schemaspy.output.xml.dom;
 
 import org.schemaspy.model.Database;
 import org.schemaspy.model.Table;
+import org.schemaspy.output.xml.XmlFileName;
 import org.schemaspy.output.xml.XmlProducer;
 import org.schemaspy.output.xml.XmlProducerException;
 import org.slf4j.Logger;
@@ -97,24 +98,11 @@ public class XmlProducerUsingDOM implements XmlProducer {
         DOMUtil.appendAttribute(rootNode, "type", database.getDatabaseProduct());
 
         xmlSequenceFormatter.appendSequences(rootNode, database.getSequences());
-        xmlTableFormatter.appendTables(rootNode, tables);
+        xmlTableFormatter.appendTables(rootNode, tables, database.getViewReferences());
         xmlRoutineFormatter.appendRoutines(rootNode, database.getRoutines());
 
-        String xmlName = database.getName();
-
-        // some dbNames have path info in the name...strip it
-        xmlName = new File(xmlName).getName();
-
-        // some dbNames include jdbc driver details including :'s and @'s
-        String[] unusables = xmlName.split("[:@]");
-        xmlName = unusables[unusables.length - 1];
-
-        if (Objects.nonNull(database.getSchema())) {
-            xmlName += '.' + database.getSchema().getName();
-        }
-
         document.getDocumentElement().normalize();
-        Path xmlFile = outputDir.toPath().resolve(xmlName + ".xml");
+        Path xmlFile = outputDir.toPath().resolve(new XmlFileName(database).value());
         try (Writer writer = Files.newBufferedWriter(xmlFile, StandardCharsets.UTF_8)){
             write(document, writer);
         } catch (IOException e) {
@@ -23,6 +23,7 @@ package org.schemaspy.output.xml.dom;
 
 import org.schemaspy.model.Table;
 import org.schemaspy.model.TableColumn;
+import org.schemaspy.model.ViewReferences;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
@@ -52,13 +53,24 @@ public class XmlTableFormatter {
      * @param tables
      */
     public void appendTables(Element schemaNode, Collection<Table> tables) {
+        appendTables(schemaNode, tables, ViewReferences.empty());
+    }
+
+    /**
+     * Append the specified tables to the XML node, views with the tables and views they reference
+     *
+     * @param schemaNode
+     * @param tables
+     * @param viewReferences
+     */
+    public void appendTables(Element schemaNode, Collection<Table> tables, ViewReferences viewReferences) {
         Document document = schemaNode.getOwnerDocument();
         Element tablesNode = document.createElement("tables");
         schemaNode.appendChild(tablesNode);
         tables.stream()
                 .sorted((table1, table2) -> table1.getName().compareToIgnoreCase(table2.getName()))
                 .distinct()
-                .forEachOrdered( t -> appendTable(tablesNode, t));
+                .forEachOrdered( t -> appendTable(tablesNode, t, viewReferences));
     }
 
     /**
@@ -66,8 +78,9 @@ public class XmlTableFormatter {
      *
      * @param tablesNode
      * @param table
+     * @param viewReferences
      */
-    private void appendTable(Element tablesNode, Table table) {
+    private void appendTable(Element tablesNode, Table table, ViewReferences viewReferences) {
         Document document = tablesNode.getOwnerDocument();
         Element tableNode = document.createElement(TABLE);
         tablesNode.appendChild(tableNode);
@@ -79,6 +92,9 @@ public class XmlTableFormatter {
         DOMUtil.appendAttribute(tableNode, "name", table.getName());
         if (table.getNumRows() >= 0) {
             DOMUtil.appendAttribute(tableNode, "numRows", String.valueOf(table.getNumRows()));
+            if (table.isNumRowsEstimated()) {
+                DOMUtil.appendAttribute(tableNode, "numRowsEstimated", "true");
+            }
         }
         DOMUtil.appendAttribute(tableNode, "type", table.isView() ? "VIEW" : "TABLE");
         DOMUtil.appendAttribute(tableNode, "remarks", table.getComments() == null ? "" : table.getComments());
@@ -87,6 +103,7 @@ public class XmlTableFormatter {
         xmlIndexFormatter.appendIndexes(tableNode, table);
         appendCheckConstraints(tableNode, table);
         appendView(tableNode, table);
+        appendViewReferences(tableNode, viewReferences.referencedBy(table));
     }
 
     /**
@@ -139,4 +156,22 @@ public class XmlTableFormatter {
             DOMUtil.appendAttribute(tableNode, "viewSql", table.getViewDefinition());
         }
     }
+
+    /**
+     * Append the tables and views referenced by a view to the XML node
+     *
+     * @param tableNode
+     * @param referenced
+     */
+    private static void appendViewReferences(Element tableNode, Collection<Table> referenced) {
+        Document document = tableNode.getOwnerDocument();
+        for (Table table : referenced) {
+            Node referenceNode = document.createElement("reference");
+            tableNode.appendChild(referenceNode);
+
+            DOMUtil.appendAttribute(referenceNode, CATALOG, table.getCatalog());
+            DOMUtil.appendAttribute(referenceNode, SCHEMA, table.getSchema());
+            DOMUtil.appendAttribute(referenceNode, TABLE, table.getName());
+        }
+    }
 }
@@ -0,0 +1,101 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.output.xml.stream;
+
+import org.schemaspy.model.ForeignKeyConstraint;
+import org.schemaspy.model.Table;
+import org.schemaspy.model.TableColumn;
+import org.schemaspy.output.xml.XmlChars;
+
+import java.io.IOException;
+import java.sql.Types;
+
+import static org.schemaspy.output.xml.dom.XmlConstants.*;
+
+/**
+ * Writes {@link TableColumn}s the way {@link org.schemaspy.output.xml.dom.XmlColumnFormatter} appends them.
+ */
+public class XmlColumnWriter {
+    private static final int DEFAULT_JDBC_TYPE_CODE = Types.VARCHAR;
+
+    /**
+     * Write all columns in the table
+     *
+     * @param out
+     * @param table
+     */
+    public void writeColumns(XmlElementWriter out, Table table) throws IOException {
+        for (TableColumn column : table.getColumns()) {
+            writeColumn(out, column);
+        }
+    }
+
+    /**
+     * Write column details
+     *
+     * @param out
+     * @param column
+     */
+    public void writeColumn(XmlElementWriter out, TableColumn column) throws IOException {
+        out.startElement(COLUMN);
+        out.attribute("id", String.valueOf(column.getId()));
+        out.attribute("name", column.getName());
+        out.attribute("type", column.getTypeName());
+        out.attribute("typeCode", String.valueOf(column.getType() == null ?
+                DEFAULT_JDBC_TYPE_CODE : column.getType()));
+        out.attribute("defaultValue", String.valueOf(column.getDefaultValue()));
+        out.attribute("size", String.valueOf(column.getLength()));
+        out.attribute("digits", String.valueOf(column.getDecimalDigits()));
+        out.attribute("nullable", String.valueOf(column.isNullable()));
+        out.attribute("autoUpdated", String.valueOf(column.isAutoUpdated()));
+        if (column.getDefaultValue() != null) {
+            String defaultValue = column.getDefaultValue().toString();
+            if (XmlChars.isBinary(defaultValue)) {
+                // we're run into a binary default value, convert it to its hex equivalent
+                defaultValue = XmlChars.asBinary(defaultValue);
+                // and indicate that it's been converted
+                out.attribute("defaultValueIsBinary", "true");
+            }
+            out.attribute("defaultValue", defaultValue);
+        }
+        out.attribute("remarks", column.getComments() == null ? "" : column.getComments());
+
+        for (TableColumn childColumn : column.getChildren()) {
+            out.startElement("child");
+            writeForeignKeyAttributes(out, childColumn, column.getChildConstraint(childColumn));
+            out.endElement();
+        }
+
+        for (TableColumn parentColumn : column.getParents()) {
+            out.startElement("parent");
+            writeForeignKeyAttributes(out, parentColumn, column.getParentConstraint(parentColumn));
+            out.endElement();
+        }
+        out.endElement();
+    }
+
+    private static void writeForeignKeyAttributes(XmlElementWriter out, TableColumn column, ForeignKeyConstraint foreignKeyConstraint) {
+        Table table = column.getTable();
+        out.attribute("foreignKey", foreignKeyConstraint.getName());
+        out.attribute(CATALOG, table.getCatalog());
+        out.attribute(SCHEMA, table.getSchema());
+        out.attribute(TABLE, table.getName());
+        out.attribute(COLUMN, column.getName());
+        out.attribute("implied", String.valueOf(foreignKeyConstraint.isImplied()));
+        out.attribute("onDeleteCascade", String.valueOf(foreignKeyConstraint.isCascadeOnDelete()));
+    }
+}
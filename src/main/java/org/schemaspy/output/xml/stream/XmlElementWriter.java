@@ -0,0 +1,216 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.output.xml.stream;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Writes an XML document element by element in the format the indenting
+ * {@link javax.xml.transform.Transformer} writes a DOM document in.
+ * <p>
+ * Attributes are buffered until the start tag is complete and written sorted by name
+ * like they're kept in a DOM, setting an attribute again replaces its value.
+ * Line breaks and tabs in attribute values are written as character references
+ * so they survive parsing, which {@link javax.xml.stream.XMLStreamWriter} doesn't do.
+ */
+public class XmlElementWriter {
+
+    private static final int INDENT = 3;
+
+    private final Writer writer;
+    private final Deque<Element> elements = new ArrayDeque<>();
+    private final Map<String, String> attributes = new TreeMap<>();
+    private boolean startTagOpen;
+
+    public XmlElementWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    public void startDocument() throws IOException {
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>");
+    }
+
+    public void startElement(String name) throws IOException {
+        Element parent = elements.peek();
+        if (Objects.nonNull(parent)) {
+            closeStartTag();
+            parent.hasChildElements = true;
+        }
+        newLine(elements.size());
+        writer.write('<');
+        writer.write(name);
+        elements.push(new Element(name));
+        startTagOpen = true;
+    }
+
+    /**
+     * Set attribute of the current element, <code>null</code> values are ignored
+     */
+    public void attribute(String name, String value) {
+        if (Objects.nonNull(value)) {
+            attributes.put(name, value);
+        }
+    }
+
+    /**
+     * Write <code>text</code> as CDATA, chars that can't be in CDATA are written as character
+     * references between sections and a section is only reopened by the next char that isn't a line break
+     */
+    public void cdata(String text) throws IOException {
+        closeStartTag();
+        boolean inSection = false;
+        if (!text.isEmpty() && !isRestricted(text.charAt(0))) {
+            writer.write("<![CDATA[");
+            inSection = true;
+        }
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (c == '\n') {
+                writer.write(System.lineSeparator());
+            } else if (isRestricted(c)) {
+                if (inSection) {
+                    writer.write("]]>");
+                    inSection = false;
+                }
+                writeReference(c);
+            } else if (text.startsWith("]]>", i)) {
+                writer.write("]]]]><![CDATA[>");
+                i += 2;
+            } else {
+                if (!inSection) {
+                    writer.write("<![CDATA[");
+                    inSection = true;
+                }
+                writer.write(c);
+            }
+            i++;
+        }
+        if (inSection) {
+            writer.write("]]>");
+        }
+    }
+
+    public void endElement() throws IOException {
+        Element element = elements.pop();
+        if (startTagOpen) {
+            writeAttributes();
+            writer.write("/>");
+            startTagOpen = false;
+            return;
+        }
+        if (element.hasChildElements) {
+            newLine(elements.size());
+        }
+        writer.write("</");
+        writer.write(element.name);
+        writer.write('>');
+    }
+
+    public void endDocument() throws IOException {
+        while (!elements.isEmpty()) {
+            endElement();
+        }
+        writer.write(System.lineSeparator());
+        writer.flush();
+    }
+
+    private void closeStartTag() throws IOException {
+        if (startTagOpen) {
+            writeAttributes();
+            writer.write('>');
+            startTagOpen = false;
+        }
+    }
+
+    private void writeAttributes() throws IOException {
+        for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+            writer.write(' ');
+            writer.write(attribute.getKey());
+            writer.write("=\"");
+            writeAttributeValue(attribute.getValue());
+            writer.write('"');
+        }
+        attributes.clear();
+    }
+
+    private void writeAttributeValue(String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&':
+                    writer.write("&amp;");
+                    break;
+                case '<':
+                    writer.write("&lt;");
+                    break;
+                case '>':
+                    writer.write("&gt;");
+                    break;
+                case '"':
+                    writer.write("&quot;");
+                    break;
+                case '\n':
+                case '\r':
+                case '\t':
+                    writeReference(c);
+                    break;
+                default:
+                    if (isRestricted(c)) {
+                        writeReference(c);
+                    } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                        writeReference(value.codePointAt(i));
+                        i++;
+                    } else {
+                        writer.write(c);
+                    }
+            }
+        }
+    }
+
+    private void writeReference(int codePoint) throws IOException {
+        writer.write("&#");
+        writer.write(Integer.toString(codePoint));
+        writer.write(';');
+    }
+
+    private void newLine(int depth) throws IOException {
+        writer.write(System.lineSeparator());
+        for (int i = 0; i < depth * INDENT; i++) {
+            writer.write(' ');
+        }
+    }
+
+    private static boolean isRestricted(char c) {
+        return c < 0x20 && c != '\n' && c != '\r' && c != '\t';
+    }
+
+    private static final class Element {
+        private final String name;
+        private boolean hasChildElements;
+
+        private Element(String name) {
+            this.name = name;
+        }
+    }
+}
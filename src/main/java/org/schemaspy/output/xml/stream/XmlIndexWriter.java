@@ -0,0 +1,70 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.output.xml.stream;
+
+import org.schemaspy.model.Table;
+import org.schemaspy.model.TableColumn;
+import org.schemaspy.model.TableIndex;
+
+import java.io.IOException;
+import java.util.Iterator;
+
+import static org.schemaspy.output.xml.dom.XmlConstants.COLUMN;
+
+/**
+ * Writes {@link TableIndex}s the way {@link org.schemaspy.output.xml.dom.XmlIndexFormatter} appends them.
+ */
+public class XmlIndexWriter {
+
+    /**
+     * Write index details of the table
+     *
+     * @param out
+     * @param table
+     */
+    public void writeIndexes(XmlElementWriter out, Table table) throws IOException {
+        boolean showId = table.getId() != null;
+        Iterator<TableIndex> sorted = table.getIndexes().stream().sorted().iterator();
+        while (sorted.hasNext()) {
+            writeIndex(out, sorted.next(), showId);
+        }
+    }
+
+    /**
+     * Write index details
+     *
+     * @param out
+     * @param tableIndex
+     * @param showId
+     */
+    public void writeIndex(XmlElementWriter out, TableIndex tableIndex, boolean showId) throws IOException {
+        out.startElement("index");
+        if (showId) {
+            out.attribute("id", String.valueOf(tableIndex.getId()));
+        }
+        out.attribute("name", tableIndex.getName());
+        out.attribute("unique", String.valueOf(tableIndex.isUnique()));
+
+        for (TableColumn column : tableIndex.getColumns()) {
+            out.startElement(COLUMN);
+            out.attribute("name", column.getName());
+            out.attribute("ascending", String.valueOf(tableIndex.isAscending(column)));
+            out.endElement();
+        }
+        out.endElement();
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.output.xml.stream;
+
+import org.schemaspy.model.Database;
+import org.schemaspy.model.Table;
+import org.schemaspy.output.xml.XmlFileName;
+import org.schemaspy.output.xml.XmlProducer;
+import org.schemaspy.output.xml.XmlProducerException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.invoke.MethodHandles;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * Writes the same document as {@link org.schemaspy.output.xml.dom.XmlProducerUsingDOM}
+ * while walking the model, nothing but the current element is kept in memory.
+ */
+public class XmlProducerUsingStream implements XmlProducer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final XmlTableWriter xmlTableWriter = new XmlTableWriter();
+    private final XmlRoutineWriter xmlRoutineWriter = new XmlRoutineWriter();
+    private final XmlSequenceWriter xmlSequenceWriter = new XmlSequenceWriter();
+
+    @Override
+    public void generate(Database database, File outputDir) {
+        Collection<Table> tables = new ArrayList<>(database.getTables());
+        tables.addAll(database.getViews());
+
+        if (tables.isEmpty()) {
+            LOGGER.info("No tables to output, nothing written to disk");
+            return;
+        }
+
+        Path xmlFile = outputDir.toPath().resolve(new XmlFileName(database).value());
+        try (
+            FileChannel channel = FileChannel.open(
+                xmlFile,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE
+            );
+            Writer writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), BUFFER_SIZE)
+        ) {
+            write(database, tables, new XmlElementWriter(writer));
+        } catch (IOException e) {
+            throw new XmlProducerException("Unable to write xml to disk", e);
+        }
+    }
+
+    private void write(Database database, Collection<Table> tables, XmlElementWriter out) throws IOException {
+        out.startDocument();
+        out.startElement("database");
+        out.attribute("name", database.getName());
+        if (Objects.nonNull(database.getSchema())) {
+            out.attribute("schema", database.getSchema().getName());
+        }
+        out.attribute("type", database.getDatabaseProduct());
+
+        xmlSequenceWriter.writeSequences(out, database.getSequences());
+        xmlTableWriter.writeTables(out, tables, database.getViewReferences());
+        xmlRoutineWriter.writeRoutines(out, database.getRoutines());
+        out.endDocument();
+    }
+}
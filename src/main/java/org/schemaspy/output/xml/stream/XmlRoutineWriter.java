@@ -0,0 +1,87 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.output.xml.stream;
+
+import org.schemaspy.model.Routine;
+import org.schemaspy.model.RoutineParameter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Writes {@link Routine}s the way {@link org.schemaspy.output.xml.dom.XmlRoutineFormatter} appends them.
+ */
+public class XmlRoutineWriter {
+
+    public void writeRoutines(XmlElementWriter out, Collection<Routine> routines) throws IOException {
+        List<Routine> routinesList = new ArrayList<>(routines);
+        routinesList.sort(Comparator.comparing(Routine::getName));
+        if (!routinesList.isEmpty()) {
+            out.startElement("routines");
+            for (Routine routine : routinesList) {
+                writeRoutine(out, routine);
+            }
+            out.endElement();
+        }
+    }
+
+    private static void writeRoutine(XmlElementWriter out, Routine routine) throws IOException {
+        out.startElement("routine");
+        out.attribute("name", routine.getName());
+        out.attribute("type", routine.getType());
+        out.attribute("returnType", routine.getReturnType());
+        out.attribute("dataAccess", routine.getDataAccess());
+        out.attribute("securityType", routine.getSecurityType());
+        out.attribute("deterministic", Boolean.toString(routine.isDeterministic()));
+        out.startElement("comment");
+        if (notNullOrEmpty(routine.getComment())) {
+            out.cdata(routine.getComment());
+        }
+        out.endElement();
+        out.startElement("definition");
+        if (notNullOrEmpty(routine.getDefinitionLanguage())) {
+            out.attribute("language", routine.getDefinitionLanguage());
+        }
+        if (notNullOrEmpty(routine.getDefinition())) {
+            out.cdata(routine.getDefinition());
+        }
+        out.endElement();
+        out.startElement("parameters");
+        for (RoutineParameter parameter : routine.getParameters()) {
+            writeParameter(out, parameter);
+        }
+        out.endElement();
+        out.endElement();
+    }
+
+    private static void writeParameter(XmlElementWriter out, RoutineParameter parameter) throws IOException {
+        out.startElement("parameter");
+        if (notNullOrEmpty(parameter.getName())) {
+            out.attribute("name", parameter.getName());
+        }
+        out.attribute("type", parameter.getType());
+        out.attribute("mode", parameter.getMode());
+        out.endElement();
+    }
+
+    private static boolean notNullOrEmpty(String string) {
+        return string != null && !string.isEmpty();
+    }
+}
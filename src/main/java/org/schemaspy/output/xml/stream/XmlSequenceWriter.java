@@ -0,0 +1,51 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.output.xml.stream;
+
+import org.schemaspy.model.Sequence;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Writes {@link Sequence}s the way {@link org.schemaspy.output.xml.dom.XmlSequenceFormatter} appends them.
+ */
+public class XmlSequenceWriter {
+
+    public void writeSequences(XmlElementWriter out, Collection<Sequence> sequences) throws IOException {
+        List<Sequence> sequencesList = new ArrayList<>(sequences);
+        sequencesList.sort(Comparator.comparing(Sequence::getName));
+        if (!sequencesList.isEmpty()) {
+            out.startElement("sequences");
+            for (Sequence sequence : sequencesList) {
+                writeSequence(out, sequence);
+            }
+            out.endElement();
+        }
+    }
+
+    private static void writeSequence(XmlElementWriter out, Sequence sequence) throws IOException {
+        out.startElement("sequence");
+        out.attribute("name", sequence.getName());
+        out.attribute("startValue", Integer.toString(sequence.getStartValue()));
+        out.attribute("increment", Integer.toString(sequence.getIncrement()));
+        out.endElement();
+    }
+}
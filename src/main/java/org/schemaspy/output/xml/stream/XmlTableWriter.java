@@ -0,0 +1,126 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.output.xml.stream;
+
+import org.schemaspy.model.Table;
+import org.schemaspy.model.TableColumn;
+import org.schemaspy.model.ViewReferences;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.schemaspy.output.xml.dom.XmlConstants.*;
+
+/**
+ * Writes {@link Table}s the way {@link org.schemaspy.output.xml.dom.XmlTableFormatter} appends them.
+ */
+public class XmlTableWriter {
+
+    private final XmlColumnWriter xmlColumnWriter = new XmlColumnWriter();
+    private final XmlIndexWriter xmlIndexWriter = new XmlIndexWriter();
+
+    /**
+     * Write the specified tables
+     *
+     * @param out
+     * @param tables
+     */
+    public void writeTables(XmlElementWriter out, Collection<Table> tables) throws IOException {
+        writeTables(out, tables, ViewReferences.empty());
+    }
+
+    /**
+     * Write the specified tables, views with the tables and views they reference
+     *
+     * @param out
+     * @param tables
+     * @param viewReferences
+     */
+    public void writeTables(XmlElementWriter out, Collection<Table> tables, ViewReferences viewReferences) throws IOException {
+        out.startElement("tables");
+        Iterator<Table> sorted = tables.stream()
+                .sorted((table1, table2) -> table1.getName().compareToIgnoreCase(table2.getName()))
+                .distinct()
+                .iterator();
+        while (sorted.hasNext()) {
+            writeTable(out, sorted.next(), viewReferences);
+        }
+        out.endElement();
+    }
+
+    private void writeTable(XmlElementWriter out, Table table, ViewReferences viewReferences) throws IOException {
+        out.startElement(TABLE);
+        if (table.getId() != null) {
+            out.attribute("id", String.valueOf(table.getId()));
+        }
+        out.attribute(CATALOG, table.getCatalog());
+        out.attribute(SCHEMA, table.getSchema());
+        out.attribute("name", table.getName());
+        if (table.getNumRows() >= 0) {
+            out.attribute("numRows", String.valueOf(table.getNumRows()));
+            if (table.isNumRowsEstimated()) {
+                out.attribute("numRowsEstimated", "true");
+            }
+        }
+        out.attribute("type", table.isView() ? "VIEW" : "TABLE");
+        out.attribute("remarks", table.getComments() == null ? "" : table.getComments());
+        if (table.isView() && Objects.nonNull(table.getViewDefinition())) {
+            out.attribute("viewSql", table.getViewDefinition());
+        }
+        xmlColumnWriter.writeColumns(out, table);
+        writePrimaryKeys(out, table);
+        xmlIndexWriter.writeIndexes(out, table);
+        writeCheckConstraints(out, table);
+        writeViewReferences(out, viewReferences.referencedBy(table));
+        out.endElement();
+    }
+
+    private static void writePrimaryKeys(XmlElementWriter out, Table table) throws IOException {
+        int index = 1;
+        for (TableColumn primaryKeyColumn : table.getPrimaryColumns()) {
+            out.startElement("primaryKey");
+            out.attribute(COLUMN, primaryKeyColumn.getName());
+            out.attribute("sequenceNumberInPK", String.valueOf(index++));
+            out.endElement();
+        }
+    }
+
+    private static void writeCheckConstraints(XmlElementWriter out, Table table) throws IOException {
+        Map<String, String> constraints = table.getCheckConstraints();
+        if (constraints != null) {
+            for (Map.Entry<String, String> constraint : constraints.entrySet()) {
+                out.startElement("checkConstraint");
+                out.attribute("name", constraint.getKey());
+                out.attribute("constraint", constraint.getValue());
+                out.endElement();
+            }
+        }
+    }
+
+    private static void writeViewReferences(XmlElementWriter out, Collection<Table> referenced) throws IOException {
+        for (Table table : referenced) {
+            out.startElement("reference");
+            out.attribute(CATALOG, table.getCatalog());
+            out.attribute(SCHEMA, table.getSchema());
+            out.attribute(TABLE, table.getName());
+            out.endElement();
+        }
+    }
+}
@@ -20,64 +20,447 @@
  */
 package org.schemaspy.util;
 
-import java.util.HashMap;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Locale;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
 import java.util.function.BiFunction;
+import java.util.function.Function;
 
 /**
- * A {@link HashMap} implementation that uses {@link String}s as its keys
+ * A {@link Map} implementation that uses {@link String}s as its keys
  * where the keys are treated without regard to case.  That is, <code>get("MyTableName")</code>
  * will return the same object as <code>get("MYTABLENAME")</code>.
+ * <p>
+ * Keys are stored upper cased, like {@link String#toUpperCase(Locale)} with {@link Locale#ROOT} does,
+ * so <code>"stra&szlig;e"</code> and <code>"STRASSE"</code> are the same key. Lookups of ASCII keys upper case
+ * them one character at a time instead of creating an upper cased copy. The hash of every key is kept
+ * with its entry. Keys iterate in insertion order.
  *
  * @author John Currier
  * @author Daniel Watt
  */
-public class CaseInsensitiveMap<V> extends HashMap<String, V>
-{
-    private static final long serialVersionUID = 1L;
+public class CaseInsensitiveMap<V> extends AbstractMap<String, V> {
 
-    public CaseInsensitiveMap()
-    {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private Node<V>[] buckets;
+    private Node<V> head;
+    private Node<V> tail;
+    private int size;
+    private int modCount;
+    private Set<Entry<String, V>> entrySet;
+
+    public CaseInsensitiveMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public CaseInsensitiveMap(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal initial capacity: " + initialCapacity);
+        }
+        buckets = newBuckets(capacityFor(initialCapacity));
+    }
+
+    /**
+     * Hash of <code>key</code> that is the same for all keys that are equal once upper cased
+     */
+    static int hash(String key) {
+        int hash = 0;
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c >= 0x80) {
+                return hashUpperCased(key.toUpperCase(Locale.ROOT));
+            }
+            hash = 31 * hash + upper(c);
+        }
+        return hash ^ (hash >>> 16);
     }
 
-    public CaseInsensitiveMap(int initialCapacity)
-    {
-        super(initialCapacity);
+    private static int hashUpperCased(String key) {
+        int hash = 0;
+        for (int i = 0; i < key.length(); i++) {
+            hash = 31 * hash + key.charAt(i);
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Whether <code>key</code> upper cased equals <code>upperCased</code>, a key as it's stored in the map
+     */
+    static boolean matches(String upperCased, String key) {
+        if (upperCased == key) {
+            return true;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c >= 0x80) {
+                return upperCased.equals(key.toUpperCase(Locale.ROOT));
+            }
+            if (i >= upperCased.length() || upper(c) != upperCased.charAt(i)) {
+                return false;
+            }
+        }
+        return key.length() == upperCased.length();
+    }
+
+    private static int upper(char c) {
+        return c >= 'a' && c <= 'z' ? c - ('a' - 'A') : c;
+    }
+
+    @Override
+    public int size() {
+        return size;
     }
 
     @Override
     public V get(Object key) {
-        V name = null;
-        if (key != null) {
-            name = super.get(((String)key).toUpperCase());
+        if (key == null) {
+            return null;
         }
-        return name;
+        String name = (String) key;
+        Node<V> node = getNode(name, hash(name));
+        return node == null ? null : node.value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        String name = (String) key;
+        return getNode(name, hash(name)) != null;
     }
 
     @Override
     public V put(String key, V value) {
-        return super.put(key.toUpperCase(), value);
+        return put(key, hash(key), value, false);
     }
 
     @Override
-    public void putAll(Map<? extends String, ? extends V> map) {
-        for (Entry<? extends String, ? extends V> e : map.entrySet()) {
-            put(e.getKey(), e.getValue());
-        }
+    public V putIfAbsent(String key, V value) {
+        return put(key, hash(key), value, true);
+    }
+
+    @Override
+    public V remove(Object key) {
+        String name = (String) key;
+        Node<V> node = removeNode(name, hash(name));
+        return node == null ? null : node.value;
+    }
+
+    @Override
+    public V computeIfAbsent(String key, Function<? super String, ? extends V> mappingFunction) {
+        return computeIfAbsent(key, hash(key), mappingFunction);
     }
 
     @Override
     public V merge(String key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
-        return super.merge(key.toUpperCase(), value, remappingFunction);
+        return merge(key, hash(key), value, remappingFunction);
     }
 
     @Override
-    public V remove(Object key) {
-        return super.remove(((String)key).toUpperCase());
+    public void clear() {
+        if (size > 0) {
+            buckets = newBuckets(buckets.length);
+            head = null;
+            tail = null;
+            size = 0;
+            modCount++;
+            modified();
+        }
     }
 
     @Override
-    public boolean containsKey(Object key) {
-        return super.containsKey(((String)key).toUpperCase());
+    public Set<Entry<String, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    /**
+     * Called after every change of a key or value, whichever method or view made it
+     */
+    protected void modified() {
+    }
+
+    Node<V> getNode(String key, int hash) {
+        for (Node<V> node = buckets[hash & (buckets.length - 1)]; node != null; node = node.next) {
+            if (node.hash == hash && matches(node.key, key)) {
+                return node;
+            }
+        }
+        return null;
+    }
+
+    V put(String key, int hash, V value, boolean onlyIfAbsent) {
+        Node<V> node = getNode(key, hash);
+        if (node != null) {
+            V previous = node.value;
+            if (!onlyIfAbsent || previous == null) {
+                node.value = value;
+                modified();
+            }
+            return previous;
+        }
+        addNode(key, hash, value);
+        return null;
+    }
+
+    V computeIfAbsent(String key, int hash, Function<? super String, ? extends V> mappingFunction) {
+        Objects.requireNonNull(mappingFunction);
+        Node<V> node = getNode(key, hash);
+        if (node != null && node.value != null) {
+            return node.value;
+        }
+        int expectedModCount = modCount;
+        V value = mappingFunction.apply(key);
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+        if (value != null) {
+            if (node != null) {
+                node.value = value;
+                modified();
+            } else {
+                addNode(key, hash, value);
+            }
+        }
+        return value;
+    }
+
+    V merge(String key, int hash, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        Objects.requireNonNull(value);
+        Objects.requireNonNull(remappingFunction);
+        Node<V> node = getNode(key, hash);
+        if (node == null) {
+            addNode(key, hash, value);
+            return value;
+        }
+        V merged = node.value == null ? value : remappingFunction.apply(node.value, value);
+        if (merged == null) {
+            removeNode(key, hash);
+        } else {
+            node.value = merged;
+            modified();
+        }
+        return merged;
+    }
+
+    Node<V> removeNode(String key, int hash) {
+        int index = hash & (buckets.length - 1);
+        Node<V> previous = null;
+        for (Node<V> node = buckets[index]; node != null; node = node.next) {
+            if (node.hash == hash && matches(node.key, key)) {
+                if (previous == null) {
+                    buckets[index] = node.next;
+                } else {
+                    previous.next = node.next;
+                }
+                unlink(node);
+                size--;
+                modCount++;
+                modified();
+                return node;
+            }
+            previous = node;
+        }
+        return null;
+    }
+
+    private void addNode(String key, int hash, V value) {
+        Objects.requireNonNull(key);
+        if (size >= threshold(buckets.length) && buckets.length < MAXIMUM_CAPACITY) {
+            resize(buckets.length * 2);
+        }
+        Node<V> node = new Node<>(this, key.toUpperCase(Locale.ROOT), hash, value);
+        int index = hash & (buckets.length - 1);
+        node.next = buckets[index];
+        buckets[index] = node;
+        if (tail == null) {
+            head = node;
+        } else {
+            tail.after = node;
+            node.before = tail;
+        }
+        tail = node;
+        size++;
+        modCount++;
+        modified();
+    }
+
+    private void unlink(Node<V> node) {
+        if (node.before == null) {
+            head = node.after;
+        } else {
+            node.before.after = node.after;
+        }
+        if (node.after == null) {
+            tail = node.before;
+        } else {
+            node.after.before = node.before;
+        }
+    }
+
+    private void resize(int capacity) {
+        Node<V>[] resized = newBuckets(capacity);
+        for (Node<V> node = head; node != null; node = node.after) {
+            int index = node.hash & (capacity - 1);
+            node.next = resized[index];
+            resized[index] = node;
+        }
+        buckets = resized;
+    }
+
+    private static int capacityFor(int entries) {
+        int capacity = 1;
+        while (threshold(capacity) < entries && capacity < MAXIMUM_CAPACITY) {
+            capacity <<= 1;
+        }
+        return Math.max(capacity, 2);
+    }
+
+    private static int threshold(int capacity) {
+        return capacity - (capacity >>> 2);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> Node<V>[] newBuckets(int capacity) {
+        return (Node<V>[]) new Node[capacity];
+    }
+
+    static final class Node<V> implements Entry<String, V> {
+        private final CaseInsensitiveMap<V> map;
+        private final String key;
+        private final int hash;
+        private V value;
+        private Node<V> next;
+        private Node<V> before;
+        private Node<V> after;
+
+        private Node(CaseInsensitiveMap<V> map, String key, int hash, V value) {
+            this.map = map;
+            this.key = key;
+            this.hash = hash;
+            this.value = value;
+        }
+
+        @Override
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            V previous = this.value;
+            this.value = value;
+            map.modified();
+            return previous;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Entry)) {
+                return false;
+            }
+            Entry<?, ?> entry = (Entry<?, ?>) other;
+            return Objects.equals(key, entry.getKey()) && Objects.equals(value, entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(value);
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<String, V>> {
+        @Override
+        public Iterator<Entry<String, V>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object other) {
+            if (!(other instanceof Entry)) {
+                return false;
+            }
+            Entry<?, ?> entry = (Entry<?, ?>) other;
+            if (!(entry.getKey() instanceof String)) {
+                return false;
+            }
+            String key = (String) entry.getKey();
+            Node<V> node = getNode(key, hash(key));
+            return node != null && Objects.equals(node.value, entry.getValue());
+        }
+
+        @Override
+        public boolean remove(Object other) {
+            if (!contains(other)) {
+                return false;
+            }
+            CaseInsensitiveMap.this.remove(((Entry<?, ?>) other).getKey());
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            CaseInsensitiveMap.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Entry<String, V>> {
+        private Node<V> next = head;
+        private Node<V> current;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Entry<String, V> next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            current = next;
+            next = next.after;
+            return current;
+        }
+
+        @Override
+        public void remove() {
+            if (current == null) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            CaseInsensitiveMap.this.remove(current.key);
+            current = null;
+            expectedModCount = modCount;
+        }
     }
-}
\ No newline at end of file
+}
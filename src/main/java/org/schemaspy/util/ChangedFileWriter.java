@@ -0,0 +1,30 @@
+package org.schemaspy.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+/**
+ * Collects what is written and stores it in the file on close,
+ * unless the file already has exactly that content in which case the file is left untouched.
+ */
+public class ChangedFileWriter extends StringWriter {
+
+    private final File file;
+
+    public ChangedFileWriter(File file) {
+        this.file = file;
+    }
+
+    @Override
+    public void close() throws IOException {
+        byte[] content = toString().getBytes(StandardCharsets.UTF_8);
+        if (file.isFile() && file.length() == content.length && Arrays.equals(Files.readAllBytes(file.toPath()), content)) {
+            return;
+        }
+        Files.write(file.toPath(), content);
+    }
+}
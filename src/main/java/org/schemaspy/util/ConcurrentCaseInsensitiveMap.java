@@ -0,0 +1,280 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.util;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Thread safe {@link CaseInsensitiveMap} for maps that are filled by several threads at once.
+ * <p>
+ * Keys are spread over segments by their folded hash and every segment is guarded by its own lock,
+ * so threads putting different keys rarely wait for each other. Like {@link java.util.concurrent.ConcurrentHashMap}
+ * neither keys nor values may be <code>null</code>,
+ * looking up a <code>null</code> key returns <code>null</code> like it does for {@link CaseInsensitiveMap}. Iterating works on a copy of the entries taken
+ * one segment at a time.
+ */
+public class ConcurrentCaseInsensitiveMap<V> extends AbstractMap<String, V> implements ConcurrentMap<String, V> {
+
+    private static final int SEGMENTS = 16;
+
+    private final CaseInsensitiveMap<V>[] segments;
+    private Set<Entry<String, V>> entrySet;
+
+    public ConcurrentCaseInsensitiveMap() {
+        this(SEGMENTS);
+    }
+
+    @SuppressWarnings("unchecked")
+    public ConcurrentCaseInsensitiveMap(int initialCapacity) {
+        segments = (CaseInsensitiveMap<V>[]) new CaseInsensitiveMap[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new CaseInsensitiveMap<>(Math.max(initialCapacity / SEGMENTS, 1));
+        }
+    }
+
+    private CaseInsensitiveMap<V> segment(int hash) {
+        return segments[(hash >>> 24) & (SEGMENTS - 1)];
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (CaseInsensitiveMap<V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public V get(Object key) {
+        if (key == null) {
+            return null;
+        }
+        String name = (String) key;
+        int hash = CaseInsensitiveMap.hash(name);
+        CaseInsensitiveMap<V> segment = segment(hash);
+        synchronized (segment) {
+            CaseInsensitiveMap.Node<V> node = segment.getNode(name, hash);
+            return node == null ? null : node.getValue();
+        }
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(Objects.requireNonNull(key)) != null;
+    }
+
+    @Override
+    public V put(String key, V value) {
+        Objects.requireNonNull(value);
+        int hash = CaseInsensitiveMap.hash(key);
+        CaseInsensitiveMap<V> segment = segment(hash);
+        synchronized (segment) {
+            return segment.put(key, hash, value, false);
+        }
+    }
+
+    @Override
+    public V putIfAbsent(String key, V value) {
+        Objects.requireNonNull(value);
+        int hash = CaseInsensitiveMap.hash(key);
+        CaseInsensitiveMap<V> segment = segment(hash);
+        synchronized (segment) {
+            return segment.put(key, hash, value, true);
+        }
+    }
+
+    @Override
+    public V remove(Object key) {
+        String name = (String) Objects.requireNonNull(key);
+        int hash = CaseInsensitiveMap.hash(name);
+        CaseInsensitiveMap<V> segment = segment(hash);
+        synchronized (segment) {
+            CaseInsensitiveMap.Node<V> node = segment.removeNode(name, hash);
+            return node == null ? null : node.getValue();
+        }
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        String name = (String) Objects.requireNonNull(key);
+        int hash = CaseInsensitiveMap.hash(name);
+        CaseInsensitiveMap<V> segment = segment(hash);
+        synchronized (segment) {
+            CaseInsensitiveMap.Node<V> node = segment.getNode(name, hash);
+            if (node == null || !Objects.equals(node.getValue(), value)) {
+                return false;
+            }
+            segment.removeNode(name, hash);
+            return true;
+        }
+    }
+
+    @Override
+    public boolean replace(String key, V oldValue, V newValue) {
+        Objects.requireNonNull(oldValue);
+        Objects.requireNonNull(newValue);
+        int hash = CaseInsensitiveMap.hash(key);
+        CaseInsensitiveMap<V> segment = segment(hash);
+        synchronized (segment) {
+            CaseInsensitiveMap.Node<V> node = segment.getNode(key, hash);
+            if (node == null || !oldValue.equals(node.getValue())) {
+                return false;
+            }
+            node.setValue(newValue);
+            return true;
+        }
+    }
+
+    @Override
+    public V replace(String key, V value) {
+        Objects.requireNonNull(value);
+        int hash = CaseInsensitiveMap.hash(key);
+        CaseInsensitiveMap<V> segment = segment(hash);
+        synchronized (segment) {
+            CaseInsensitiveMap.Node<V> node = segment.getNode(key, hash);
+            return node == null ? null : node.setValue(value);
+        }
+    }
+
+    /**
+     * <code>mappingFunction</code> is called while holding the lock of the key's segment,
+     * so it's called at most once per key and must not update this map
+     */
+    @Override
+    public V computeIfAbsent(String key, Function<? super String, ? extends V> mappingFunction) {
+        int hash = CaseInsensitiveMap.hash(key);
+        CaseInsensitiveMap<V> segment = segment(hash);
+        synchronized (segment) {
+            return segment.computeIfAbsent(key, hash, mappingFunction);
+        }
+    }
+
+    /**
+     * <code>remappingFunction</code> is called while holding the lock of the key's segment
+     * and must not update this map
+     */
+    @Override
+    public V merge(String key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        int hash = CaseInsensitiveMap.hash(key);
+        CaseInsensitiveMap<V> segment = segment(hash);
+        synchronized (segment) {
+            return segment.merge(key, hash, value, remappingFunction);
+        }
+    }
+
+    @Override
+    public void clear() {
+        for (CaseInsensitiveMap<V> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    @Override
+    public Set<Entry<String, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    private List<Entry<String, V>> snapshot() {
+        List<Entry<String, V>> entries = new ArrayList<>();
+        for (CaseInsensitiveMap<V> segment : segments) {
+            synchronized (segment) {
+                for (Entry<String, V> entry : segment.entrySet()) {
+                    entries.add(new WriteThroughEntry(entry.getKey(), entry.getValue()));
+                }
+            }
+        }
+        return entries;
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<String, V>> {
+        @Override
+        public Iterator<Entry<String, V>> iterator() {
+            Iterator<Entry<String, V>> snapshot = snapshot().iterator();
+            return new Iterator<Entry<String, V>>() {
+                private Entry<String, V> current;
+
+                @Override
+                public boolean hasNext() {
+                    return snapshot.hasNext();
+                }
+
+                @Override
+                public Entry<String, V> next() {
+                    current = snapshot.next();
+                    return current;
+                }
+
+                @Override
+                public void remove() {
+                    if (current == null) {
+                        throw new IllegalStateException();
+                    }
+                    ConcurrentCaseInsensitiveMap.this.remove(current.getKey(), current.getValue());
+                    current = null;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return ConcurrentCaseInsensitiveMap.this.size();
+        }
+
+        @Override
+        public void clear() {
+            ConcurrentCaseInsensitiveMap.this.clear();
+        }
+    }
+
+    private final class WriteThroughEntry extends SimpleEntry<String, V> {
+        private static final long serialVersionUID = 1L;
+
+        private WriteThroughEntry(String key, V value) {
+            super(key, value);
+        }
+
+        @Override
+        public V setValue(V value) {
+            V previous = super.setValue(value);
+            put(getKey(), value);
+            return previous;
+        }
+    }
+}
@@ -10,6 +10,7 @@ import java.lang.invoke.MethodHandles;
 import java.net.JarURLConnection;
 import java.nio.file.Files;
 import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
 import java.util.Enumeration;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
@@ -55,20 +56,26 @@ public class CopyFromJar implements Copy {
                     File currentFile = new File(destPath, filename);
 
 
+                    if (filter != null && !filter.accept(currentFile)) {
+                        continue;
+                    }
                     if (jarEntry.isDirectory()) {
                         FileUtils.forceMkdir(currentFile);
+                    } else if (isUnchanged(jarEntry, currentFile)) {
+                        LOGGER.trace("{} is unchanged", currentFile);
                     } else {
-                        if (filter == null || filter.accept(currentFile)) {
-                            try (
-                                    InputStream is = jarFile.getInputStream(jarEntry);
-                                    OutputStream out = Files.newOutputStream(
-                                            currentFile.toPath(),
-                                            StandardOpenOption.CREATE,
-                                            StandardOpenOption.WRITE,
-                                            StandardOpenOption.TRUNCATE_EXISTING)
-                            ) {
-                                IOUtils.copy(is, out);
-                            }
+                        try (
+                                InputStream is = jarFile.getInputStream(jarEntry);
+                                OutputStream out = Files.newOutputStream(
+                                        currentFile.toPath(),
+                                        StandardOpenOption.CREATE,
+                                        StandardOpenOption.WRITE,
+                                        StandardOpenOption.TRUNCATE_EXISTING)
+                        ) {
+                            IOUtils.copy(is, out);
+                        }
+                        if (jarEntry.getTime() >= 0) {
+                            Files.setLastModifiedTime(currentFile.toPath(), FileTime.fromMillis(jarEntry.getTime()));
                         }
                     }
                 }
@@ -77,4 +84,16 @@ public class CopyFromJar implements Copy {
             LOGGER.warn(e.getMessage(),e);
         }
     }
+
+    /**
+     * A file copied before got the size and time of its entry, like rsync
+     * the content isn't compared when both still match
+     */
+    private static boolean isUnchanged(JarEntry jarEntry, File file) {
+        return jarEntry.getSize() >= 0
+            && jarEntry.getTime() >= 0
+            && file.isFile()
+            && file.length() == jarEntry.getSize()
+            && file.lastModified() == jarEntry.getTime();
+    }
 }
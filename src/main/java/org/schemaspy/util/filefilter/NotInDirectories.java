@@ -0,0 +1,45 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.util.filefilter;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Accepts what <code>origin</code> accepts, except the directories and everything in them.
+ */
+public class NotInDirectories implements FileFilter {
+
+    private final FileFilter origin;
+    private final List<Path> directories;
+
+    public NotInDirectories(final FileFilter origin, final File... directories) {
+        this.origin = origin;
+        this.directories = Arrays.stream(directories)
+            .map(directory -> directory.toPath().toAbsolutePath().normalize())
+            .toList();
+    }
+
+    @Override
+    public boolean accept(final File pathname) {
+        Path path = pathname.toPath().toAbsolutePath().normalize();
+        return directories.stream().noneMatch(path::startsWith) && origin.accept(pathname);
+    }
+}
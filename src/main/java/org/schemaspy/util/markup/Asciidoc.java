@@ -31,22 +31,52 @@ public class Asciidoc implements Markup {
     public static final String LINK_FORMAT = "link:%2$s[%1$s]";
 
     private final Markup origin;
+    private final Asciidoctor asciidoctor;
+    private final MarkupCache cache;
 
     public Asciidoc(
         final Markup origin
+    ) {
+        this(origin, MarkupCache.disabled());
+    }
+
+    public Asciidoc(
+        final Markup origin,
+        final MarkupCache cache
+    ) {
+        this(origin, Shared.ASCIIDOCTOR, cache);
+    }
+
+    public Asciidoc(
+        final Markup origin,
+        final Asciidoctor asciidoctor,
+        final MarkupCache cache
     ) {
         this.origin = origin;
+        this.asciidoctor = asciidoctor;
+        this.cache = cache;
     }
 
     @Override
     public String value() {
-        try(Asciidoctor asciidoctor = Asciidoctor.Factory.create()) {
+        return cache.convert(origin.value(), this::convert);
+    }
+
+    private String convert(String source) {
+        synchronized (asciidoctor) {
             return asciidoctor
                 .convert(
-                    origin.value(),
+                    source,
                     Options.builder().build()
                 );
         }
     }
 
+    /**
+     * Booting Asciidoctor starts a JRuby runtime, so it's done once
+     * on first use and the instance is kept for the rest of the run
+     */
+    private static final class Shared {
+        private static final Asciidoctor ASCIIDOCTOR = Asciidoctor.Factory.create();
+    }
 }
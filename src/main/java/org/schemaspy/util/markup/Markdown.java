@@ -35,18 +35,32 @@ import com.vladsch.flexmark.util.options.DataHolder;
 public class Markdown implements Markup {
 
     public static final String LINK_FORMAT = "[%1$s](%2$s)";
+    private static final DataHolder DEFAULT_OPTIONS = PegdownOptionsAdapter.flexmarkOptions(true,
+            Extensions.ALL ^ Extensions.HARDWRAPS
+    );
+    // parser and renderer are immutable and thread-safe, building them is what's expensive
+    private static final Parser DEFAULT_PARSER = Parser.builder(DEFAULT_OPTIONS).build();
+    private static final HtmlRenderer DEFAULT_RENDERER = HtmlRenderer.builder(DEFAULT_OPTIONS).build();
     private final Parser parser;
     private final HtmlRenderer renderer;
     private final Markup origin;
+    private final MarkupCache cache;
 
     public Markdown(
         final Markup origin
+    ) {
+        this(origin, MarkupCache.disabled());
+    }
+
+    public Markdown(
+        final Markup origin,
+        final MarkupCache cache
     ) {
         this(
             origin,
-            PegdownOptionsAdapter.flexmarkOptions(true,
-                    Extensions.ALL ^ Extensions.HARDWRAPS
-            )
+            DEFAULT_PARSER,
+            DEFAULT_RENDERER,
+            cache
         );
     }
 
@@ -65,17 +79,31 @@ public class Markdown implements Markup {
         final Markup origin,
         final Parser parser,
         final HtmlRenderer renderer
+    ) {
+        this(origin, parser, renderer, MarkupCache.disabled());
+    }
+
+    public Markdown(
+        final Markup origin,
+        final Parser parser,
+        final HtmlRenderer renderer,
+        final MarkupCache cache
     ) {
         this.origin = origin;
         this.parser = parser;
         this.renderer = renderer;
+        this.cache = cache;
     }
 
     @Override
     public String value() {
+        return cache.convert(origin.value(), this::convert);
+    }
+
+    private String convert(String source) {
         return renderer.render(
             parser.parse(
-                origin.value()
+                source
             )
         ).trim();
     }
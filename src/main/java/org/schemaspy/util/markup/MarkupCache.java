@@ -0,0 +1,62 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.util.markup;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Remembers converted markup by its source, the same comment on many columns
+ * or pages is only converted once.
+ * The source is taken after links to pages have been resolved, so it already
+ * reflects the root path of the page it's rendered on.
+ */
+public class MarkupCache {
+
+    private final Map<String, String> converted;
+
+    public MarkupCache() {
+        this(new ConcurrentHashMap<>());
+    }
+
+    private MarkupCache(Map<String, String> converted) {
+        this.converted = converted;
+    }
+
+    /**
+     * Cache that converts every time
+     */
+    public static MarkupCache disabled() {
+        return new MarkupCache(null);
+    }
+
+    public String convert(String source, UnaryOperator<String> conversion) {
+        if (Objects.isNull(converted) || Objects.isNull(source)) {
+            return conversion.apply(source);
+        }
+        String value = converted.get(source);
+        if (Objects.isNull(value)) {
+            value = conversion.apply(source);
+            if (Objects.nonNull(value)) {
+                converted.putIfAbsent(source, value);
+            }
+        }
+        return value;
+    }
+}
@@ -3,11 +3,12 @@ package org.schemaspy.util.markup;
 import org.schemaspy.model.Table;
 
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class PageRegistry {
 
-    private final HashMap<String,String> registry = new HashMap<>();
+    private final Map<String,String> registry = new ConcurrentHashMap<>();
 
     public PageRegistry register(Collection<Table> tables) {
         tables.forEach(this::registerTable);
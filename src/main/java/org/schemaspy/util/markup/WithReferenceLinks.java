@@ -5,6 +5,8 @@ import java.util.regex.Pattern;
 
 public class WithReferenceLinks implements Markup {
 
+    private static final Pattern REFERENCE = Pattern.compile("\\[(.*?)]");
+
     private final PageRegistry pageRegistry;
     private final Markup origin;
     private final String rootPath;
@@ -13,7 +15,7 @@ public class WithReferenceLinks implements Markup {
     /**
      * Adds pages reference links to the given markup text. Links in the format [page] or [page.anchor]
      * are replaced with reference-style links, for example: [page.anchor](./pagePath#anchor) in Markdown.
-     * The page can be registered using {@link org.schemaspy.view.HtmlConfig#registryPage} method.
+     * The page can be registered using {@link PageRegistry#register} method.
      *
      * @param pageRegistry The PageRegistry used to register pages
      * @param origin The markup text to which page links will be added.
@@ -32,8 +34,7 @@ public class WithReferenceLinks implements Markup {
         String markupTextWithReferenceLink = originValue;
         String basePath = (rootPath == null || rootPath.isEmpty()) ? "." : rootPath;
 
-        Pattern p = Pattern.compile("\\[(.*?)]");
-        Matcher m = p.matcher(originValue);
+        Matcher m = REFERENCE.matcher(originValue);
 
         while (m.find()) {
             String pageLink = m.group(1);
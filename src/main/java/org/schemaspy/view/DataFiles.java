@@ -0,0 +1,95 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.view;
+
+import com.github.mustachejava.util.DecoratedCollection;
+import org.apache.commons.io.FileUtils;
+import org.schemaspy.util.DefaultPrintWriter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Writes the rows of a listing page to script files in <code>data/</code>
+ * instead of into the page, the page loads them one after the other and
+ * DataTables only renders the rows that are shown.
+ * <p>
+ * The files call <code>schemaSpyDataFile(name, rows)</code> rather than being fetched
+ * as JSON, so the pages keep working when opened from disk.
+ */
+public class DataFiles {
+
+    public static final int ROWS_PER_FILE = 5000;
+
+    private final MustacheCompiler mustacheCompiler;
+    private final File dataDir;
+    private final int rowsPerFile;
+
+    public DataFiles(MustacheCompiler mustacheCompiler, File outputDir) {
+        this(mustacheCompiler, outputDir, ROWS_PER_FILE);
+    }
+
+    public DataFiles(MustacheCompiler mustacheCompiler, File outputDir, int rowsPerFile) {
+        this.mustacheCompiler = mustacheCompiler;
+        this.dataDir = Objects.isNull(outputDir) ? null : new File(outputDir, "data");
+        this.rowsPerFile = Math.max(1, rowsPerFile);
+    }
+
+    /**
+     * Rows are kept in the pages
+     */
+    public static DataFiles disabled() {
+        return new DataFiles(null, null);
+    }
+
+    public boolean isEnabled() {
+        return Objects.nonNull(dataDir);
+    }
+
+    /**
+     * Write <code>rows</code> with the template <code>data/&lt;name&gt;.html</code>,
+     * which gets them as <code>rows</code> and <code>name</code>.
+     *
+     * @return <code>name</code> and number of <code>files</code> written, for the page script to load them
+     */
+    public Map<String, Object> write(String name, List<?> rows) throws IOException {
+        FileUtils.forceMkdir(dataDir);
+        int files = 0;
+        for (int from = 0; from < rows.size(); from += rowsPerFile) {
+            List<?> chunk = rows.subList(from, Math.min(rows.size(), from + rowsPerFile));
+            PageData pageData = new PageData.Builder()
+                .templateName("data/" + name + ".html")
+                .addToScope("name", name)
+                .addToScope("rows", new DecoratedCollection<>(chunk))
+                .depth(0)
+                .getPageData();
+            try (Writer writer = new DefaultPrintWriter(new File(dataDir, name + "." + files + ".js"))) {
+                mustacheCompiler.writeTemplate(pageData, writer);
+            }
+            files++;
+        }
+        Map<String, Object> dataFiles = new HashMap<>();
+        dataFiles.put("name", name);
+        dataFiles.put("files", files);
+        return dataFiles;
+    }
+}
@@ -52,9 +52,15 @@ public class HtmlColumnsPage {
     private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
     private final MustacheCompiler mustacheCompiler;
+    private final DataFiles dataFiles;
 
     public HtmlColumnsPage(MustacheCompiler mustacheCompiler) {
+        this(mustacheCompiler, DataFiles.disabled());
+    }
+
+    public HtmlColumnsPage(MustacheCompiler mustacheCompiler, DataFiles dataFiles) {
         this.mustacheCompiler = mustacheCompiler;
+        this.dataFiles = dataFiles;
     }
 
     public void write(Collection<Table> tables, Writer writer) {
@@ -75,15 +81,17 @@ public class HtmlColumnsPage {
                 )
             ).toList();
 
-        PageData pageData = new PageData.Builder()
-                .templateName("column.html")
-                .scriptName("column.js")
-                .addToScope("columns", new DecoratedCollection<>(tableColumns))
-                .depth(0)
-                .getPageData();
-
         try {
-            mustacheCompiler.write(pageData, writer);
+            PageData.Builder pageData = new PageData.Builder()
+                    .templateName("column.html")
+                    .scriptName("column.js")
+                    .depth(0);
+            if (dataFiles.isEnabled()) {
+                pageData.addToScope("dataFiles", dataFiles.write("columns", tableColumns));
+            } else {
+                pageData.addToScope("columns", new DecoratedCollection<>(tableColumns));
+            }
+            mustacheCompiler.write(pageData.getPageData(), writer);
         } catch (IOException e) {
             LOGGER.error("Failed to write columns page", e);
         }
@@ -18,10 +18,8 @@
  */
 package org.schemaspy.view;
 
-import java.util.Collection;
-
-import org.schemaspy.model.Table;
 import org.schemaspy.util.markup.Markup;
+import org.schemaspy.util.markup.PageRegistry;
 
 public interface HtmlConfig {
     String getDescription();
@@ -32,7 +30,9 @@ public interface HtmlConfig {
 
     boolean isNumRowsEnabled();
 
-    void registryPage(final Collection<Table> tables);
+    boolean isDataFilesEnabled();
+
+    boolean isSharedAssetsEnabled();
 
-    Markup markupProcessor(final String markupText, final String rootPath);
+    Markup markupProcessor(final String markupText, final String rootPath, final PageRegistry pageRegistry);
 }
@@ -1,15 +1,13 @@
 package org.schemaspy.view;
 
-import java.util.Collection;
-
 import com.beust.jcommander.Parameter;
 import com.beust.jcommander.Parameters;
 import org.schemaspy.cli.NoRowsConfigCli;
 import org.schemaspy.cli.TemplateDirectoryConfigCli;
-import org.schemaspy.model.Table;
 import org.schemaspy.util.markup.Asciidoc;
 import org.schemaspy.util.markup.Markdown;
 import org.schemaspy.util.markup.Markup;
+import org.schemaspy.util.markup.MarkupCache;
 import org.schemaspy.util.markup.MarkupFromString;
 import org.schemaspy.util.markup.PageRegistry;
 import org.schemaspy.util.markup.WithReferenceLinks;
@@ -44,10 +42,28 @@ public class HtmlConfigCli implements HtmlConfig {
     )
     private boolean useAsciiDoc = false;
 
+    @Parameter(
+        names = {
+            "--data-files",
+            "schemaspy.dataFiles", "schemaspy.data-files"
+        },
+        descriptionKey = "datafiles"
+    )
+    private boolean dataFiles = false;
+
+    @Parameter(
+        names = {
+            "--shared-assets",
+            "schemaspy.sharedAssets", "schemaspy.shared-assets"
+        },
+        descriptionKey = "sharedassets"
+    )
+    private boolean sharedAssets = false;
+
     private final NoRowsConfigCli noRowsConfigCli;
     private final TemplateDirectoryConfigCli templateDirectoryConfigCli;
 
-    private final PageRegistry pageRegistry = new PageRegistry();
+    private final MarkupCache markupCache = new MarkupCache();
 
     public HtmlConfigCli(
         NoRowsConfigCli noRowsConfigCli,
@@ -78,12 +94,17 @@ public class HtmlConfigCli implements HtmlConfig {
     }
 
     @Override
-    public void registryPage(final Collection<Table> tables) {
-        pageRegistry.register(tables);
+    public boolean isDataFilesEnabled() {
+        return dataFiles;
+    }
+
+    @Override
+    public boolean isSharedAssetsEnabled() {
+        return sharedAssets;
     }
 
     @Override
-    public Markup markupProcessor(final String markupText, final String rootPath) {
+    public Markup markupProcessor(final String markupText, final String rootPath, final PageRegistry pageRegistry) {
         if (useAsciiDoc) {
             return new Asciidoc(
                 new WithReferenceLinks(
@@ -91,7 +112,8 @@ public class HtmlConfigCli implements HtmlConfig {
                     pageRegistry,
                     rootPath,
                     Asciidoc.LINK_FORMAT
-                )
+                ),
+                markupCache
             );
         } else {
             return new Markdown(
@@ -100,7 +122,8 @@ public class HtmlConfigCli implements HtmlConfig {
                     pageRegistry,
                     rootPath,
                     Markdown.LINK_FORMAT
-                )
+                ),
+                markupCache
             );
         }
     }
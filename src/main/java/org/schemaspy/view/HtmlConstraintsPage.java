@@ -50,23 +50,32 @@ public class HtmlConstraintsPage {
     private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
     private final MustacheCompiler mustacheCompiler;
+    private final DataFiles dataFiles;
 
     public HtmlConstraintsPage(MustacheCompiler mustacheCompiler) {
+        this(mustacheCompiler, DataFiles.disabled());
+    }
+
+    public HtmlConstraintsPage(MustacheCompiler mustacheCompiler, DataFiles dataFiles) {
         this.mustacheCompiler = mustacheCompiler;
+        this.dataFiles = dataFiles;
     }
 
     public void write(List<ForeignKeyConstraint> constraints, Collection<Table> tables, Writer writer) {
 
-        PageData pageData = new PageData.Builder()
-                .templateName("constraint.html")
-                .scriptName("constraint.js")
-                .addToScope("constraints", constraints)
-                .addToScope("checkConstraints", collectCheckConstraints(tables))
-                .depth(0)
-                .getPageData();
-
         try {
-            mustacheCompiler.write(pageData, writer);
+            PageData.Builder pageData = new PageData.Builder()
+                    .templateName("constraint.html")
+                    .scriptName("constraint.js")
+                    .addToScope("constraintsAmount", constraints.size())
+                    .addToScope("checkConstraints", collectCheckConstraints(tables))
+                    .depth(0);
+            if (dataFiles.isEnabled()) {
+                pageData.addToScope("dataFiles", dataFiles.write("constraints", constraints));
+            } else {
+                pageData.addToScope("constraints", constraints);
+            }
+            mustacheCompiler.write(pageData.getPageData(), writer);
         } catch (IOException e) {
             LOGGER.error("Failed to write constraints page", e);
         }
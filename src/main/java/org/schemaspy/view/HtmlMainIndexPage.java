@@ -53,10 +53,16 @@ public class HtmlMainIndexPage {
 
     private final MustacheCompiler mustacheCompiler;
     private final String description;
+    private final DataFiles dataFiles;
 
     public HtmlMainIndexPage(MustacheCompiler mustacheCompiler, String description) {
+        this(mustacheCompiler, description, DataFiles.disabled());
+    }
+
+    public HtmlMainIndexPage(MustacheCompiler mustacheCompiler, String description, DataFiles dataFiles) {
         this.mustacheCompiler = mustacheCompiler;
         this.description = description;
+        this.dataFiles = dataFiles;
     }
 
     public void write(Database database, Collection<Table> tables, List<? extends ForeignKeyConstraint> impliedConstraints, Writer writer) {
@@ -78,26 +84,28 @@ public class HtmlMainIndexPage {
         long routinesAmount = database.getRoutines().size();
         long anomaliesAmount = getAllAnomaliesAmount(tables, impliedConstraints);
 
-        PageData pageData = new PageData.Builder()
-                .templateName("main.html")
-                .scriptName("main.js")
-                .addToScope("tablesAmount", tablesAmount)
-                .addToScope("viewsAmount", viewsAmount)
-                .addToScope("columnsAmount", columnsAmount)
-                .addToScope("constraintsAmount", constraintsAmount)
-                .addToScope("routinesAmount", routinesAmount)
-                .addToScope("anomaliesAmount", anomaliesAmount)
-                .addToScope("tables", mustacheTables)
-                .addToScope("database", database)
-                .addToScope("description", description)
-                .addToScope("schema", database.getSchema())
-                .addToScope("catalog", database.getCatalog())
-                .addToScope("xmlName", getXmlName(database))
-                .depth(0)
-                .getPageData();
-
         try {
-            mustacheCompiler.write(pageData, writer);
+            PageData.Builder pageData = new PageData.Builder()
+                    .templateName("main.html")
+                    .scriptName("main.js")
+                    .addToScope("tablesAmount", tablesAmount)
+                    .addToScope("viewsAmount", viewsAmount)
+                    .addToScope("columnsAmount", columnsAmount)
+                    .addToScope("constraintsAmount", constraintsAmount)
+                    .addToScope("routinesAmount", routinesAmount)
+                    .addToScope("anomaliesAmount", anomaliesAmount)
+                    .addToScope("database", database)
+                    .addToScope("description", description)
+                    .addToScope("schema", database.getSchema())
+                    .addToScope("catalog", database.getCatalog())
+                    .addToScope("xmlName", getXmlName(database))
+                    .depth(0);
+            if (dataFiles.isEnabled()) {
+                pageData.addToScope("dataFiles", dataFiles.write("tables", mustacheTables));
+            } else {
+                pageData.addToScope("tables", mustacheTables);
+            }
+            mustacheCompiler.write(pageData.getPageData(), writer);
         } catch (IOException e) {
             LOGGER.error("Failed to write main index page", e);
         }
@@ -27,6 +27,7 @@ package org.schemaspy.view;
 import org.schemaspy.model.Table;
 import org.schemaspy.model.TableColumn;
 import org.schemaspy.model.TableIndex;
+import org.schemaspy.model.ViewReferences;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -51,11 +52,11 @@ public class HtmlTablePage {
     private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
     private final MustacheCompiler mustacheCompiler;
-    private final SqlAnalyzer sqlAnalyzer;
+    private final ViewReferences viewReferences;
 
-    public HtmlTablePage(MustacheCompiler mustacheCompiler, SqlAnalyzer sqlAnalyzer) {
+    public HtmlTablePage(MustacheCompiler mustacheCompiler, ViewReferences viewReferences) {
         this.mustacheCompiler = mustacheCompiler;
-        this.sqlAnalyzer = sqlAnalyzer;
+        this.viewReferences = viewReferences;
     }
 
     public void write(Table table, List<MustacheTableDiagram> diagrams, Writer writer) {
@@ -103,12 +104,10 @@ public class HtmlTablePage {
 
 
     private Set<Table> sqlReferences(Table table) {
-        Set<Table> references = new LinkedHashSet<>();
-
         if (table.isView() && table.getViewDefinition() != null) {
-            references.addAll(sqlAnalyzer.getReferencedTables(table.getViewDefinition()));
+            return viewReferences.referencedBy(table);
         }
-        return references;
+        return Collections.emptySet();
     }
 
     private static String sqlCode(Table table) {
@@ -0,0 +1,82 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.view;
+
+import com.github.mustachejava.DefaultMustacheFactory;
+import com.github.mustachejava.DefaultMustacheVisitor;
+import com.github.mustachejava.MustacheException;
+import com.github.mustachejava.MustacheResolver;
+import com.github.mustachejava.MustacheVisitor;
+import com.github.mustachejava.TemplateContext;
+import com.github.mustachejava.codes.ValueCode;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Mustache factory whose unescaped values write an {@link Insertion} straight to the output.
+ * <p>
+ * Used to render a page into <code>{{{content}}}</code> of the container while the container
+ * is being written, instead of rendering the page to a string first.
+ */
+class InsertingMustacheFactory extends DefaultMustacheFactory {
+
+    InsertingMustacheFactory(MustacheResolver mustacheResolver) {
+        super(mustacheResolver);
+    }
+
+    @Override
+    public MustacheVisitor createMustacheVisitor() {
+        return new DefaultMustacheVisitor(this) {
+            @Override
+            public void value(TemplateContext templateContext, String variable, boolean encoded) {
+                list.add(new InsertingValueCode(templateContext, df, variable, encoded));
+            }
+        };
+    }
+
+    /**
+     * Value that writes itself, escaped values and other templates use <code>toString()</code>
+     */
+    interface Insertion {
+        void writeTo(Writer writer) throws IOException;
+    }
+
+    private static class InsertingValueCode extends ValueCode {
+
+        private InsertingValueCode(TemplateContext templateContext, DefaultMustacheFactory factory, String variable, boolean encoded) {
+            super(templateContext, factory, variable, encoded);
+        }
+
+        @Override
+        public Writer execute(Writer writer, List<Object> scopes) {
+            if (!encoded) {
+                Object value = get(scopes);
+                if (value instanceof Insertion) {
+                    try {
+                        ((Insertion) value).writeTo(writer);
+                    } catch (IOException exc) {
+                        throw new MustacheException("Failed to write " + name, exc, tc);
+                    }
+                    return appendText(writer);
+                }
+            }
+            return super.execute(writer, scopes);
+        }
+    }
+}
@@ -25,20 +25,28 @@ package org.schemaspy.view;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
-import com.github.mustachejava.DefaultMustacheFactory;
 import com.github.mustachejava.Mustache;
 import com.github.mustachejava.MustacheFactory;
+import org.json.JSONObject;
 import org.schemaspy.util.DataTableConfig;
+import org.schemaspy.util.markup.PageRegistry;
 import org.schemaspy.util.naming.NameFromString;
 import org.schemaspy.util.naming.SanitizedFileName;
 
 /**
  * Created by rkasa on 2016-03-22.
+ * <p>
+ * Templates are compiled once and shared by all threads writing pages, a page is
+ * streamed into <code>{{{content}}}</code> of <code>container.html</code> as the container
+ * is written.
  *
  * @author Rafal Kasa
  * @author Ismail Simsek
@@ -48,54 +56,114 @@ import org.schemaspy.util.naming.SanitizedFileName;
  */
 public class MustacheCompiler {
 
+    private static final String CONTAINER = "container.html";
+
     private final String databaseName;
     private final String schemaName;
     private final HtmlConfig htmlConfig;
     private final boolean multiSchema;
     private final DataTableConfig dataTableConfig;
+    private final boolean assetsInParent;
+    private final PageRegistry pageRegistry;
     private final MustacheFactory mustacheFactory;
+    private final Map<String, Mustache> templates = new ConcurrentHashMap<>();
+    private final Map<String, Object> commonScope;
 
     public MustacheCompiler(
             String databaseName,
             String schemaName, HtmlConfig htmlConfig,
             boolean multiSchema,
             DataTableConfig dataTableConfig
+    ) {
+        this(databaseName, schemaName, htmlConfig, multiSchema, dataTableConfig, false);
+    }
+
+    /**
+     * @param assetsInParent pages use the shared assets (bower, fonts) of the directory above their root
+     */
+    public MustacheCompiler(
+            String databaseName,
+            String schemaName, HtmlConfig htmlConfig,
+            boolean multiSchema,
+            DataTableConfig dataTableConfig,
+            boolean assetsInParent
+    ) {
+        this(databaseName, schemaName, htmlConfig, multiSchema, dataTableConfig, assetsInParent, new PageRegistry());
+    }
+
+    /**
+     * @param assetsInParent pages use the shared assets (bower, fonts) of the directory above their root
+     * @param pageRegistry pages of the schema that <code>[table]</code> references in markup link to
+     */
+    public MustacheCompiler(
+            String databaseName,
+            String schemaName, HtmlConfig htmlConfig,
+            boolean multiSchema,
+            DataTableConfig dataTableConfig,
+            boolean assetsInParent,
+            PageRegistry pageRegistry
     ) {
         this.databaseName = databaseName;
         this.schemaName = schemaName;
         this.htmlConfig = htmlConfig;
         this.multiSchema = multiSchema;
         this.dataTableConfig = dataTableConfig;
-        this.mustacheFactory = new DefaultMustacheFactory(new MustacheCustomResolver(htmlConfig.getTemplateDirectory()));
+        this.assetsInParent = assetsInParent;
+        this.pageRegistry = pageRegistry;
+        this.mustacheFactory = new InsertingMustacheFactory(new MustacheCustomResolver(htmlConfig.getTemplateDirectory()));
+        this.commonScope = commonScope();
     }
 
     public void write(final PageData pageData, Writer writer) throws IOException {
-        StringWriter result = new StringWriter();
-
-        HashMap<String, Object> pageScope = new HashMap<>();
-        pageScope.put("toFileName", (Function<String,String>) s -> new SanitizedFileName(new NameFromString(s)).value());
-        pageScope.put("databaseName", databaseName);
-        pageScope.put("schemaName", schemaName);
-        pageScope.put("paginationEnabled", htmlConfig.isPaginationEnabled());
-        pageScope.put("displayNumRows", htmlConfig.isNumRowsEnabled());
-        pageScope.put("dataTableConfig", dataTableConfig.getPageScopeMap());
-        pageScope.put("markup", (Function<String,String>) md -> htmlConfig.markupProcessor(md, getRootPath(pageData.getDepth())).value());
-        pageScope.putAll(pageData.getScope());
-
-        Mustache mustachePage = mustacheFactory.compile(pageData.getTemplateName());
-        mustachePage.execute(result, pageScope).flush();
+        Object[] pageScopes = pageScopes(pageData);
+        Mustache mustachePage = template(pageData.getTemplateName());
 
         HashMap<String, Object> containerScope = new HashMap<>();
-        containerScope.put("content", result);
+        containerScope.put("content", new PageContent(mustachePage, pageScopes));
         containerScope.put("pageScript", pageData.getScriptName());
         containerScope.put("rootPath", getRootPath(pageData.getDepth()));
         containerScope.put("rootPathToHome", getRootPathToHome(pageData.getDepth()));
-        containerScope.putAll(pageScope);
+        containerScope.put("assetsPath", assetsInParent ? getRootPath(pageData.getDepth()) + "../" : getRootPath(pageData.getDepth()));
+
+        // later scopes win, values of the page override those of the container
+        Object[] scopes = new Object[pageScopes.length + 1];
+        scopes[0] = containerScope;
+        System.arraycopy(pageScopes, 0, scopes, 1, pageScopes.length);
+        template(CONTAINER).execute(writer, scopes).flush();
+    }
+
+
+    /**
+     * Write only the template of <code>pageData</code>, without the container around pages
+     */
+    public void writeTemplate(final PageData pageData, Writer writer) throws IOException {
+        template(pageData.getTemplateName()).execute(writer, pageScopes(pageData)).flush();
+    }
+
+    private Mustache template(String name) {
+        return templates.computeIfAbsent(name, mustacheFactory::compile);
+    }
 
-        Mustache mustacheContainer = mustacheFactory.compile("container.html");
-        mustacheContainer.execute(writer, containerScope).flush();
+    private Map<String, Object> commonScope() {
+        HashMap<String, Object> scope = new HashMap<>();
+        scope.put("toFileName", (Function<String,String>) s -> new SanitizedFileName(new NameFromString(s)).value());
+        scope.put("json", (Function<String,String>) JSONObject::quote);
+        scope.put("databaseName", databaseName);
+        scope.put("schemaName", schemaName);
+        scope.put("paginationEnabled", htmlConfig.isPaginationEnabled());
+        scope.put("displayNumRows", htmlConfig.isNumRowsEnabled());
+        scope.put("dataTableConfig", dataTableConfig.getPageScopeMap());
+        return Collections.unmodifiableMap(scope);
     }
 
+    private Object[] pageScopes(PageData pageData) {
+        String rootPath = getRootPath(pageData.getDepth());
+        Map<String, Object> markup = Collections.singletonMap(
+            "markup",
+            (Function<String,String>) md -> htmlConfig.markupProcessor(md, rootPath, pageRegistry).value()
+        );
+        return new Object[] {commonScope, markup, pageData.getScope()};
+    }
 
     public String getRootPath(int depth) {
         return IntStream.range(0, depth).mapToObj(i -> "../").collect(Collectors.joining("", "", ""));
@@ -109,4 +177,28 @@ public class MustacheCompiler {
         return path;
     }
 
+    /**
+     * Page rendered while the container is written
+     */
+    private static class PageContent implements InsertingMustacheFactory.Insertion {
+        private final Mustache mustache;
+        private final Object[] scopes;
+
+        private PageContent(Mustache mustache, Object[] scopes) {
+            this.mustache = mustache;
+            this.scopes = scopes;
+        }
+
+        @Override
+        public void writeTo(Writer writer) {
+            mustache.execute(writer, scopes);
+        }
+
+        @Override
+        public String toString() {
+            StringWriter result = new StringWriter();
+            writeTo(result);
+            return result.toString();
+        }
+    }
 }
\ No newline at end of file
@@ -22,38 +22,76 @@ package org.schemaspy.view;
 
 import org.schemaspy.model.Table;
 import org.schemaspy.model.View;
-import org.schemaspy.util.CaseInsensitiveMap;
+import org.schemaspy.model.ViewReferences;
 
-import java.util.*;
-import java.util.function.Function;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
+ * Finds the tables and views referenced by SQL.
+ * <p>
+ * The SQL is scanned once, string literals and comments are skipped and every identifier,
+ * bare or quoted, is looked up while it's read in a case-insensitive trie of the names of
+ * the tables, views and their containers. A name that is qualified by its container, or is
+ * followed by a column, references that table or view.
  *
  * @author John Currier
  * @author Daniel Watt
  * @author Nils Petzaell
  */
 public class SqlAnalyzer {
-    private static Set<Function<String,String>> quoters = new HashSet<>();
-    private Set<String> keywords;
-    private Map<String, Table> tablesByPossibleNames;
-    private static final String TOKENS = " \t\n\r\f()<>|,";
 
-    static {
-        quoters.add(s -> "'" + s + "'");
-        quoters.add(s -> "`" + s + "`");
-        quoters.add(s -> "\"" + s +"\"");
-        quoters.add(s -> "[" + s + "]");
-    }
+    /**
+     * Below this many views scanning them in parallel costs more than it saves
+     */
+    private static final int PARALLEL_THRESHOLD = 64;
+
+    private static final int MAX_PARTS = 4;
+
+    private final String identifierQuoteString;
+    private final Set<String> keywords;
+    private final Node root = new Node();
 
     public SqlAnalyzer(String identifierQuoteString, Set<String> keywords, Collection<Table> tables, Collection<View> views) {
-        if (Objects.nonNull(identifierQuoteString) && !identifierQuoteString.trim().isEmpty()) {
-            quoters.add(s -> identifierQuoteString + s + identifierQuoteString);
-        }
+        this.identifierQuoteString = Objects.nonNull(identifierQuoteString) && !identifierQuoteString.trim().isEmpty()
+            ? identifierQuoteString.trim()
+            : null;
         this.keywords = keywords;
-        tablesByPossibleNames = new CaseInsensitiveMap<>();
-        tablesByPossibleNames.putAll(getTableMap(tables));
-        tablesByPossibleNames.putAll(getTableMap(views));
+        addAll(tables);
+        addAll(views);
+    }
+
+    /**
+     * Scans the definitions of <code>views</code>, in parallel when there are many of them
+     */
+    public ViewReferences analyze(Collection<? extends Table> views) {
+        List<Table> defined = views.stream()
+            .filter(view -> Objects.nonNull(view.getViewDefinition()))
+            .collect(Collectors.toList());
+        List<Set<Table>> referenced = (defined.size() < PARALLEL_THRESHOLD
+                ? defined.stream()
+                : defined.parallelStream())
+            .map(view -> {
+                Set<Table> tables = getReferencedTables(view.getViewDefinition());
+                // definitions that start with 'create view' name the view itself
+                tables.remove(view);
+                return tables;
+            })
+            .collect(Collectors.toList());
+        Map<Table, Set<Table>> graph = new LinkedHashMap<>(defined.size() * 2);
+        for (int i = 0; i < defined.size(); i++) {
+            graph.put(defined.get(i), referenced.get(i));
+        }
+        return new ViewReferences(graph);
     }
 
     /**
@@ -65,53 +103,267 @@ public class SqlAnalyzer {
      */
     public Set<Table> getReferencedTables(String sql) {
         Set<Table> referenced = new LinkedHashSet<>();
+        Reference reference = new Reference();
+        int length = sql.length();
+        int pos = 0;
+        while (pos < length) {
+            char c = sql.charAt(pos);
+            if (c == '\'') {
+                pos = skipLiteral(sql, pos);
+            } else if (c == '-' && sql.startsWith("-", pos + 1)) {
+                int end = sql.indexOf('\n', pos);
+                pos = end < 0 ? length : end + 1;
+            } else if (c == '/' && sql.startsWith("*", pos + 1)) {
+                int end = sql.indexOf("*/", pos + 2);
+                pos = end < 0 ? length : end + 2;
+            } else if (Character.isDigit(c)) {
+                pos = skipWord(sql, pos);
+            } else if (isIdentifierStart(c) || Objects.nonNull(closingQuote(sql, pos))) {
+                pos = reference.read(sql, pos);
+                reference.resolve(sql, referenced);
+            } else {
+                pos++;
+            }
+        }
+        return referenced;
+    }
+
+    private void addAll(Collection<? extends Table> tables) {
+        for (Table table : tables) {
+            String name = table.getName();
+            String container = table.getContainer();
+            add(name).named.add(table);
+            if (Objects.nonNull(container)) {
+                add(container);
+                // container and name quoted together
+                add(container + "." + name).qualified.add(table);
+            }
+        }
+    }
+
+    private Identifier add(String name) {
+        Node node = root;
+        for (int i = 0; i < name.length(); i++) {
+            node = node.add(fold(name.charAt(i)));
+        }
+        if (Objects.isNull(node.identifier)) {
+            node.identifier = new Identifier(name);
+        }
+        return node.identifier;
+    }
+
+    private boolean isKeyword(String sql, int start, int end) {
+        return keywords.contains(sql.substring(start, end).toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * @return the string that closes the quoted identifier starting at <code>pos</code>, <code>null</code> if none starts there
+     */
+    private String closingQuote(String sql, int pos) {
+        if (Objects.nonNull(identifierQuoteString) && sql.startsWith(identifierQuoteString, pos)) {
+            return identifierQuoteString;
+        }
+        switch (sql.charAt(pos)) {
+            case '"':
+                return "\"";
+            case '`':
+                return "`";
+            case '[':
+                return "]";
+            default:
+                return null;
+        }
+    }
+
+    private static int skipLiteral(String sql, int pos) {
+        int length = sql.length();
+        pos++;
+        while (pos < length) {
+            if (sql.charAt(pos) == '\'') {
+                if (pos + 1 < length && sql.charAt(pos + 1) == '\'') {
+                    pos += 2;
+                    continue;
+                }
+                return pos + 1;
+            }
+            pos++;
+        }
+        return length;
+    }
+
+    private static int skipWord(String sql, int pos) {
+        while (pos < sql.length() && isIdentifierPart(sql.charAt(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static boolean isIdentifierStart(char c) {
+        return Character.isLetter(c) || c == '_' || c == '#' || c == '@';
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '#' || c == '@' || c == '$';
+    }
 
-        StringTokenizer tokenizer = new StringTokenizer(sql, TOKENS, true);
-        while (tokenizer.hasMoreTokens()) {
-            String token = tokenizer.nextToken();
-            if (!keywords.contains(token.toUpperCase())) {
-                Table t = tablesByPossibleNames.get(token);
+    private static Node step(Node node, char c) {
+        return Objects.isNull(node) ? null : node.child(fold(c));
+    }
+
+    /**
+     * Folds case the way {@link String#equalsIgnoreCase(String)} compares characters
+     */
+    private static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
 
-                if (t == null) {
-                    int lastDot = token.lastIndexOf('.');
-                    if (lastDot != -1) {
-                        t = tablesByPossibleNames.get(token.substring(0, lastDot));
+    /**
+     * Name, possibly qualified and followed by a column, read from the SQL
+     */
+    private final class Reference {
+        private final Identifier[] identifiers = new Identifier[MAX_PARTS];
+        private final boolean[] quoted = new boolean[MAX_PARTS];
+        private final int[] starts = new int[MAX_PARTS];
+        private final int[] ends = new int[MAX_PARTS];
+        private int parts;
+
+        private int read(String sql, int pos) {
+            parts = 0;
+            int length = sql.length();
+            while (true) {
+                String closing = closingQuote(sql, pos);
+                Node node = root;
+                int start;
+                int end;
+                if (Objects.nonNull(closing)) {
+                    pos += closing.equals("]") ? 1 : closing.length();
+                    start = pos;
+                    while (pos < length) {
+                        if (sql.startsWith(closing, pos)) {
+                            if (closing.equals("]") || !sql.startsWith(closing, pos + closing.length())) {
+                                break;
+                            }
+                            // a doubled quote is part of the name
+                            for (int i = 0; i < closing.length(); i++) {
+                                node = step(node, closing.charAt(i));
+                            }
+                            pos += 2 * closing.length();
+                            continue;
+                        }
+                        node = step(node, sql.charAt(pos));
+                        pos++;
                     }
+                    end = pos;
+                    pos = Math.min(length, pos + closing.length());
+                } else {
+                    start = pos;
+                    while (pos < length && isIdentifierPart(sql.charAt(pos))) {
+                        node = step(node, sql.charAt(pos));
+                        pos++;
+                    }
+                    end = pos;
+                }
+                if (parts == MAX_PARTS) {
+                    System.arraycopy(identifiers, 1, identifiers, 0, MAX_PARTS - 1);
+                    System.arraycopy(quoted, 1, quoted, 0, MAX_PARTS - 1);
+                    System.arraycopy(starts, 1, starts, 0, MAX_PARTS - 1);
+                    System.arraycopy(ends, 1, ends, 0, MAX_PARTS - 1);
+                    parts--;
                 }
+                identifiers[parts] = Objects.isNull(node) ? null : node.identifier;
+                quoted[parts] = Objects.nonNull(closing);
+                starts[parts] = start;
+                ends[parts] = end;
+                parts++;
+                if (pos + 1 < length && sql.charAt(pos) == '.'
+                    && (isIdentifierStart(sql.charAt(pos + 1)) || Objects.nonNull(closingQuote(sql, pos + 1)))) {
+                    pos++;
+                } else {
+                    return pos;
+                }
+            }
+        }
 
-                if (t != null) {
-                    referenced.add(t);
+        /**
+         * The last part names the table or view, if it doesn't the part before it does and the last part is a column
+         */
+        private void resolve(String sql, Set<Table> referenced) {
+            for (int last = parts - 1; last >= Math.max(0, parts - 2); last--) {
+                if (resolve(sql, last, referenced)) {
+                    return;
                 }
             }
         }
 
-        return referenced;
+        private boolean resolve(String sql, int part, Set<Table> referenced) {
+            Identifier identifier = identifiers[part];
+            if (Objects.isNull(identifier)) {
+                return false;
+            }
+            if (!identifier.qualified.isEmpty()) {
+                referenced.addAll(identifier.qualified);
+                return true;
+            }
+            if (part == 0) {
+                if (parts == 1 && !quoted[0] && !identifier.named.isEmpty() && isKeyword(sql, starts[0], ends[0])) {
+                    return false;
+                }
+                referenced.addAll(identifier.named);
+                return !identifier.named.isEmpty();
+            }
+            Identifier container = identifiers[part - 1];
+            if (Objects.isNull(container)) {
+                return false;
+            }
+            boolean found = false;
+            for (Table table : identifier.named) {
+                if (container.name.equalsIgnoreCase(table.getContainer())) {
+                    referenced.add(table);
+                    found = true;
+                }
+            }
+            return found;
+        }
     }
 
     /**
-     * Returns a {@link Map} of the specified tables/views
-     * keyed by several possible ways to refer to the table.
-     *
-     * @param tables
-     * @return
+     * Tables and views known by a name
      */
-    private static Map<String, Table> getTableMap(Collection<? extends Table> tables) {
-        Map<String, Table> map = new CaseInsensitiveMap<>();
-        for (Table t : tables) {
-            String name = t.getName();
-            String container = t.getContainer();
-
-            map.put(name, t);
-            //Table name quoted
-            quoters.forEach( f -> map.put(f.apply(name), t));
-            //With container and name quoted
-            quoters.forEach(f -> map.put(container + "." + f.apply(name), t));
-            //Container qouted and name quoted
-            quoters.forEach(f -> map.put(f.apply(container) + "." + f.apply(name), t));
-            //Container and name in quotes
-            quoters.forEach(f -> map.put(f.apply(container + "." + name), t));
+    private static final class Identifier {
+        private final String name;
+        private final List<Table> named = new ArrayList<>(1);
+        private final List<Table> qualified = new ArrayList<>(1);
+
+        private Identifier(String name) {
+            this.name = name;
         }
+    }
+
+    private static final class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private Identifier identifier;
 
-        return map;
+        private Node child(char key) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == key) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private Node add(char key) {
+            Node child = child(key);
+            if (Objects.isNull(child)) {
+                child = new Node();
+                int size = keys.length;
+                keys = Arrays.copyOf(keys, size + 1);
+                children = Arrays.copyOf(children, size + 1);
+                keys[size] = key;
+                children[size] = child;
+            }
+            return child;
+        }
     }
 }
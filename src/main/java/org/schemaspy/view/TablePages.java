@@ -0,0 +1,139 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.view;
+
+import org.schemaspy.model.ProgressListener;
+import org.schemaspy.model.Table;
+import org.schemaspy.output.html.mustache.diagrams.MustacheTableDiagramFactory;
+import org.schemaspy.util.ChangedFileWriter;
+import org.schemaspy.util.DefaultPrintWriter;
+import org.schemaspy.util.naming.NameFromString;
+import org.schemaspy.util.naming.SanitizedFileName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Writer;
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Writes the diagrams and the page of every table and view.
+ * <p>
+ * Tables don't depend on each other's output so with more than one thread
+ * the dot, diagrams and page of different tables are produced concurrently,
+ * every table is still handled start to end by a single thread.
+ */
+public class TablePages {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private final MustacheTableDiagramFactory diagramFactory;
+    private final HtmlTablePage htmlTablePage;
+    private final File tablesDir;
+    private final boolean incremental;
+    private final ProgressListener progressListener;
+    private final int threads;
+
+    public TablePages(
+        MustacheTableDiagramFactory diagramFactory,
+        HtmlTablePage htmlTablePage,
+        File outputDir,
+        boolean incremental,
+        ProgressListener progressListener,
+        int threads
+    ) {
+        this.diagramFactory = diagramFactory;
+        this.htmlTablePage = htmlTablePage;
+        this.tablesDir = new File(outputDir, "tables");
+        this.incremental = incremental;
+        this.progressListener = progressListener;
+        this.threads = threads;
+    }
+
+    /**
+     * Write diagrams and pages of <code>tables</code>, the first failure is rethrown
+     * and stops tables that haven't been started yet
+     */
+    public void write(Collection<Table> tables) throws IOException {
+        if (threads <= 1 || tables.size() <= 1) {
+            for (Table table : tables) {
+                write(table);
+            }
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, tables.size()), new PageThreadFactory());
+        try {
+            List<Future<Void>> pending = new ArrayList<>(tables.size());
+            for (Table table : tables) {
+                pending.add(executor.submit(() -> {
+                    write(table);
+                    return null;
+                }));
+            }
+            for (Future<Void> future : pending) {
+                future.get();
+            }
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while writing table pages");
+        } catch (ExecutionException exc) {
+            Throwable cause = exc.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void write(Table table) throws IOException {
+        List<MustacheTableDiagram> mustacheTableDiagrams = diagramFactory.generateTableDiagrams(table);
+        LOGGER.debug("Writing details of {}", table.getName());
+        File tablePage = new File(tablesDir, new SanitizedFileName(new NameFromString(table.getName())).value() + ".html");
+        try (Writer writer = incremental ? new ChangedFileWriter(tablePage) : new DefaultPrintWriter(tablePage)) {
+            htmlTablePage.write(table, mustacheTableDiagrams, writer);
+            progressListener.createdTablePage(table);
+        }
+    }
+
+    private static class PageThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "schemaspy-page-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -114,4 +114,5 @@ $(document).ready(function() {
 
     //schemaSpy.js
     dataTableExportButtons(table);
+    loadDataFiles(config.dataFiles, table);
 } );
@@ -9,6 +9,11 @@ $(document).ready(function() {
         processing: true,
         order: [[ 0, "asc" ]]
     }
-    $('#fk_table').DataTable(options);
+    if (config.dataFiles) {
+        var fkTable = $('#fk_table').DataTable($.extend({}, options, { deferRender: true, data: [] }));
+        loadDataFiles(config.dataFiles, fkTable);
+    } else {
+        $('#fk_table').DataTable(options);
+    }
     $('#check_table').DataTable(options);
 } );
@@ -15,7 +15,7 @@ $.fn.dataTable.ext.search.push(
 
 $(document).ready(function() {
 	var activeObject;
-    var table = $('#database_objects').DataTable( {
+    var options = {
         lengthChange: false,
         paging: config.pagination,
         pageLength: 50,
@@ -62,9 +62,34 @@ $(document).ready(function() {
 						}
 					]
 
-    } );
+    };
+    if (config.dataFiles) {
+        // rows are loaded from data files, cells get the attributes of the rows written into the page
+        options.deferRender = true;
+        options.data = [];
+        options.createdRow = function(row) {
+            $(row).addClass('tbl even').attr('valign', 'top');
+        };
+        options.columnDefs = [
+            {
+                targets: -1,
+                className: 'comment detail'
+            },
+            {
+                targets: '_all',
+                className: 'detail',
+                createdCell: function(td, cellData, rowData, row, col) {
+                    if (col > 0 && col < rowData.length - 1) {
+                        $(td).attr('align', 'right');
+                    }
+                }
+            }
+        ];
+    }
+    var table = $('#database_objects').DataTable(options);
 
     //schemaSpy.js
     dataTableExportButtons(table);
+    loadDataFiles(config.dataFiles, table);
 
 } );
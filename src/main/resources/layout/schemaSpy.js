@@ -42,4 +42,31 @@ function dataTableExportButtons(table) {
     table.buttons( 'exports', null ).container().appendTo( '#' + table.table().container().id + ' #button_group_two' );
 }
 
- 
\ No newline at end of file
+ 
+
+var schemaSpyDataTables = {};
+
+/**
+ * Load the data files of a listing page one after the other, adding their rows to table
+ */
+function loadDataFiles(dataFiles, table) {
+    if (!dataFiles) {
+        return;
+    }
+    schemaSpyDataTables[dataFiles.name] = table;
+    var next = 0;
+    var loadNext = function() {
+        if (next >= dataFiles.files) {
+            return;
+        }
+        var script = document.createElement('script');
+        script.src = 'data/' + dataFiles.name + '.' + next++ + '.js';
+        script.onload = loadNext;
+        document.body.appendChild(script);
+    };
+    loadNext();
+}
+
+function schemaSpyDataFile(name, rows) {
+    schemaSpyDataTables[name].rows.add(rows).draw(false);
+}
\ No newline at end of file
@@ -29,6 +29,7 @@ import org.schemaspy.model.RemoteTable;
 import org.schemaspy.model.Table;
 import org.schemaspy.model.TableColumn;
 
+import static java.sql.DatabaseMetaData.importedKeyNoAction;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -75,6 +76,159 @@ class InsertionOrderedTest {
         assertThat(orderedByInsert).containsExactly(child, complexRecursion1, complexRecursion2, recursion, parent, unattached);
     }
 
+    @Test
+    void relationshipsAreLeftIntact() {
+        Database database = mockDatabase("database");
+        Table parent = createParent(database);
+        Table child = createChild(database);
+        parent.getForeignKeysMap().put("cid_fk", new ForeignKeyConstraint(child.getColumnsMap().get("cid"), parent.getColumnsMap().get("cid")));
+        Table recursion = createRecursion(database);
+        Table remote = new RemoteTable(database, CATALOG, SCHEMA, "remote", "baseContainer");
+        TableColumn remoteId = new TableColumn(remote);
+        remoteId.setName("rid");
+        addColumnToTable(remoteId, remote);
+        new ForeignKeyConstraint(remoteId, child.getColumnsMap().get("cid"));
+
+        List<Table> tables = List.of(parent, child, recursion, remote);
+        new InsertionOrdered(tables).getTablesOrderedByRI();
+
+        assertThat(parent.getNumParents()).isEqualTo(1);
+        assertThat(child.getNumChildren()).isEqualTo(1);
+        assertThat(child.getNumParents()).isEqualTo(1);
+        assertThat(recursion.getNumParents()).isEqualTo(2);
+        assertThat(recursion.getNumChildren()).isEqualTo(2);
+        assertThat(remote.getNumChildren()).isEqualTo(1);
+    }
+
+    @Test
+    void cycleIsBrokenAndSurroundingTablesOrdered() {
+        Database database = mockDatabase("database");
+        Table root = createIdTable(database, "root");
+        Table cycle1 = createIdTable(database, "cycle1");
+        Table cycle2 = createIdTable(database, "cycle2");
+        Table cycle3 = createIdTable(database, "cycle3");
+        Table leaf = createIdTable(database, "leaf");
+        reference(cycle1, root);
+        reference(cycle2, cycle1);
+        reference(cycle3, cycle2);
+        reference(cycle1, cycle3);
+        reference(leaf, cycle3);
+
+        List<Table> orderedByInsert = new InsertionOrdered(List.of(leaf, cycle3, cycle2, cycle1, root)).getTablesOrderedByRI();
+
+        assertThat(orderedByInsert).hasSize(5);
+        assertThat(orderedByInsert.get(0)).isEqualTo(root);
+        assertThat(orderedByInsert.get(4)).isEqualTo(leaf);
+        assertThat(orderedByInsert.subList(1, 4)).containsExactlyInAnyOrder(cycle1, cycle2, cycle3);
+    }
+
+    @Test
+    void longCycleIsOrdered() {
+        Database database = mockDatabase("database");
+        List<Table> tables = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            tables.add(createIdTable(database, "table" + i));
+        }
+        for (int i = 1; i < tables.size(); i++) {
+            reference(tables.get(i), tables.get(i - 1));
+        }
+        reference(tables.get(0), tables.get(tables.size() - 1));
+
+        List<Table> orderedByInsert = new InsertionOrdered(tables).getTablesOrderedByRI();
+
+        assertThat(orderedByInsert).hasSize(tables.size()).containsExactlyInAnyOrderElementsOf(tables);
+    }
+
+    @Test
+    void denseCycleIsBrokenAndSurroundingTablesOrdered() {
+        Database database = mockDatabase("database");
+        Table root = createIdTable(database, "root");
+        Table leaf = createIdTable(database, "leaf");
+        List<Table> cycle = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            cycle.add(createIdTable(database, "dense" + i));
+        }
+        for (Table child : cycle) {
+            for (Table parent : cycle) {
+                if (child != parent) {
+                    reference(child, parent);
+                }
+            }
+        }
+        reference(cycle.get(0), root);
+        reference(leaf, cycle.get(cycle.size() - 1));
+        List<Table> tables = new ArrayList<>(cycle);
+        tables.add(leaf);
+        tables.add(root);
+
+        List<Table> orderedByInsert = new InsertionOrdered(tables).getTablesOrderedByRI();
+
+        assertThat(orderedByInsert).hasSize(tables.size());
+        assertThat(orderedByInsert.get(0)).isEqualTo(root);
+        assertThat(orderedByInsert.get(orderedByInsert.size() - 1)).isEqualTo(leaf);
+        assertThat(orderedByInsert.subList(1, orderedByInsert.size() - 1)).containsExactlyInAnyOrderElementsOf(cycle);
+    }
+
+    @Test
+    void compositeKeyCycleIsBrokenByRemovingTheWholeConstraint() {
+        Database database = mockDatabase("database");
+        Table orders = createCompositeKeyTable(database, "orders");
+        Table shipments = createCompositeKeyTable(database, "shipments");
+        referenceComposite(orders, shipments);
+        referenceComposite(shipments, orders);
+
+        List<Table> orderedByInsert = new InsertionOrdered(List.of(shipments, orders)).getTablesOrderedByRI();
+
+        // orders wins the tie on name, both columns of its foreign key are removed to make it a root
+        assertThat(orderedByInsert).containsExactly(orders, shipments);
+        assertThat(orders.getNumParents()).isEqualTo(2);
+        assertThat(shipments.getNumParents()).isEqualTo(2);
+    }
+
+    private Table createCompositeKeyTable(Database database, String name) {
+        Table table = new LogicalTable(database, CATALOG, SCHEMA, name, name);
+        for (String columnName : List.of("id1", "id2", "parent_id1", "parent_id2")) {
+            TableColumn column = new TableColumn(table);
+            column.setName(columnName);
+            addColumnToTable(column, table);
+        }
+        return table;
+    }
+
+    private void referenceComposite(Table child, Table parent) {
+        ForeignKeyConstraint constraint = new ForeignKeyConstraint(child, child.getName() + "_fk", importedKeyNoAction, importedKeyNoAction);
+        for (int i = 1; i <= 2; i++) {
+            TableColumn childColumn = child.getColumnsMap().get("parent_id" + i);
+            TableColumn parentColumn = parent.getColumnsMap().get("id" + i);
+            constraint.addChildColumn(childColumn);
+            constraint.addParentColumn(parentColumn);
+            childColumn.addParent(parentColumn, constraint);
+            parentColumn.addChild(childColumn, constraint);
+        }
+        child.getForeignKeysMap().put(constraint.getName(), constraint);
+    }
+
+    private Table createIdTable(Database database, String name) {
+        Table table = new LogicalTable(database, CATALOG, SCHEMA, name, name);
+        TableColumn id = new TableColumn(table);
+        id.setName("id");
+        addColumnToTable(id, table);
+        TableColumn parentId = new TableColumn(table);
+        parentId.setName("parent_id");
+        addColumnToTable(parentId, table);
+        return table;
+    }
+
+    private void reference(Table child, Table parent) {
+        TableColumn childColumn = child.getColumnsMap().get("parent_id");
+        if (!childColumn.getParents().isEmpty()) {
+            childColumn = new TableColumn(child);
+            childColumn.setName("parent_id" + child.getColumns().size());
+            addColumnToTable(childColumn, child);
+        }
+        child.getForeignKeysMap().put(childColumn.getName() + "_fk", new ForeignKeyConstraint(parent.getColumnsMap().get("id"), childColumn));
+    }
+
     private Table createParent(Database database) {
         Table parent = new LogicalTable(database, CATALOG, SCHEMA, "parent", "parent");
         TableColumn pid = new TableColumn(parent);
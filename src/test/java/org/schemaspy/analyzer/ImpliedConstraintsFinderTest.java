@@ -82,6 +82,70 @@ class ImpliedConstraintsFinderTest {
         assertThat(impliedForeignKeyConstraintList).containsExactlyInAnyOrder(obscureId);
     }
 
+    @Test
+    void columnMatchingSeveralPrimaryKeysIsNotImplied() {
+        Table owner = table("Owner", "Id");
+        Table pet = table("Pet", "Id", "owner_ID");
+
+        List<ImpliedForeignKeyConstraint> implied = new ImpliedConstraintsFinder().find(List.of(owner, pet));
+
+        assertThat(implied).isEmpty();
+    }
+
+    @Test
+    void columnMatchingOnlyOnePrimaryKey() {
+        Table owner = table("Owner", "OwnerKey");
+        Table pet = table("Pet", "PetKey", "Owner_OwnerKey", "OwnerFirstOwnerKey");
+
+        List<ImpliedForeignKeyConstraint> implied = new ImpliedConstraintsFinder().find(List.of(owner, pet));
+
+        assertThat(implied).containsExactly(
+            new ImpliedForeignKeyConstraint(owner.getColumn("OwnerKey"), pet.getColumn("OwnerFirstOwnerKey")),
+            new ImpliedForeignKeyConstraint(owner.getColumn("OwnerKey"), pet.getColumn("Owner_OwnerKey"))
+        );
+    }
+
+    @Test
+    void manyColumnsInColumnOrder() {
+        Table parent = table("Parent", "ParentKey");
+        List<Table> tables = new ArrayList<>();
+        tables.add(parent);
+        for (int i = 0; i < 1500; i++) {
+            tables.add(table(String.format("Child%04d", i), null, "Parent_ParentKey"));
+        }
+
+        List<ImpliedForeignKeyConstraint> implied = new ImpliedConstraintsFinder().find(tables);
+
+        assertThat(implied).hasSize(1500);
+        for (int i = 0; i < 1500; i++) {
+            assertThat(implied.get(i).getChildTable().getName()).isEqualTo(String.format("Child%04d", i));
+            assertThat(implied.get(i).getParentTable()).isSameAs(parent);
+        }
+    }
+
+    private Table table(String name, String primaryKey, String... columnNames) {
+        Table table = new Table(database, catalog, schema, name, null);
+        CaseInsensitiveMap<TableColumn> columns = new CaseInsensitiveMap<>();
+        List<String> names = new ArrayList<>();
+        if (primaryKey != null) {
+            names.add(primaryKey);
+        }
+        names.addAll(List.of(columnNames));
+        for (String columnName : names) {
+            TableColumn column = new TableColumn(table);
+            column.setName(columnName);
+            column.setTypeName("int");
+            column.setType(4);
+            column.setLength(10);
+            columns.put(columnName, column);
+        }
+        table.setColumns(columns);
+        if (primaryKey != null) {
+            table.setPrimaryColumn(columns.get(primaryKey));
+        }
+        return table;
+    }
+
     private Table createAlbumTable() {
         Table table = new Table(database, catalog, schema, "ALbum", "This is comment for database on PostgresSQL [Invoice] link is also working");
         TableColumn column1 = new TableColumn(table);
@@ -56,6 +56,74 @@ class CommandLineArgumentsTest {
             .containsExactlyInAnyOrder("a 1", "a 2");
     }
 
+    @Test
+    void incremental() {
+        assertThat(
+            parse("--incremental")
+                .isIncremental()
+        )
+            .isTrue();
+    }
+
+    @Test
+    void incrementalDefault() {
+        assertThat(
+            parse()
+                .isIncremental()
+        )
+            .isFalse();
+    }
+
+    @Test
+    void renderThreads() {
+        assertThat(
+            parse("--render-threads", "3")
+                .getRenderThreads()
+        )
+            .isEqualTo(3);
+    }
+
+    @Test
+    void renderThreadsDefaultsToAvailableProcessors() {
+        assertThat(
+            parse()
+                .getRenderThreads()
+        )
+            .isEqualTo(Runtime.getRuntime().availableProcessors());
+    }
+
+    @Test
+    void schemaThreads() {
+        assertThat(
+            parse("--schema-threads", "4")
+                .getSchemaThreads()
+        )
+            .isEqualTo(4);
+    }
+
+    @Test
+    void schemaThreadsDefaultsToOne() {
+        assertThat(
+            parse()
+                .getSchemaThreads()
+        )
+            .isEqualTo(1);
+    }
+
+    @Test
+    void metricsAreDisabledByDefault() {
+        CommandLineArguments arguments = parse();
+        assertThat(arguments.isMetricsEnabled()).isFalse();
+        assertThat(arguments.isMetricsJmxEnabled()).isFalse();
+    }
+
+    @Test
+    void metricsJmxImpliesMetrics() {
+        CommandLineArguments arguments = parse("--metrics-jmx");
+        assertThat(arguments.isMetricsEnabled()).isTrue();
+        assertThat(arguments.isMetricsJmxEnabled()).isTrue();
+    }
+
     private CommandLineArguments parse(String...args) {
         return parse(optionName -> null, args);
     }
@@ -66,6 +66,40 @@ class ProcessingConfigCliTest {
             .isTrue();
     }
 
+    @Test
+    void rowCountDefaults() {
+        ProcessingConfig processingConfig = parse();
+        assertThat(processingConfig.getRowCountThreads()).isEqualTo(2);
+        assertThat(processingConfig.getRowCountTimeout()).isZero();
+        assertThat(processingConfig.getRowCountBudget()).isZero();
+    }
+
+    @Test
+    void rowCountLimits() {
+        ProcessingConfig processingConfig = parse("--row-count-threads", "0", "--row-count-timeout", "30", "--row-count-budget", "600");
+        assertThat(processingConfig.getRowCountThreads()).isZero();
+        assertThat(processingConfig.getRowCountTimeout()).isEqualTo(30);
+        assertThat(processingConfig.getRowCountBudget()).isEqualTo(600);
+    }
+
+    @Test
+    void timeoutDefaults() {
+        ProcessingConfig processingConfig = parse();
+        assertThat(processingConfig.getQueryTimeout()).isZero();
+        assertThat(processingConfig.getObjectTimeout()).isZero();
+        assertThat(processingConfig.getPhaseTimeout()).isZero();
+        assertThat(processingConfig.getObjectRetries()).isZero();
+    }
+
+    @Test
+    void timeoutLimits() {
+        ProcessingConfig processingConfig = parse("--query-timeout", "60", "--object-timeout", "120", "--phase-timeout", "1800", "--object-retries", "2");
+        assertThat(processingConfig.getQueryTimeout()).isEqualTo(60);
+        assertThat(processingConfig.getObjectTimeout()).isEqualTo(120);
+        assertThat(processingConfig.getPhaseTimeout()).isEqualTo(1800);
+        assertThat(processingConfig.getObjectRetries()).isEqualTo(2);
+    }
+
     @Test
     void isViewsEnabled() {
         assertThat(
@@ -194,6 +228,42 @@ class ProcessingConfigCliTest {
             .isEqualTo(expected);
     }
 
+    @Test
+    void isBulkMetadataEnabled() {
+        assertThat(
+            parse("--bulk-metadata")
+                .isBulkMetadataEnabled()
+        )
+            .isTrue();
+    }
+
+    @Test
+    void isBulkMetadataEnabledDefault() {
+        assertThat(
+            parse()
+                .isBulkMetadataEnabled()
+        )
+            .isFalse();
+    }
+
+    @Test
+    void isMetadataSnapshotEnabled() {
+        assertThat(
+            parse("--metadata-snapshot")
+                .isMetadataSnapshotEnabled()
+        )
+            .isTrue();
+    }
+
+    @Test
+    void isMetadataSnapshotEnabledDefault() {
+        assertThat(
+            parse()
+                .isMetadataSnapshotEnabled()
+        )
+            .isFalse();
+    }
+
     private ProcessingConfig parse(String...args) {
         return parse(new Properties(), args);
     }
@@ -25,6 +25,7 @@ import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.regex.Pattern;
 
@@ -32,6 +33,8 @@ import org.hamcrest.Matchers;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.InOrder;
+import org.schemaspy.input.dbms.service.helper.TableForeignKeys;
 import org.schemaspy.model.Database;
 import org.schemaspy.model.ProgressListener;
 import org.schemaspy.model.Table;
@@ -39,9 +42,12 @@ import org.schemaspy.testing.logback.Logback;
 import org.schemaspy.testing.logback.LogbackExtension;
 
 import static org.mockito.Mockito.any;
-import static org.mockito.Mockito.anyMap;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class DatabaseServiceTest {
@@ -67,11 +73,12 @@ class DatabaseServiceTest {
     void databaseServicePrintsInformationWhenConnectionTablesWillTakeMoreThan30MinutesAndExportedKeysIsEnabled() throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
         logback.expect(Matchers.containsString("Estimated time remaining"));
         SqlService sqlService = mock(SqlService.class);
+        when(sqlService.getWatchdog()).thenReturn(Watchdog.disabled());
         TableService tableService = mock(TableService.class);
         doAnswer(invocation -> {
             currentTime = currentTime.plus(31, ChronoUnit.MINUTES);
-            return null;
-        }).when(tableService).connectForeignKeys(any(),any(),anyMap());
+            return new TableForeignKeys();
+        }).when(tableService).fetchForeignKeys(any());
         ViewService viewService = mock(ViewService.class);
         RoutineService routineService = mock(RoutineService.class);
         SequenceService sequenceService = mock(SequenceService.class);
@@ -84,11 +91,13 @@ class DatabaseServiceTest {
                 1,
                 true,
                 true,
+                false,
                 new Properties(),
                 tableService,
                 viewService,
                 routineService,
-                sequenceService
+                sequenceService,
+                mock(RowCounter.class)
         );
         List<Table> tablesList = new ArrayList<>();
         tablesList.add(mock(Table.class));
@@ -98,10 +107,10 @@ class DatabaseServiceTest {
         tablesList.add(mock(Table.class));
         Database database = mock(Database.class);
         when(database.getTables()).thenReturn(tablesList);
-        Method connectTables = DatabaseService.class.getDeclaredMethod("connectTables", Database.class, ProgressListener.class);
+        Method connectTables = DatabaseService.class.getDeclaredMethod("connectTables", Database.class, ProgressListener.class, MetadataCache.class);
         connectTables.setAccessible(true);
 
-        connectTables.invoke(databaseService, database, progressListener);
+        connectTables.invoke(databaseService, database, progressListener, MetadataCache.disabled());
     }
 
     @Test
@@ -109,11 +118,12 @@ class DatabaseServiceTest {
     void databaseServiceDoesNotPrintInformationWhenConnectionTablesWillTakeMoreThan30MinutesAndExportedKeysIsDisabled() throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
         logback.expect(Matchers.not(Matchers.containsString("Estimated time remaining")));
         SqlService sqlService = mock(SqlService.class);
+        when(sqlService.getWatchdog()).thenReturn(Watchdog.disabled());
         TableService tableService = mock(TableService.class);
         doAnswer(invocation -> {
             currentTime = currentTime.plus(31, ChronoUnit.MINUTES);
-            return null;
-        }).when(tableService).connectForeignKeys(any(),any(),anyMap());
+            return new TableForeignKeys();
+        }).when(tableService).fetchForeignKeys(any());
         ViewService viewService = mock(ViewService.class);
         RoutineService routineService = mock(RoutineService.class);
         SequenceService sequenceService = mock(SequenceService.class);
@@ -126,11 +136,13 @@ class DatabaseServiceTest {
                 1,
                 false,
                 true,
+                false,
                 new Properties(),
                 tableService,
                 viewService,
                 routineService,
-                sequenceService
+                sequenceService,
+                mock(RowCounter.class)
         );
         List<Table> tablesList = new ArrayList<>();
         tablesList.add(mock(Table.class));
@@ -140,10 +152,10 @@ class DatabaseServiceTest {
         tablesList.add(mock(Table.class));
         Database database = mock(Database.class);
         when(database.getTables()).thenReturn(tablesList);
-        Method connectTables = DatabaseService.class.getDeclaredMethod("connectTables", Database.class, ProgressListener.class);
+        Method connectTables = DatabaseService.class.getDeclaredMethod("connectTables", Database.class, ProgressListener.class, MetadataCache.class);
         connectTables.setAccessible(true);
 
-        connectTables.invoke(databaseService, database, progressListener);
+        connectTables.invoke(databaseService, database, progressListener, MetadataCache.disabled());
     }
 
     @Test
@@ -151,11 +163,12 @@ class DatabaseServiceTest {
     void databaseServiceDoesNotPrintInformationWhenConnectionTablesWillTakeLessThan30Minutes() throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
         logback.expect(Matchers.not(Matchers.containsString("Estimated time remaining")));
         SqlService sqlService = mock(SqlService.class);
+        when(sqlService.getWatchdog()).thenReturn(Watchdog.disabled());
         TableService tableService = mock(TableService.class);
         doAnswer(invocation -> {
             currentTime = currentTime.plus(1, ChronoUnit.MINUTES);
-            return null;
-        }).when(tableService).connectForeignKeys(any(),any(),anyMap());
+            return new TableForeignKeys();
+        }).when(tableService).fetchForeignKeys(any());
         ViewService viewService = mock(ViewService.class);
         RoutineService routineService = mock(RoutineService.class);
         SequenceService sequenceService = mock(SequenceService.class);
@@ -168,11 +181,13 @@ class DatabaseServiceTest {
                 1,
                 true,
                 true,
+                false,
                 new Properties(),
                 tableService,
                 viewService,
                 routineService,
-                sequenceService
+                sequenceService,
+                mock(RowCounter.class)
         );
         List<Table> tablesList = new ArrayList<>();
         tablesList.add(mock(Table.class));
@@ -182,10 +197,93 @@ class DatabaseServiceTest {
         tablesList.add(mock(Table.class));
         Database database = mock(Database.class);
         when(database.getTables()).thenReturn(tablesList);
-        Method connectTables = DatabaseService.class.getDeclaredMethod("connectTables", Database.class, ProgressListener.class);
+        Method connectTables = DatabaseService.class.getDeclaredMethod("connectTables", Database.class, ProgressListener.class, MetadataCache.class);
         connectTables.setAccessible(true);
 
-        connectTables.invoke(databaseService, database, progressListener);
+        connectTables.invoke(databaseService, database, progressListener, MetadataCache.disabled());
     }
 
-}
\ No newline at end of file
+    @Test
+    void connectTablesInParallelConnectsInTableOrder() throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
+        SqlService sqlService = mock(SqlService.class);
+        when(sqlService.getWatchdog()).thenReturn(Watchdog.disabled());
+        when(sqlService.workerPool(4)).thenReturn(new WorkerPool(new SqlService(), null, 4));
+        TableService tableService = mock(TableService.class);
+        when(tableService.fetchForeignKeys(any())).thenAnswer(invocation -> new TableForeignKeys());
+        DatabaseService databaseService = new DatabaseService(
+                clock,
+                sqlService,
+                true,
+                DEFAULT_TABLE_INCLUSION,
+                DEFAULT_TABLE_EXCLUSION,
+                4,
+                true,
+                true,
+                false,
+                new Properties(),
+                tableService,
+                mock(ViewService.class),
+                mock(RoutineService.class),
+                mock(SequenceService.class),
+                mock(RowCounter.class)
+        );
+        List<Table> tablesList = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            tablesList.add(mock(Table.class));
+        }
+        Database database = mock(Database.class);
+        when(database.getTables()).thenReturn(tablesList);
+        Method connectTables = DatabaseService.class.getDeclaredMethod("connectTables", Database.class, ProgressListener.class, MetadataCache.class);
+        connectTables.setAccessible(true);
+
+        connectTables.invoke(databaseService, database, progressListener, MetadataCache.disabled());
+
+        InOrder inOrder = inOrder(tableService);
+        for (Table table : tablesList) {
+            verify(tableService).fetchForeignKeys(table);
+            inOrder.verify(tableService).connectForeignKeys(eq(database), eq(table), any(TableForeignKeys.class), any());
+        }
+    }
+
+    @Test
+    void connectTablesUsesImportedKeysFetchedForAllTables() throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
+        TableService tableService = mock(TableService.class);
+        SqlService sqlService = mock(SqlService.class);
+        when(sqlService.getWatchdog()).thenReturn(Watchdog.disabled());
+        DatabaseService databaseService = new DatabaseService(
+                clock,
+                sqlService,
+                true,
+                DEFAULT_TABLE_INCLUSION,
+                DEFAULT_TABLE_EXCLUSION,
+                1,
+                true,
+                true,
+                true,
+                new Properties(),
+                tableService,
+                mock(ViewService.class),
+                mock(RoutineService.class),
+                mock(SequenceService.class),
+                mock(RowCounter.class)
+        );
+        Table table = mock(Table.class);
+        Table notFetched = mock(Table.class);
+        Database database = mock(Database.class);
+        when(database.getTables()).thenReturn(List.of(table, notFetched));
+        TableForeignKeys importedKeys = new TableForeignKeys();
+        when(tableService.fetchImportedKeys(eq(database), eq(List.of(table, notFetched)), eq(true))).thenReturn(Map.of(table, importedKeys));
+        when(tableService.fetchExportedKeys(table, importedKeys)).thenReturn(importedKeys);
+        TableForeignKeys perTable = new TableForeignKeys();
+        when(tableService.fetchForeignKeys(notFetched)).thenReturn(perTable);
+        Method connectTables = DatabaseService.class.getDeclaredMethod("connectTables", Database.class, ProgressListener.class, MetadataCache.class);
+        connectTables.setAccessible(true);
+
+        connectTables.invoke(databaseService, database, progressListener, MetadataCache.disabled());
+
+        verify(tableService, never()).fetchForeignKeys(table);
+        InOrder inOrder = inOrder(tableService);
+        inOrder.verify(tableService).connectForeignKeys(eq(database), eq(table), eq(importedKeys), any());
+        inOrder.verify(tableService).connectForeignKeys(eq(database), eq(notFetched), eq(perTable), any());
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.input.dbms.service;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QuarantineReportTest {
+
+    @TempDir
+    Path outputDir;
+
+    @Test
+    void writesQuarantinedObjects() throws IOException {
+        Quarantine quarantine = new Quarantine();
+        quarantine.add(new Quarantine.Entry("public.slow", "collecting tables", "exceeded 30 seconds", 30012));
+
+        new QuarantineReport(quarantine, outputDir.toFile()).write();
+
+        JSONArray quarantined = new JSONObject(Files.readString(outputDir.resolve(QuarantineReport.FILE_NAME)))
+            .getJSONArray("quarantined");
+        assertThat(quarantined.length()).isEqualTo(1);
+        JSONObject entry = quarantined.getJSONObject(0);
+        assertThat(entry.getString("object")).isEqualTo("public.slow");
+        assertThat(entry.getString("phase")).isEqualTo("collecting tables");
+        assertThat(entry.getString("reason")).isEqualTo("exceeded 30 seconds");
+        assertThat(entry.getLong("elapsedMillis")).isEqualTo(30012);
+    }
+
+    @Test
+    void removesReportOfPreviousRunWhenNothingIsQuarantined() throws IOException {
+        Path report = Files.writeString(outputDir.resolve(QuarantineReport.FILE_NAME), "{}");
+
+        new QuarantineReport(new Quarantine(), outputDir.toFile()).write();
+
+        assertThat(report).doesNotExist();
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.input.dbms.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.schemaspy.connection.SqlConnection;
+import org.schemaspy.metrics.Metrics;
+import org.schemaspy.model.Database;
+import org.schemaspy.model.DbmsMeta;
+import org.schemaspy.model.Table;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RowCounterTest {
+
+    private static final String ESTIMATES_SQL = "select table_name, row_count from statistics";
+
+    private Instant currentTime = Instant.now();
+    private final Clock clock = mock(Clock.class);
+    private final SqlService sqlService = mock(SqlService.class);
+    private final TableService tableService = mock(TableService.class);
+    private Database database;
+
+    @BeforeEach
+    void setup() {
+        when(clock.instant()).thenAnswer(invocation -> currentTime);
+        when(sqlService.getMetrics()).thenReturn(Metrics.disabled());
+        database = new Database(mock(DbmsMeta.class), "rowCounterTest", "catalog", "schema");
+    }
+
+    @Test
+    void onlyTablesWithoutEstimateAreCounted() throws SQLException {
+        Table estimated = table("estimated");
+        Table counted = table("counted");
+        Table known = table("known");
+        known.setNumRows(7);
+        estimates("ESTIMATED", 1000);
+        when(tableService.fetchNumRows(database, counted, 0)).thenReturn(42L);
+
+        rowCounter(0, 0, 0).start(database).join();
+
+        assertThat(estimated.getNumRows()).isEqualTo(1000);
+        assertThat(estimated.isNumRowsEstimated()).isTrue();
+        assertThat(counted.getNumRows()).isEqualTo(42);
+        assertThat(counted.isNumRowsEstimated()).isFalse();
+        assertThat(known.getNumRows()).isEqualTo(7);
+        verify(tableService, never()).fetchNumRows(eq(database), eq(estimated), anyInt());
+        verify(tableService, never()).fetchNumRows(eq(database), eq(known), anyInt());
+    }
+
+    @Test
+    void failingEstimatesCountAllTables() throws SQLException {
+        Table table = table("table");
+        when(sqlService.prepareStatement(ESTIMATES_SQL, database, null)).thenThrow(new SQLException("no statistics"));
+        when(tableService.fetchNumRows(database, table, 0)).thenReturn(3L);
+
+        rowCounter(0, 0, 0).start(database).join();
+
+        assertThat(table.getNumRows()).isEqualTo(3);
+        assertThat(table.isNumRowsEstimated()).isFalse();
+    }
+
+    @Test
+    void queryTimeoutIsLimitedByRemainingBudget() throws SQLException {
+        Table table = table("table");
+        estimates();
+
+        RowCounter.Counting counting = rowCounter(0, 60, 10).start(database);
+        currentTime = currentTime.plus(Duration.ofSeconds(7));
+        counting.join();
+
+        verify(tableService).fetchNumRows(database, table, 3);
+    }
+
+    @Test
+    void tablesAreNotCountedOnceBudgetIsSpent() throws SQLException {
+        Table table = table("table");
+        estimates();
+
+        RowCounter.Counting counting = rowCounter(0, 0, 10).start(database);
+        currentTime = currentTime.plus(Duration.ofSeconds(10));
+        counting.join();
+
+        assertThat(table.getNumRows()).isEqualTo(-1);
+        verify(tableService, never()).fetchNumRows(any(), any(), anyInt());
+    }
+
+    @Test
+    void tablesAreCountedOnWorkersWithTheirOwnConnection() throws IOException, SQLException {
+        SqlConnection sqlConnection = mock(SqlConnection.class);
+        when(sqlConnection.connection()).thenAnswer(invocation -> connection());
+        SqlService connected = new SqlService();
+        connected.connect(sqlConnection);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        when(tableService.fetchNumRows(any(), any(), anyInt())).thenAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            return 5L;
+        });
+        for (int i = 0; i < 10; i++) {
+            table("table" + i);
+        }
+
+        try (RowCounter.Counting counting = new RowCounter(clock, connected, tableService, new Properties(), 2, 0, 0).start(database)) {
+            counting.join();
+        }
+
+        assertThat(database.getTables()).allMatch(table -> table.getNumRows() == 5);
+        assertThat(threads).isNotEmpty().allMatch(name -> name.startsWith("schemaspy-db-"));
+    }
+
+    @Test
+    void tablesAreCountedOnCallingThreadWhenWorkersCantConnect() throws IOException, SQLException {
+        Connection main = connection();
+        SqlConnection sqlConnection = mock(SqlConnection.class);
+        when(sqlConnection.connection()).thenReturn(main).thenThrow(new SQLException("Too many connections"));
+        SqlService connected = new SqlService();
+        connected.connect(sqlConnection);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        when(tableService.fetchNumRows(any(), any(), anyInt())).thenAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            return 5L;
+        });
+        for (int i = 0; i < 4; i++) {
+            table("table" + i);
+        }
+
+        new RowCounter(clock, connected, tableService, new Properties(), 2, 0, 0).start(database).join();
+
+        assertThat(database.getTables()).allMatch(table -> table.getNumRows() == 5);
+        assertThat(threads).containsExactly(Thread.currentThread().getName());
+    }
+
+    private RowCounter rowCounter(int threads, int queryTimeout, int budget) {
+        Properties properties = new Properties();
+        properties.setProperty("selectRowEstimatesSql", ESTIMATES_SQL);
+        return new RowCounter(clock, sqlService, tableService, properties, threads, queryTimeout, budget);
+    }
+
+    private Table table(String name) {
+        Table table = new Table(database, "catalog", "schema", name, null);
+        database.getTablesMap().put(name, table);
+        return table;
+    }
+
+    private void estimates() throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        estimates(resultSet);
+    }
+
+    private void estimates(String tableName, long rows) throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getString("table_name")).thenReturn(tableName);
+        when(resultSet.getLong("row_count")).thenReturn(rows);
+        estimates(resultSet);
+    }
+
+    private void estimates(ResultSet resultSet) throws SQLException {
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(sqlService.prepareStatement(ESTIMATES_SQL, database, null)).thenReturn(statement);
+    }
+
+    private static Connection connection() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(connection.getMetaData()).thenReturn(mock(DatabaseMetaData.class, Answers.RETURNS_MOCKS));
+        return connection;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.input.dbms.service;
+
+import org.junit.jupiter.api.Test;
+import org.schemaspy.model.Database;
+import org.schemaspy.model.Table;
+import org.schemaspy.util.CaseInsensitiveMap;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TableRowsTest {
+
+    private final Table table;
+    private final Map<String, Table> tables = new CaseInsensitiveMap<>();
+
+    TableRowsTest() {
+        Database database = mock(Database.class);
+        when(database.getName()).thenReturn("database");
+        table = new Table(database, "cat", "my_schema", "orders", null);
+        tables.put(table.getName(), table);
+    }
+
+    @Test
+    void rowOfSameNamedTableInOtherSchemaIsSkipped() throws SQLException {
+        ResultSet resultSet = resultSet("TABLE_CAT", "TABLE_SCHEM", "TABLE_NAME");
+        when(resultSet.getString("TABLE_NAME")).thenReturn("ORDERS");
+        when(resultSet.getString("TABLE_CAT")).thenReturn("cat");
+        when(resultSet.getString("TABLE_SCHEM")).thenReturn("my_schema", "myxschema");
+
+        TableRows rows = new TableRows(tables, resultSet);
+
+        assertThat(rows.table()).isSameAs(table);
+        assertThat(rows.table()).isNull();
+    }
+
+    @Test
+    void rowsWithoutSchemaAreLookedUpByName() throws SQLException {
+        ResultSet resultSet = resultSet("TABLE_NAME", "COLUMN_NAME");
+        when(resultSet.getString("TABLE_NAME")).thenReturn("orders", "other");
+
+        TableRows rows = new TableRows(tables, resultSet);
+
+        assertThat(rows.table()).isSameAs(table);
+        assertThat(rows.table()).isNull();
+    }
+
+    @Test
+    void unreportedCatalogMatches() throws SQLException {
+        ResultSet resultSet = resultSet("table_cat", "table_schem", "table_name");
+        when(resultSet.getString("TABLE_NAME")).thenReturn("orders");
+        when(resultSet.getString("TABLE_SCHEM")).thenReturn("my_schema");
+
+        assertThat(new TableRows(tables, resultSet).table()).isSameAs(table);
+    }
+
+    private static ResultSet resultSet(String... labels) throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(labels.length);
+        for (int i = 0; i < labels.length; i++) {
+            when(metaData.getColumnLabel(i + 1)).thenReturn(labels[i]);
+        }
+        return resultSet;
+    }
+}
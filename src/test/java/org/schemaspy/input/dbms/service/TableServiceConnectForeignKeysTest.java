@@ -26,11 +26,14 @@ import org.schemaspy.model.*;
 import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.Properties;
 import java.util.regex.Pattern;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class TableServiceConnectForeignKeysTest {
@@ -234,4 +237,44 @@ class TableServiceConnectForeignKeysTest {
         assertThat(child.getParents()).hasSize(1);
     }
 
-}
\ No newline at end of file
+    @Test
+    void emptyBulkImportedKeysAreTrustedWhenSupported() throws SQLException {
+        Properties dbProperties = new Properties();
+        dbProperties.setProperty("supportsBulkImportedKeys", "true");
+        TableService tableService = new TableService(
+                sqlService,
+                false,
+                false,
+                DEFAULT_TABLE_INCLUSION,
+                DEFAULT_TABLE_EXCLUSION,
+                dbProperties,
+                columnService,
+                indexService
+        );
+        ResultSet importKeysResultSet = mock(ResultSet.class);
+        DatabaseMetaData databaseMetaData = mock(DatabaseMetaData.class);
+        when(databaseMetaData.getImportedKeys("connectFK", "tst", null)).thenReturn(importKeysResultSet);
+        when(sqlService.getDatabaseMetaData()).thenReturn(databaseMetaData);
+
+        assertThat(tableService.fetchImportedKeys(database, List.of(table), true).get(table).getImportedKeys()).isEmpty();
+    }
+
+    @Test
+    void bulkImportedKeysAreNotFetchedWithoutSupport() throws SQLException {
+        TableService tableService = new TableService(
+                sqlService,
+                false,
+                false,
+                DEFAULT_TABLE_INCLUSION,
+                DEFAULT_TABLE_EXCLUSION,
+                new Properties(),
+                columnService,
+                indexService
+        );
+        DatabaseMetaData databaseMetaData = mock(DatabaseMetaData.class);
+        when(sqlService.getDatabaseMetaData()).thenReturn(databaseMetaData);
+
+        assertThat(tableService.fetchImportedKeys(database, List.of(table), true)).isEmpty();
+        verify(databaseMetaData, never()).getImportedKeys("connectFK", "tst", null);
+    }
+}
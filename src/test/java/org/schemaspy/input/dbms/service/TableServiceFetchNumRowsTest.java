@@ -0,0 +1,105 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.input.dbms.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.schemaspy.model.Database;
+import org.schemaspy.model.DbmsMeta;
+import org.schemaspy.model.Table;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.Properties;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TableServiceFetchNumRowsTest {
+
+    private static final Pattern DEFAULT_COLUMN_EXCLUSION = Pattern.compile("[^.]");
+    private static final Pattern DEFAULT_TABLE_INCLUSION = Pattern.compile(".*");
+    private static final Pattern DEFAULT_TABLE_EXCLUSION = Pattern.compile(".*\\$.*");
+
+    private final SqlService sqlService = mock(SqlService.class);
+    private final PreparedStatement statement = mock(PreparedStatement.class);
+
+    private final TableService tableService = new TableService(
+            sqlService,
+            false,
+            false,
+            DEFAULT_TABLE_INCLUSION,
+            DEFAULT_TABLE_EXCLUSION,
+            new Properties(),
+            new ColumnService(sqlService, DEFAULT_COLUMN_EXCLUSION, DEFAULT_COLUMN_EXCLUSION),
+            new IndexService(sqlService, new Properties())
+    );
+
+    private Database database;
+    private Table table;
+
+    @BeforeEach
+    void setup() throws SQLException {
+        database = new Database(mock(DbmsMeta.class), "fetchNumRowsTest", "catalog", "schema");
+        table = new Table(database, "catalog", "schema", "big", null);
+        when(sqlService.getQualifiedTableName(anyString(), anyString(), anyString(), anyBoolean())).thenReturn("schema.big");
+        when(sqlService.prepareStatement(anyString())).thenReturn(statement);
+    }
+
+    @Test
+    void countUsesQueryTimeout() throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getLong(1)).thenReturn(12L);
+        when(statement.executeQuery()).thenReturn(resultSet);
+
+        assertThat(tableService.fetchNumRows(database, table, 5)).isEqualTo(12);
+        verify(statement).setQueryTimeout(5);
+    }
+
+    @Test
+    void timedOutCountIsNotRetried() throws SQLException {
+        when(statement.executeQuery()).thenThrow(new SQLTimeoutException("cancelled"));
+
+        assertThat(tableService.fetchNumRows(database, table, 5)).isEqualTo(-1);
+        verify(sqlService, times(1)).prepareStatement(anyString());
+    }
+
+    @Test
+    void cancelledStateIsTimeout() throws SQLException {
+        when(statement.executeQuery()).thenThrow(new SQLException("canceling statement due to user request", "57014"));
+
+        assertThat(tableService.fetchNumRows(database, table, 5)).isEqualTo(-1);
+        verify(sqlService, times(1)).prepareStatement(anyString());
+    }
+
+    @Test
+    void otherFailuresAreRetried() throws SQLException {
+        when(statement.executeQuery()).thenThrow(new SQLException("no such table"));
+
+        assertThat(tableService.fetchNumRows(database, table, 5)).isEqualTo(-1);
+        verify(sqlService, times(4)).prepareStatement(anyString());
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.input.dbms.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLSyntaxErrorException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class WatchdogTest {
+
+    @Test
+    void guardAppliesQueryTimeout() throws SQLException {
+        Statement statement = mock(Statement.class);
+        try (Watchdog watchdog = new Watchdog(30, 0, 0, 0)) {
+            watchdog.guard(statement);
+        }
+        verify(statement).setQueryTimeout(30);
+    }
+
+    @Test
+    void disabledLeavesQueryTimeout() throws SQLException {
+        Statement statement = mock(Statement.class);
+        Watchdog.disabled().guard(statement);
+        verify(statement, never()).setQueryTimeout(anyInt());
+    }
+
+    @Test
+    void objectTimeoutCancelsStatementAndQuarantinesObject() throws SQLException {
+        Statement statement = mock(Statement.class);
+        Connection connection = mock(Connection.class);
+        CountDownLatch aborted = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            aborted.countDown();
+            return null;
+        }).when(connection).abort(any());
+
+        try (Watchdog watchdog = new Watchdog(0, 1, 0, 0)) {
+            boolean completed = watchdog.run("public.slow", "collecting tables", connection, () -> {
+                watchdog.guard(statement);
+                try {
+                    aborted.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            assertThat(completed).isFalse();
+            assertThat(watchdog.getQuarantine().contains("public.slow")).isTrue();
+            Quarantine.Entry entry = watchdog.getQuarantine().entries().get(0);
+            assertThat(entry.getPhase()).isEqualTo("collecting tables");
+            assertThat(entry.getReason()).isEqualTo("exceeded 1 seconds");
+            assertThat(entry.getElapsedMillis()).isGreaterThanOrEqualTo(900);
+        }
+        verify(statement).cancel();
+        verify(connection).abort(any());
+    }
+
+    @Test
+    void objectsAreSkippedWhenPhaseIsSpent() throws SQLException, InterruptedException {
+        AtomicBoolean ran = new AtomicBoolean();
+        try (Watchdog watchdog = new Watchdog(0, 0, 1, 0)) {
+            watchdog.startPhase("collecting views");
+            Thread.sleep(1100);
+
+            boolean completed = watchdog.run("public.late", "collecting views", null, () -> ran.set(true));
+
+            assertThat(completed).isFalse();
+            assertThat(ran).isFalse();
+            assertThat(watchdog.getQuarantine().entries().get(0).getReason())
+                .isEqualTo("time limit of 1 seconds for collecting views spent");
+        }
+    }
+
+    @Test
+    void transientFailureIsRetried() throws SQLException {
+        AtomicInteger attempts = new AtomicInteger();
+        try (Watchdog watchdog = new Watchdog(0, 0, 0, 1)) {
+            boolean completed = watchdog.run("public.flaky", "collecting tables", null, () -> {
+                if (attempts.incrementAndGet() == 1) {
+                    throw new SQLTransientConnectionException("connection reset");
+                }
+            });
+
+            assertThat(completed).isTrue();
+            assertThat(attempts).hasValue(2);
+            assertThat(watchdog.getQuarantine().isEmpty()).isTrue();
+        }
+    }
+
+    @Test
+    void transientFailureIsQuarantinedAfterRetries() throws SQLException {
+        AtomicInteger attempts = new AtomicInteger();
+        try (Watchdog watchdog = new Watchdog(0, 0, 0, 1)) {
+            boolean completed = watchdog.run("public.broken", "connecting tables and views", null, () -> {
+                attempts.incrementAndGet();
+                throw new SQLTransientConnectionException("connection reset");
+            });
+
+            assertThat(completed).isFalse();
+            assertThat(attempts).hasValue(2);
+            assertThat(watchdog.getQuarantine().entries().get(0).getReason()).contains("connection reset");
+        }
+    }
+
+    @Test
+    void otherFailuresAreRethrown() {
+        try (Watchdog watchdog = new Watchdog(0, 5, 0, 3)) {
+            assertThatThrownBy(() -> watchdog.run("public.t", "collecting tables", null, () -> {
+                throw new SQLSyntaxErrorException("bad sql");
+            }))
+                .isInstanceOf(SQLSyntaxErrorException.class);
+            assertThat(watchdog.getQuarantine().isEmpty()).isTrue();
+        }
+    }
+}
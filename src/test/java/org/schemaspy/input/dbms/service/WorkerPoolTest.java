@@ -0,0 +1,97 @@
+package org.schemaspy.input.dbms.service;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.schemaspy.connection.SqlConnection;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WorkerPoolTest {
+
+    @Test
+    void workersUseTheirOwnConnection() throws IOException, SQLException {
+        Connection main = connection();
+        Connection worker = connection();
+        SqlConnection sqlConnection = mock(SqlConnection.class);
+        when(sqlConnection.connection()).thenReturn(main, worker);
+        SqlService sqlService = new SqlService();
+        sqlService.connect(sqlConnection);
+
+        Set<Connection> used = ConcurrentHashMap.newKeySet();
+        try (WorkerPool workers = sqlService.workerPool(1)) {
+            for (int i = 0; i < 5; i++) {
+                workers.submit(() -> used.add(sqlService.getConnection()));
+            }
+        }
+
+        assertThat(used).containsExactly(worker);
+        assertThat(sqlService.getConnection()).isSameAs(main);
+        verify(worker).close();
+    }
+
+    @Test
+    void workersShareMainConnectionWhenUnableToConnect() throws IOException, SQLException {
+        Connection main = connection();
+        SqlConnection sqlConnection = mock(SqlConnection.class);
+        when(sqlConnection.connection()).thenReturn(main).thenThrow(new SQLException("Too many connections"));
+        SqlService sqlService = new SqlService();
+        sqlService.connect(sqlConnection);
+
+        Set<Connection> used = ConcurrentHashMap.newKeySet();
+        try (WorkerPool workers = sqlService.workerPool(2)) {
+            for (int i = 0; i < 5; i++) {
+                workers.submit(() -> used.add(sqlService.getConnection()));
+            }
+        }
+
+        assertThat(used).containsExactly(main);
+        verify(main, times(0)).close();
+    }
+
+    @Test
+    void runtimeExceptionIsRethrownOnJoin() {
+        WorkerPool workers = new WorkerPool(new SqlService(), null, 2);
+        workers.submit(() -> {
+            throw new IllegalStateException("boom");
+        });
+        assertThatThrownBy(workers::close).isInstanceOf(IllegalStateException.class).hasMessage("boom");
+    }
+
+    @Test
+    void workerConnectionsAreClosedWhenATaskFails() throws IOException, SQLException {
+        Connection main = connection();
+        Connection worker = connection();
+        SqlConnection sqlConnection = mock(SqlConnection.class);
+        when(sqlConnection.connection()).thenReturn(main, worker);
+        SqlService sqlService = new SqlService();
+        sqlService.connect(sqlConnection);
+
+        WorkerPool workers = sqlService.workerPool(1);
+        workers.submit(() -> {
+            throw new IllegalStateException("boom");
+        });
+
+        assertThatThrownBy(workers::close).isInstanceOf(IllegalStateException.class);
+        verify(worker).close();
+        verify(main, times(0)).close();
+    }
+
+    private static Connection connection() throws SQLException {
+        Connection connection = mock(Connection.class);
+        DatabaseMetaData databaseMetaData = mock(DatabaseMetaData.class, Answers.RETURNS_MOCKS);
+        when(connection.getMetaData()).thenReturn(databaseMetaData);
+        return connection;
+    }
+}
@@ -0,0 +1,115 @@
+package org.schemaspy.integrationtesting.h2;
+
+import org.assertj.core.groups.Tuple;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.schemaspy.model.Database;
+import org.schemaspy.model.ForeignKeyConstraint;
+import org.schemaspy.model.Table;
+import org.schemaspy.model.TableColumn;
+import org.schemaspy.testing.H2MemoryExtension;
+
+import java.io.IOException;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.schemaspy.testing.DatabaseFixture.database;
+
+class H2BulkMetadataIT {
+
+    @RegisterExtension
+    static H2MemoryExtension h2 = new H2MemoryExtension("h2bulk")
+            .addSqlScript("src/test/resources/integrationTesting/h2/dbScripts/bulk.sql");
+
+    private static Database perTable;
+    private static Database bulk;
+    private static Database selectForeignKeys;
+
+    @BeforeAll
+    static void createDatabaseRepresentation() throws SQLException, IOException {
+        perTable = database(args("h2memory"));
+        bulk = database(args("h2memory", "--bulk-metadata"));
+        selectForeignKeys = database(args("h2memoryforeignkeys"));
+    }
+
+    private static String[] args(String dbType, String...extra) throws SQLException {
+        String[] args = {
+                "-t", "src/test/resources/integrationTesting/dbTypes/" + dbType,
+                "-db", "h2bulk",
+                "-s", "h2view",
+                "-cat", h2.getConnection().getCatalog(),
+                "-o", "target/testout/integrationtesting/h2/bulk",
+                "-u", "sa"
+        };
+        String[] all = new String[args.length + extra.length];
+        System.arraycopy(args, 0, all, 0, args.length);
+        System.arraycopy(extra, 0, all, args.length, extra.length);
+        return all;
+    }
+
+    @Test
+    void sameTables() {
+        assertThat(bulk.getTablesMap().keySet()).containsExactlyInAnyOrderElementsOf(perTable.getTablesMap().keySet());
+    }
+
+    @Test
+    void sameColumns() {
+        for (Table table : perTable.getTables()) {
+            Table bulkTable = bulk.getTablesMap().get(table.getName());
+            assertThat(bulkTable.getColumns())
+                .extracting(TableColumn::getName, TableColumn::getTypeName, TableColumn::isNullable, TableColumn::isAutoUpdated)
+                .containsExactlyElementsOf(
+                    table.getColumns().stream()
+                        .map(c -> Tuple.tuple(c.getName(), c.getTypeName(), c.isNullable(), c.isAutoUpdated()))
+                        .toList()
+                );
+        }
+    }
+
+    @Test
+    void samePrimaryKeysAndIndexes() {
+        for (Table table : perTable.getTables()) {
+            Table bulkTable = bulk.getTablesMap().get(table.getName());
+            assertThat(bulkTable.getPrimaryColumns()).extracting(TableColumn::getName)
+                .containsExactlyElementsOf(table.getPrimaryColumns().stream().map(TableColumn::getName).toList());
+            assertThat(bulkTable.getIndexesMap().keySet()).containsExactlyInAnyOrderElementsOf(table.getIndexesMap().keySet());
+        }
+    }
+
+    @Test
+    void sameForeignKeys() {
+        assertSameForeignKeys(bulk);
+    }
+
+    @Test
+    void sameForeignKeysUsingSelectForeignKeysSql() {
+        assertSameForeignKeys(selectForeignKeys);
+    }
+
+    private static void assertSameForeignKeys(Database database) {
+        for (Table table : perTable.getTables()) {
+            Table other = database.getTablesMap().get(table.getName());
+            assertThat(other.getForeignKeys())
+                .extracting(
+                    ForeignKeyConstraint::getName,
+                    fk -> fk.getParentTable().getName(),
+                    fk -> fk.getParentColumns().get(0).getName(),
+                    fk -> fk.getChildColumns().get(0).getName(),
+                    ForeignKeyConstraint::getDeleteRule
+                )
+                .containsExactlyInAnyOrderElementsOf(
+                    table.getForeignKeys().stream()
+                        .map(fk -> Tuple.tuple(
+                            fk.getName(),
+                            fk.getParentTable().getName(),
+                            fk.getParentColumns().get(0).getName(),
+                            fk.getChildColumns().get(0).getName(),
+                            fk.getDeleteRule()
+                        ))
+                        .toList()
+                );
+        }
+        assertThat(database.getTablesMap().get("TABLE3").getForeignKeys()).hasSize(2);
+    }
+}
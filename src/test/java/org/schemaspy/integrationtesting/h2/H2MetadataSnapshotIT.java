@@ -0,0 +1,109 @@
+package org.schemaspy.integrationtesting.h2;
+
+import org.assertj.core.groups.Tuple;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.schemaspy.input.dbms.service.MetadataCache;
+import org.schemaspy.model.Database;
+import org.schemaspy.model.ForeignKeyConstraint;
+import org.schemaspy.model.Table;
+import org.schemaspy.model.TableColumn;
+import org.schemaspy.model.TableIndex;
+import org.schemaspy.testing.H2MemoryExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.schemaspy.testing.DatabaseFixture.database;
+
+class H2MetadataSnapshotIT {
+
+    private static final Path OUTPUT = Paths.get("target/testout/integrationtesting/h2/snapshot");
+
+    @RegisterExtension
+    static H2MemoryExtension h2 = new H2MemoryExtension("h2snapshot")
+            .addSqlScript("src/test/resources/integrationTesting/h2/dbScripts/bulk.sql");
+
+    private static Database gathered;
+    private static Database restored;
+    private static Database afterChanges;
+
+    @BeforeAll
+    static void createDatabaseRepresentation() throws SQLException, IOException {
+        Files.deleteIfExists(OUTPUT.resolve(MetadataCache.FILE_NAME));
+        gathered = database(args());
+        restored = database(args());
+        try (Statement statement = h2.getConnection().createStatement()) {
+            statement.execute("ALTER TABLE \"h2view\".TABLE1 ADD COLUMN EXTRA VARCHAR(10)");
+            statement.execute("CREATE INDEX TABLE2_NAME ON \"h2view\".TABLE2(NAME)");
+        }
+        afterChanges = database(args());
+    }
+
+    private static String[] args() throws SQLException {
+        return new String[]{
+                "-t", "src/test/resources/integrationTesting/dbTypes/h2memorysnapshot",
+                "-db", "h2snapshot",
+                "-s", "h2view",
+                "-cat", h2.getConnection().getCatalog(),
+                "-o", OUTPUT.toString(),
+                "-u", "sa",
+                "--metadata-snapshot"
+        };
+    }
+
+    @Test
+    void snapshotIsWritten() {
+        assertThat(OUTPUT.resolve(MetadataCache.FILE_NAME)).isRegularFile();
+    }
+
+    @Test
+    void restoredIsSameAsGathered() {
+        assertThat(restored.getTablesMap().keySet()).containsExactlyInAnyOrderElementsOf(gathered.getTablesMap().keySet());
+        assertThat(restored.getViewsMap().keySet()).containsExactlyInAnyOrderElementsOf(gathered.getViewsMap().keySet());
+        for (Table table : gathered.getTables()) {
+            Table restoredTable = restored.getTablesMap().get(table.getName());
+            assertThat(restoredTable.getColumns())
+                .extracting(TableColumn::getName, TableColumn::getTypeName, TableColumn::getLength, TableColumn::isNullable, TableColumn::isAutoUpdated, TableColumn::getDefaultValue)
+                .containsExactlyElementsOf(
+                    table.getColumns().stream()
+                        .map(c -> Tuple.tuple(c.getName(), c.getTypeName(), c.getLength(), c.isNullable(), c.isAutoUpdated(), c.getDefaultValue()))
+                        .toList()
+                );
+            assertThat(restoredTable.getPrimaryColumns()).extracting(TableColumn::getName)
+                .containsExactlyElementsOf(table.getPrimaryColumns().stream().map(TableColumn::getName).toList());
+            assertThat(restoredTable.getIndexes())
+                .extracting(TableIndex::getName, TableIndex::isUnique, TableIndex::isPrimaryKey, TableIndex::getColumnsAsString)
+                .containsExactlyInAnyOrderElementsOf(
+                    table.getIndexes().stream()
+                        .map(i -> Tuple.tuple(i.getName(), i.isUnique(), i.isPrimaryKey(), i.getColumnsAsString()))
+                        .toList()
+                );
+            assertThat(restoredTable.getForeignKeys())
+                .extracting(ForeignKeyConstraint::getName, fk -> fk.getParentTable().getName(), ForeignKeyConstraint::getDeleteRule)
+                .containsExactlyInAnyOrderElementsOf(
+                    table.getForeignKeys().stream()
+                        .map(fk -> Tuple.tuple(fk.getName(), fk.getParentTable().getName(), fk.getDeleteRule()))
+                        .toList()
+                );
+        }
+        assertThat(restored.getViewsMap().get("THE_VIEW").getColumns()).extracting(TableColumn::getName).containsExactly("NAMES");
+    }
+
+    @Test
+    void changedTableIsGathered() {
+        assertThat(afterChanges.getTablesMap().get("TABLE1").getColumns()).extracting(TableColumn::getName).contains("EXTRA");
+    }
+
+    @Test
+    void unchangedTableIsRestored() {
+        assertThat(afterChanges.getTablesMap().get("TABLE2").getIndexesMap()).doesNotContainKey("TABLE2_NAME");
+        assertThat(afterChanges.getTablesMap().get("TABLE3").getForeignKeys()).hasSize(2);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.integrationtesting.h2;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.schemaspy.metrics.MetricsReport;
+import org.schemaspy.testing.H2MemoryExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.schemaspy.testing.SchemaSpyRunnerFixture.schemaSpyRunner;
+
+class H2MetricsIT {
+
+    private static final Path OUTPUT = Paths.get("target/testout/integrationtesting/h2/metrics");
+
+    @RegisterExtension
+    static H2MemoryExtension h2 = new H2MemoryExtension("h2metrics")
+        .addSqls(
+            "CREATE SCHEMA METRICS AUTHORIZATION SA;",
+            "CREATE TABLE METRICS.PARENT(ID INT NOT NULL PRIMARY KEY);",
+            "CREATE TABLE METRICS.CHILD(ID INT NOT NULL PRIMARY KEY, PARENT_ID INT REFERENCES METRICS.PARENT(ID));"
+        );
+
+    @Test
+    void metricsAreWrittenToOutputDirectory() throws SQLException, IOException {
+        String[] args = {
+            "-t", "src/test/resources/integrationTesting/dbTypes/h2memory",
+            "-db", "h2metrics",
+            "-s", "METRICS",
+            "-cat", h2.getConnection().getCatalog(),
+            "-o", OUTPUT.toString(),
+            "-u", "sa",
+            "-nohtml",
+            "--metrics"
+        };
+
+        assertThat(schemaSpyRunner(args).run()).isZero();
+
+        JSONObject report = new JSONObject(Files.readString(OUTPUT.resolve(MetricsReport.FILE_NAME)));
+        JSONObject timers = report.getJSONObject("timers");
+        assertThat(timers.getJSONObject("jdbc.getColumns").getLong("count")).isPositive();
+        assertThat(timers.getJSONObject("jdbc.getImportedKeys").getLong("count")).isPositive();
+        assertThat(timers.getJSONObject("table.collect").getLong("count")).isEqualTo(2);
+        assertThat(timers.getJSONObject("table.rowCount").getLong("count")).isEqualTo(2);
+        assertThat(timers.getJSONObject("phase.total").getLong("count")).isEqualTo(1);
+        assertThat(report.getJSONObject("counters").getLong("progress.tablesViewsCollected")).isEqualTo(2);
+        assertThat(report.getJSONObject("output").getJSONObject("xml").getLong("files")).isEqualTo(1);
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.integrationtesting.h2;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.schemaspy.testing.H2MemoryExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.schemaspy.testing.SchemaSpyRunnerFixture.schemaSpyRunner;
+
+class H2MultiSchemaIT {
+
+    private static final Path OUTPUT = Paths.get("target/testout/integrationtesting/h2/multischema");
+    private static final String[] SCHEMAS = {"multi1", "multi2", "multi3", "multi4"};
+
+    @RegisterExtension
+    static H2MemoryExtension h2 = new H2MemoryExtension("h2multischema")
+        .addSqls(sqls());
+
+    private static String[] sqls() {
+        return Stream.of(SCHEMAS)
+            .flatMap(schema -> Stream.of(
+                "CREATE SCHEMA \"" + schema + "\" AUTHORIZATION SA;",
+                "CREATE TABLE \"" + schema + "\".PARENT(ID INT NOT NULL PRIMARY KEY);",
+                "CREATE TABLE \"" + schema + "\".CHILD(ID INT NOT NULL PRIMARY KEY, PARENT_ID INT REFERENCES \"" + schema + "\".PARENT(ID));"
+            ))
+            .toArray(String[]::new);
+    }
+
+    @Test
+    void schemasAreAnalyzedConcurrently() throws SQLException, IOException {
+        String[] args = {
+            "-t", "src/test/resources/integrationTesting/dbTypes/h2memory",
+            "-db", "h2multischema",
+            "-schemas", String.join(",", SCHEMAS),
+            "-cat", h2.getConnection().getCatalog(),
+            "-o", OUTPUT.toString(),
+            "-u", "sa",
+            "-nohtml",
+            "--schema-threads", "4"
+        };
+
+        assertThat(schemaSpyRunner(args).run()).isZero();
+
+        for (String schema : SCHEMAS) {
+            Path xml = OUTPUT.resolve(schema).resolve("h2multischema." + schema + ".xml");
+            assertThat(xml).isRegularFile();
+            assertThat(Files.readString(xml))
+                .contains("name=\"PARENT\"")
+                .contains("name=\"CHILD\"");
+        }
+    }
+}
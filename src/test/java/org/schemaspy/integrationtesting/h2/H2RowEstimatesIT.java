@@ -0,0 +1,70 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.integrationtesting.h2;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.schemaspy.model.Database;
+import org.schemaspy.model.Table;
+import org.schemaspy.testing.H2MemoryExtension;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.schemaspy.testing.DatabaseFixture.database;
+
+class H2RowEstimatesIT {
+
+    @RegisterExtension
+    static H2MemoryExtension h2 = new H2MemoryExtension("h2rowestimates")
+            .addSqlScript("src/test/resources/integrationTesting/h2/dbScripts/bulk.sql");
+
+    private static Database database;
+
+    @BeforeAll
+    static void createDatabaseRepresentation() throws SQLException, IOException {
+        try (Statement statement = h2.getConnection().createStatement()) {
+            statement.execute("INSERT INTO \"h2view\".TABLE2(NAME) VALUES ('one'), ('two')");
+        }
+        database = database(
+                "-t", "src/test/resources/integrationTesting/dbTypes/h2memoryrowestimates",
+                "-db", "h2rowestimates",
+                "-s", "h2view",
+                "-cat", h2.getConnection().getCatalog(),
+                "-o", "target/testout/integrationtesting/h2/rowestimates",
+                "-u", "sa",
+                "--row-count-threads", "2"
+        );
+    }
+
+    @Test
+    void tableWithEstimateIsNotCounted() {
+        Table table = database.getTablesMap().get("TABLE1");
+        assertThat(table.getNumRows()).isEqualTo(1000);
+        assertThat(table.isNumRowsEstimated()).isTrue();
+    }
+
+    @Test
+    void tablesWithoutEstimateAreCounted() {
+        assertThat(database.getTablesMap().get("TABLE2").getNumRows()).isEqualTo(2);
+        assertThat(database.getTablesMap().get("TABLE2").isNumRowsEstimated()).isFalse();
+        assertThat(database.getTablesMap().get("TABLE3").getNumRows()).isZero();
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MeteredJdbcTest {
+
+    private final Metrics metrics = new Metrics();
+
+    @Test
+    void metadataCallIsTimedUntilResultSetIsClosed() throws SQLException {
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.next()).thenReturn(true, true, false);
+        when(metaData.getColumns(any(), any(), any(), any())).thenReturn(resultSet);
+
+        DatabaseMetaData metered = new MeteredJdbc(metrics, new Properties()).metaData(metaData);
+        try (ResultSet rs = metered.getColumns(null, "schema", "table", "%")) {
+            while (rs.next()) {
+                assertThat(metrics.timer("jdbc.getColumns").count()).isZero();
+            }
+        }
+
+        verify(resultSet).close();
+        assertThat(metrics.timer("jdbc.getColumns").count()).isEqualTo(1);
+        assertThat(metrics.counter("jdbc.getColumns.rows").value()).isEqualTo(2);
+    }
+
+    @Test
+    void failedMetadataCallIsCounted() throws SQLException {
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        when(metaData.getIndexInfo(any(), any(), any(), any(Boolean.class), any(Boolean.class)))
+            .thenThrow(new SQLException("not supported"));
+
+        DatabaseMetaData metered = new MeteredJdbc(metrics, new Properties()).metaData(metaData);
+
+        assertThatThrownBy(() -> metered.getIndexInfo(null, "schema", "table", false, true))
+            .isInstanceOf(SQLException.class)
+            .hasMessage("not supported");
+        assertThat(metrics.timer("jdbc.getIndexInfo").count()).isEqualTo(1);
+        assertThat(metrics.counter("jdbc.getIndexInfo.failures").value()).isEqualTo(1);
+    }
+
+    @Test
+    void queryIsNamedAfterItsProperty() throws SQLException {
+        Properties dbProperties = new Properties();
+        dbProperties.setProperty("selectRowCountSql", "select count(*) row_count from :table");
+        PreparedStatement statement = mock(PreparedStatement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        MeteredJdbc meteredJdbc = new MeteredJdbc(metrics, dbProperties);
+
+        meteredJdbc.statement(statement, "select count(*) row_count from :table").executeQuery().close();
+        meteredJdbc.statement(statement, "select * from table where 0 = 1").executeQuery().close();
+
+        assertThat(metrics.timers()).containsOnlyKeys("query.selectRowCountSql", "query.unnamed");
+    }
+
+    @Test
+    void disabledReturnsObjectsAsIs() {
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        MeteredJdbc meteredJdbc = MeteredJdbc.disabled();
+
+        assertThat(meteredJdbc.metaData(metaData)).isSameAs(metaData);
+        assertThat(meteredJdbc.statement(statement, "select 1")).isSameAs(statement);
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.metrics;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MetricsReportTest {
+
+    @TempDir
+    Path outputDir;
+
+    @Test
+    void writesTimersCountersAndOutput() throws IOException {
+        Files.createDirectories(outputDir.resolve("tables"));
+        Files.writeString(outputDir.resolve("index.html"), "12345");
+        Files.writeString(outputDir.resolve("tables").resolve("t.html"), "123");
+        Metrics metrics = new Metrics();
+        metrics.timer("jdbc.getColumns").record(TimeUnit.MILLISECONDS.toNanos(3));
+        metrics.timer("jdbc.getColumns").record(TimeUnit.MILLISECONDS.toNanos(7));
+        metrics.counter("jdbc.getColumns.rows").add(12);
+
+        new MetricsReport(metrics, outputDir.toFile()).write();
+
+        JSONObject report = new JSONObject(Files.readString(outputDir.resolve(MetricsReport.FILE_NAME)));
+        JSONObject timer = report.getJSONObject("timers").getJSONObject("jdbc.getColumns");
+        assertThat(timer.getLong("count")).isEqualTo(2);
+        assertThat(timer.getDouble("totalMillis")).isEqualTo(10.0);
+        assertThat(timer.getDouble("meanMillis")).isEqualTo(5.0);
+        assertThat(timer.getDouble("maxMillis")).isEqualTo(7.0);
+        assertThat(timer.getJSONObject("histogramMillis").getLong("le5")).isEqualTo(1);
+        assertThat(timer.getJSONObject("histogramMillis").getLong("le10")).isEqualTo(1);
+        assertThat(report.getJSONObject("counters").getLong("jdbc.getColumns.rows")).isEqualTo(12);
+        JSONObject html = report.getJSONObject("output").getJSONObject("html");
+        assertThat(html.getLong("files")).isEqualTo(2);
+        assertThat(html.getLong("bytes")).isEqualTo(8);
+        assertThat(report.getJSONObject("output").has("json")).isFalse();
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MetricsTest {
+
+    @Test
+    void timerCountsDurationsPerBucket() {
+        Metrics metrics = new Metrics();
+        Timer timer = metrics.timer("jdbc.getColumns");
+
+        timer.record(TimeUnit.MICROSECONDS.toNanos(500));
+        timer.record(TimeUnit.MILLISECONDS.toNanos(5));
+        timer.record(TimeUnit.SECONDS.toNanos(20));
+
+        assertThat(metrics.timer("jdbc.getColumns")).isSameAs(timer);
+        assertThat(timer.count()).isEqualTo(3);
+        assertThat(timer.maxNanos()).isEqualTo(TimeUnit.SECONDS.toNanos(20));
+        assertThat(timer.totalNanos()).isEqualTo(TimeUnit.MICROSECONDS.toNanos(20_005_500));
+        assertThat(timer.histogram()).containsExactly(1, 1, 0, 0, 0, 0, 0, 0, 0, 1);
+    }
+
+    @Test
+    void timingIsRecordedOnce() {
+        Metrics metrics = new Metrics();
+        Timer.Timing timing = metrics.timer("render").start();
+
+        timing.close();
+        timing.close();
+
+        assertThat(metrics.timer("render").count()).isEqualTo(1);
+    }
+
+    @Test
+    void disabledRecordsNothing() {
+        Metrics metrics = Metrics.disabled();
+
+        metrics.timer("render").record(10);
+        metrics.counter("render.bytes").add(10);
+
+        assertThat(metrics.isEnabled()).isFalse();
+        assertThat(metrics.timer("render").count()).isZero();
+        assertThat(metrics.counter("render.bytes").value()).isZero();
+        assertThat(metrics.timers()).isEmpty();
+        assertThat(metrics.counters()).isEmpty();
+    }
+
+    @Test
+    void namesAreOrdered() {
+        Metrics metrics = new Metrics();
+        metrics.counter("query.selectRowCountSql.rows").increment();
+        metrics.counter("jdbc.getColumns.rows").add(4);
+
+        assertThat(metrics.counters()).containsOnlyKeys("jdbc.getColumns.rows", "query.selectRowCountSql.rows");
+        assertThat(metrics.counters().firstKey()).isEqualTo("jdbc.getColumns.rows");
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link Database#getLocals()}, {@link Database#getTables()} and {@link Database#freeze()}.
+ */
+class DatabaseTest {
+
+    private final Database database = new Database(mock(DbmsMeta.class), "db", "catalog", "schema");
+
+    @Test
+    void localsCombineTablesAndViewsIgnoringCase() {
+        Table table = new Table(database, "catalog", "schema", "table1", null);
+        View view = new View(database, "catalog", "schema", "view1", null, null);
+        database.getTablesMap().put(table.getName(), table);
+        database.getViewsMap().put(view.getName(), view);
+
+        assertThat(database.getLocals())
+            .containsEntry("TABLE1", table)
+            .containsEntry("VIEW1", view);
+        assertThat(database.getLocals().get("Table1")).isSameAs(table);
+    }
+
+    @Test
+    void localsAreSharedUntilChanged() {
+        Table table = new Table(database, "catalog", "schema", "table1", null);
+        database.getTablesMap().put(table.getName(), table);
+
+        Map<String, Table> locals = database.getLocals();
+
+        assertThat(database.getLocals()).isSameAs(locals);
+
+        View view = new View(database, "catalog", "schema", "view1", null, null);
+        database.getViewsMap().put(view.getName(), view);
+
+        assertThat(database.getLocals()).isNotSameAs(locals).containsKey("VIEW1");
+        assertThat(locals).doesNotContainKey("VIEW1");
+    }
+
+    @Test
+    void removedTableIsNoLongerLocal() {
+        Table table = new Table(database, "catalog", "schema", "table1", null);
+        database.getTablesMap().put(table.getName(), table);
+        database.getLocals();
+
+        database.getTablesMap().remove("table1");
+
+        assertThat(database.getLocals()).isEmpty();
+    }
+
+    @Test
+    void localsSeeTablesAddedAndRemovedThroughAnyMutator() {
+        Table table = new Table(database, "catalog", "schema", "table1", null);
+        database.getLocals();
+
+        database.getTablesMap().putIfAbsent(table.getName(), table);
+        assertThat(database.getLocals()).containsKey("TABLE1");
+
+        Iterator<Table> tables = database.getTablesMap().values().iterator();
+        tables.next();
+        tables.remove();
+        assertThat(database.getLocals()).isEmpty();
+    }
+
+    @Test
+    void tablesAreOrderedByNameWhateverOrderTheyWereAddedIn() {
+        Table beta = new Table(database, "catalog", "schema", "beta", null);
+        Table alpha = new Table(database, "catalog", "schema", "Alpha", null);
+        Table gamma = new Table(database, "catalog", "schema", "gamma", null);
+        database.getTablesMap().put(beta.getName(), beta);
+        database.getTablesMap().put(gamma.getName(), gamma);
+        database.getTablesMap().put(alpha.getName(), alpha);
+
+        assertThat(database.getTables()).containsExactly(alpha, beta, gamma);
+    }
+
+    @Test
+    void freezeFreezesTablesAndViews() {
+        Table table = new Table(database, "catalog", "schema", "table1", null);
+        View view = new View(database, "catalog", "schema", "view1", null, null);
+        database.getTablesMap().put(table.getName(), table);
+        database.getViewsMap().put(view.getName(), view);
+
+        database.freeze();
+
+        assertThat(table.isFrozen()).isTrue();
+        assertThat(view.isFrozen()).isTrue();
+    }
+}
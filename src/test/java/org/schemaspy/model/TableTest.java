@@ -24,8 +24,10 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
 import java.util.Collections;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -57,6 +59,18 @@ class TableTest {
         assertThat(table.getContainer()).isEqualToIgnoringCase("DBNAME");
     }
 
+    @Test
+    void estimatedNumRowsIsReplacedByCount() {
+        Table table = new Table(database, "CATNAME", "SNAME", "table", null);
+        table.setEstimatedNumRows(1000);
+        assertThat(table.getNumRows()).isEqualTo(1000);
+        assertThat(table.isNumRowsEstimated()).isTrue();
+
+        table.setNumRows(998);
+        assertThat(table.getNumRows()).isEqualTo(998);
+        assertThat(table.isNumRowsEstimated()).isFalse();
+    }
+
     @ParameterizedTest(name = "Empty database has no implied constraints at {0} degrees of separation")
     @ValueSource(
             ints = { 0, 1, 2}
@@ -102,4 +116,50 @@ class TableTest {
         table.columns.put("columnA", tableColumn);
         assertThat(table.hasImpliedConstraints(2)).isTrue();
     }
-}
\ No newline at end of file
+
+    @Test
+    void frozenTableSharesSortedColumns() {
+        Table table = new Table(database, "CATNAME", "SNAME", "table", null);
+        TableColumn second = column(table, "b", 2);
+        TableColumn first = column(table, "a", 1);
+
+        table.freeze();
+
+        List<TableColumn> columns = table.getColumns();
+        assertThat(columns).containsExactly(first, second);
+        assertThat(table.getColumns()).isSameAs(columns);
+        assertThatThrownBy(() -> columns.add(first)).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void newRelationshipThawsBothTables() {
+        Table parent = new Table(database, "CATNAME", "SNAME", "parent", null);
+        TableColumn id = column(parent, "id", 1);
+        Table child = new Table(database, "CATNAME", "SNAME", "child", null);
+        TableColumn parentId = column(child, "parent_id", 1);
+        parent.freeze();
+        child.freeze();
+        assertThat(parent.getNumChildren()).isZero();
+        assertThat(child.isRoot()).isTrue();
+
+        new ForeignKeyConstraint(id, parentId);
+
+        assertThat(parent.isFrozen()).isFalse();
+        assertThat(child.isFrozen()).isFalse();
+        parent.freeze();
+        child.freeze();
+        assertThat(parent.getNumChildren()).isEqualTo(1);
+        assertThat(parent.getNumNonImpliedChildren()).isEqualTo(1);
+        assertThat(parent.isLeaf()).isFalse();
+        assertThat(child.getNumParents()).isEqualTo(1);
+        assertThat(child.isRoot()).isFalse();
+    }
+
+    private static TableColumn column(Table table, String name, int id) {
+        TableColumn column = new TableColumn(table);
+        column.setName(name);
+        column.setId(id);
+        table.getColumnsMap().put(name, column);
+        return column;
+    }
+}
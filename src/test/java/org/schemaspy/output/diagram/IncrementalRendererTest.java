@@ -0,0 +1,91 @@
+package org.schemaspy.output.diagram;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IncrementalRendererTest {
+
+    @TempDir
+    File outputDir;
+
+    private final Renderer renderer = mock(Renderer.class);
+
+    private File dotFile;
+    private File diagramFile;
+
+    @BeforeEach
+    void setup() throws IOException {
+        when(renderer.identifier()).thenReturn("test 1.0");
+        when(renderer.format()).thenReturn("png");
+        when(renderer.render(any(), any())).thenAnswer(invocation -> {
+            Files.write(invocation.getArgument(1, File.class).toPath(), new byte[]{1});
+            return "<map name=\"table\"></map>";
+        });
+        dotFile = new File(outputDir, "table.dot");
+        diagramFile = new File(outputDir, "table.png");
+        Files.write(dotFile.toPath(), "digraph \"table\" {}".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String renderAndSave() {
+        RenderManifest manifest = RenderManifest.load(outputDir);
+        String map = new IncrementalRenderer(renderer, manifest).render(dotFile, diagramFile);
+        manifest.save();
+        return map;
+    }
+
+    @Test
+    void unchangedDotIsntRenderedAgain() {
+        renderAndSave();
+        String map = renderAndSave();
+
+        verify(renderer, times(1)).render(dotFile, diagramFile);
+        assertThat(map).isEqualTo("<map name=\"table\"></map>");
+    }
+
+    @Test
+    void changedDotIsRenderedAgain() throws IOException {
+        renderAndSave();
+        Files.write(dotFile.toPath(), "digraph \"table\" { a }".getBytes(StandardCharsets.UTF_8));
+        renderAndSave();
+
+        verify(renderer, times(2)).render(dotFile, diagramFile);
+    }
+
+    @Test
+    void otherRendererVersionRendersAgain() {
+        renderAndSave();
+        when(renderer.identifier()).thenReturn("test 2.0");
+        renderAndSave();
+
+        verify(renderer, times(2)).render(dotFile, diagramFile);
+    }
+
+    @Test
+    void missingDiagramIsRenderedAgain() throws IOException {
+        renderAndSave();
+        Files.delete(diagramFile.toPath());
+        renderAndSave();
+
+        verify(renderer, times(2)).render(dotFile, diagramFile);
+    }
+
+    @Test
+    void withoutManifestEverythingIsRendered() {
+        new IncrementalRenderer(renderer, RenderManifest.load(outputDir)).render(dotFile, diagramFile);
+
+        verify(renderer).render(dotFile, diagramFile);
+    }
+}
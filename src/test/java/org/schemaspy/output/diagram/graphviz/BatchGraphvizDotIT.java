@@ -0,0 +1,128 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.output.diagram.graphviz;
+
+import com.beust.jcommander.JCommander;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+import org.schemaspy.output.diagram.RenderException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BatchGraphvizDotIT {
+
+    @TempDir
+    Path dotDir;
+
+    @Test
+    @EnabledOnOs(OS.LINUX)
+    void diagramsRequestedTogetherShareDotProcess() throws Exception {
+        BatchGraphvizDot renderer = new BatchGraphvizDot(new GraphvizDot(parse()), 1, 16);
+
+        List<String> maps = renderConcurrently(renderer, "t0", "t1", "t2", "t3", "t4", "t5", "t6", "t7");
+
+        for (int i = 0; i < 8; i++) {
+            assertThat(dotDir.resolve("t" + i + ".png")).hasContent("png:cairo of t" + i + ".dot");
+            assertThat(maps.get(i)).contains("<area href=\"t" + i + ".dot\">");
+            assertThat(dotDir.resolve("t" + i + ".dot.cmapx")).doesNotExist();
+        }
+        assertThat(Files.readAllLines(dotDir.resolve("dot.invocations"))).hasSizeLessThan(8);
+    }
+
+    @Test
+    @EnabledOnOs(OS.LINUX)
+    void diagramsShareDotProcessWithAsManyProcessesAsRenderThreads() throws Exception {
+        BatchGraphvizDot renderer = new BatchGraphvizDot(new GraphvizDot(parse()), 8, 16);
+
+        renderConcurrently(renderer, "t0", "t1", "t2", "t3", "t4", "t5", "t6", "t7");
+
+        for (int i = 0; i < 8; i++) {
+            assertThat(dotDir.resolve("t" + i + ".png")).hasContent("png:cairo of t" + i + ".dot");
+        }
+        assertThat(Files.readAllLines(dotDir.resolve("dot.invocations"))).hasSizeLessThan(8);
+    }
+
+    @Test
+    @EnabledOnOs(OS.LINUX)
+    void brokenDiagramOnlyFailsItself() throws Exception {
+        BatchGraphvizDot renderer = new BatchGraphvizDot(new GraphvizDot(parse()), 1, 16);
+
+        assertThatThrownBy(() -> renderConcurrently(renderer, "t0", "t1", "broken", "t2", "t3"))
+            .hasCauseInstanceOf(RenderException.class);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(dotDir.resolve("t" + i + ".png")).hasContent("png:cairo of t" + i + ".dot");
+        }
+        assertThat(dotDir.resolve("broken.png")).doesNotExist();
+    }
+
+    @Test
+    void outputSuffixReversesFormat() {
+        assertThat(BatchGraphvizDot.outputSuffix("png:cairo")).isEqualTo(".cairo.png");
+        assertThat(BatchGraphvizDot.outputSuffix("png:cairo:gd")).isEqualTo(".gd.cairo.png");
+        assertThat(BatchGraphvizDot.outputSuffix("svg")).isEqualTo(".svg");
+    }
+
+    private List<String> renderConcurrently(BatchGraphvizDot renderer, String... names) throws IOException, InterruptedException, ExecutionException {
+        List<Future<String>> futures = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(names.length);
+        try {
+            for (String name : names) {
+                File dotFile = Files.writeString(dotDir.resolve(name + ".dot"), "digraph \"" + name + "\" {}").toFile();
+                File diagramFile = dotDir.resolve(name + ".png").toFile();
+                futures.add(executor.submit(() -> renderer.render(dotFile, diagramFile)));
+            }
+            ExecutionException failure = null;
+            List<String> maps = new ArrayList<>();
+            for (Future<String> future : futures) {
+                try {
+                    maps.add(future.get());
+                } catch (ExecutionException exc) {
+                    failure = exc;
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return maps;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private GraphvizConfig parse() {
+        GraphvizConfigCli graphvizConfigCli = new GraphvizConfigCli();
+        JCommander jCommander = JCommander.newBuilder().build();
+        jCommander.addObject(graphvizConfigCli);
+        jCommander.parse("-gv", new File("src/test/resources/dotFakes/batch").getAbsolutePath());
+        return graphvizConfigCli;
+    }
+}
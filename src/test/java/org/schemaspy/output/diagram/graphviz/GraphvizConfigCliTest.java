@@ -59,6 +59,24 @@ class GraphvizConfigCliTest {
             .isEqualTo("png");
     }
 
+    @Test
+    void batchSize() {
+        assertThat(
+            parse("--dot-batch-size", "4")
+                .getBatchSize()
+        )
+            .isEqualTo(4);
+    }
+
+    @Test
+    void batchSizeDefault() {
+        assertThat(
+            parse()
+                .getBatchSize()
+        )
+            .isEqualTo(1);
+    }
+
 
     private GraphvizConfig parse(String... args) {
         GraphvizConfigCli graphvizConfigCli = new GraphvizConfigCli();
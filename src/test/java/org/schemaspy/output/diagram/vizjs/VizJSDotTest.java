@@ -18,6 +18,7 @@
  */
 package org.schemaspy.output.diagram.vizjs;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
@@ -28,6 +29,11 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.linesOf;
@@ -61,4 +67,28 @@ class VizJSDotTest {
         assertThat(linesOf(actual, StandardCharsets.UTF_8))
             .isEqualTo(linesOf(expect, StandardCharsets.UTF_8));
     }
-}
\ No newline at end of file
+
+    @Test
+    void generateSVGConcurrently() throws Exception {
+        VizJSDot pooled = new VizJSDot(3);
+        String[] names = {"tables.group.1degree", "tables.user.1degree", "tables.userAndGroup.1degree", "orphans.user.1degree"};
+        ExecutorService executor = Executors.newFixedThreadPool(names.length);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (String name : names) {
+                File dotFile = input.resolve(name + ".dot").toFile();
+                File actual = tempDir.resolve("concurrent." + name + ".svg").toFile();
+                futures.add(executor.submit(() -> pooled.render(dotFile, actual)));
+            }
+            for (Future<String> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        for (String name : names) {
+            assertThat(linesOf(tempDir.resolve("concurrent." + name + ".svg").toFile(), StandardCharsets.UTF_8))
+                .isEqualTo(linesOf(input.resolve(name + ".svg").toFile(), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -21,6 +21,8 @@ package org.schemaspy.output.xml.dom;
 import org.junit.jupiter.api.Test;
 import org.schemaspy.model.Database;
 import org.schemaspy.model.Table;
+import org.schemaspy.model.View;
+import org.schemaspy.model.ViewReferences;
 import org.schemaspy.testing.XmlOutputDiff;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
@@ -31,6 +33,9 @@ import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.transform.TransformerException;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
@@ -70,6 +75,57 @@ class XmlTableFormatterTest {
 
     }
 
+    @Test
+    void withEstimatedNumRows() throws ParserConfigurationException, TransformerException {
+        String expected = "<?xml version=\"1.0\" encoding=\"UTF-8\"?><database>\n" +
+                "   <tables>\n" +
+                "      <table catalog=\"catalog\" name=\"table\" numRows=\"1000\" numRowsEstimated=\"true\" remarks=\"table\" schema=\"schema\" type=\"TABLE\"/>\n" +
+                "   </tables>\n" +
+                "</database>";
+
+        Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+        Element element = doc.createElement("database");
+        doc.appendChild(element);
+
+        Table table = new Table(mockDatabase("database"),"catalog", "schema", "table", "table");
+        table.setEstimatedNumRows(1000);
+
+        xmlTableFormatter.appendTables(element, Collections.singletonList(table));
+
+        Diff diff = XmlOutputDiff.diffXmlOutput(
+                Input.fromString(XmlHelp.toString(element)),
+                Input.fromString(expected)
+        );
+        assertThat(diff.getDifferences()).isEmpty();
+    }
+
+    @Test
+    void viewWithReferences() throws ParserConfigurationException, TransformerException {
+        String expected = "<?xml version=\"1.0\" encoding=\"UTF-8\"?><database>\n" +
+                "   <tables>\n" +
+                "      <table catalog=\"catalog\" name=\"table\" numRows=\"0\" remarks=\"\" schema=\"schema\" type=\"TABLE\"/>\n" +
+                "      <table catalog=\"catalog\" name=\"view\" numRows=\"0\" remarks=\"\" schema=\"schema\" type=\"VIEW\" viewSql=\"select * from table\">\n" +
+                "         <reference catalog=\"catalog\" schema=\"schema\" table=\"table\"/>\n" +
+                "      </table>\n" +
+                "   </tables>\n" +
+                "</database>";
+
+        Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+        Element element = doc.createElement("database");
+        doc.appendChild(element);
+
+        Table table = new Table(mockDatabase("database"), "catalog", "schema", "table", null);
+        View view = new View(mockDatabase("database"), "catalog", "schema", "view", null, "select * from table");
+
+        xmlTableFormatter.appendTables(element, List.of(table, view), new ViewReferences(Map.of(view, Set.of(table))));
+
+        Diff diff = XmlOutputDiff.diffXmlOutput(
+                Input.fromString(XmlHelp.toString(element)),
+                Input.fromString(expected)
+        );
+        assertThat(diff.getDifferences()).isEmpty();
+    }
+
     private Database mockDatabase(String databaseName) {
         Database database = mock(Database.class);
         when(database.getName()).thenReturn(databaseName);
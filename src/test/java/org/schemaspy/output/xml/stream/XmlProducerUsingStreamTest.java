@@ -0,0 +1,131 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.output.xml.stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.schemaspy.model.Database;
+import org.schemaspy.model.ForeignKeyConstraint;
+import org.schemaspy.model.Routine;
+import org.schemaspy.model.RoutineParameter;
+import org.schemaspy.model.Schema;
+import org.schemaspy.model.Sequence;
+import org.schemaspy.model.Table;
+import org.schemaspy.model.TableColumn;
+import org.schemaspy.model.TableIndex;
+import org.schemaspy.model.View;
+import org.schemaspy.model.ViewReferences;
+import org.schemaspy.output.xml.dom.XmlProducerUsingDOM;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class XmlProducerUsingStreamTest {
+
+    @TempDir
+    Path domDir;
+
+    @TempDir
+    Path streamDir;
+
+    @Test
+    void writesSameDocumentAsDom() throws IOException {
+        Database database = database();
+
+        new XmlProducerUsingDOM().generate(database, domDir.toFile());
+        new XmlProducerUsingStream().generate(database, streamDir.toFile());
+
+        assertThat(streamDir.resolve("test.schema.xml")).exists();
+        assertThat(Files.readString(streamDir.resolve("test.schema.xml")))
+            .isEqualTo(Files.readString(domDir.resolve("test.schema.xml")));
+    }
+
+    @Test
+    void nothingWrittenWithoutTables() {
+        Database database = mock(Database.class);
+        when(database.getName()).thenReturn("empty");
+
+        new XmlProducerUsingStream().generate(database, streamDir.toFile());
+
+        assertThat(streamDir).isEmptyDirectory();
+    }
+
+    private static Database database() {
+        Database database = mock(Database.class);
+        when(database.getName()).thenReturn("jdbc:test@host:test");
+        when(database.getSchema()).thenReturn(new Schema("schema"));
+        when(database.getDatabaseProduct()).thenReturn("Test DB 1.0");
+
+        Table parent = new Table(database, "catalog", "schema", "parent", "line one\nline two\t\"quoted\" & <tagged>");
+        parent.setNumRows(42);
+        TableColumn id = column(parent, "id", 0);
+        parent.setPrimaryColumn(id);
+        TableIndex primary = new TableIndex("parent_pk", true);
+        primary.addColumn(id, "A");
+        parent.getIndexesMap().put(primary.getName(), primary);
+        parent.addCheckConstraint("positive", "id > 0");
+
+        Table child = new Table(database, "catalog", "schema", "Child", null);
+        child.setId(7);
+        child.setEstimatedNumRows(1000000);
+        TableColumn childId = column(child, "id", 0);
+        TableColumn parentId = column(child, "parent_id", 1);
+        parentId.setDefaultValue("\u0001binary\u0002");
+        parentId.setComments("emoji \uD83D\uDE00 and \u00e9");
+        TableIndex parentIndex = new TableIndex("child_parent", false);
+        parentIndex.setId(3);
+        parentIndex.addColumn(parentId, "D");
+        child.getIndexesMap().put(parentIndex.getName(), parentIndex);
+        child.getForeignKeysMap().put("child_parent_fk", new ForeignKeyConstraint(id, parentId));
+        child.setPrimaryColumn(childId);
+
+        View view = new View(database, "catalog", "schema", "a_view", "view", "select *\r\n  from parent\n where id > 0");
+        column(view, "id", 0);
+
+        Routine routine = new Routine("calc", "FUNCTION", "int", "SQL",
+            "begin\n  return ']]>' || x;\u0003\nend", true, "READS", "DEFINER", "com]]>ment");
+        routine.addParameter(new RoutineParameter("x", "int", "IN"));
+        routine.addParameter(new RoutineParameter(null, "int", "OUT"));
+        Routine empty = new Routine("apply", "PROCEDURE", null, null, null, false, null, null, null);
+
+        when(database.getTables()).thenReturn(List.of(parent, child));
+        when(database.getViews()).thenReturn(List.of(view));
+        when(database.getViewReferences()).thenReturn(new ViewReferences(Map.of(view, Set.of(parent))));
+        when(database.getSequences()).thenReturn(List.of(new Sequence("seq_b", 1, 2), new Sequence("seq_a", 10, 1)));
+        when(database.getRoutines()).thenReturn(List.of(routine, empty));
+        return database;
+    }
+
+    private static TableColumn column(Table table, String name, int id) {
+        TableColumn column = new TableColumn(table);
+        column.setName(name);
+        column.setId(id);
+        column.setTypeName("int");
+        column.setType(4);
+        column.setLength(10);
+        table.getColumnsMap().put(name, column);
+        return column;
+    }
+}
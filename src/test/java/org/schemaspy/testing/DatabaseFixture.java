@@ -7,6 +7,7 @@ import org.schemaspy.input.dbms.ConnectionConfig;
 import org.schemaspy.input.dbms.ConnectionURLBuilder;
 import org.schemaspy.input.dbms.DriverFromConfig;
 import org.schemaspy.input.dbms.service.DatabaseServiceFactory;
+import org.schemaspy.input.dbms.service.MetadataCache;
 import org.schemaspy.input.dbms.service.SqlService;
 import org.schemaspy.model.Database;
 import org.schemaspy.model.ProgressListener;
@@ -49,7 +50,14 @@ public class DatabaseFixture {
         );
         new DatabaseServiceFactory(sqlService)
                 .forSingleSchema(arguments.getProcessingConfig())
-                .gatherSchemaDetails(database, null, progressListener);
+                .gatherSchemaDetails(
+                    database,
+                    null,
+                    progressListener,
+                    arguments.getProcessingConfig().isMetadataSnapshotEnabled()
+                        ? arguments.getOutputDirectory().toPath().resolve(MetadataCache.FILE_NAME)
+                        : null
+                );
         return database;
     }
 
@@ -11,7 +11,7 @@ import org.schemaspy.input.dbms.ConnectionURLBuilder;
 import org.schemaspy.input.dbms.DriverFromConfig;
 import org.schemaspy.input.dbms.service.DatabaseServiceFactory;
 import org.schemaspy.input.dbms.service.SqlService;
-import org.schemaspy.output.xml.dom.XmlProducerUsingDOM;
+import org.schemaspy.output.xml.stream.XmlProducerUsingStream;
 
 public class SchemaSpyRunnerFixture {
     private SchemaSpyRunnerFixture() {}
@@ -34,7 +34,7 @@ public class SchemaSpyRunnerFixture {
                 sqlService,
                 new DatabaseServiceFactory(sqlService),
                 commandLineArguments,
-                new XmlProducerUsingDOM(),
+                new XmlProducerUsingStream(),
                 new LayoutFolder(SchemaAnalyzer.class.getClassLoader()),
                 new ScExceptionChecked(
                     urlBuilder,
@@ -18,7 +18,11 @@
  */
 package org.schemaspy.util;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 
@@ -100,4 +104,90 @@ class CaseInsensitiveMapTest {
     void nullGetIsSupported() {
         assertThat(map.get(null)).isNull();
     }
-}
\ No newline at end of file
+
+    @Test
+    void keysAreUpperCasedInInsertionOrder() {
+        map.put("Zeta", "1");
+        map.put("alpha", "2");
+        map.put("zeta", "3");
+        map.put("Beta", "4");
+
+        assertThat(new ArrayList<>(map.keySet())).containsExactly("ZETA", "ALPHA", "BETA");
+        assertThat(new ArrayList<>(map.values())).containsExactly("3", "2", "4");
+    }
+
+    @Test
+    void foldingDoesNotDependOnDefaultLocale() {
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(new Locale("tr", "TR"));
+        try {
+            map.put("id", "value");
+            assertThat(map.get("ID")).isEqualTo("value");
+            assertThat(map.get("Id")).isEqualTo("value");
+            assertThat(map.get("\u00c9t\u00e9")).isNull();
+
+            map.put("\u00e9t\u00e9", "summer");
+            assertThat(map.get("\u00c9T\u00c9")).isEqualTo("summer");
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    void keysThatUpperCaseToSeveralCharactersMatch() {
+        map.put("stra\u00dfe", "street");
+
+        assertThat(map.get("STRASSE")).isEqualTo("street");
+        assertThat(map.get("Strasse")).isEqualTo("street");
+        assertThat(map.keySet()).containsExactly("STRASSE");
+
+        map.put("MASSE", "mass");
+        assertThat(map.get("ma\u00dfe")).isEqualTo("mass");
+    }
+
+    @Test
+    void growsPastInitialCapacity() {
+        map = new CaseInsensitiveMap<>(1);
+        for (int i = 0; i < 1000; i++) {
+            map.put("column_" + i, String.valueOf(i));
+        }
+
+        assertThat(map).hasSize(1000);
+        for (int i = 0; i < 1000; i++) {
+            assertThat(map.get("COLUMN_" + i)).isEqualTo(String.valueOf(i));
+        }
+    }
+
+    @Test
+    void entriesCanBeRemovedAndUpdatedWhileIterating() {
+        map.put("one", "1");
+        map.put("two", "2");
+        map.put("three", "3");
+
+        Iterator<Map.Entry<String, String>> entries = map.entrySet().iterator();
+        entries.next().setValue("uno");
+        entries.next();
+        entries.remove();
+
+        assertThat(map).containsOnlyKeys("one", "three");
+        assertThat(map.get("ONE")).isEqualTo("uno");
+        assertThat(map.containsKey("TWO")).isFalse();
+    }
+
+    @Test
+    void mergeAndComputeIfAbsentIgnoreCase() {
+        map.merge("key", "a", String::concat);
+        map.merge("KEY", "b", String::concat);
+        assertThat(map.computeIfAbsent("Key", key -> "c")).isEqualTo("ab");
+        assertThat(map.computeIfAbsent("other", String::toUpperCase)).isEqualTo("OTHER");
+
+        assertThat(map).hasSize(2);
+    }
+
+    @Test
+    void equalsOtherMapsWithSameKeys() {
+        map.put("key", "value");
+
+        assertThat(map).isEqualTo(Collections.singletonMap("key", "value"));
+    }
+}
@@ -0,0 +1,50 @@
+package org.schemaspy.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChangedFileWriterTest {
+
+    @TempDir
+    File dir;
+
+    @Test
+    void writesNewFile() throws IOException {
+        File file = new File(dir, "page.html");
+        try (Writer writer = new ChangedFileWriter(file)) {
+            writer.write("content");
+        }
+        assertThat(file).hasContent("content");
+    }
+
+    @Test
+    void leavesSameContentUntouched() throws IOException {
+        File file = new File(dir, "page.html");
+        Files.write(file.toPath(), "content".getBytes(StandardCharsets.UTF_8));
+        FileTime lastModified = FileTime.fromMillis(1000);
+        Files.setLastModifiedTime(file.toPath(), lastModified);
+        try (Writer writer = new ChangedFileWriter(file)) {
+            writer.write("content");
+        }
+        assertThat(Files.getLastModifiedTime(file.toPath())).isEqualTo(lastModified);
+    }
+
+    @Test
+    void replacesChangedContent() throws IOException {
+        File file = new File(dir, "page.html");
+        Files.write(file.toPath(), "old content".getBytes(StandardCharsets.UTF_8));
+        try (Writer writer = new ChangedFileWriter(file)) {
+            writer.write("new");
+        }
+        assertThat(file).hasContent("new");
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConcurrentCaseInsensitiveMapTest {
+
+    private final ConcurrentCaseInsensitiveMap<String> map = new ConcurrentCaseInsensitiveMap<>();
+
+    @Test
+    void putGetRemoveIgnoreCase() {
+        map.put("key", "value");
+
+        assertThat(map.get("KEY")).isEqualTo("value");
+        assertThat(map.containsKey("Key")).isTrue();
+        assertThat(map.putIfAbsent("KEY", "other")).isEqualTo("value");
+        assertThat(map.replace("kEY", "value", "replaced")).isTrue();
+        assertThat(map.remove("KEY", "value")).isFalse();
+        assertThat(map.remove("KEY")).isEqualTo("replaced");
+        assertThat(map).isEmpty();
+    }
+
+    @Test
+    void nullKeysAndValuesAreNotSupported() {
+        assertThat(map.get(null)).isNull();
+        assertThatThrownBy(() -> map.put(null, "value")).isInstanceOf(NullPointerException.class);
+        assertThatThrownBy(() -> map.put("key", null)).isInstanceOf(NullPointerException.class);
+        assertThatThrownBy(() -> map.containsKey(null)).isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    void iteratesOverCopyThatWritesThrough() {
+        map.put("one", "1");
+        map.put("two", "2");
+
+        map.entrySet().forEach(entry -> {
+            map.put("three", "3");
+            entry.setValue(entry.getValue() + "!");
+        });
+
+        assertThat(map).hasSize(3);
+        assertThat(map.get("ONE")).isEqualTo("1!");
+        assertThat(map.get("TWO")).isEqualTo("2!");
+    }
+
+    @Test
+    void concurrentUpdatesOfSameKeysInDifferentCase() throws Exception {
+        AtomicInteger computed = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                boolean upper = thread % 2 == 0;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        String key = upper ? "TABLE_" + i : "table_" + i;
+                        map.computeIfAbsent(key, name -> {
+                            computed.incrementAndGet();
+                            return name;
+                        });
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(map).hasSize(500);
+        assertThat(computed).hasValue(500);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.util.copy;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.schemaspy.util.filefilter.NotHtml;
+import org.schemaspy.util.filefilter.NotInDirectories;
+
+import java.io.FileFilter;
+import java.io.IOException;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CopyFromJarTest {
+
+    private static final long ENTRY_TIME = 1_600_000_000_000L;
+
+    @TempDir
+    Path tempDir;
+
+    private Path jar;
+    private Path output;
+
+    @BeforeEach
+    void createJar() throws IOException {
+        jar = tempDir.resolve("layout.jar");
+        output = tempDir.resolve("output");
+        try (JarOutputStream jarOutputStream = new JarOutputStream(Files.newOutputStream(jar))) {
+            directory(jarOutputStream, "layout/");
+            file(jarOutputStream, "layout/schemaSpy.js", "schemaSpy");
+            file(jarOutputStream, "layout/main.html", "main");
+            directory(jarOutputStream, "layout/bower/");
+            file(jarOutputStream, "layout/bower/jquery.js", "jquery");
+        }
+    }
+
+    @Test
+    void copiesAcceptedFiles() throws IOException {
+        copy(new NotInDirectories(new NotHtml(), output.resolve("bower").toFile()));
+
+        assertThat(output.resolve("schemaSpy.js")).hasContent("schemaSpy");
+        assertThat(output.resolve("schemaSpy.js").toFile().lastModified()).isEqualTo(ENTRY_TIME);
+        assertThat(output.resolve("main.html")).doesNotExist();
+        assertThat(output.resolve("bower")).doesNotExist();
+    }
+
+    @Test
+    void fileWithSizeAndTimeOfEntryIsNotCopiedAgain() throws IOException {
+        copy(new NotHtml());
+        Path unchanged = output.resolve("schemaSpy.js");
+        Files.writeString(unchanged, "SCHEMASPY");
+        Files.setLastModifiedTime(unchanged, FileTime.fromMillis(ENTRY_TIME));
+        Path changed = output.resolve("bower").resolve("jquery.js");
+        Files.writeString(changed, "jquery 2");
+
+        copy(new NotHtml());
+
+        assertThat(unchanged).hasContent("SCHEMASPY");
+        assertThat(changed).hasContent("jquery");
+    }
+
+    private void copy(FileFilter filter) throws IOException {
+        URL url = new URL("jar:" + jar.toUri() + "!/layout");
+        JarURLConnection connection = (JarURLConnection) url.openConnection();
+        connection.setUseCaches(false);
+        new CopyFromJar(connection, output.toFile(), filter).copy();
+    }
+
+    private static void directory(JarOutputStream jarOutputStream, String name) throws IOException {
+        JarEntry entry = new JarEntry(name);
+        entry.setTime(ENTRY_TIME);
+        jarOutputStream.putNextEntry(entry);
+        jarOutputStream.closeEntry();
+    }
+
+    private static void file(JarOutputStream jarOutputStream, String name, String content) throws IOException {
+        JarEntry entry = new JarEntry(name);
+        entry.setTime(ENTRY_TIME);
+        jarOutputStream.putNextEntry(entry);
+        jarOutputStream.write(content.getBytes(StandardCharsets.UTF_8));
+        jarOutputStream.closeEntry();
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.util.markup;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MarkupCacheTest {
+
+    @Test
+    void sameSourceIsConvertedOnce() {
+        MarkupCache cache = new MarkupCache();
+        AtomicInteger conversions = new AtomicInteger();
+
+        String first = cache.convert("*comment*", source -> "converted " + conversions.incrementAndGet());
+        String second = cache.convert("*comment*", source -> "converted " + conversions.incrementAndGet());
+
+        assertThat(first).isEqualTo("converted 1");
+        assertThat(second).isEqualTo("converted 1");
+    }
+
+    @Test
+    void otherSourceIsConvertedAgain() {
+        MarkupCache cache = new MarkupCache();
+
+        cache.convert("[table1](./tables/table1.html)", source -> "root");
+
+        assertThat(cache.convert("[table1](../tables/table1.html)", source -> "tables")).isEqualTo("tables");
+    }
+
+    @Test
+    void disabledConvertsEveryTime() {
+        MarkupCache cache = MarkupCache.disabled();
+        AtomicInteger conversions = new AtomicInteger();
+
+        cache.convert("*comment*", source -> "converted " + conversions.incrementAndGet());
+
+        assertThat(cache.convert("*comment*", source -> "converted " + conversions.incrementAndGet())).isEqualTo("converted 2");
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.view;
+
+import org.json.JSONArray;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.schemaspy.cli.CommandLineArgumentParser;
+import org.schemaspy.cli.CommandLineArguments;
+import org.schemaspy.model.Catalog;
+import org.schemaspy.model.Database;
+import org.schemaspy.model.ForeignKeyConstraint;
+import org.schemaspy.model.Schema;
+import org.schemaspy.model.Table;
+import org.schemaspy.model.TableColumn;
+import org.schemaspy.util.DataTableConfig;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DataFilesTest {
+
+    @TempDir
+    Path outputDir;
+
+    private final MustacheCompiler mustacheCompiler = mustacheCompiler();
+
+    @Test
+    void columnsAreWrittenInChunks() throws IOException {
+        List<Table> tables = tables(7);
+        StringWriter writer = new StringWriter();
+
+        new HtmlColumnsPage(mustacheCompiler, new DataFiles(mustacheCompiler, outputDir.toFile(), 3)).write(tables, writer);
+
+        assertThat(writer.toString())
+            .contains("dataFiles: { name: \"columns\", files: 3 }")
+            .doesNotContain("\"tableName\": \"table0\"");
+        List<Object> rows = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            rows.addAll(rows("columns", i).toList());
+        }
+        assertThat(rows).hasSize(7);
+        JSONArray first = rows("columns", 0);
+        assertThat(first.getJSONObject(0).getString("tableName")).isEqualTo("table0");
+        assertThat(first.getJSONObject(0).getString("tableFileName")).isEqualTo("table0");
+        assertThat(first.getJSONObject(0).getInt("length")).isEqualTo(10);
+        assertThat(first.getJSONObject(0).getString("comments")).contains("<a href=\"http://example.com\">docs</a>");
+    }
+
+    @Test
+    void tablesOfMainIndexAreWrittenToDataFile() throws IOException {
+        List<Table> tables = tables(2);
+        Database database = mock(Database.class);
+        when(database.getSchema()).thenReturn(new Schema("schema"));
+        when(database.getCatalog()).thenReturn(new Catalog("catalog"));
+        StringWriter writer = new StringWriter();
+
+        new HtmlMainIndexPage(mustacheCompiler, null, new DataFiles(mustacheCompiler, outputDir.toFile()))
+            .write(database, tables, Collections.emptyList(), writer);
+
+        assertThat(writer.toString())
+            .contains("dataFiles: { name: \"tables\", files: 1 }")
+            .doesNotContain("<a href=\"tables/table0.html\">");
+        JSONArray rows = rows("tables", 0);
+        assertThat(rows.length()).isEqualTo(2);
+        assertThat(rows.getJSONArray(0).getString(0)).isEqualTo("<a href=\"tables/table0.html\">table0</a>");
+        assertThat(rows.getJSONArray(0).length()).isEqualTo(7);
+    }
+
+    @Test
+    void foreignKeysAreWrittenToDataFile() throws IOException {
+        List<Table> tables = tables(2);
+        ForeignKeyConstraint constraint = new ForeignKeyConstraint(
+            tables.get(0).getColumnsMap().get("id"),
+            tables.get(1).getColumnsMap().get("id")
+        );
+        StringWriter writer = new StringWriter();
+
+        new HtmlConstraintsPage(mustacheCompiler, new DataFiles(mustacheCompiler, outputDir.toFile()))
+            .write(List.of(constraint), tables, writer);
+
+        assertThat(writer.toString())
+            .contains("1 Foreign Key Constraints")
+            .contains("dataFiles: { name: \"constraints\", files: 1 }");
+        JSONArray row = rows("constraints", 0).getJSONArray(0);
+        assertThat(row.getString(1)).contains("<a href='tables/table1.html'>table1</a><span>.id</span>");
+        assertThat(row.getString(2)).contains("<a href='tables/table0.html'>table0</a><span>.id</span>");
+    }
+
+    @Test
+    void rowsStayInPageWhenDisabled() {
+        StringWriter writer = new StringWriter();
+
+        new HtmlColumnsPage(mustacheCompiler, DataFiles.disabled()).write(tables(1), writer);
+
+        assertThat(writer.toString())
+            .contains("dataFiles: null")
+            .contains("\"tableName\": \"table0\"");
+        assertThat(outputDir.resolve("data")).doesNotExist();
+    }
+
+    private JSONArray rows(String name, int file) throws IOException {
+        String script = Files.readString(outputDir.resolve("data").resolve(name + "." + file + ".js"));
+        String prefix = "schemaSpyDataFile(\"" + name + "\", ";
+        assertThat(script).startsWith(prefix);
+        return new JSONArray(script.substring(prefix.length(), script.lastIndexOf(");")));
+    }
+
+    private static List<Table> tables(int count) {
+        Database database = mock(Database.class);
+        List<Table> tables = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Table table = new Table(database, "catalog", "schema", "table" + i, "comment");
+            TableColumn column = new TableColumn(table);
+            column.setName("id");
+            column.setTypeName("int");
+            column.setLength(10);
+            column.setComments("see [docs](http://example.com)");
+            table.getColumnsMap().put("id", column);
+            tables.add(table);
+        }
+        return tables;
+    }
+
+    private static MustacheCompiler mustacheCompiler() {
+        CommandLineArguments arguments = new CommandLineArgumentParser("-o", "out", "-sso").commandLineArguments();
+        return new MustacheCompiler("dataFiles", "dataFiles", arguments.getHtmlConfig(), false, new DataTableConfig(arguments));
+    }
+}
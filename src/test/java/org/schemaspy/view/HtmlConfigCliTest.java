@@ -1,14 +1,19 @@
 package org.schemaspy.view;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.stream.Stream;
 
 import com.beust.jcommander.IDefaultProvider;
 import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
 import org.schemaspy.cli.CombinedDefaultProvider;
 import org.schemaspy.cli.CommandLineArgumentParser;
+import org.schemaspy.model.Database;
+import org.schemaspy.model.Table;
 import org.schemaspy.util.markup.Asciidoc;
 import org.schemaspy.util.markup.Markdown;
+import org.schemaspy.util.markup.PageRegistry;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -74,7 +79,7 @@ class HtmlConfigCliTest {
     void doNotUseAsciiDoc() {
         assertThat(
             parse("")
-                .markupProcessor("","")
+                .markupProcessor("","", new PageRegistry())
         ).isInstanceOf(Markdown.class);
     }
 
@@ -82,7 +87,7 @@ class HtmlConfigCliTest {
     void useAsciiDocArg() {
         assertThat(
             parse("-asciidoc")
-                .markupProcessor("","")
+                .markupProcessor("","", new PageRegistry())
         ).isInstanceOf(Asciidoc.class);
     }
 
@@ -92,10 +97,26 @@ class HtmlConfigCliTest {
             parse(
                 optionName -> optionName.equals("schemaspy.asciidoc") ? "" : null,
                 ""
-            ).markupProcessor("","")
+            ).markupProcessor("","", new PageRegistry())
         ).isInstanceOf(Asciidoc.class);
     }
 
+    @Test
+    void markupOnlyLinksToTablesOfItsOwnRegistry() {
+        Database database = Mockito.mock(Database.class);
+        Mockito.when(database.getName()).thenReturn("database");
+        PageRegistry schemaA = new PageRegistry().register(
+            List.of(new Table(database, "", "schemaA", "tableA", null))
+        );
+        PageRegistry schemaB = new PageRegistry();
+
+        HtmlConfig htmlConfig = parse("");
+        assertThat(htmlConfig.markupProcessor("See [tableA]", "", schemaA).value())
+            .contains("tables/tableA.html");
+        assertThat(htmlConfig.markupProcessor("See [tableA]", "", schemaB).value())
+            .doesNotContain("tables/tableA.html");
+    }
+
     private HtmlConfig parse(String... args) {
         return parse(optionName -> null, args);
     }
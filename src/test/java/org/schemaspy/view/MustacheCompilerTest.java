@@ -121,6 +121,60 @@ class MustacheCompilerTest {
         softAssertions.assertAll();
     }
 
+    @Test
+    void setsAssetsPath() throws IOException {
+        MustacheCompiler sharedAssets = new MustacheCompiler(
+            "testingShared",
+            "testingShared",
+            commandLineArguments.getHtmlConfig(),
+            true,
+            dataTableConfig,
+            true
+        );
+        PageData tablePage = new PageData.Builder()
+            .templateName("databaseName.html")
+            .depth(1)
+            .getPageData();
+        StringWriter stringWriterSingle = new StringWriter();
+        StringWriter stringWriterShared = new StringWriter();
+        mustacheCompilerSingle.write(tablePage, stringWriterSingle);
+        sharedAssets.write(tablePage, stringWriterShared);
+
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.assertThat(stringWriterSingle.toString()).contains("assetsPath=../\n");
+        softAssertions.assertThat(stringWriterShared.toString()).contains("assetsPath=../../\n");
+        softAssertions.assertAll();
+    }
+
+    @Test
+    void pageIsWrittenIntoContainer() throws IOException {
+        PageData customPage = new PageData.Builder()
+            .templateName("databaseName.html")
+            .addToScope("customData", "custom")
+            .getPageData();
+        StringWriter first = new StringWriter();
+        StringWriter second = new StringWriter();
+        mustacheCompilerSingle.write(customPage, first);
+        mustacheCompilerSingle.write(customPage, second);
+
+        assertThat(first.toString())
+            .startsWith("databaseName=testingSingle")
+            .endsWith("content=custom");
+        assertThat(second).hasToString(first.toString());
+    }
+
+    @Test
+    void templateIsWrittenWithoutContainer() throws IOException {
+        PageData customPage = new PageData.Builder()
+            .templateName("databaseName.html")
+            .addToScope("customData", "custom")
+            .getPageData();
+        StringWriter writer = new StringWriter();
+        mustacheCompilerSingle.writeTemplate(customPage, writer);
+
+        assertThat(writer).hasToString("custom");
+    }
+
     @Test
     void overrideLayoutTest() throws IOException {
         Path overridePath = Paths.get("target","override.html");
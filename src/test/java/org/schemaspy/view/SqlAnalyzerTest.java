@@ -26,6 +26,7 @@ import java.util.Set;
 import org.junit.jupiter.api.Test;
 import org.schemaspy.input.dbms.service.keywords.Sql92Keywords;
 import org.schemaspy.model.Table;
+import org.schemaspy.model.ViewReferences;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
@@ -60,4 +61,72 @@ class SqlAnalyzerTest {
         Set<Table> referenced = sqlAnalyzer.getReferencedTables(viewDefinition);
         assertThat(referenced).extracting(Table::getName).containsExactlyInAnyOrder("user", "group");
     }
+
+    @Test
+    void willIdentifyMySqlQuotedTablesWithIllegalCharacters() {
+        Table user = createTable("illegal", "us/er");
+        Table group = createTable("illegal", "グループ");
+        SqlAnalyzer sqlAnalyzer = new SqlAnalyzer("`", new Sql92Keywords().value(), List.of(user, group), Collections.emptyList());
+
+        String viewDefinition = "select `u`.`name` AS `UserName`,`g`.`name` AS `GroupName` from (`illegal`.`us/er` `u` " +
+            "left join `illegal`.`グループ` `g` on((`u`.`groupId` = `g`.`groupId`)))";
+        assertThat(sqlAnalyzer.getReferencedTables(viewDefinition)).containsExactly(user, group);
+    }
+
+    @Test
+    void skipsLiteralsAndComments() {
+        Table user = createTable("htmlit", "user");
+        Table group = createTable("htmlit", "group");
+        SqlAnalyzer sqlAnalyzer = sqlAnalyzer(user, group);
+
+        String viewDefinition = "SELECT u.name -- from htmlit.group\n" +
+            "FROM htmlit.user u /* join htmlit.group */ WHERE u.kind = 'htmlit.group' AND u.note <> 'it''s [group]'";
+        assertThat(sqlAnalyzer.getReferencedTables(viewDefinition)).containsExactly(user);
+    }
+
+    @Test
+    void matchesContainerAndColumnParts() {
+        Table user = createTable("htmlit", "user");
+        Table otherUser = createTable("other", "user");
+        Table resources = createTable("htmlit", "resources");
+        SqlAnalyzer sqlAnalyzer = sqlAnalyzer(user, otherUser, resources);
+
+        assertThat(sqlAnalyzer.getReferencedTables("select \"OTHER\".\"USER\".name from x"))
+            .containsExactly(otherUser);
+        assertThat(sqlAnalyzer.getReferencedTables("select resources.id, `htmlit.user`.id from x"))
+            .containsExactly(resources, user);
+        assertThat(sqlAnalyzer.getReferencedTables("select * from db.htmlit.resources,unknown.user"))
+            .containsExactly(resources);
+    }
+
+    @Test
+    void unquotedKeywordIsNoReference() {
+        Table user = createTable("htmlit", "user");
+        SqlAnalyzer sqlAnalyzer = sqlAnalyzer(user);
+
+        assertThat(sqlAnalyzer.getReferencedTables("select user from dual")).isEmpty();
+        assertThat(sqlAnalyzer.getReferencedTables("select \"user\".id from \"user\"")).containsExactly(user);
+    }
+
+    @Test
+    void analyzesEveryViewOnce() {
+        Table user = createTable("htmlit", "user");
+        Table active = createTable("htmlit", "active");
+        when(active.getViewDefinition()).thenReturn("create view htmlit.active as select * from htmlit.user");
+        Table admins = createTable("htmlit", "admins");
+        when(admins.getViewDefinition()).thenReturn("select * from active where admin = 1");
+        SqlAnalyzer sqlAnalyzer = sqlAnalyzer(user, active, admins);
+
+        ViewReferences viewReferences = sqlAnalyzer.analyze(List.of(active, admins));
+
+        assertThat(viewReferences.referencedBy(active)).containsExactly(user);
+        assertThat(viewReferences.referencedBy(admins)).containsExactly(active);
+        assertThat(viewReferences.referencing(user)).containsExactly(active);
+        assertThat(viewReferences.referencing(active)).containsExactly(admins);
+        assertThat(viewReferences.referencedBy(user)).isEmpty();
+    }
+
+    private static SqlAnalyzer sqlAnalyzer(Table... tables) {
+        return new SqlAnalyzer("\"", new Sql92Keywords().value(), Arrays.asList(tables), Collections.emptyList());
+    }
 }
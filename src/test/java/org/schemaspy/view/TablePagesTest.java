@@ -0,0 +1,120 @@
+/*
+ * This file is part of SchemaSpy.
+ *
+ * SchemaSpy is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SchemaSpy is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SchemaSpy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.schemaspy.view;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.schemaspy.model.ProgressListener;
+import org.schemaspy.model.Table;
+import org.schemaspy.output.html.mustache.diagrams.MustacheTableDiagramFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TablePagesTest {
+
+    @TempDir
+    Path outputDir;
+
+    @Test
+    void writesPageOfEveryTableConcurrently() throws IOException {
+        Files.createDirectories(outputDir.resolve("tables"));
+        List<Table> tables = tables(20);
+        MustacheTableDiagramFactory diagramFactory = mock(MustacheTableDiagramFactory.class);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        when(diagramFactory.generateTableDiagrams(any())).thenAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            return Collections.emptyList();
+        });
+        HtmlTablePage htmlTablePage = htmlTablePage();
+        ProgressListener progressListener = mock(ProgressListener.class);
+
+        new TablePages(diagramFactory, htmlTablePage, outputDir.toFile(), false, progressListener, 4).write(tables);
+
+        for (Table table : tables) {
+            assertThat(outputDir.resolve("tables").resolve(table.getName() + ".html"))
+                .hasContent(table.getName());
+        }
+        verify(progressListener, times(tables.size())).createdTablePage(any());
+        assertThat(threads).allMatch(name -> name.startsWith("schemaspy-page-"));
+    }
+
+    @Test
+    void writesInCallingThreadWithOneThread() throws IOException {
+        Files.createDirectories(outputDir.resolve("tables"));
+        MustacheTableDiagramFactory diagramFactory = mock(MustacheTableDiagramFactory.class);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        when(diagramFactory.generateTableDiagrams(any())).thenAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            return Collections.emptyList();
+        });
+
+        new TablePages(diagramFactory, htmlTablePage(), outputDir.toFile(), false, mock(ProgressListener.class), 1).write(tables(3));
+
+        assertThat(threads).containsExactly(Thread.currentThread().getName());
+    }
+
+    @Test
+    void failureIsRethrown() throws IOException {
+        Files.createDirectories(outputDir.resolve("tables"));
+        MustacheTableDiagramFactory diagramFactory = mock(MustacheTableDiagramFactory.class);
+        when(diagramFactory.generateTableDiagrams(any())).thenThrow(new IOException("disk full"));
+        TablePages tablePages = new TablePages(diagramFactory, htmlTablePage(), outputDir.toFile(), false, mock(ProgressListener.class), 4);
+        List<Table> tables = tables(5);
+
+        assertThatThrownBy(() -> tablePages.write(tables))
+            .isInstanceOf(IOException.class)
+            .hasMessage("disk full");
+    }
+
+    private static HtmlTablePage htmlTablePage() {
+        HtmlTablePage htmlTablePage = mock(HtmlTablePage.class);
+        doAnswer(invocation -> {
+            Table table = invocation.getArgument(0);
+            Writer writer = invocation.getArgument(2);
+            writer.write(table.getName());
+            return null;
+        }).when(htmlTablePage).write(any(), any(), any());
+        return htmlTablePage;
+    }
+
+    private static List<Table> tables(int count) {
+        List<Table> tables = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Table table = mock(Table.class);
+            when(table.getName()).thenReturn("table" + i);
+            tables.add(table);
+        }
+        return tables;
+    }
+}
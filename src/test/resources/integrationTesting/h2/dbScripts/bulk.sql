@@ -0,0 +1,18 @@
+CREATE SCHEMA "h2view" AUTHORIZATION SA;
+SET SCHEMA "h2view";
+CREATE TABLE "TABLE1"(
+  Id INT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+  NAME VARCHAR(255)
+);
+CREATE TABLE "TABLE2"(
+  Id INT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+  NAME VARCHAR(255)
+);
+CREATE VIEW THE_VIEW (NAMES) AS SELECT NAME FROM TABLE1 UNION SELECT NAME FROM TABLE2;
+CREATE TABLE "TABLE3"(
+  Id INT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+  TABLE1_ID INT NOT NULL,
+  TABLE2_ID INT,
+  CONSTRAINT FK_TABLE3_TABLE1 FOREIGN KEY (TABLE1_ID) REFERENCES TABLE1(Id),
+  CONSTRAINT FK_TABLE3_TABLE2 FOREIGN KEY (TABLE2_ID) REFERENCES TABLE2(Id) ON DELETE CASCADE
+);